@@ -0,0 +1,16 @@
+package ru.litvast.techtrackapi.configuration;
+
+import org.springframework.boot.flyway.autoconfigure.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Автоконфигурация выполняет миграции до создания EntityManagerFactory, то есть до Hibernate DDL (ddl-auto=update):
+// на новой БД миграции не застают таблиц. Здесь стратегия пустая, миграции выполняет SchemaMigrator после DDL
+@Configuration
+public class FlywayConfiguration {
+
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy() {
+        return flyway -> { };
+    }
+}
@@ -5,20 +5,31 @@ import io.swagger.v3.oas.models.Components;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.info.Contact;
 import io.swagger.v3.oas.models.info.Info;
+import io.swagger.v3.oas.models.parameters.Parameter;
 import io.swagger.v3.oas.models.security.SecurityScheme;
 import io.swagger.v3.oas.models.servers.Server;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.customizers.OperationCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.env.Environment;
 
 import java.util.List;
+import java.util.Map;
 
 @Configuration
 @OpenAPIDefinition
 @RequiredArgsConstructor
 public class OpenApiConfiguration {
 
+    // Описания параметров списков задаются здесь один раз для всех эндпоинтов, а не в каждом @Operation
+    private static final Map<String, String> LIST_PARAMETER_DESCRIPTIONS = Map.of(
+            "after", "Курсорная (keyset) пагинация: пустое значение - первая страница, затем nextCursor из предыдущего ответа. "
+                    + "Курсор действителен только для той же сортировки, сортировать можно только по обязательным полям; общее количество в этом режиме не считается.",
+            "withTotal", "false - срез (Slice) без подсчёта общего количества.",
+            "cachedTotal", "true - общее количество берётся из кеша и может отставать на несколько секунд; по умолчанию считается точно."
+    );
+
     private final Environment environment;
 
     @Bean
@@ -50,4 +61,19 @@ public class OpenApiConfiguration {
                 .contact(myContact);
         return openAPI.info(info).servers(List.of(server));
     }
+
+    @Bean
+    public OperationCustomizer listParameterCustomizer() {
+        return (operation, handlerMethod) -> {
+            if (operation.getParameters() == null) return operation;
+
+            for (Parameter parameter : operation.getParameters()) {
+                String description = LIST_PARAMETER_DESCRIPTIONS.get(parameter.getName());
+                if (description != null && parameter.getDescription() == null) {
+                    parameter.setDescription(description);
+                }
+            }
+            return operation;
+        };
+    }
 }
@@ -0,0 +1,52 @@
+package ru.litvast.techtrackapi.configuration;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Миграции Flyway выполняются после Hibernate DDL: зависимость от EntityManagerFactory гарантирует, что таблицы
+// уже есть, а @PostConstruct - что схема готова до приёма запросов и запуска @Scheduled задач.
+// Новая и обновляемая установки проходят один путь: DDL создаёт недостающее, миграции доводят схему
+// (секционирование, ключи, backfill, индексы по lower(name))
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SchemaMigrator {
+
+    // Без этих индексов ON CONFLICT в CpuSocketRepository, CpuArchitectureRepository и MotherboardFormFactorRepository
+    // не работает: upsert падает с ошибкой, а insertIfAbsent (on conflict do nothing) молча вставляет дубликат
+    private static final List<String> REQUIRED_INDEXES = List.of(
+            "ux_cpu_sockets_name_lower",
+            "ux_cpu_architectures_name_lower",
+            "ux_motherboard_form_factors_code_lower"
+    );
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final Flyway flyway;
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    void migrate() {
+        MigrateResult result = flyway.migrate();
+        log.info("Миграции Flyway выполнены после Hibernate DDL: применено {}, версия схемы {}",
+                result.migrationsExecuted, result.targetSchemaVersion);
+
+        // V6 пропускает таблицы с дубликатами по регистру; для справочников это делает запуск невозможным
+        List<String> missing = REQUIRED_INDEXES.stream()
+                .filter(index -> !Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                        "select to_regclass(?) is not null", Boolean.class, index)))
+                .toList();
+        if (!missing.isEmpty()) {
+            log.error("Не созданы индексы {}: устраните дубликаты названий, различающиеся только регистром", missing);
+            throw new IllegalStateException("Required case-insensitive unique indexes are missing: " + missing
+                    + ". Remove rows whose names differ only by case and restart");
+        }
+    }
+}
@@ -5,7 +5,6 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
@@ -13,12 +12,14 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import ru.litvast.techtrackapi.model.dto.JwtTokensDto;
+import ru.litvast.techtrackapi.model.dto.ListResultDto;
 import ru.litvast.techtrackapi.model.dto.RefreshTokenDto;
 import ru.litvast.techtrackapi.model.dto.user.UserCreateDto;
 import ru.litvast.techtrackapi.model.dto.user.UserCredentialsDto;
 import ru.litvast.techtrackapi.model.dto.user.UserNoPasswordDto;
 import ru.litvast.techtrackapi.model.dto.user.UserUpdateDto;
 import ru.litvast.techtrackapi.service.UserService;
+import ru.litvast.techtrackapi.util.ListQuery;
 
 @RequiredArgsConstructor
 @RestController
@@ -118,9 +119,11 @@ public class AccountController {
             security = @SecurityRequirement(name = "bearerAuth")
     )
     @GetMapping("/users")
-    public ResponseEntity<?> getAllUsers(@PageableDefault(size = 20, sort = "username") Pageable pageable) {
-        Page<UserNoPasswordDto> users = userService.getAllUsers(pageable);
-        return ResponseEntity.ok(users);
+    public ResponseEntity<ListResultDto<UserNoPasswordDto>> getAllUsers(@RequestParam(required = false) String after,
+                                                                        @RequestParam(defaultValue = "true") boolean withTotal,
+                                                                        @RequestParam(defaultValue = "false") boolean cachedTotal,
+                                                                        @PageableDefault(size = 20, sort = "username") Pageable pageable) {
+        return ResponseEntity.ok(userService.getAllUsers(ListQuery.of(after, withTotal, cachedTotal, pageable)));
     }
 
     @Tag(name = "users", description = "Методы для работы с аккаунтами пользователей")
@@ -5,17 +5,23 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import ru.litvast.techtrackapi.model.dto.AssignmentBatchResultDto;
 import ru.litvast.techtrackapi.model.dto.AssignmentHistoryDto;
 import ru.litvast.techtrackapi.model.dto.CreateAssignmentDto;
+import ru.litvast.techtrackapi.model.dto.ListResultDto;
 import ru.litvast.techtrackapi.model.dto.ReturnEquipmentDto;
 import ru.litvast.techtrackapi.service.AssignmentHistoryService;
+import ru.litvast.techtrackapi.util.ListQuery;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 @RequiredArgsConstructor
 @RestController
@@ -49,39 +55,103 @@ public class AssignmentHistoryController {
         return ResponseEntity.ok(returned);
     }
 
+    @Operation(
+            summary = "Пакетная выдача оборудования (ADMIN)",
+            description = "Выдаёт оборудование по списку позиций одной транзакцией: оборудование, сотрудники и активные выдачи читаются общими запросами, статус оборудования меняется одним UPDATE, записи истории вставляются пачкой. Возвращает результат по каждой позиции (index, status ASSIGNED или FAILED, assignment, error).",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @PostMapping("/assign-batch")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> assignEquipmentBatch(@Valid @RequestBody List<CreateAssignmentDto> dtoList) {
+        List<AssignmentBatchResultDto> results = assignmentHistoryService.assignEquipmentBatch(dtoList);
+        return ResponseEntity.ok(results);
+    }
+
+    @Operation(
+            summary = "Пакетный возврат оборудования (ADMIN)",
+            description = "Фиксирует возврат по списку записей о выдаче одной транзакцией: записи читаются одним запросом, статус оборудования меняется на IN_STOCK одним UPDATE. Возвращает результат по каждой позиции (index, status RETURNED или FAILED, assignment, error).",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @PostMapping("/return-batch")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> returnEquipmentBatch(@Valid @RequestBody List<ReturnEquipmentDto> dtoList) {
+        List<AssignmentBatchResultDto> results = assignmentHistoryService.returnEquipmentBatch(dtoList);
+        return ResponseEntity.ok(results);
+    }
+
     @Operation(
             summary = "Получение всех записей истории с пагинацией",
-            description = "Возвращает страницу со всеми записями истории назначений с поддержкой пагинации и сортировки по дате назначения.",
+            description = "Возвращает страницу со всеми записями истории назначений с поддержкой пагинации и сортировки по дате назначения. Записи ограничены окном по дате выдачи (from/to, ISO date-time): по умолчанию все записи, ещё не перенесённые в архив (archive-after-months, 24 месяца), чтобы запрос читал только нужные секции таблицы; записи, перенесённые в архив, возвращают методы /archive.",
             security = @SecurityRequirement(name = "bearerAuth")
     )
     @GetMapping
-    public ResponseEntity<?> getAllAssignments(@PageableDefault(size = 20, sort = "assignedAt") Pageable pageable) {
-        Page<AssignmentHistoryDto> assignments = assignmentHistoryService.getAllAssignments(pageable);
-        return ResponseEntity.ok(assignments);
+    public ResponseEntity<ListResultDto<AssignmentHistoryDto>> getAllAssignments(@RequestParam(required = false) String after,
+                                                                                 @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                                                 @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                                                 @RequestParam(defaultValue = "true") boolean withTotal,
+                                                                                 @RequestParam(defaultValue = "false") boolean cachedTotal,
+                                                                                 @PageableDefault(size = 20, sort = "assignedAt") Pageable pageable) {
+        return ResponseEntity.ok(assignmentHistoryService.getAllAssignments(from, to, ListQuery.of(after, withTotal, cachedTotal, pageable)));
     }
 
     @Operation(
             summary = "Поиск записей по оборудованию",
-            description = "Возвращает страницу записей истории для указанного оборудования. Поддерживает пагинацию.",
+            description = "Возвращает страницу записей истории для указанного оборудования. Поддерживает пагинацию. Записи ограничены окном по дате выдачи (from/to, ISO date-time): по умолчанию все записи, ещё не перенесённые в архив (archive-after-months, 24 месяца), чтобы запрос читал только нужные секции таблицы; записи, перенесённые в архив, возвращают методы /archive.",
             security = @SecurityRequirement(name = "bearerAuth")
     )
     @GetMapping("/by-equipment/{equipmentId}")
-    public ResponseEntity<?> getAssignmentsByEquipmentId(@PathVariable Long equipmentId,
-                                                         @PageableDefault(size = 20) Pageable pageable) {
-        Page<AssignmentHistoryDto> assignments = assignmentHistoryService.getAssignmentsByEquipmentId(equipmentId, pageable);
-        return ResponseEntity.ok(assignments);
+    public ResponseEntity<ListResultDto<AssignmentHistoryDto>> getAssignmentsByEquipmentId(@PathVariable Long equipmentId,
+                                                                                           @RequestParam(required = false) String after,
+                                                                                           @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                                                           @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                                                           @RequestParam(defaultValue = "true") boolean withTotal,
+                                                                                           @RequestParam(defaultValue = "false") boolean cachedTotal,
+                                                                                           @PageableDefault(size = 20) Pageable pageable) {
+        return ResponseEntity.ok(assignmentHistoryService.getAssignmentsByEquipmentId(equipmentId, from, to, ListQuery.of(after, withTotal, cachedTotal, pageable)));
     }
 
     @Operation(
             summary = "Поиск записей по сотруднику",
-            description = "Возвращает страницу записей истории для указанного сотрудника. Поддерживает пагинацию.",
+            description = "Возвращает страницу записей истории для указанного сотрудника. Поддерживает пагинацию. Записи ограничены окном по дате выдачи (from/to, ISO date-time): по умолчанию все записи, ещё не перенесённые в архив (archive-after-months, 24 месяца), чтобы запрос читал только нужные секции таблицы; записи, перенесённые в архив, возвращают методы /archive.",
             security = @SecurityRequirement(name = "bearerAuth")
     )
     @GetMapping("/by-employee/{employeeId}")
-    public ResponseEntity<?> getAssignmentsByEmployeeId(@PathVariable Long employeeId,
-                                                        @PageableDefault(size = 20) Pageable pageable) {
-        Page<AssignmentHistoryDto> assignments = assignmentHistoryService.getAssignmentsByEmployeeId(employeeId, pageable);
-        return ResponseEntity.ok(assignments);
+    public ResponseEntity<ListResultDto<AssignmentHistoryDto>> getAssignmentsByEmployeeId(@PathVariable Long employeeId,
+                                                                                          @RequestParam(required = false) String after,
+                                                                                          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                                                          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                                                          @RequestParam(defaultValue = "true") boolean withTotal,
+                                                                                          @RequestParam(defaultValue = "false") boolean cachedTotal,
+                                                                                          @PageableDefault(size = 20) Pageable pageable) {
+        return ResponseEntity.ok(assignmentHistoryService.getAssignmentsByEmployeeId(employeeId, from, to, ListQuery.of(after, withTotal, cachedTotal, pageable)));
+    }
+
+    @Operation(
+            summary = "Архивные записи по оборудованию",
+            description = "Возвращает страницу закрытых выдач указанного оборудования, перенесённых в архив (assignment_history_archive) вместе с секциями старше горизонта хранения. Поддерживает пагинацию.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @GetMapping("/archive/by-equipment/{equipmentId}")
+    public ResponseEntity<ListResultDto<AssignmentHistoryDto>> getArchivedAssignmentsByEquipmentId(@PathVariable Long equipmentId,
+                                                                                                   @RequestParam(required = false) String after,
+                                                                                                   @RequestParam(defaultValue = "true") boolean withTotal,
+                                                                                                   @RequestParam(defaultValue = "false") boolean cachedTotal,
+                                                                                                   @PageableDefault(size = 20) Pageable pageable) {
+        return ResponseEntity.ok(assignmentHistoryService.getArchivedAssignmentsByEquipmentId(equipmentId, ListQuery.of(after, withTotal, cachedTotal, pageable)));
+    }
+
+    @Operation(
+            summary = "Архивные записи по сотруднику",
+            description = "Возвращает страницу закрытых выдач указанного сотрудника, перенесённых в архив (assignment_history_archive) вместе с секциями старше горизонта хранения. Поддерживает пагинацию.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @GetMapping("/archive/by-employee/{employeeId}")
+    public ResponseEntity<ListResultDto<AssignmentHistoryDto>> getArchivedAssignmentsByEmployeeId(@PathVariable Long employeeId,
+                                                                                                  @RequestParam(required = false) String after,
+                                                                                                  @RequestParam(defaultValue = "true") boolean withTotal,
+                                                                                                  @RequestParam(defaultValue = "false") boolean cachedTotal,
+                                                                                                  @PageableDefault(size = 20) Pageable pageable) {
+        return ResponseEntity.ok(assignmentHistoryService.getArchivedAssignmentsByEmployeeId(employeeId, ListQuery.of(after, withTotal, cachedTotal, pageable)));
     }
 
     @Operation(
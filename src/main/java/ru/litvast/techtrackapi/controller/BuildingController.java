@@ -5,7 +5,6 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
@@ -14,7 +13,10 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import ru.litvast.techtrackapi.model.dto.BuildingDto;
 import ru.litvast.techtrackapi.model.dto.BuildingUpdateDto;
+import ru.litvast.techtrackapi.model.dto.ListResultDto;
+import ru.litvast.techtrackapi.model.dto.inventory.InventorySummaryDto;
 import ru.litvast.techtrackapi.service.BuildingService;
+import ru.litvast.techtrackapi.util.ListQuery;
 
 @RequiredArgsConstructor
 @RestController
@@ -42,9 +44,11 @@ public class BuildingController {
             security = @SecurityRequirement(name = "bearerAuth")
     )
     @GetMapping
-    public ResponseEntity<?> getAllBuildings(@PageableDefault(size = 20, sort = "name") Pageable pageable) {
-        Page<BuildingDto> buildings = buildingService.getAllBuildings(pageable);
-        return ResponseEntity.ok(buildings);
+    public ResponseEntity<ListResultDto<BuildingDto>> getAllBuildings(@RequestParam(required = false) String after,
+                                                                      @RequestParam(defaultValue = "true") boolean withTotal,
+                                                                      @RequestParam(defaultValue = "false") boolean cachedTotal,
+                                                                      @PageableDefault(size = 20, sort = "name") Pageable pageable) {
+        return ResponseEntity.ok(buildingService.getAllBuildings(ListQuery.of(after, withTotal, cachedTotal, pageable)));
     }
 
     @Operation(
@@ -53,10 +57,12 @@ public class BuildingController {
             security = @SecurityRequirement(name = "bearerAuth")
     )
     @GetMapping("/by-company/{companyId}")
-    public ResponseEntity<?> getBuildingsByCompanyId(@PathVariable Long companyId,
-                                                     @PageableDefault(size = 20, sort = "name") Pageable pageable) {
-        Page<BuildingDto> buildings = buildingService.getBuildingsByCompanyId(companyId, pageable);
-        return ResponseEntity.ok(buildings);
+    public ResponseEntity<ListResultDto<BuildingDto>> getBuildingsByCompanyId(@PathVariable Long companyId,
+                                                                              @RequestParam(required = false) String after,
+                                                                              @RequestParam(defaultValue = "true") boolean withTotal,
+                                                                              @RequestParam(defaultValue = "false") boolean cachedTotal,
+                                                                              @PageableDefault(size = 20, sort = "name") Pageable pageable) {
+        return ResponseEntity.ok(buildingService.getBuildingsByCompanyId(companyId, ListQuery.of(after, withTotal, cachedTotal, pageable)));
     }
 
     @Operation(
@@ -70,6 +76,17 @@ public class BuildingController {
         return ResponseEntity.ok(building);
     }
 
+    @Operation(
+            summary = "Сводка оборудования здания",
+            description = "Возвращает количество оборудования здании по типам (COMPUTER, PRINTER, ROUTER) с учётом RoomEquipment.quantity и общий итог. Сводка поддерживается инкрементально и читается из памяти без обхода иерархии.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @GetMapping("/{id}/inventory-summary")
+    public ResponseEntity<?> getBuildingInventorySummary(@PathVariable Long id) {
+        InventorySummaryDto summary = buildingService.getBuildingInventorySummary(id);
+        return ResponseEntity.ok(summary);
+    }
+
     @Operation(
             summary = "Поиск здания по названию",
             description = "Возвращает здание по его названию (регистронезависимо).",
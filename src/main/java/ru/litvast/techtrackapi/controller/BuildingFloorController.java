@@ -5,7 +5,6 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
@@ -14,7 +13,10 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import ru.litvast.techtrackapi.model.dto.BuildingFloorDto;
 import ru.litvast.techtrackapi.model.dto.BuildingFloorUpdateDto;
+import ru.litvast.techtrackapi.model.dto.ListResultDto;
+import ru.litvast.techtrackapi.model.dto.inventory.InventorySummaryDto;
 import ru.litvast.techtrackapi.service.BuildingFloorService;
+import ru.litvast.techtrackapi.util.ListQuery;
 
 @RequiredArgsConstructor
 @RestController
@@ -42,9 +44,11 @@ public class BuildingFloorController {
             security = @SecurityRequirement(name = "bearerAuth")
     )
     @GetMapping
-    public ResponseEntity<?> getAllBuildingFloors(@PageableDefault(size = 20, sort = "floorNumber") Pageable pageable) {
-        Page<BuildingFloorDto> floors = buildingFloorService.getAllBuildingFloors(pageable);
-        return ResponseEntity.ok(floors);
+    public ResponseEntity<ListResultDto<BuildingFloorDto>> getAllBuildingFloors(@RequestParam(required = false) String after,
+                                                                                @RequestParam(defaultValue = "true") boolean withTotal,
+                                                                                @RequestParam(defaultValue = "false") boolean cachedTotal,
+                                                                                @PageableDefault(size = 20, sort = "floorNumber") Pageable pageable) {
+        return ResponseEntity.ok(buildingFloorService.getAllBuildingFloors(ListQuery.of(after, withTotal, cachedTotal, pageable)));
     }
 
     @Operation(
@@ -53,10 +57,12 @@ public class BuildingFloorController {
             security = @SecurityRequirement(name = "bearerAuth")
     )
     @GetMapping("/by-building/{buildingId}")
-    public ResponseEntity<?> getFloorsByBuildingId(@PathVariable Long buildingId,
-                                                   @PageableDefault(size = 20, sort = "floorNumber") Pageable pageable) {
-        Page<BuildingFloorDto> floors = buildingFloorService.getFloorsByBuildingId(buildingId, pageable);
-        return ResponseEntity.ok(floors);
+    public ResponseEntity<ListResultDto<BuildingFloorDto>> getFloorsByBuildingId(@PathVariable Long buildingId,
+                                                                                 @RequestParam(required = false) String after,
+                                                                                 @RequestParam(defaultValue = "true") boolean withTotal,
+                                                                                 @RequestParam(defaultValue = "false") boolean cachedTotal,
+                                                                                 @PageableDefault(size = 20, sort = "floorNumber") Pageable pageable) {
+        return ResponseEntity.ok(buildingFloorService.getFloorsByBuildingId(buildingId, ListQuery.of(after, withTotal, cachedTotal, pageable)));
     }
 
     @Operation(
@@ -70,6 +76,17 @@ public class BuildingFloorController {
         return ResponseEntity.ok(floor);
     }
 
+    @Operation(
+            summary = "Сводка оборудования этажа",
+            description = "Возвращает количество оборудования на этаже по типам (COMPUTER, PRINTER, ROUTER) с учётом RoomEquipment.quantity и общий итог. Сводка поддерживается инкрементально и читается из памяти без обхода иерархии.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @GetMapping("/{id}/inventory-summary")
+    public ResponseEntity<?> getBuildingFloorInventorySummary(@PathVariable Long id) {
+        InventorySummaryDto summary = buildingFloorService.getBuildingFloorInventorySummary(id);
+        return ResponseEntity.ok(summary);
+    }
+
     @Operation(
             summary = "Поиск этажа по номеру и зданию",
             description = "Возвращает этаж по его номеру и идентификатору здания (уникальная пара).",
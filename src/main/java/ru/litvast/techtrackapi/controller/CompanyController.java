@@ -5,7 +5,6 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
@@ -14,7 +13,11 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import ru.litvast.techtrackapi.model.dto.CompanyDto;
 import ru.litvast.techtrackapi.model.dto.CompanyUpdateDto;
+import ru.litvast.techtrackapi.model.dto.ListResultDto;
+import ru.litvast.techtrackapi.model.dto.inventory.InventorySummaryDto;
+import ru.litvast.techtrackapi.model.dto.tree.CompanyTreeDto;
 import ru.litvast.techtrackapi.service.CompanyService;
+import ru.litvast.techtrackapi.util.ListQuery;
 
 @RequiredArgsConstructor
 @RestController
@@ -42,9 +45,11 @@ public class CompanyController {
             security = @SecurityRequirement(name = "bearerAuth")
     )
     @GetMapping
-    public ResponseEntity<?> getAllCompanies(@PageableDefault(size = 20, sort = "name") Pageable pageable) {
-        Page<CompanyDto> companies = companyService.getAllCompanies(pageable);
-        return ResponseEntity.ok(companies);
+    public ResponseEntity<ListResultDto<CompanyDto>> getAllCompanies(@RequestParam(required = false) String after,
+                                                                     @RequestParam(defaultValue = "true") boolean withTotal,
+                                                                     @RequestParam(defaultValue = "false") boolean cachedTotal,
+                                                                     @PageableDefault(size = 20, sort = "name") Pageable pageable) {
+        return ResponseEntity.ok(companyService.getAllCompanies(ListQuery.of(after, withTotal, cachedTotal, pageable)));
     }
 
     @Operation(
@@ -58,6 +63,29 @@ public class CompanyController {
         return ResponseEntity.ok(company);
     }
 
+    @Operation(
+            summary = "Сводка оборудования компании",
+            description = "Возвращает количество оборудования компании по типам (COMPUTER, PRINTER, ROUTER) с учётом RoomEquipment.quantity и общий итог. Сводка поддерживается инкрементально и читается из памяти без обхода иерархии.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @GetMapping("/{id}/inventory-summary")
+    public ResponseEntity<?> getCompanyInventorySummary(@PathVariable Long id) {
+        InventorySummaryDto summary = companyService.getCompanyInventorySummary(id);
+        return ResponseEntity.ok(summary);
+    }
+
+    @Operation(
+            summary = "Дерево компании",
+            description = "Возвращает полную иерархию компании: здания, этажи и кабинеты. Параметр withCounts=true добавляет на каждый уровень количество сотрудников и оборудования (с учётом RoomEquipment.quantity). Ответ содержит заголовок ETag (версия строится по максимальному updatedAt в поддереве и числу узлов); при совпадении If-None-Match возвращается 304 без тела.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @GetMapping("/{id}/tree")
+    public ResponseEntity<?> getCompanyTree(@PathVariable Long id,
+                                            @RequestParam(defaultValue = "false") boolean withCounts) {
+        CompanyTreeDto tree = companyService.getCompanyTree(id, withCounts);
+        return ResponseEntity.ok().eTag(tree.getVersion()).body(tree);
+    }
+
     @Operation(
             summary = "Поиск компании по названию",
             description = "Возвращает компанию по её названию (регистронезависимый поиск).",
@@ -3,18 +3,25 @@ package ru.litvast.techtrackapi.controller;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import ru.litvast.techtrackapi.model.dto.ListResultDto;
 import ru.litvast.techtrackapi.model.dto.equipment.computer.ComputerDto;
 import ru.litvast.techtrackapi.model.dto.equipment.computer.ComputerUpdateDto;
+import ru.litvast.techtrackapi.service.ComputerImportService;
 import ru.litvast.techtrackapi.service.ComputerService;
+import ru.litvast.techtrackapi.util.ListQuery;
+
+import java.io.IOException;
+import java.io.InputStream;
 
 @RequiredArgsConstructor
 @RestController
@@ -23,6 +30,7 @@ import ru.litvast.techtrackapi.service.ComputerService;
 public class ComputerController {
 
     private final ComputerService computerService;
+    private final ComputerImportService computerImportService;
 
     @Operation(
             summary = "Добавление компьютера (ADMIN)",
@@ -36,15 +44,31 @@ public class ComputerController {
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
+    @Operation(
+            summary = "Потоковый импорт компьютеров в формате NDJSON (ADMIN)",
+            description = "Принимает поток ComputerDto (по одному JSON-объекту на строку). Общие комплектующие переиспользуются по названию в рамках всего импорта, компьютеры записываются пакетами. Для каждой строки возвращает результат в формате NDJSON. Доступно только для администраторов.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public void importComputers(InputStream body, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        computerImportService.importComputers(body, response.getOutputStream());
+    }
+
     @Operation(
             summary = "Получение всех компьютеров с пагинацией",
             description = "Возвращает страницу со списком всех компьютеров с поддержкой пагинации и сортировки по названию.",
             security = @SecurityRequirement(name = "bearerAuth")
     )
     @GetMapping
-    public ResponseEntity<?> getAllComputers(@PageableDefault(size = 20, sort = "name") Pageable pageable) {
-        Page<ComputerDto> computers = computerService.getAllComputers(pageable);
-        return ResponseEntity.ok(computers);
+    public ResponseEntity<ListResultDto<ComputerDto>> getAllComputers(@RequestParam(required = false) String after,
+                                                                      @RequestParam(defaultValue = "true") boolean withTotal,
+                                                                      @RequestParam(defaultValue = "false") boolean cachedTotal,
+                                                                      @PageableDefault(size = 20, sort = "name") Pageable pageable) {
+        return ResponseEntity.ok(computerService.getAllComputers(ListQuery.of(after, withTotal, cachedTotal, pageable)));
     }
 
     @Operation(
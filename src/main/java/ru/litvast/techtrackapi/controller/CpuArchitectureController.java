@@ -5,15 +5,16 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import ru.litvast.techtrackapi.model.dto.ListResultDto;
 import ru.litvast.techtrackapi.model.dto.equipment.computer.CpuArchitectureDto;
 import ru.litvast.techtrackapi.service.CpuArchitectureService;
+import ru.litvast.techtrackapi.util.ListQuery;
 
 @RequiredArgsConstructor
 @RestController
@@ -41,9 +42,11 @@ public class CpuArchitectureController {
             security = @SecurityRequirement(name = "bearerAuth")
     )
     @GetMapping
-    public ResponseEntity<?> getAllCpuArchitectures(@PageableDefault(size = 20, sort = "name") Pageable pageable) {
-        Page<CpuArchitectureDto> cpuArchitectures = cpuArchitectureService.getAllCpuArchitectures(pageable);
-        return ResponseEntity.ok(cpuArchitectures);
+    public ResponseEntity<ListResultDto<CpuArchitectureDto>> getAllCpuArchitectures(@RequestParam(required = false) String after,
+                                                                                    @RequestParam(defaultValue = "true") boolean withTotal,
+                                                                                    @RequestParam(defaultValue = "false") boolean cachedTotal,
+                                                                                    @PageableDefault(size = 20, sort = "name") Pageable pageable) {
+        return ResponseEntity.ok(cpuArchitectureService.getAllCpuArchitectures(ListQuery.of(after, withTotal, cachedTotal, pageable)));
     }
 
     @Operation(
@@ -0,0 +1,32 @@
+package ru.litvast.techtrackapi.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ru.litvast.techtrackapi.model.dto.dashboard.DashboardSummaryDto;
+import ru.litvast.techtrackapi.service.DashboardService;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/dashboard")
+@Tag(name = "dashboard", description = "Сводные данные для дашборда")
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+
+    @Operation(
+            summary = "Сводка по инвентарю",
+            description = "Возвращает количество оборудования по типам и статусам, количество активных выдач, количество сотрудников по компаниям и оборудования по зданиям. Данные считаются одним запросом, кешируются и обновляются в фоне каждые 15 секунд (поле generatedAt - момент расчёта). Требует наличия валидного access-токена.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @GetMapping("/summary")
+    public ResponseEntity<?> getSummary() {
+        DashboardSummaryDto summary = dashboardService.getSummary();
+        return ResponseEntity.ok(summary);
+    }
+}
@@ -5,7 +5,6 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
@@ -14,7 +13,9 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import ru.litvast.techtrackapi.model.dto.EmployeeDto;
 import ru.litvast.techtrackapi.model.dto.EmployeeUpdateDto;
+import ru.litvast.techtrackapi.model.dto.ListResultDto;
 import ru.litvast.techtrackapi.service.EmployeeService;
+import ru.litvast.techtrackapi.util.ListQuery;
 
 @RequiredArgsConstructor
 @RestController
@@ -42,9 +43,11 @@ public class EmployeeController {
             security = @SecurityRequirement(name = "bearerAuth")
     )
     @GetMapping
-    public ResponseEntity<?> getAllEmployees(@PageableDefault(size = 20, sort = "fullName") Pageable pageable) {
-        Page<EmployeeDto> employees = employeeService.getAllEmployees(pageable);
-        return ResponseEntity.ok(employees);
+    public ResponseEntity<ListResultDto<EmployeeDto>> getAllEmployees(@RequestParam(required = false) String after,
+                                                                      @RequestParam(defaultValue = "true") boolean withTotal,
+                                                                      @RequestParam(defaultValue = "false") boolean cachedTotal,
+                                                                      @PageableDefault(size = 20, sort = "fullName") Pageable pageable) {
+        return ResponseEntity.ok(employeeService.getAllEmployees(ListQuery.of(after, withTotal, cachedTotal, pageable)));
     }
 
     @Operation(
@@ -3,12 +3,19 @@ package ru.litvast.techtrackapi.controller;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.litvast.techtrackapi.model.entity.equipment.EquipmentStatus;
+import ru.litvast.techtrackapi.service.EquipmentExportService;
 import ru.litvast.techtrackapi.service.EquipmentService;
 
+import java.io.IOException;
+
 @RequiredArgsConstructor
 @RestController
 @RequestMapping("/equipment")
@@ -16,6 +23,7 @@ import ru.litvast.techtrackapi.service.EquipmentService;
 public class EquipmentController {
 
     private final EquipmentService equipmentService;
+    private final EquipmentExportService equipmentExportService;
 
     @Operation(
             summary = "Подсчёт количества оборудования по статусу",
@@ -27,4 +35,22 @@ public class EquipmentController {
         long countEquipments = equipmentService.countEquipmentsByStatus(status);
         return ResponseEntity.ok(countEquipments);
     }
+
+    @Operation(
+            summary = "Потоковый экспорт всего оборудования (CSV или NDJSON)",
+            description = "Выгружает все единицы оборудования всех типов с расположением (компания, здание, этаж, комната) и текущим сотрудником, за которым оно закреплено. Формат задаётся параметром format: csv (по умолчанию) или ndjson. Данные читаются курсором и пишутся в ответ по мере чтения. Требует наличия валидного access-токена.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @GetMapping("/export")
+    public void exportEquipment(@RequestParam(defaultValue = EquipmentExportService.FORMAT_CSV) String format,
+                                HttpServletResponse response) throws IOException {
+        String normalizedFormat = EquipmentExportService.normalizeFormat(format);
+        boolean csv = EquipmentExportService.FORMAT_CSV.equals(normalizedFormat);
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(csv ? "text/csv" : MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"equipment." + normalizedFormat + "\"");
+        equipmentExportService.exportEquipment(normalizedFormat, response.getOutputStream());
+    }
 }
\ No newline at end of file
@@ -5,15 +5,16 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import ru.litvast.techtrackapi.model.dto.ListResultDto;
 import ru.litvast.techtrackapi.model.dto.equipment.computer.PowerSupplyDto;
 import ru.litvast.techtrackapi.service.PowerSupplyService;
+import ru.litvast.techtrackapi.util.ListQuery;
 
 @RequiredArgsConstructor
 @RestController
@@ -41,9 +42,11 @@ public class PowerSupplyController {
             security = @SecurityRequirement(name = "bearerAuth")
     )
     @GetMapping
-    public ResponseEntity<?> getAllPowerSupplies(@PageableDefault(size = 20, sort = "name") Pageable pageable) {
-        Page<PowerSupplyDto> powerSupplies = powerSupplyService.getAllPowerSupplies(pageable);
-        return ResponseEntity.ok(powerSupplies);
+    public ResponseEntity<ListResultDto<PowerSupplyDto>> getAllPowerSupplies(@RequestParam(required = false) String after,
+                                                                             @RequestParam(defaultValue = "true") boolean withTotal,
+                                                                             @RequestParam(defaultValue = "false") boolean cachedTotal,
+                                                                             @PageableDefault(size = 20, sort = "name") Pageable pageable) {
+        return ResponseEntity.ok(powerSupplyService.getAllPowerSupplies(ListQuery.of(after, withTotal, cachedTotal, pageable)));
     }
 
     @Operation(
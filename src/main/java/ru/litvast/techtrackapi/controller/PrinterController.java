@@ -5,16 +5,17 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import ru.litvast.techtrackapi.model.dto.ListResultDto;
 import ru.litvast.techtrackapi.model.dto.equipment.PrinterDto;
 import ru.litvast.techtrackapi.model.dto.equipment.PrinterUpdateDto;
 import ru.litvast.techtrackapi.service.PrinterService;
+import ru.litvast.techtrackapi.util.ListQuery;
 
 @RequiredArgsConstructor
 @RestController
@@ -42,9 +43,11 @@ public class PrinterController {
             security = @SecurityRequirement(name = "bearerAuth")
     )
     @GetMapping
-    public ResponseEntity<?> getAllPrinters(@PageableDefault(size = 20, sort = "name") Pageable pageable) {
-        Page<PrinterDto> printers = printerService.getAllPrinters(pageable);
-        return ResponseEntity.ok(printers);
+    public ResponseEntity<ListResultDto<PrinterDto>> getAllPrinters(@RequestParam(required = false) String after,
+                                                                    @RequestParam(defaultValue = "true") boolean withTotal,
+                                                                    @RequestParam(defaultValue = "false") boolean cachedTotal,
+                                                                    @PageableDefault(size = 20, sort = "name") Pageable pageable) {
+        return ResponseEntity.ok(printerService.getAllPrinters(ListQuery.of(after, withTotal, cachedTotal, pageable)));
     }
 
     @Operation(
@@ -5,15 +5,16 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import ru.litvast.techtrackapi.model.dto.ListResultDto;
 import ru.litvast.techtrackapi.model.dto.equipment.computer.RamDto;
 import ru.litvast.techtrackapi.service.RamService;
+import ru.litvast.techtrackapi.util.ListQuery;
 
 import java.util.List;
 
@@ -55,9 +56,11 @@ public class RamController {
             security = @SecurityRequirement(name = "bearerAuth")
     )
     @GetMapping
-    public ResponseEntity<?> getAllRams(@PageableDefault(size = 20, sort = "name") Pageable pageable) {
-        Page<RamDto> rams = ramService.getAllRams(pageable);
-        return ResponseEntity.ok(rams);
+    public ResponseEntity<ListResultDto<RamDto>> getAllRams(@RequestParam(required = false) String after,
+                                                            @RequestParam(defaultValue = "true") boolean withTotal,
+                                                            @RequestParam(defaultValue = "false") boolean cachedTotal,
+                                                            @PageableDefault(size = 20, sort = "name") Pageable pageable) {
+        return ResponseEntity.ok(ramService.getAllRams(ListQuery.of(after, withTotal, cachedTotal, pageable)));
     }
 
     @Operation(
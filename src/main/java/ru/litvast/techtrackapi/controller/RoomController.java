@@ -5,16 +5,18 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import ru.litvast.techtrackapi.model.dto.ListResultDto;
 import ru.litvast.techtrackapi.model.dto.RoomDto;
 import ru.litvast.techtrackapi.model.dto.RoomUpdateDto;
+import ru.litvast.techtrackapi.model.dto.inventory.InventorySummaryDto;
 import ru.litvast.techtrackapi.service.RoomService;
+import ru.litvast.techtrackapi.util.ListQuery;
 
 @RequiredArgsConstructor
 @RestController
@@ -42,9 +44,11 @@ public class RoomController {
             security = @SecurityRequirement(name = "bearerAuth")
     )
     @GetMapping
-    public ResponseEntity<?> getAllRooms(@PageableDefault(size = 20, sort = "name") Pageable pageable) {
-        Page<RoomDto> rooms = roomService.getAllRooms(pageable);
-        return ResponseEntity.ok(rooms);
+    public ResponseEntity<ListResultDto<RoomDto>> getAllRooms(@RequestParam(required = false) String after,
+                                                              @RequestParam(defaultValue = "true") boolean withTotal,
+                                                              @RequestParam(defaultValue = "false") boolean cachedTotal,
+                                                              @PageableDefault(size = 20, sort = "name") Pageable pageable) {
+        return ResponseEntity.ok(roomService.getAllRooms(ListQuery.of(after, withTotal, cachedTotal, pageable)));
     }
 
     @Operation(
@@ -53,10 +57,12 @@ public class RoomController {
             security = @SecurityRequirement(name = "bearerAuth")
     )
     @GetMapping("/by-floor/{buildingFloorId}")
-    public ResponseEntity<?> getRoomsByBuildingFloorId(@PathVariable Long buildingFloorId,
-                                                       @PageableDefault(size = 20, sort = "name") Pageable pageable) {
-        Page<RoomDto> rooms = roomService.getRoomsByBuildingFloorId(buildingFloorId, pageable);
-        return ResponseEntity.ok(rooms);
+    public ResponseEntity<ListResultDto<RoomDto>> getRoomsByBuildingFloorId(@PathVariable Long buildingFloorId,
+                                                                            @RequestParam(required = false) String after,
+                                                                            @RequestParam(defaultValue = "true") boolean withTotal,
+                                                                            @RequestParam(defaultValue = "false") boolean cachedTotal,
+                                                                            @PageableDefault(size = 20, sort = "name") Pageable pageable) {
+        return ResponseEntity.ok(roomService.getRoomsByBuildingFloorId(buildingFloorId, ListQuery.of(after, withTotal, cachedTotal, pageable)));
     }
 
     @Operation(
@@ -70,6 +76,17 @@ public class RoomController {
         return ResponseEntity.ok(room);
     }
 
+    @Operation(
+            summary = "Сводка оборудования комнаты",
+            description = "Возвращает количество оборудования в комнате по типам (COMPUTER, PRINTER, ROUTER) с учётом RoomEquipment.quantity и общий итог. Сводка поддерживается инкрементально и читается из памяти без обхода иерархии.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @GetMapping("/{id}/inventory-summary")
+    public ResponseEntity<?> getRoomInventorySummary(@PathVariable Long id) {
+        InventorySummaryDto summary = roomService.getRoomInventorySummary(id);
+        return ResponseEntity.ok(summary);
+    }
+
     @Operation(
             summary = "Поиск комнаты по названию",
             description = "Возвращает комнату по её названию (регистронезависимый поиск).",
@@ -5,16 +5,17 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import ru.litvast.techtrackapi.model.dto.ListResultDto;
 import ru.litvast.techtrackapi.model.dto.RoomEquipmentDto;
 import ru.litvast.techtrackapi.model.dto.RoomEquipmentUpdateDto;
 import ru.litvast.techtrackapi.service.RoomEquipmentService;
+import ru.litvast.techtrackapi.util.ListQuery;
 
 @RequiredArgsConstructor
 @RestController
@@ -42,9 +43,11 @@ public class RoomEquipmentController {
             security = @SecurityRequirement(name = "bearerAuth")
     )
     @GetMapping
-    public ResponseEntity<?> getAllRoomEquipments(@PageableDefault(size = 20, sort = "id") Pageable pageable) {
-        Page<RoomEquipmentDto> items = roomEquipmentService.getAllRoomEquipments(pageable);
-        return ResponseEntity.ok(items);
+    public ResponseEntity<ListResultDto<RoomEquipmentDto>> getAllRoomEquipments(@RequestParam(required = false) String after,
+                                                                                @RequestParam(defaultValue = "true") boolean withTotal,
+                                                                                @RequestParam(defaultValue = "false") boolean cachedTotal,
+                                                                                @PageableDefault(size = 20, sort = "id") Pageable pageable) {
+        return ResponseEntity.ok(roomEquipmentService.getAllRoomEquipments(ListQuery.of(after, withTotal, cachedTotal, pageable)));
     }
 
     @Operation(
@@ -53,10 +56,12 @@ public class RoomEquipmentController {
             security = @SecurityRequirement(name = "bearerAuth")
     )
     @GetMapping("/by-room/{roomId}")
-    public ResponseEntity<?> getRoomEquipmentsByRoomId(@PathVariable Long roomId,
-                                                       @PageableDefault(size = 20) Pageable pageable) {
-        Page<RoomEquipmentDto> items = roomEquipmentService.getRoomEquipmentsByRoomId(roomId, pageable);
-        return ResponseEntity.ok(items);
+    public ResponseEntity<ListResultDto<RoomEquipmentDto>> getRoomEquipmentsByRoomId(@PathVariable Long roomId,
+                                                                                     @RequestParam(required = false) String after,
+                                                                                     @RequestParam(defaultValue = "true") boolean withTotal,
+                                                                                     @RequestParam(defaultValue = "false") boolean cachedTotal,
+                                                                                     @PageableDefault(size = 20) Pageable pageable) {
+        return ResponseEntity.ok(roomEquipmentService.getRoomEquipmentsByRoomId(roomId, ListQuery.of(after, withTotal, cachedTotal, pageable)));
     }
 
     @Operation(
@@ -65,10 +70,12 @@ public class RoomEquipmentController {
             security = @SecurityRequirement(name = "bearerAuth")
     )
     @GetMapping("/by-equipment/{equipmentId}")
-    public ResponseEntity<?> getRoomEquipmentsByEquipmentId(@PathVariable Long equipmentId,
-                                                            @PageableDefault(size = 20) Pageable pageable) {
-        Page<RoomEquipmentDto> items = roomEquipmentService.getRoomEquipmentsByEquipmentId(equipmentId, pageable);
-        return ResponseEntity.ok(items);
+    public ResponseEntity<ListResultDto<RoomEquipmentDto>> getRoomEquipmentsByEquipmentId(@PathVariable Long equipmentId,
+                                                                                          @RequestParam(required = false) String after,
+                                                                                          @RequestParam(defaultValue = "true") boolean withTotal,
+                                                                                          @RequestParam(defaultValue = "false") boolean cachedTotal,
+                                                                                          @PageableDefault(size = 20) Pageable pageable) {
+        return ResponseEntity.ok(roomEquipmentService.getRoomEquipmentsByEquipmentId(equipmentId, ListQuery.of(after, withTotal, cachedTotal, pageable)));
     }
 
     @Operation(
@@ -5,16 +5,17 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import ru.litvast.techtrackapi.model.dto.ListResultDto;
 import ru.litvast.techtrackapi.model.dto.equipment.RouterDto;
 import ru.litvast.techtrackapi.model.dto.equipment.RouterUpdateDto;
 import ru.litvast.techtrackapi.service.RouterService;
+import ru.litvast.techtrackapi.util.ListQuery;
 
 @RequiredArgsConstructor
 @RestController
@@ -42,9 +43,11 @@ public class RouterController {
             security = @SecurityRequirement(name = "bearerAuth")
     )
     @GetMapping
-    public ResponseEntity<?> getAllRouters(@PageableDefault(size = 20, sort = "name") Pageable pageable) {
-        Page<RouterDto> routers = routerService.getAllRouters(pageable);
-        return ResponseEntity.ok(routers);
+    public ResponseEntity<ListResultDto<RouterDto>> getAllRouters(@RequestParam(required = false) String after,
+                                                                  @RequestParam(defaultValue = "true") boolean withTotal,
+                                                                  @RequestParam(defaultValue = "false") boolean cachedTotal,
+                                                                  @PageableDefault(size = 20, sort = "name") Pageable pageable) {
+        return ResponseEntity.ok(routerService.getAllRouters(ListQuery.of(after, withTotal, cachedTotal, pageable)));
     }
 
     @Operation(
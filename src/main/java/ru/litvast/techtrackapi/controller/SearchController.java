@@ -0,0 +1,37 @@
+package ru.litvast.techtrackapi.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import ru.litvast.techtrackapi.model.dto.search.SearchHitDto;
+import ru.litvast.techtrackapi.service.SearchIndex;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/search")
+@Tag(name = "search", description = "Глобальный поиск по оборудованию, комплектующим, сотрудникам и кабинетам")
+public class SearchController {
+
+    private final SearchIndex searchIndex;
+
+    @Operation(
+            summary = "Глобальный поиск",
+            description = "Ищет по названию и инвентарному номеру оборудования, названиям комплектующих (процессоры, ОЗУ, видеокарты, накопители, блоки питания, материнские платы), ФИО и email сотрудников, названию и номеру кабинетов. Поиск нечёткий (по триграммам и префиксам слов), регистронезависимый; результаты ранжируются: точное совпадение, затем префикс, затем вхождение. Параметр type ограничивает типы результатов (например, COMPUTER, PROCESSOR, EMPLOYEE, ROOM), limit - количество результатов (до 100). Индекс хранится в памяти, обновляется при изменениях и полностью перестраивается каждые 30 минут.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @GetMapping
+    public ResponseEntity<?> search(@RequestParam String q,
+                                    @RequestParam(required = false) List<String> type,
+                                    @RequestParam(defaultValue = "20") int limit) {
+        List<SearchHitDto> hits = searchIndex.search(q, type, limit);
+        return ResponseEntity.ok(hits);
+    }
+}
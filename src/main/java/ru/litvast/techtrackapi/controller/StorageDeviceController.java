@@ -5,15 +5,16 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import ru.litvast.techtrackapi.model.dto.ListResultDto;
 import ru.litvast.techtrackapi.model.dto.equipment.computer.StorageDeviceDto;
 import ru.litvast.techtrackapi.service.StorageDeviceService;
+import ru.litvast.techtrackapi.util.ListQuery;
 
 import java.util.List;
 
@@ -55,9 +56,11 @@ public class StorageDeviceController {
             security = @SecurityRequirement(name = "bearerAuth")
     )
     @GetMapping
-    public ResponseEntity<?> getAllStorageDevices(@PageableDefault(size = 20, sort = "name") Pageable pageable) {
-        Page<StorageDeviceDto> storageDevices = storageDeviceService.getAllStorageDevices(pageable);
-        return ResponseEntity.ok(storageDevices);
+    public ResponseEntity<ListResultDto<StorageDeviceDto>> getAllStorageDevices(@RequestParam(required = false) String after,
+                                                                                @RequestParam(defaultValue = "true") boolean withTotal,
+                                                                                @RequestParam(defaultValue = "false") boolean cachedTotal,
+                                                                                @PageableDefault(size = 20, sort = "name") Pageable pageable) {
+        return ResponseEntity.ok(storageDeviceService.getAllStorageDevices(ListQuery.of(after, withTotal, cachedTotal, pageable)));
     }
 
     @Operation(
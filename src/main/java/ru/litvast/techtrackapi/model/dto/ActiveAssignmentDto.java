@@ -0,0 +1,9 @@
+package ru.litvast.techtrackapi.model.dto;
+
+import lombok.Value;
+
+@Value
+public class ActiveAssignmentDto {
+    Long equipmentId;
+    Long assignmentId;
+}
@@ -0,0 +1,23 @@
+package ru.litvast.techtrackapi.model.dto;
+
+import lombok.Value;
+
+@Value
+public class AssignmentBatchResultDto {
+    int index;
+    String status;
+    AssignmentHistoryDto assignment;
+    String error;
+
+    public static AssignmentBatchResultDto assigned(int index, AssignmentHistoryDto assignment) {
+        return new AssignmentBatchResultDto(index, "ASSIGNED", assignment, null);
+    }
+
+    public static AssignmentBatchResultDto returned(int index, AssignmentHistoryDto assignment) {
+        return new AssignmentBatchResultDto(index, "RETURNED", assignment, null);
+    }
+
+    public static AssignmentBatchResultDto failed(int index, String error) {
+        return new AssignmentBatchResultDto(index, "FAILED", null, error);
+    }
+}
@@ -0,0 +1,13 @@
+package ru.litvast.techtrackapi.model.dto;
+
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+public class CursorPageDto<T> implements ListResultDto<T> {
+    List<T> content;
+    int size;
+    boolean hasNext;
+    String nextCursor;
+}
@@ -0,0 +1,21 @@
+package ru.litvast.techtrackapi.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+
+import java.util.List;
+
+// Ответ списковых эндпоинтов. Режим выдачи (ListQuery) виден в поле "mode": page - страница с общим количеством,
+// slice - срез без него, cursor - курсорная выдача. content и hasNext есть в ответе любого режима
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "mode")
+@JsonSubTypes({
+        @JsonSubTypes.Type(value = PageDto.class, name = "page"),
+        @JsonSubTypes.Type(value = SliceDto.class, name = "slice"),
+        @JsonSubTypes.Type(value = CursorPageDto.class, name = "cursor")
+})
+public sealed interface ListResultDto<T> permits PageDto, SliceDto, CursorPageDto {
+
+    List<T> getContent();
+
+    boolean isHasNext();
+}
@@ -0,0 +1,21 @@
+package ru.litvast.techtrackapi.model.dto;
+
+import lombok.Value;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+@Value
+public class PageDto<T> implements ListResultDto<T> {
+    List<T> content;
+    int number;
+    int size;
+    boolean hasNext;
+    long totalElements;
+    int totalPages;
+
+    public static <T> PageDto<T> of(Page<T> page) {
+        return new PageDto<>(page.getContent(), page.getNumber(), page.getSize(), page.hasNext(),
+                page.getTotalElements(), page.getTotalPages());
+    }
+}
@@ -0,0 +1,18 @@
+package ru.litvast.techtrackapi.model.dto;
+
+import lombok.Value;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+@Value
+public class SliceDto<T> implements ListResultDto<T> {
+    List<T> content;
+    int number;
+    int size;
+    boolean hasNext;
+
+    public static <T> SliceDto<T> of(Slice<T> slice) {
+        return new SliceDto<>(slice.getContent(), slice.getNumber(), slice.getSize(), slice.hasNext());
+    }
+}
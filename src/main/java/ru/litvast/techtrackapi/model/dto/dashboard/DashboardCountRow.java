@@ -0,0 +1,10 @@
+package ru.litvast.techtrackapi.model.dto.dashboard;
+
+// Строка сводного запроса: kind - вид агрегата, groupKey/subKey/name - ключи группировки
+public interface DashboardCountRow {
+    String getKind();
+    String getGroupKey();
+    String getSubKey();
+    String getName();
+    Long getTotal();
+}
@@ -0,0 +1,19 @@
+package ru.litvast.techtrackapi.model.dto.dashboard;
+
+import lombok.Value;
+import ru.litvast.techtrackapi.model.entity.equipment.EquipmentStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Value
+public class DashboardSummaryDto {
+    long totalEquipment;
+    Map<EquipmentStatus, Long> equipmentByStatus;
+    Map<String, Map<EquipmentStatus, Long>> equipmentByTypeAndStatus;
+    long activeAssignments;
+    List<NamedCountDto> employeesByCompany;
+    List<NamedCountDto> equipmentByBuilding;
+    LocalDateTime generatedAt;
+}
@@ -0,0 +1,10 @@
+package ru.litvast.techtrackapi.model.dto.dashboard;
+
+import lombok.Value;
+
+@Value
+public class NamedCountDto {
+    Long id;
+    String name;
+    long count;
+}
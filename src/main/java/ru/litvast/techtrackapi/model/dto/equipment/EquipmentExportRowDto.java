@@ -0,0 +1,24 @@
+package ru.litvast.techtrackapi.model.dto.equipment;
+
+import lombok.Value;
+import ru.litvast.techtrackapi.model.entity.equipment.EquipmentStatus;
+
+import java.time.LocalDateTime;
+
+@Value
+public class EquipmentExportRowDto {
+    Long id;
+    String type;
+    String name;
+    String manufacturer;
+    String inventoryNumber;
+    EquipmentStatus status;
+    LocalDateTime purchaseDate;
+    LocalDateTime warrantyEndDate;
+    Integer quantity;
+    String company;
+    String building;
+    Integer floorNumber;
+    String room;
+    String assignee;
+}
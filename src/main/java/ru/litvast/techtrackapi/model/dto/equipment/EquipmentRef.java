@@ -0,0 +1,12 @@
+package ru.litvast.techtrackapi.model.dto.equipment;
+
+import ru.litvast.techtrackapi.model.entity.equipment.EquipmentStatus;
+
+// Лёгкая ссылка на оборудование: только поля базовой таблицы equipment, без таблиц подтипов
+public interface EquipmentRef {
+    Long getId();
+    String getName();
+    String getType();
+    EquipmentStatus getStatus();
+    String getInventoryNumber();
+}
@@ -0,0 +1,11 @@
+package ru.litvast.techtrackapi.model.dto.equipment;
+
+import lombok.Value;
+import ru.litvast.techtrackapi.model.entity.equipment.EquipmentStatus;
+
+@Value
+public class EquipmentStatusCountDto {
+    String type;
+    EquipmentStatus status;
+    Long count;
+}
@@ -0,0 +1,20 @@
+package ru.litvast.techtrackapi.model.dto.equipment.computer;
+
+import lombok.Value;
+
+@Value
+public class ComputerImportResultDto {
+    long line;
+    String status;
+    Long id;
+    String name;
+    String error;
+
+    public static ComputerImportResultDto created(long line, ComputerDto computerDto) {
+        return new ComputerImportResultDto(line, "CREATED", computerDto.getId(), computerDto.getName(), null);
+    }
+
+    public static ComputerImportResultDto failed(long line, String name, String error) {
+        return new ComputerImportResultDto(line, "FAILED", null, name, error);
+    }
+}
@@ -0,0 +1,13 @@
+package ru.litvast.techtrackapi.model.dto.inventory;
+
+import lombok.Value;
+
+import java.util.Map;
+
+@Value
+public class InventorySummaryDto {
+    String level;
+    Long id;
+    Map<String, Long> equipmentByType;
+    long total;
+}
@@ -0,0 +1,11 @@
+package ru.litvast.techtrackapi.model.dto.inventory;
+
+// Сумма количества оборудования одного типа в комнате вместе с путём комнаты по иерархии
+public interface RoomInventoryRow {
+    Long getRoomId();
+    Long getFloorId();
+    Long getBuildingId();
+    Long getCompanyId();
+    String getType();
+    Long getQuantity();
+}
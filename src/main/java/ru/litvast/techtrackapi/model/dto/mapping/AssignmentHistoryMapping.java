@@ -6,6 +6,7 @@ import ru.litvast.techtrackapi.model.dto.AssignmentHistoryDto;
 import ru.litvast.techtrackapi.model.dto.CreateAssignmentDto;
 import ru.litvast.techtrackapi.model.dto.ReturnEquipmentDto;
 import ru.litvast.techtrackapi.model.entity.AssignmentHistory;
+import ru.litvast.techtrackapi.model.entity.AssignmentHistoryArchive;
 
 @Mapper(componentModel = "spring")
 public interface AssignmentHistoryMapping {
@@ -17,6 +18,13 @@ public interface AssignmentHistoryMapping {
     @Mapping(source = "employee.fullName", target = "employeeName")
     AssignmentHistoryDto toDto(AssignmentHistory history);
 
+    @Mapping(source = "equipment.id", target = "equipmentId")
+    @Mapping(source = "equipment.name", target = "equipmentName")
+    @Mapping(source = "equipment.type", target = "equipmentType")
+    @Mapping(source = "employee.id", target = "employeeId")
+    @Mapping(source = "employee.fullName", target = "employeeName")
+    AssignmentHistoryDto toDto(AssignmentHistoryArchive archive);
+
     AssignmentHistory toEntity(CreateAssignmentDto dto);
     AssignmentHistory toEntity(ReturnEquipmentDto dto);
 }
\ No newline at end of file
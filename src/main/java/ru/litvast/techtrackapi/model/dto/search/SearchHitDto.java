@@ -0,0 +1,12 @@
+package ru.litvast.techtrackapi.model.dto.search;
+
+import lombok.Value;
+
+@Value
+public class SearchHitDto {
+    // Тип сущности: COMPUTER, PRINTER, ROUTER, PROCESSOR, RAM, VIDEO_CARD, STORAGE_DEVICE, POWER_SUPPLY, MOTHERBOARD, EMPLOYEE, ROOM
+    String type;
+    Long id;
+    String title;
+    double score;
+}
@@ -0,0 +1,16 @@
+package ru.litvast.techtrackapi.model.dto.tree;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class BuildingNodeDto {
+    private Long id;
+    private String name;
+    private String address;
+    private Long employeeCount;
+    private Long equipmentCount;
+    private List<FloorNodeDto> floors = new ArrayList<>();
+}
@@ -0,0 +1,24 @@
+package ru.litvast.techtrackapi.model.dto.tree;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class CompanyTreeDto {
+    private Long id;
+    private String name;
+    private Long employeeCount;
+    private Long equipmentCount;
+    private List<BuildingNodeDto> buildings = new ArrayList<>();
+
+    // Максимальный updatedAt в поддереве
+    private LocalDateTime lastModified;
+
+    // Версия дерева для ETag: lastModified, число узлов и (при запросе) счётчики
+    @JsonIgnore
+    private String version;
+}
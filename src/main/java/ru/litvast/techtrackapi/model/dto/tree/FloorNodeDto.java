@@ -0,0 +1,16 @@
+package ru.litvast.techtrackapi.model.dto.tree;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class FloorNodeDto {
+    private Long id;
+    private Integer floorNumber;
+    private String description;
+    private Long employeeCount;
+    private Long equipmentCount;
+    private List<RoomNodeDto> rooms = new ArrayList<>();
+}
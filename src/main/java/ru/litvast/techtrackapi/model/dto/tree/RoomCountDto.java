@@ -0,0 +1,9 @@
+package ru.litvast.techtrackapi.model.dto.tree;
+
+import lombok.Value;
+
+@Value
+public class RoomCountDto {
+    Long roomId;
+    Long count;
+}
@@ -0,0 +1,12 @@
+package ru.litvast.techtrackapi.model.dto.tree;
+
+import lombok.Data;
+
+@Data
+public class RoomNodeDto {
+    private Long id;
+    private String name;
+    private String roomNumber;
+    private Long employeeCount;
+    private Long equipmentCount;
+}
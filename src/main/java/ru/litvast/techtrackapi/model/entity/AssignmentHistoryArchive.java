@@ -0,0 +1,48 @@
+package ru.litvast.techtrackapi.model.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.NotFound;
+import org.hibernate.annotations.NotFoundAction;
+import ru.litvast.techtrackapi.model.entity.equipment.Equipment;
+import java.time.LocalDateTime;
+
+// Закрытые выдачи, перенесённые AssignmentHistoryPartitionManager из отсоединённых секций (V2).
+// Только чтение. Внешних ключей у архива нет: оборудование или сотрудник могли быть удалены после архивации,
+// тогда связь читается как null
+@Entity
+@Getter
+@NoArgsConstructor
+@Immutable
+@Table(name = "assignment_history_archive")
+public class AssignmentHistoryArchive {
+
+    @Id
+    private Long id;
+
+    @ManyToOne
+    @NotFound(action = NotFoundAction.IGNORE)
+    @JoinColumn(name = "equipment_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private Equipment equipment;
+
+    @ManyToOne
+    @NotFound(action = NotFoundAction.IGNORE)
+    @JoinColumn(name = "employee_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private Employee employee;
+
+    @Column(name = "assigned_at", nullable = false)
+    private LocalDateTime assignedAt;
+
+    @Column(name = "returned_at", nullable = false)
+    private LocalDateTime returnedAt;
+
+    private String condition;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
\ No newline at end of file
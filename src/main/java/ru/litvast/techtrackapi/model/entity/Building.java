@@ -20,7 +20,8 @@ import java.util.List;
 public class Building {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "buildings_seq")
+    @SequenceGenerator(name = "buildings_seq", sequenceName = "buildings_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -30,7 +31,7 @@ public class Building {
 
     private String address;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "company_id", nullable = false)
     private Company company;
 
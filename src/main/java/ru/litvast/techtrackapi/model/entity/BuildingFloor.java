@@ -20,7 +20,8 @@ import java.util.List;
 public class BuildingFloor {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "building_floors_seq")
+    @SequenceGenerator(name = "building_floors_seq", sequenceName = "building_floors_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -28,7 +29,7 @@ public class BuildingFloor {
 
     private String description;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "building_id", nullable = false)
     private Building building;
 
@@ -14,10 +14,12 @@ import ru.litvast.techtrackapi.model.entity.equipment.computer.Computer;
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "employees")
+@EntityListeners(SearchIndexListener.class)
 public class Employee {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employees_seq")
+    @SequenceGenerator(name = "employees_seq", sequenceName = "employees_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -29,23 +31,23 @@ public class Employee {
 
     private String phone;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "room_id")
     private Room room;
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "assigned_computer_id")
     private Computer assignedComputer;
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "assigned_printer_id")
     private Printer assignedPrinter;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "company_id")
     private Company company;
 }
\ No newline at end of file
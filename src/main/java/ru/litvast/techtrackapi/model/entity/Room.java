@@ -16,11 +16,16 @@ import java.util.List;
 @AllArgsConstructor
 @Table(name = "rooms", uniqueConstraints = {
         @UniqueConstraint(columnNames = {"name", "building_floor_id"})
+}, indexes = {
+        @Index(name = "idx_rooms_building_id", columnList = "building_id"),
+        @Index(name = "idx_rooms_company_id", columnList = "company_id")
 })
+@EntityListeners(SearchIndexListener.class)
 public class Room {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "rooms_seq")
+    @SequenceGenerator(name = "rooms_seq", sequenceName = "rooms_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -30,10 +35,17 @@ public class Room {
 
     private String roomNumber;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "building_floor_id", nullable = false)
     private BuildingFloor buildingFloor;
 
+    // Материализованный путь: здание и компания этажа, поддерживаются RoomService, BuildingFloorService и BuildingService
+    @Column(name = "building_id", nullable = false)
+    private Long buildingId;
+
+    @Column(name = "company_id", nullable = false)
+    private Long companyId;
+
     @OneToMany(mappedBy = "room")
     private List<RoomEquipment> roomEquipments = new ArrayList<>();
 
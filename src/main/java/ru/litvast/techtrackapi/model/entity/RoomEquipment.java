@@ -18,17 +18,18 @@ import ru.litvast.techtrackapi.model.entity.equipment.Equipment;
 public class RoomEquipment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "room_equipment_seq")
+    @SequenceGenerator(name = "room_equipment_seq", sequenceName = "room_equipment_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
     private Integer quantity;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "room_id", nullable = false)
     private Room room;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "equipment_id", nullable = false)
     private Equipment equipment;
 }
\ No newline at end of file
@@ -0,0 +1,93 @@
+package ru.litvast.techtrackapi.model.entity;
+
+import jakarta.persistence.DiscriminatorValue;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.ObjectProvider;
+import ru.litvast.techtrackapi.model.entity.equipment.Equipment;
+import ru.litvast.techtrackapi.model.entity.equipment.computer.Motherboard;
+import ru.litvast.techtrackapi.model.entity.equipment.computer.PowerSupply;
+import ru.litvast.techtrackapi.model.entity.equipment.computer.Processor;
+import ru.litvast.techtrackapi.model.entity.equipment.computer.Ram;
+import ru.litvast.techtrackapi.model.entity.equipment.computer.StorageDevice;
+import ru.litvast.techtrackapi.model.entity.equipment.computer.VideoCard;
+import ru.litvast.techtrackapi.service.SearchIndex;
+import ru.litvast.techtrackapi.util.TransactionHooks;
+
+// Поддерживает поисковый индекс при записи через JPA; индекс берётся лениво, как и в EquipmentStatusListener
+@RequiredArgsConstructor
+public class SearchIndexListener {
+
+    private final ObjectProvider<SearchIndex> searchIndex;
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Object entity) {
+        String type = typeOf(entity);
+        if (type == null) return;
+
+        Long id = idOf(entity);
+        String[] values = valuesOf(entity);
+        TransactionHooks.afterCommit(() -> searchIndex.getObject().put(type, id, values[0], values));
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        String type = typeOf(entity);
+        if (type == null) return;
+
+        Long id = idOf(entity);
+        TransactionHooks.afterCommit(() -> searchIndex.getObject().remove(type, id));
+    }
+
+    private static String typeOf(Object entity) {
+        if (entity instanceof Equipment equipment) return equipmentType(equipment);
+        if (entity instanceof Processor) return SearchIndex.PROCESSOR;
+        if (entity instanceof Ram) return SearchIndex.RAM;
+        if (entity instanceof VideoCard) return SearchIndex.VIDEO_CARD;
+        if (entity instanceof StorageDevice) return SearchIndex.STORAGE_DEVICE;
+        if (entity instanceof PowerSupply) return SearchIndex.POWER_SUPPLY;
+        if (entity instanceof Motherboard) return SearchIndex.MOTHERBOARD;
+        if (entity instanceof Employee) return SearchIndex.EMPLOYEE;
+        if (entity instanceof Room) return SearchIndex.ROOM;
+        return null;
+    }
+
+    private static Long idOf(Object entity) {
+        if (entity instanceof Equipment equipment) return equipment.getId();
+        if (entity instanceof Processor processor) return processor.getId();
+        if (entity instanceof Ram ram) return ram.getId();
+        if (entity instanceof VideoCard videoCard) return videoCard.getId();
+        if (entity instanceof StorageDevice storageDevice) return storageDevice.getId();
+        if (entity instanceof PowerSupply powerSupply) return powerSupply.getId();
+        if (entity instanceof Motherboard motherboard) return motherboard.getId();
+        if (entity instanceof Employee employee) return employee.getId();
+        if (entity instanceof Room room) return room.getId();
+        return null;
+    }
+
+    // Индексируемые поля; первое служит заголовком результата
+    private static String[] valuesOf(Object entity) {
+        if (entity instanceof Equipment equipment) return new String[]{equipment.getName(), equipment.getInventoryNumber()};
+        if (entity instanceof Processor processor) return new String[]{processor.getName()};
+        if (entity instanceof Ram ram) return new String[]{ram.getName()};
+        if (entity instanceof VideoCard videoCard) return new String[]{videoCard.getName()};
+        if (entity instanceof StorageDevice storageDevice) return new String[]{storageDevice.getName()};
+        if (entity instanceof PowerSupply powerSupply) return new String[]{powerSupply.getName()};
+        if (entity instanceof Motherboard motherboard) return new String[]{motherboard.getName()};
+        if (entity instanceof Employee employee) return new String[]{employee.getFullName(), employee.getEmail()};
+        if (entity instanceof Room room) return new String[]{room.getName(), room.getRoomNumber()};
+        return new String[0];
+    }
+
+    private static String equipmentType(Equipment equipment) {
+        if (equipment.getType() != null) {
+            return equipment.getType();
+        }
+        DiscriminatorValue discriminator = Hibernate.getClass(equipment).getAnnotation(DiscriminatorValue.class);
+        return discriminator != null ? discriminator.value() : Hibernate.getClass(equipment).getSimpleName();
+    }
+}
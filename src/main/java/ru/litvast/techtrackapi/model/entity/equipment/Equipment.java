@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import ru.litvast.techtrackapi.model.entity.SearchIndexListener;
 import java.time.LocalDateTime;
 
 @Entity
@@ -14,16 +15,18 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Inheritance(strategy = InheritanceType.JOINED)
 @DiscriminatorColumn(name = "type", discriminatorType = DiscriminatorType.STRING)
+@EntityListeners({EquipmentStatusListener.class, SearchIndexListener.class})
 public abstract class Equipment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "equipment_seq")
+    @SequenceGenerator(name = "equipment_seq", sequenceName = "equipment_seq", allocationSize = 50)
     private Long id;
 
     @Column(insertable = false, updatable = false)
     private String type;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String name;
 
     @Column(nullable = false)
@@ -35,6 +38,13 @@ public abstract class Equipment {
     @Enumerated(EnumType.STRING)
     private EquipmentStatus status;
 
+    @Version
+    private Long version;
+
+    // Статус на момент загрузки или последнего сброса в БД, нужен EquipmentStatusListener
+    @Transient
+    private EquipmentStatus loadedStatus;
+
     @Column(name = "purchase_date")
     private LocalDateTime purchaseDate;
 
@@ -0,0 +1,55 @@
+package ru.litvast.techtrackapi.model.entity.equipment;
+
+import jakarta.persistence.DiscriminatorValue;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.ObjectProvider;
+import ru.litvast.techtrackapi.service.EquipmentStatusCounters;
+
+// Создаётся через SpringBeanContainer Hibernate ещё до готовности репозиториев, поэтому счётчики берутся лениво
+@RequiredArgsConstructor
+public class EquipmentStatusListener {
+
+    private final ObjectProvider<EquipmentStatusCounters> equipmentStatusCounters;
+
+    @PostLoad
+    public void onLoad(Equipment equipment) {
+        equipment.setLoadedStatus(equipment.getStatus());
+    }
+
+    @PostPersist
+    public void onPersist(Equipment equipment) {
+        String type = typeOf(equipment);
+        EquipmentStatus status = equipment.getStatus();
+        equipment.setLoadedStatus(status);
+        equipmentStatusCounters.getObject().created(type, status);
+    }
+
+    @PostUpdate
+    public void onUpdate(Equipment equipment) {
+        String type = typeOf(equipment);
+        EquipmentStatus from = equipment.getLoadedStatus();
+        EquipmentStatus to = equipment.getStatus();
+        equipment.setLoadedStatus(to);
+        equipmentStatusCounters.getObject().changed(type, from, to);
+    }
+
+    @PostRemove
+    public void onRemove(Equipment equipment) {
+        String type = typeOf(equipment);
+        EquipmentStatus status = equipment.getLoadedStatus();
+        equipmentStatusCounters.getObject().removed(type, status);
+    }
+
+    private static String typeOf(Equipment equipment) {
+        if (equipment.getType() != null) {
+            return equipment.getType();
+        }
+        DiscriminatorValue discriminator = Hibernate.getClass(equipment).getAnnotation(DiscriminatorValue.class);
+        return discriminator != null ? discriminator.value() : Hibernate.getClass(equipment).getSimpleName();
+    }
+}
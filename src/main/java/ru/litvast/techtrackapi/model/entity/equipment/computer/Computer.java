@@ -18,11 +18,11 @@ import java.util.List;
 @Table(name = "computers")
 public class Computer extends Equipment {
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "processor_id")
     private Processor processor;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "motherboard_id")
     private Motherboard motherboard;
 
@@ -30,7 +30,7 @@ public class Computer extends Equipment {
     @CollectionTable(name = "computer_ram")
     private List<Ram> rams;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "video_card_id")
     private VideoCard videoCard;
 
@@ -38,7 +38,7 @@ public class Computer extends Equipment {
     @CollectionTable(name = "computer_storage_device")
     private List<StorageDevice> storageDevices;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "power_supply_id")
     private PowerSupply powerSupply;
 }
\ No newline at end of file
@@ -5,6 +5,9 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import ru.litvast.techtrackapi.model.entity.SearchIndexListener;
 
 import java.util.List;
 
@@ -13,15 +16,19 @@ import java.util.List;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "motherboards")
 @Table(name = "motherboards")
+@EntityListeners(SearchIndexListener.class)
 public class Motherboard {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "motherboards_seq")
+    @SequenceGenerator(name = "motherboards_seq", sequenceName = "motherboards_seq", allocationSize = 50)
     @Column(name = "id", nullable = false)
     private Long id;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String name;
     private String manufacturer;
 
@@ -29,21 +36,24 @@ public class Motherboard {
 
     @ElementCollection
     @CollectionTable(name = "motherboard_memory_supports")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "motherboard_memory_supports")
     private List<MemorySupport> memorySupports;
 
     @ElementCollection
     @CollectionTable(name = "motherboard_storage_ports")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "motherboard_storage_ports")
     private List<StoragePort> storagePorts;
 
     @ElementCollection
     @CollectionTable(name = "motherboard_io_ports")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "motherboard_io_ports")
     private List<IoPort> ioPorts;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "form_factor_id")
     private MotherboardFormFactor formFactor;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "socket_id")
     private CpuSocket socket;
 }
\ No newline at end of file
@@ -5,21 +5,28 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import ru.litvast.techtrackapi.model.entity.SearchIndexListener;
 
 @Entity
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "power_supplies")
 @Table(name = "power_supplies")
+@EntityListeners(SearchIndexListener.class)
 public class PowerSupply {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "power_supplies_seq")
+    @SequenceGenerator(name = "power_supplies_seq", sequenceName = "power_supplies_seq", allocationSize = 50)
     @Column(name = "id", nullable = false)
     private Long id;
 
-    @Column(unique = true, nullable = false)
+    @Column(nullable = false)
     private String name;
     private String manufacturer;
     private String description;
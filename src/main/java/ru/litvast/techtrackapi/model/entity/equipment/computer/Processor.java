@@ -6,22 +6,29 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import ru.litvast.techtrackapi.model.entity.SearchIndexListener;
 
 @Entity
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "processors")
 @Table(name = "processors")
 @JsonIgnoreProperties(ignoreUnknown = true)
+@EntityListeners(SearchIndexListener.class)
 public class Processor {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "processors_seq")
+    @SequenceGenerator(name = "processors_seq", sequenceName = "processors_seq", allocationSize = 50)
     @Column(name = "id", nullable = false)
     private Long id;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String name;
     private String manufacturer;
 
@@ -39,11 +46,11 @@ public class Processor {
 
     private Integer lithographyNm;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "cpu_architecture_id")
     private CpuArchitecture architecture;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "socket_id")
     private CpuSocket socket;
 }
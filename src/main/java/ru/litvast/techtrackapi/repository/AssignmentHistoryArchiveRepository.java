@@ -0,0 +1,16 @@
+package ru.litvast.techtrackapi.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import ru.litvast.techtrackapi.model.entity.AssignmentHistoryArchive;
+
+public interface AssignmentHistoryArchiveRepository extends JpaRepository<AssignmentHistoryArchive, Long>, JpaSpecificationExecutor<AssignmentHistoryArchive> {
+    @EntityGraph(attributePaths = {"equipment", "employee"})
+    Slice<AssignmentHistoryArchive> findSliceByEquipmentId(Long equipmentId, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"equipment", "employee"})
+    Slice<AssignmentHistoryArchive> findSliceByEmployeeId(Long employeeId, Pageable pageable);
+}
\ No newline at end of file
@@ -1,14 +1,57 @@
 package ru.litvast.techtrackapi.repository;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.litvast.techtrackapi.model.dto.ActiveAssignmentDto;
 import ru.litvast.techtrackapi.model.entity.AssignmentHistory;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface AssignmentHistoryRepository extends JpaRepository<AssignmentHistory, Long> {
-    Page<AssignmentHistory> findByEquipmentId(Long equipmentId, Pageable pageable);
-    Page<AssignmentHistory> findByEmployeeId(Long employeeId, Pageable pageable);
+public interface AssignmentHistoryRepository extends JpaRepository<AssignmentHistory, Long>, JpaSpecificationExecutor<AssignmentHistory> {
+    // Списки истории всегда ограничены окном по assigned_at: PostgreSQL читает только секции этого окна
+    @EntityGraph(attributePaths = {"equipment", "employee"})
+    Slice<AssignmentHistory> findSliceByAssignedAtBetween(LocalDateTime from, LocalDateTime to, Pageable pageable);
+
+    @Override
+    @EntityGraph(attributePaths = {"equipment", "employee"})
+    Optional<AssignmentHistory> findById(Long id);
+
+    // Без equipment в графе: полиморфный fetch оборудования соединяет все таблицы подтипов
+    @EntityGraph(attributePaths = {"employee"})
+    Optional<AssignmentHistory> findForReturnById(Long id);
+
+    @EntityGraph(attributePaths = {"employee"})
+    List<AssignmentHistory> findAllForReturnByIdIn(Collection<Long> ids);
+
+    @EntityGraph(attributePaths = {"equipment", "employee"})
+    Slice<AssignmentHistory> findSliceByEquipmentIdAndAssignedAtBetween(Long equipmentId, LocalDateTime from, LocalDateTime to, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"equipment", "employee"})
+    Slice<AssignmentHistory> findSliceByEmployeeIdAndAssignedAtBetween(Long employeeId, LocalDateTime from, LocalDateTime to, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"equipment", "employee"})
     Optional<AssignmentHistory> findByEquipmentIdAndReturnedAtIsNull(Long equipmentId);
+
+    @Query("""
+            select new ru.litvast.techtrackapi.model.dto.ActiveAssignmentDto(h.equipment.id, h.id)
+            from AssignmentHistory h
+            where h.returnedAt is null
+            """)
+    List<ActiveAssignmentDto> findAllActive();
+
+    @Query("""
+            select h.equipment.id
+            from AssignmentHistory h
+            where h.returnedAt is null and h.equipment.id in :equipmentIds
+            """)
+    List<Long> findActiveEquipmentIds(@Param("equipmentIds") Collection<Long> equipmentIds);
+
     long countByReturnedAtIsNull();
-}
\ No newline at end of file
+}
@@ -1,13 +1,18 @@
 package ru.litvast.techtrackapi.repository;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import ru.litvast.techtrackapi.model.entity.BuildingFloor;
+import java.util.List;
 import java.util.Optional;
 
-public interface BuildingFloorRepository extends JpaRepository<BuildingFloor, Long> {
+public interface BuildingFloorRepository extends JpaRepository<BuildingFloor, Long>, JpaSpecificationExecutor<BuildingFloor> {
     boolean existsByFloorNumberAndBuildingId(Integer floorNumber, Long buildingId);
-    Page<BuildingFloor> findByBuildingId(Long buildingId, Pageable pageable);
+    Slice<BuildingFloor> findSliceByBuildingId(Long buildingId, Pageable pageable);
+    long countByBuildingId(Long buildingId);
     Optional<BuildingFloor> findByFloorNumberAndBuildingId(Integer floorNumber, Long buildingId);
+    Slice<BuildingFloor> findSliceBy(Pageable pageable);
+    List<BuildingFloor> findByBuilding_CompanyIdOrderByFloorNumberAsc(Long companyId);
 }
\ No newline at end of file
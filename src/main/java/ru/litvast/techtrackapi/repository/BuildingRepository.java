@@ -1,13 +1,18 @@
 package ru.litvast.techtrackapi.repository;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import ru.litvast.techtrackapi.model.entity.Building;
+import java.util.List;
 import java.util.Optional;
 
-public interface BuildingRepository extends JpaRepository<Building, Long> {
+public interface BuildingRepository extends JpaRepository<Building, Long>, JpaSpecificationExecutor<Building> {
     boolean existsByNameIgnoreCase(String name);
     Optional<Building> findByNameIgnoreCase(String name);
-    Page<Building> findByCompanyId(Long companyId, Pageable pageable);
+    Slice<Building> findSliceByCompanyId(Long companyId, Pageable pageable);
+    long countByCompanyId(Long companyId);
+    Slice<Building> findSliceBy(Pageable pageable);
+    List<Building> findByCompanyIdOrderByIdAsc(Long companyId);
 }
\ No newline at end of file
@@ -1,12 +1,19 @@
 package ru.litvast.techtrackapi.repository;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.litvast.techtrackapi.model.entity.Company;
 import java.util.Optional;
 
-public interface CompanyRepository extends JpaRepository<Company, Long> {
+public interface CompanyRepository extends JpaRepository<Company, Long>, JpaSpecificationExecutor<Company> {
     boolean existsByNameIgnoreCase(String name);
     Optional<Company> findByNameIgnoreCase(String name);
     Optional<Company> findByInn(String inn);
-    Optional<Company> findByBuildings_Floors_Rooms_Id(long id);
+    @Query("select c from Company c where c.id = (select r.companyId from Room r where r.id = :roomId)")
+    Optional<Company> findByRoomId(@Param("roomId") long roomId);
+    Slice<Company> findSliceBy(Pageable pageable);
 }
\ No newline at end of file
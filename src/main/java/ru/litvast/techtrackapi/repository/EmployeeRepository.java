@@ -1,15 +1,30 @@
 package ru.litvast.techtrackapi.repository;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.litvast.techtrackapi.model.dto.tree.RoomCountDto;
 import ru.litvast.techtrackapi.model.entity.Employee;
 
 import java.util.List;
 import java.util.Optional;
 
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, JpaSpecificationExecutor<Employee> {
     boolean existsByFullNameIgnoreCase(String fullName);
     Optional<Employee> findByFullNameIgnoreCase(String fullName);
     Optional<Employee> findByEmail(String email);
     Optional<Employee> findByUser_UsernameIgnoreCase(String username);
-    long countByRoom_BuildingFloor_Building_Company_Id(long id);
+    long countByRoom_CompanyId(long companyId);
+    Slice<Employee> findSliceBy(Pageable pageable);
+
+    @Query("""
+            select new ru.litvast.techtrackapi.model.dto.tree.RoomCountDto(e.room.id, count(e))
+            from Employee e
+            where e.room.companyId = :companyId
+            group by e.room.id
+            """)
+    List<RoomCountDto> countByRoomForCompany(@Param("companyId") Long companyId);
 }
\ No newline at end of file
@@ -1,12 +1,45 @@
 package ru.litvast.techtrackapi.repository;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import ru.litvast.techtrackapi.model.dto.inventory.RoomInventoryRow;
 import ru.litvast.techtrackapi.model.entity.RoomEquipment;
 
-public interface RoomEquipmentRepository extends JpaRepository<RoomEquipment, Long> {
-    Page<RoomEquipment> findByRoomId(Long roomId, Pageable pageable);
-    Page<RoomEquipment> findByEquipmentId(Long equipmentId, Pageable pageable);
+import java.util.List;
+import java.util.Optional;
+
+public interface RoomEquipmentRepository extends JpaRepository<RoomEquipment, Long>, JpaSpecificationExecutor<RoomEquipment> {
+    @EntityGraph(attributePaths = {"room", "equipment"})
+    Slice<RoomEquipment> findSliceBy(Pageable pageable);
+
+    @Override
+    @EntityGraph(attributePaths = {"room", "equipment"})
+    Optional<RoomEquipment> findById(Long id);
+
+    @EntityGraph(attributePaths = {"room", "equipment"})
+    Slice<RoomEquipment> findSliceByRoomId(Long roomId, Pageable pageable);
+
+    long countByRoomId(Long roomId);
+
+    @EntityGraph(attributePaths = {"room", "equipment"})
+    Slice<RoomEquipment> findSliceByEquipmentId(Long equipmentId, Pageable pageable);
+
+    long countByEquipmentId(Long equipmentId);
+
     boolean existsByRoomIdAndEquipmentId(Long roomId, Long equipmentId);
-}
\ No newline at end of file
+
+    // Полный пересчёт сводок: путь комнаты берётся из материализованных колонок rooms
+    @Query(nativeQuery = true, value = """
+            select r.id as "roomId", r.building_floor_id as "floorId", r.building_id as "buildingId", r.company_id as "companyId",
+                   e.type as type, coalesce(sum(re.quantity), 0) as quantity
+            from room_equipment re
+            join rooms r on r.id = re.room_id
+            join equipment e on e.id = re.equipment_id
+            group by r.id, r.building_floor_id, r.building_id, r.company_id, e.type
+            """)
+    List<RoomInventoryRow> sumQuantityByRoomAndType();
+}
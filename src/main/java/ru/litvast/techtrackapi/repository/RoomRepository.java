@@ -1,13 +1,31 @@
 package ru.litvast.techtrackapi.repository;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.litvast.techtrackapi.model.entity.Room;
+import java.util.List;
 import java.util.Optional;
 
-public interface RoomRepository extends JpaRepository<Room, Long> {
+public interface RoomRepository extends JpaRepository<Room, Long>, JpaSpecificationExecutor<Room> {
     boolean existsByNameIgnoreCase(String name);
     Optional<Room> findByNameIgnoreCase(String name);
-    Page<Room> findByBuildingFloorId(Long buildingFloorId, Pageable pageable);
+    Slice<Room> findSliceByBuildingFloorId(Long buildingFloorId, Pageable pageable);
+    long countByBuildingFloorId(Long buildingFloorId);
+    Slice<Room> findSliceBy(Pageable pageable);
+    List<Room> findByCompanyIdOrderByIdAsc(Long companyId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("update Room r set r.buildingId = :buildingId, r.companyId = :companyId where r.buildingFloor.id = :buildingFloorId")
+    int updateLocationByBuildingFloorId(@Param("buildingFloorId") Long buildingFloorId,
+                                        @Param("buildingId") Long buildingId,
+                                        @Param("companyId") Long companyId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("update Room r set r.companyId = :companyId where r.buildingId = :buildingId")
+    int updateCompanyByBuildingId(@Param("buildingId") Long buildingId, @Param("companyId") Long companyId);
 }
\ No newline at end of file
@@ -1,12 +1,16 @@
 package ru.litvast.techtrackapi.repository;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import ru.litvast.techtrackapi.model.entity.User;
 
 import java.util.Optional;
 
-public interface UserRepository extends JpaRepository<User, Integer> {
+public interface UserRepository extends JpaRepository<User, Integer>, JpaSpecificationExecutor<User> {
     Optional<User> findByUsername(String username);
     Optional<User> findByUsernameIgnoreCase(String username);
     Boolean existsByUsernameIgnoreCase(String username);
+    Slice<User> findSliceBy(Pageable pageable);
 }
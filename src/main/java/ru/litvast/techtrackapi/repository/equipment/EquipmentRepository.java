@@ -1,15 +1,133 @@
 package ru.litvast.techtrackapi.repository.equipment;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import ru.litvast.techtrackapi.model.dto.dashboard.DashboardCountRow;
+import ru.litvast.techtrackapi.model.dto.equipment.EquipmentExportRowDto;
+import ru.litvast.techtrackapi.model.dto.equipment.EquipmentRef;
+import ru.litvast.techtrackapi.model.dto.equipment.EquipmentStatusCountDto;
 import ru.litvast.techtrackapi.model.entity.equipment.Equipment;
 import ru.litvast.techtrackapi.model.entity.equipment.EquipmentStatus;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface EquipmentRepository extends JpaRepository<Equipment, Long> {
+public interface EquipmentRepository extends JpaRepository<Equipment, Long>, EquipmentRepositoryCustom {
     boolean existsByNameIgnoreCase(String name);
     Optional<Equipment> findByNameIgnoreCase(String name);
     boolean existsByInventoryNumber(String inventoryNumber);
     Optional<Equipment> findByInventoryNumber(String inventoryNumber);
     long countByStatus(EquipmentStatus equipmentStatus);
+    long countByTypeAndStatus(String type, EquipmentStatus equipmentStatus);
+
+    // Только базовая таблица, без outer join к таблицам подтипов
+    @Query(nativeQuery = true, value = """
+            select e.id as id, e.name as name, e.type as type, e.status as status, e.inventory_number as "inventoryNumber"
+            from equipment e
+            where e.id = :id
+            """)
+    Optional<EquipmentRef> findRefById(@Param("id") Long id);
+
+    @Query(nativeQuery = true, value = """
+            select e.id as id, e.name as name, e.type as type, e.status as status, e.inventory_number as "inventoryNumber"
+            from equipment e
+            where e.id in (:ids)
+            """)
+    List<EquipmentRef> findRefsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Массовая смена статуса одним UPDATE по базовой таблице; события сущностей не вызываются.
+    // Таблица указана явно: нативный UPDATE без неё сбрасывает все регионы кэша второго уровня
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "equipment"))
+    @Query(nativeQuery = true, value = """
+            update equipment
+            set status = :status, version = version + 1, updated_at = :updatedAt
+            where id in (:ids)
+            """)
+    int updateStatusByIdIn(@Param("ids") Collection<Long> ids,
+                           @Param("status") String status,
+                           @Param("updatedAt") LocalDateTime updatedAt);
+
+    // Условный переход в ASSIGNED: 0 строк - оборудование уже выдано параллельным запросом
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "equipment"))
+    @Query(nativeQuery = true, value = """
+            update equipment
+            set status = 'ASSIGNED', version = version + 1, updated_at = :updatedAt
+            where id = :id and status is distinct from 'ASSIGNED'
+            """)
+    int markAssigned(@Param("id") Long id, @Param("updatedAt") LocalDateTime updatedAt);
+
+    // Условный переход в ASSIGNED для пакета: блокируются строки, которые ещё не выданы, и только они
+    // переводятся updateStatusByIdIn в той же транзакции. Не вернувшиеся id уже выданы, в том числе параллельным
+    // запросом, зафиксированным во время ожидания блокировки. Порядок по id исключает взаимные блокировки пакетов
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "equipment"))
+    @Query(nativeQuery = true, value = """
+            select id from equipment
+            where id in (:ids) and status is distinct from 'ASSIGNED'
+            order by id
+            for update
+            """)
+    List<Long> lockAssignableByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("""
+            select new ru.litvast.techtrackapi.model.dto.equipment.EquipmentStatusCountDto(e.type, e.status, count(e))
+            from Equipment e
+            group by e.type, e.status
+            """)
+    List<EquipmentStatusCountDto> countGroupByTypeAndStatus();
+
+    // Плоская проекция без сущностей в контексте персистентности; читается курсором по 500 строк
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("""
+            select new ru.litvast.techtrackapi.model.dto.equipment.EquipmentExportRowDto(
+                e.id, e.type, e.name, e.manufacturer, e.inventoryNumber, e.status, e.purchaseDate, e.warrantyEndDate,
+                re.quantity, c.name, b.name, f.floorNumber, r.name, emp.fullName)
+            from Equipment e
+            left join RoomEquipment re on re.equipment = e
+            left join re.room r
+            left join r.buildingFloor f
+            left join f.building b
+            left join b.company c
+            left join AssignmentHistory ah on ah.equipment = e and ah.returnedAt is null
+            left join ah.employee emp
+            order by e.id
+            """)
+    Stream<EquipmentExportRowDto> streamExportRows();
+
+    // Все агрегаты дашборда за один запрос
+    @Query(nativeQuery = true, value = """
+            select 'EQUIPMENT' as kind, e.type as "groupKey", e.status as "subKey", null as name, count(*) as total
+            from equipment e
+            group by e.type, e.status
+            union all
+            select 'ACTIVE_ASSIGNMENTS', null, null, null, count(*)
+            from assignment_history ah
+            where ah.returned_at is null
+            union all
+            select 'EMPLOYEES_BY_COMPANY', cast(c.id as varchar), null, c.name, count(emp.id)
+            from companies c
+            left join rooms r on r.company_id = c.id
+            left join employees emp on emp.room_id = r.id
+            group by c.id, c.name
+            union all
+            select 'EQUIPMENT_BY_BUILDING', cast(b.id as varchar), null, b.name, count(distinct re.equipment_id)
+            from buildings b
+            left join rooms r on r.building_id = b.id
+            left join room_equipment re on re.room_id = r.id
+            group by b.id, b.name
+            """)
+    List<DashboardCountRow> dashboardCounts();
 }
\ No newline at end of file
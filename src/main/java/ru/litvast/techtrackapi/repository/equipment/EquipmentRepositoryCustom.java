@@ -0,0 +1,14 @@
+package ru.litvast.techtrackapi.repository.equipment;
+
+import ru.litvast.techtrackapi.model.dto.equipment.EquipmentRef;
+import ru.litvast.techtrackapi.model.entity.equipment.Equipment;
+
+import java.util.Optional;
+
+public interface EquipmentRepositoryCustom {
+    // Загрузка через конкретный подтип: сначала читается дискриминатор type, затем только таблица подтипа
+    Optional<Equipment> findConcreteById(Long id);
+
+    // Ссылка (прокси) на конкретный подтип по уже прочитанному EquipmentRef, без обращения к БД
+    Equipment getConcreteReference(EquipmentRef ref);
+}
@@ -0,0 +1,69 @@
+package ru.litvast.techtrackapi.repository.equipment;
+
+import jakarta.persistence.DiscriminatorValue;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.metamodel.EntityType;
+import lombok.extern.slf4j.Slf4j;
+import ru.litvast.techtrackapi.model.dto.equipment.EquipmentRef;
+import ru.litvast.techtrackapi.model.entity.equipment.Equipment;
+
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Slf4j
+public class EquipmentRepositoryCustomImpl implements EquipmentRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Дискриминатор -> конкретный класс сущности; строится по метамодели при первом обращении
+    private volatile Map<String, Class<? extends Equipment>> subtypes;
+
+    @Override
+    public Optional<Equipment> findConcreteById(Long id) {
+        if (id == null) return Optional.empty();
+
+        List<?> types = entityManager.createNativeQuery("select type from equipment where id = :id")
+                .setParameter("id", id)
+                .getResultList();
+        if (types.isEmpty()) return Optional.empty();
+
+        return Optional.ofNullable(entityManager.find(subtypeOf((String) types.getFirst(), id), id));
+    }
+
+    @Override
+    public Equipment getConcreteReference(EquipmentRef ref) {
+        return entityManager.getReference(subtypeOf(ref.getType(), ref.getId()), ref.getId());
+    }
+
+    private Class<? extends Equipment> subtypeOf(String type, Long id) {
+        Class<? extends Equipment> subtype = subtypes().get(type);
+        if (subtype == null) {
+            // Неизвестный дискриминатор - полиморфная загрузка через базовый класс
+            log.warn("Неизвестный тип оборудования '{}' для ID {}", type, id);
+            return Equipment.class;
+        }
+        return subtype;
+    }
+
+    private Map<String, Class<? extends Equipment>> subtypes() {
+        Map<String, Class<? extends Equipment>> result = subtypes;
+        if (result != null) return result;
+
+        result = new HashMap<>();
+        for (EntityType<?> entityType : entityManager.getMetamodel().getEntities()) {
+            Class<?> javaType = entityType.getJavaType();
+            if (!Equipment.class.isAssignableFrom(javaType) || Modifier.isAbstract(javaType.getModifiers())) continue;
+
+            DiscriminatorValue discriminator = javaType.getAnnotation(DiscriminatorValue.class);
+            String key = discriminator != null ? discriminator.value() : entityType.getName();
+            result.put(key, javaType.asSubclass(Equipment.class));
+        }
+        subtypes = Map.copyOf(result);
+        return subtypes;
+    }
+}
@@ -1,12 +1,16 @@
 package ru.litvast.techtrackapi.repository.equipment;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import ru.litvast.techtrackapi.model.entity.equipment.Printer;
 import java.util.Optional;
 
-public interface PrinterRepository extends JpaRepository<Printer, Long> {
+public interface PrinterRepository extends JpaRepository<Printer, Long>, JpaSpecificationExecutor<Printer> {
     boolean existsByNameIgnoreCase(String name);
     Optional<Printer> findByNameIgnoreCase(String name);
     boolean existsByInventoryNumber(String inventoryNumber);
     Optional<Printer> findByInventoryNumber(String inventoryNumber);
+    Slice<Printer> findSliceBy(Pageable pageable);
 }
\ No newline at end of file
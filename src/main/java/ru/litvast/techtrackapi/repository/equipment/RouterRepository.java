@@ -1,12 +1,16 @@
 package ru.litvast.techtrackapi.repository.equipment;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import ru.litvast.techtrackapi.model.entity.equipment.Router;
 import java.util.Optional;
 
-public interface RouterRepository extends JpaRepository<Router, Long> {
+public interface RouterRepository extends JpaRepository<Router, Long>, JpaSpecificationExecutor<Router> {
     boolean existsByNameIgnoreCase(String name);
     Optional<Router> findByNameIgnoreCase(String name);
     boolean existsByInventoryNumber(String inventoryNumber);
     Optional<Router> findByInventoryNumber(String inventoryNumber);
+    Slice<Router> findSliceBy(Pageable pageable);
 }
\ No newline at end of file
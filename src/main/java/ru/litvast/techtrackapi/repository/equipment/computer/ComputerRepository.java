@@ -1,11 +1,32 @@
 package ru.litvast.techtrackapi.repository.equipment.computer;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.litvast.techtrackapi.model.entity.equipment.computer.Computer;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface ComputerRepository extends JpaRepository<Computer, Long> {
+public interface ComputerRepository extends JpaRepository<Computer, Long>, JpaSpecificationExecutor<Computer> {
     Boolean existsByNameIgnoreCase(String name);
+
+    @Query("select lower(c.name) from Computer c where lower(c.name) in :names")
+    List<String> findLowerNamesIn(@Param("names") Collection<String> names);
+
+    // Одиночные комплектующие присоединяются одним запросом; коллекции (ОЗУ, накопители, порты платы)
+    // догружаются пакетно через default_batch_fetch_size, сокеты, архитектура и форм-фактор - из кэша второго уровня
+    @EntityGraph(attributePaths = {"processor", "motherboard", "videoCard", "powerSupply"})
     Optional<Computer> findByNameIgnoreCase(String name);
-}
\ No newline at end of file
+
+    @EntityGraph(attributePaths = {"processor", "motherboard", "videoCard", "powerSupply"})
+    Optional<Computer> findWithComponentsById(Long id);
+
+    @EntityGraph(attributePaths = {"processor", "motherboard", "videoCard", "powerSupply"})
+    Slice<Computer> findSliceBy(Pageable pageable);
+}
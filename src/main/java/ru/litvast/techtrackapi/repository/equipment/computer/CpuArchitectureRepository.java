@@ -1,10 +1,32 @@
 package ru.litvast.techtrackapi.repository.equipment.computer;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.litvast.techtrackapi.model.entity.equipment.computer.CpuArchitecture;
 import java.util.Optional;
 
-public interface CpuArchitectureRepository extends JpaRepository<CpuArchitecture, Long> {
+public interface CpuArchitectureRepository extends JpaRepository<CpuArchitecture, Long>, JpaSpecificationExecutor<CpuArchitecture> {
     boolean existsByNameIgnoreCase(String name);
     Optional<CpuArchitecture> findByNameIgnoreCase(String name);
+    Slice<CpuArchitecture> findSliceBy(Pageable pageable);
+
+    @Query(value = """
+            insert into cpu_architectures (id, name, bit_width)
+            values (nextval('cpu_architectures_seq'), :name, :bitWidth)
+            on conflict do nothing
+            returning id
+            """, nativeQuery = true)
+    Optional<Long> insertIfAbsent(@Param("name") String name, @Param("bitWidth") Integer bitWidth);
+
+    @Query(value = """
+            insert into cpu_architectures (id, name, bit_width)
+            values (nextval('cpu_architectures_seq'), :name, :bitWidth)
+            on conflict (lower(name)) do update set name = cpu_architectures.name
+            returning *
+            """, nativeQuery = true)
+    CpuArchitecture upsert(@Param("name") String name, @Param("bitWidth") Integer bitWidth);
 }
\ No newline at end of file
@@ -1,10 +1,40 @@
 package ru.litvast.techtrackapi.repository.equipment.computer;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.litvast.techtrackapi.model.entity.equipment.computer.CpuSocket;
 import java.util.Optional;
 
-public interface CpuSocketRepository extends JpaRepository<CpuSocket, Long> {
+public interface CpuSocketRepository extends JpaRepository<CpuSocket, Long>, JpaSpecificationExecutor<CpuSocket> {
     boolean existsByNameIgnoreCase(String name);
     Optional<CpuSocket> findByNameIgnoreCase(String name);
+    Slice<CpuSocket> findSliceBy(Pageable pageable);
+
+    // Дубликат по lower(name) не вставляется, результат пуст. Значение nextval берётся как есть:
+    // pooled-оптимизатор Hibernate занимает диапазон (значение - 49 .. значение) только для выданных ему значений
+    @Query(value = """
+            insert into cpu_sockets (id, name, manufacturer, compatible_cpus)
+            values (nextval('cpu_sockets_seq'), :name, :manufacturer, :compatibleCpus)
+            on conflict do nothing
+            returning id
+            """, nativeQuery = true)
+    Optional<Long> insertIfAbsent(@Param("name") String name,
+                                  @Param("manufacturer") String manufacturer,
+                                  @Param("compatibleCpus") String compatibleCpus);
+
+    // Существующая строка возвращается как есть: DO UPDATE с тем же значением нужен только ради RETURNING,
+    // и в отличие от DO NOTHING дожидается конкурентной вставки того же названия вместо пустого результата
+    @Query(value = """
+            insert into cpu_sockets (id, name, manufacturer, compatible_cpus)
+            values (nextval('cpu_sockets_seq'), :name, :manufacturer, :compatibleCpus)
+            on conflict (lower(name)) do update set name = cpu_sockets.name
+            returning *
+            """, nativeQuery = true)
+    CpuSocket upsert(@Param("name") String name,
+                     @Param("manufacturer") String manufacturer,
+                     @Param("compatibleCpus") String compatibleCpus);
 }
\ No newline at end of file
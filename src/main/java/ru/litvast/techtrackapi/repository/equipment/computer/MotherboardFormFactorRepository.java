@@ -1,10 +1,38 @@
 package ru.litvast.techtrackapi.repository.equipment.computer;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.litvast.techtrackapi.model.entity.equipment.computer.MotherboardFormFactor;
 import java.util.Optional;
 
-public interface MotherboardFormFactorRepository extends JpaRepository<MotherboardFormFactor, Long> {
+public interface MotherboardFormFactorRepository extends JpaRepository<MotherboardFormFactor, Long>, JpaSpecificationExecutor<MotherboardFormFactor> {
     boolean existsByCodeIgnoreCase(String code);
     Optional<MotherboardFormFactor> findByCodeIgnoreCase(String code);
+    Slice<MotherboardFormFactor> findSliceBy(Pageable pageable);
+
+    @Query(value = """
+            insert into motherboard_form_factors (id, code, name, width_mm, height_mm)
+            values (nextval('motherboard_form_factors_seq'), :code, :name, :widthMm, :heightMm)
+            on conflict do nothing
+            returning id
+            """, nativeQuery = true)
+    Optional<Long> insertIfAbsent(@Param("code") String code,
+                                  @Param("name") String name,
+                                  @Param("widthMm") Integer widthMm,
+                                  @Param("heightMm") Integer heightMm);
+
+    @Query(value = """
+            insert into motherboard_form_factors (id, code, name, width_mm, height_mm)
+            values (nextval('motherboard_form_factors_seq'), :code, :name, :widthMm, :heightMm)
+            on conflict (lower(code)) do update set code = motherboard_form_factors.code
+            returning *
+            """, nativeQuery = true)
+    MotherboardFormFactor upsert(@Param("code") String code,
+                                 @Param("name") String name,
+                                 @Param("widthMm") Integer widthMm,
+                                 @Param("heightMm") Integer heightMm);
 }
\ No newline at end of file
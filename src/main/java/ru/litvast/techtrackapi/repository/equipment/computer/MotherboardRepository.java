@@ -1,10 +1,23 @@
 package ru.litvast.techtrackapi.repository.equipment.computer;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import ru.litvast.techtrackapi.model.entity.equipment.computer.Motherboard;
 import java.util.Optional;
 
-public interface MotherboardRepository extends JpaRepository<Motherboard, Long> {
+public interface MotherboardRepository extends JpaRepository<Motherboard, Long>, JpaSpecificationExecutor<Motherboard> {
     boolean existsByNameIgnoreCase(String name);
+
+    @EntityGraph(attributePaths = {"socket", "formFactor"})
     Optional<Motherboard> findByNameIgnoreCase(String name);
-}
\ No newline at end of file
+
+    @Override
+    @EntityGraph(attributePaths = {"socket", "formFactor"})
+    Optional<Motherboard> findById(Long id);
+
+    @EntityGraph(attributePaths = {"socket", "formFactor"})
+    Slice<Motherboard> findSliceBy(Pageable pageable);
+}
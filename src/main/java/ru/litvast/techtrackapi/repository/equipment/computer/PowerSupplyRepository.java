@@ -1,11 +1,15 @@
 package ru.litvast.techtrackapi.repository.equipment.computer;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import ru.litvast.techtrackapi.model.entity.equipment.computer.PowerSupply;
 
 import java.util.Optional;
 
-public interface PowerSupplyRepository extends JpaRepository<PowerSupply, Long> {
+public interface PowerSupplyRepository extends JpaRepository<PowerSupply, Long>, JpaSpecificationExecutor<PowerSupply> {
     Boolean existsByNameIgnoreCase(String name);
     Optional<PowerSupply> findByNameIgnoreCase(String name);
+    Slice<PowerSupply> findSliceBy(Pageable pageable);
 }
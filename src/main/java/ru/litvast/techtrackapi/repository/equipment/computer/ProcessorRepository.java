@@ -1,11 +1,24 @@
 package ru.litvast.techtrackapi.repository.equipment.computer;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import ru.litvast.techtrackapi.model.entity.equipment.computer.Processor;
 
 import java.util.Optional;
 
-public interface ProcessorRepository extends JpaRepository<Processor, Long> {
+public interface ProcessorRepository extends JpaRepository<Processor, Long>, JpaSpecificationExecutor<Processor> {
     Boolean existsByNameIgnoreCase(String name);
+
+    @EntityGraph(attributePaths = {"socket", "architecture"})
     Optional<Processor> findByNameIgnoreCase(String name);
+
+    @Override
+    @EntityGraph(attributePaths = {"socket", "architecture"})
+    Optional<Processor> findById(Long id);
+
+    @EntityGraph(attributePaths = {"socket", "architecture"})
+    Slice<Processor> findSliceBy(Pageable pageable);
 }
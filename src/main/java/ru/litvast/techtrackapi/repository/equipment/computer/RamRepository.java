@@ -1,11 +1,22 @@
 package ru.litvast.techtrackapi.repository.equipment.computer;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.litvast.techtrackapi.model.entity.equipment.computer.Ram;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface RamRepository extends JpaRepository<Ram, Long> {
+public interface RamRepository extends JpaRepository<Ram, Long>, JpaSpecificationExecutor<Ram> {
     Boolean existsByNameIgnoreCase(String name);
     Optional<Ram> findByNameIgnoreCase(String name);
+
+    @Query("select r from Ram r where lower(r.name) in :names")
+    List<Ram> findAllByLowerNameIn(@Param("names") Collection<String> names);
+    Slice<Ram> findSliceBy(Pageable pageable);
 }
@@ -1,11 +1,22 @@
 package ru.litvast.techtrackapi.repository.equipment.computer;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.litvast.techtrackapi.model.entity.equipment.computer.StorageDevice;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface StorageDeviceRepository extends JpaRepository<StorageDevice, Long> {
+public interface StorageDeviceRepository extends JpaRepository<StorageDevice, Long>, JpaSpecificationExecutor<StorageDevice> {
     Boolean existsByNameIgnoreCase(String name);
     Optional<StorageDevice> findByNameIgnoreCase(String name);
+
+    @Query("select s from StorageDevice s where lower(s.name) in :names")
+    List<StorageDevice> findAllByLowerNameIn(@Param("names") Collection<String> names);
+    Slice<StorageDevice> findSliceBy(Pageable pageable);
 }
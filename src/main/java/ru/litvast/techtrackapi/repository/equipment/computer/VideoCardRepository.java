@@ -1,11 +1,15 @@
 package ru.litvast.techtrackapi.repository.equipment.computer;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import ru.litvast.techtrackapi.model.entity.equipment.computer.VideoCard;
 
 import java.util.Optional;
 
-public interface VideoCardRepository extends JpaRepository<VideoCard, Long> {
+public interface VideoCardRepository extends JpaRepository<VideoCard, Long>, JpaSpecificationExecutor<VideoCard> {
     Boolean existsByNameIgnoreCase(String name);
     Optional<VideoCard> findByNameIgnoreCase(String name);
+    Slice<VideoCard> findSliceBy(Pageable pageable);
 }
@@ -0,0 +1,24 @@
+package ru.litvast.techtrackapi.security;
+
+import lombok.Value;
+
+import java.time.Instant;
+
+@Value
+public class JwtClaims {
+    String username;
+    String tokenType;
+    Instant expiresAt;
+
+    public boolean isAccessToken() {
+        return "access".equals(tokenType);
+    }
+
+    public boolean isRefreshToken() {
+        return "refreshUserToken".equals(tokenType);
+    }
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !now.isBefore(expiresAt);
+    }
+}
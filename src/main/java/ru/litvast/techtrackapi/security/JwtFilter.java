@@ -28,14 +28,15 @@ public class JwtFilter extends OncePerRequestFilter {
                                     @Nonnull HttpServletResponse response,
                                     @Nonnull FilterChain filterChain) throws ServletException, IOException {
         String token = getTokenFromRequest(request);
-        if (token != null && jwtService.validateJwtToken(token) && jwtService.isAccessToken(token)) {
-            setUserDetailsToSecurityContextHolder(token);
+        if (token != null) {
+            jwtService.verifyJwtToken(token)
+                    .filter(JwtClaims::isAccessToken)
+                    .ifPresent(claims -> setUserDetailsToSecurityContextHolder(claims.getUsername()));
         }
         filterChain.doFilter(request, response);
     }
 
-    private void setUserDetailsToSecurityContextHolder(String token) {
-        String username = jwtService.getUsernameFromJwtToken(token);
+    private void setUserDetailsToSecurityContextHolder(String username) {
         User user = userDetailsServiceImpl.loadUserByUsername(username);
         UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(user,
                 null, user.getAuthorities());
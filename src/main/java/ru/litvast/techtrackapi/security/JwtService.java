@@ -2,17 +2,26 @@ package ru.litvast.techtrackapi.security;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import ru.litvast.techtrackapi.model.dto.JwtTokensDto;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 public class JwtService {
@@ -20,6 +29,22 @@ public class JwtService {
     @Value("0TaFz9KtlBGRxcP2U8K1fqbFBVR2CyBbiG7J7NQJPd0EDmVaTvzBnTKOIxgGKgn71MpeaMKi4bqdXzHY5r5vXt")
     private String jwtSecret;
 
+    private static final int MAX_CACHED_TOKENS = 10_000;
+
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+
+    // Проверенные токены: SHA-256 токена -> claims (до истечения срока действия)
+    private final Map<String, JwtClaims> verifiedTokens = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+    }
+
     public String generateAccessToken(String username) {
         Date date = Date.from(LocalDateTime.now().plusMinutes(30).atZone(ZoneId.systemDefault()).toInstant());
         return Jwts.builder()
@@ -49,42 +74,72 @@ public class JwtService {
         );
     }
 
-    public boolean validateJwtToken(String token) {
+    public Optional<JwtClaims> verifyJwtToken(String token) {
+        String digest = digest(token);
+        Instant now = Instant.now();
+
+        JwtClaims cached = verifiedTokens.get(digest);
+        if (cached != null) {
+            if (!cached.isExpired(now)) {
+                return Optional.of(cached);
+            }
+            verifiedTokens.remove(digest);
+            return Optional.empty();
+        }
+
+        JwtClaims claims;
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
-        } catch (JwtException e) {
-            return false;
+            Claims payload = jwtParser.parseSignedClaims(token).getPayload();
+            claims = new JwtClaims(
+                    payload.getSubject(),
+                    payload.get("token_type", String.class),
+                    payload.getExpiration() != null ? payload.getExpiration().toInstant() : null
+            );
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
         }
+
+        if (claims.getExpiresAt() != null) {
+            if (verifiedTokens.size() >= MAX_CACHED_TOKENS) {
+                verifiedTokens.values().removeIf(verified -> verified.isExpired(now));
+                if (verifiedTokens.size() >= MAX_CACHED_TOKENS) {
+                    verifiedTokens.clear();
+                }
+            }
+            verifiedTokens.put(digest, claims);
+        }
+
+        return Optional.of(claims);
+    }
+
+    public boolean validateJwtToken(String token) {
+        return verifyJwtToken(token).isPresent();
     }
 
     public boolean isAccessToken(String token) {
-        Claims claims = getTokenClaims(token);
-        return "access".equals(claims.get("token_type", String.class));
+        return verifyJwtToken(token).map(JwtClaims::isAccessToken).orElse(false);
     }
 
     public boolean isRefreshToken(String token) {
-        Claims claims = getTokenClaims(token);
-        return "refreshUserToken".equals(claims.get("token_type", String.class));
+        return verifyJwtToken(token).map(JwtClaims::isRefreshToken).orElse(false);
     }
 
     public String getUsernameFromJwtToken(String token) {
-        return getTokenClaims(token).getSubject();
+        return verifyJwtToken(token)
+                .map(JwtClaims::getUsername)
+                .orElseThrow(() -> new JwtException("Invalid JWT token"));
     }
 
     private SecretKey getSigningKey() {
-        byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+        return signingKey;
     }
 
-    private Claims getTokenClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
 }
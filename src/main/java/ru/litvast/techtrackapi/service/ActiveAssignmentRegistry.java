@@ -0,0 +1,116 @@
+package ru.litvast.techtrackapi.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.litvast.techtrackapi.model.dto.ActiveAssignmentDto;
+import ru.litvast.techtrackapi.model.entity.AssignmentHistory;
+import ru.litvast.techtrackapi.repository.AssignmentHistoryRepository;
+import ru.litvast.techtrackapi.util.TransactionHooks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ActiveAssignmentRegistry {
+
+    private final AssignmentHistoryRepository assignmentHistoryRepository;
+
+    // ID оборудования -> ID открытой выдачи. Только для чтения (текущая выдача, количество): решение о выдаче
+    // принимает БД (условный UPDATE статуса и ключ assignment_history_active), карта другого экземпляра может отставать
+    private volatile Map<Long, Long> activeByEquipment = new ConcurrentHashMap<>();
+
+    private final Object lock = new Object();
+    // Изменения, пришедшие во время перезагрузки; применяются к новой карте перед подменой
+    private List<Change> pendingChanges;
+
+    private volatile boolean loaded;
+
+    public Optional<Long> findActiveAssignmentId(Long equipmentId) {
+        if (!loaded) {
+            return assignmentHistoryRepository.findByEquipmentIdAndReturnedAtIsNull(equipmentId).map(AssignmentHistory::getId);
+        }
+        return Optional.ofNullable(activeByEquipment.get(equipmentId));
+    }
+
+    public long count() {
+        if (!loaded) {
+            return assignmentHistoryRepository.countByReturnedAtIsNull();
+        }
+        return activeByEquipment.size();
+    }
+
+    // Изменения применяются только после фиксации транзакции, откат карту не затрагивает
+    public void assigned(Long equipmentId, Long assignmentId) {
+        TransactionHooks.afterCommit(() -> apply(new Change(equipmentId, assignmentId, true)));
+    }
+
+    public void returned(Long equipmentId, Long assignmentId) {
+        TransactionHooks.afterCommit(() -> apply(new Change(equipmentId, assignmentId, false)));
+    }
+
+    // Прогрев при старте и периодическая сверка с БД (изменения в обход сервиса, другие экземпляры приложения).
+    // Карта собирается заново и подменяется целиком: живая карта во время чтения снимка не трогается
+    @Scheduled(initialDelayString = "PT0S", fixedDelayString = "PT5M")
+    public synchronized void reload() {
+        List<Change> pending = new ArrayList<>();
+        synchronized (lock) {
+            pendingChanges = pending;
+        }
+
+        try {
+            Map<Long, Long> rebuilt = new ConcurrentHashMap<>();
+            for (ActiveAssignmentDto active : assignmentHistoryRepository.findAllActive()) {
+                rebuilt.put(active.getEquipmentId(), active.getAssignmentId());
+            }
+
+            synchronized (lock) {
+                pending.forEach(change -> change.applyTo(rebuilt));
+                if (loaded && !rebuilt.equals(activeByEquipment)) {
+                    log.debug("Карта активных выдач скорректирована: {} -> {} записей", activeByEquipment.size(), rebuilt.size());
+                }
+                activeByEquipment = rebuilt;
+            }
+        } finally {
+            synchronized (lock) {
+                pendingChanges = null;
+            }
+        }
+        loaded = true;
+    }
+
+    private void apply(Change change) {
+        synchronized (lock) {
+            change.applyTo(activeByEquipment);
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+        }
+    }
+
+    private static final class Change {
+        private final Long equipmentId;
+        private final Long assignmentId;
+        private final boolean assigned;
+
+        private Change(Long equipmentId, Long assignmentId, boolean assigned) {
+            this.equipmentId = equipmentId;
+            this.assignmentId = assignmentId;
+            this.assigned = assigned;
+        }
+
+        private void applyTo(Map<Long, Long> target) {
+            if (assigned) {
+                target.put(equipmentId, assignmentId);
+            } else {
+                target.remove(equipmentId, assignmentId);
+            }
+        }
+    }
+}
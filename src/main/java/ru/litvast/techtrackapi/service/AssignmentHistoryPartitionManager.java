@@ -0,0 +1,133 @@
+package ru.litvast.techtrackapi.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.litvast.techtrackapi.model.entity.AssignmentHistory;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AssignmentHistoryPartitionManager {
+
+    private static final String PARENT_TABLE = "assignment_history";
+    private static final String PARTITION_PREFIX = PARENT_TABLE + "_p";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityCountCache entityCountCache;
+
+    @Value("${techtrack.assignment-history.months-ahead:3}")
+    private int monthsAhead;
+
+    @Value("${techtrack.assignment-history.archive-after-months:24}")
+    private int archiveAfterMonths;
+
+    // Секции на months-ahead месяцев вперёд и архивация закрытых выдач старше горизонта
+    @Scheduled(initialDelayString = "PT0S", fixedDelayString = "PT6H")
+    public void maintainPartitions() {
+        if (!isPartitioned()) {
+            log.warn("Таблица {} не секционирована, обслуживание секций пропущено", PARENT_TABLE);
+            return;
+        }
+
+        createFuturePartitions(YearMonth.now());
+        archiveOldPartitions(YearMonth.now().minusMonths(archiveAfterMonths));
+    }
+
+    private void createFuturePartitions(YearMonth current) {
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            LocalDate from = month.atDay(1);
+            LocalDate to = month.plusMonths(1).atDay(1);
+
+            jdbcTemplate.execute(String.format(
+                    "CREATE TABLE IF NOT EXISTS %s PARTITION OF %s FOR VALUES FROM ('%s') TO ('%s')",
+                    partitionName(month), PARENT_TABLE, from, to));
+        }
+        log.debug("Секции {} подготовлены до {}", PARENT_TABLE, current.plusMonths(monthsAhead));
+    }
+
+    private void archiveOldPartitions(YearMonth horizon) {
+        for (String partition : listPartitions()) {
+            YearMonth month = partitionMonth(partition);
+            if (month == null || !month.isBefore(horizon)) continue;
+
+            Boolean detached = transactionTemplate.execute(status -> archivePartition(partition));
+            entityCountCache.invalidate(AssignmentHistory.class);
+
+            if (Boolean.TRUE.equals(detached)) {
+                log.info("Секция {} перенесена в архив и отсоединена", partition);
+            } else {
+                log.info("Секция {} содержит активные выдачи и остаётся подключённой", partition);
+            }
+        }
+    }
+
+    // Закрытые выдачи переносятся в assignment_history_archive; пустая секция отсоединяется и удаляется
+    private boolean archivePartition(String partition) {
+        int archived = jdbcTemplate.update(String.format("""
+                with moved as (
+                    delete from %s where returned_at is not null
+                    returning id, equipment_id, employee_id, assigned_at, returned_at, condition, created_at
+                )
+                insert into assignment_history_archive (id, equipment_id, employee_id, assigned_at, returned_at, condition, created_at)
+                select id, equipment_id, employee_id, assigned_at, returned_at, condition, created_at
+                from moved
+                on conflict (id) do nothing
+                """, partition));
+        log.debug("Из секции {} в архив перенесено {} записей", partition, archived);
+
+        Boolean hasRows = jdbcTemplate.queryForObject(
+                String.format("select exists(select 1 from %s)", partition), Boolean.class);
+        if (Boolean.TRUE.equals(hasRows)) {
+            return false;
+        }
+
+        jdbcTemplate.execute(String.format("ALTER TABLE %s DETACH PARTITION %s", PARENT_TABLE, partition));
+        jdbcTemplate.execute(String.format("DROP TABLE %s", partition));
+        return true;
+    }
+
+    private boolean isPartitioned() {
+        Boolean partitioned = jdbcTemplate.queryForObject("""
+                select exists(select 1 from pg_class where oid = to_regclass(?) and relkind = 'p')
+                """, Boolean.class, PARENT_TABLE);
+        return Boolean.TRUE.equals(partitioned);
+    }
+
+    private List<String> listPartitions() {
+        return jdbcTemplate.queryForList("""
+                select c.relname
+                from pg_inherits i
+                join pg_class c on c.oid = i.inhrelid
+                where i.inhparent = to_regclass(?)
+                order by c.relname
+                """, String.class, PARENT_TABLE);
+    }
+
+    private static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+    }
+
+    private static YearMonth partitionMonth(String partition) {
+        if (!partition.startsWith(PARTITION_PREFIX)) return null;
+
+        try {
+            return YearMonth.parse(partition.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
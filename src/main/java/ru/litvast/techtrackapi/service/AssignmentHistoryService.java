@@ -2,42 +2,80 @@ package ru.litvast.techtrackapi.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import ru.litvast.techtrackapi.exception.EntityNotFoundException;
-import ru.litvast.techtrackapi.exception.NoEntitiesFoundException;
+import ru.litvast.techtrackapi.model.dto.AssignmentBatchResultDto;
 import ru.litvast.techtrackapi.model.dto.AssignmentHistoryDto;
 import ru.litvast.techtrackapi.model.dto.CreateAssignmentDto;
+import ru.litvast.techtrackapi.model.dto.ListResultDto;
 import ru.litvast.techtrackapi.model.dto.ReturnEquipmentDto;
+import ru.litvast.techtrackapi.model.dto.equipment.EquipmentRef;
 import ru.litvast.techtrackapi.model.dto.mapping.AssignmentHistoryMapping;
 import ru.litvast.techtrackapi.model.entity.AssignmentHistory;
+import ru.litvast.techtrackapi.model.entity.AssignmentHistoryArchive;
 import ru.litvast.techtrackapi.model.entity.Employee;
 import ru.litvast.techtrackapi.model.entity.equipment.Equipment;
 import ru.litvast.techtrackapi.model.entity.equipment.EquipmentStatus;
 import ru.litvast.techtrackapi.repository.AssignmentHistoryRepository;
+import ru.litvast.techtrackapi.repository.AssignmentHistoryArchiveRepository;
 import ru.litvast.techtrackapi.repository.EmployeeRepository;
 import ru.litvast.techtrackapi.repository.equipment.EquipmentRepository;
+import ru.litvast.techtrackapi.util.CursorPagination;
+import ru.litvast.techtrackapi.util.ListQuery;
+import ru.litvast.techtrackapi.util.UniqueViolations;
 
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class AssignmentHistoryService {
 
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long RETRY_BASE_DELAY_MS = 5;
+
     private final AssignmentHistoryRepository assignmentHistoryRepository;
+    private final AssignmentHistoryArchiveRepository assignmentHistoryArchiveRepository;
     private final EquipmentRepository equipmentRepository;
     private final EmployeeRepository employeeRepository;
     private final AssignmentHistoryMapping assignmentHistoryMapping;
+    private final ListPager listPager;
+    private final ActiveAssignmentRegistry activeAssignmentRegistry;
+    private final EquipmentStatusCounters equipmentStatusCounters;
+    private final TransactionTemplate transactionTemplate;
+
+    // Тот же горизонт, что и у AssignmentHistoryPartitionManager: окно по умолчанию покрывает все неархивные секции
+    @Value("${techtrack.assignment-history.archive-after-months:24}")
+    private int archiveAfterMonths;
 
-    @Transactional
     public AssignmentHistoryDto assignEquipment(CreateAssignmentDto dto) {
+        return withRetry("Выдача оборудования", () -> transactionTemplate.execute(status -> doAssignEquipment(dto)));
+    }
+
+    private AssignmentHistoryDto doAssignEquipment(CreateAssignmentDto dto) {
         log.info("=== НАЧАЛО: Выдача оборудования ===");
         log.info("Оборудование ID: {}, Сотрудник ID: {}", dto.getEquipmentId(), dto.getEmployeeId());
 
-        Equipment equipment = equipmentRepository.findById(dto.getEquipmentId())
+        EquipmentRef equipmentRef = equipmentRepository.findRefById(dto.getEquipmentId())
                 .orElseThrow(() -> {
                     log.error("Оборудование с ID {} не найдено", dto.getEquipmentId());
                     return new EntityNotFoundException(
@@ -53,37 +91,50 @@ public class AssignmentHistoryService {
                     );
                 });
 
-        log.info("Оборудование: {}, Сотрудник: {}", equipment.getName(), employee.getFullName());
+        log.info("Оборудование: {}, Сотрудник: {}", equipmentRef.getName(), employee.getFullName());
 
-        if (assignmentHistoryRepository.findByEquipmentIdAndReturnedAtIsNull(dto.getEquipmentId()).isPresent()) {
-            log.warn("Оборудование ID {} уже выдано другому сотруднику", dto.getEquipmentId());
+        // Проверка и смена статуса - один условный UPDATE, без блокировок и окна между проверкой и записью
+        LocalDateTime now = LocalDateTime.now();
+        if (equipmentRepository.markAssigned(dto.getEquipmentId(), now) == 0) {
+            log.warn("Оборудование ID {} уже выдано (конкурентная выдача)", dto.getEquipmentId());
             throw new IllegalArgumentException(
                     String.format("Equipment with id '%d' is already assigned to someone", dto.getEquipmentId())
             );
         }
-
-        equipment.setStatus(EquipmentStatus.ASSIGNED);
-        equipmentRepository.save(equipment);
+        equipmentStatusCounters.changed(equipmentRef.getType(), equipmentRef.getStatus(), EquipmentStatus.ASSIGNED);
         log.info("Статус оборудования изменён на ASSIGNED");
 
         AssignmentHistory history = assignmentHistoryMapping.toEntity(dto);
-        history.setEquipment(equipment);
+        history.setEquipment(equipmentRepository.getConcreteReference(equipmentRef));
         history.setEmployee(employee);
-        history.setAssignedAt(LocalDateTime.now());
-        assignmentHistoryRepository.save(history);
+        history.setAssignedAt(now);
+        try {
+            // Немедленная запись: параллельная выдача того же оборудования нарушит ключ assignment_history_active
+            assignmentHistoryRepository.saveAndFlush(history);
+        } catch (DataIntegrityViolationException e) {
+            if (!UniqueViolations.isViolated(e, UniqueViolations.ACTIVE_ASSIGNMENT)) throw e;
+            log.warn("Оборудование ID {} уже выдано другому сотруднику (конкурентная выдача)", dto.getEquipmentId());
+            throw new IllegalArgumentException(
+                    String.format("Equipment with id '%d' is already assigned to someone", dto.getEquipmentId())
+            );
+        }
+        activeAssignmentRegistry.assigned(dto.getEquipmentId(), history.getId());
 
         log.info("Запись о выдаче создана. ID записи: {}", history.getId());
         log.info("=== УСПЕШНО: Оборудование выдано ===");
 
-        return assignmentHistoryMapping.toDto(history);
+        return toDto(history, equipmentRef);
     }
 
-    @Transactional
     public AssignmentHistoryDto returnEquipment(ReturnEquipmentDto dto) {
+        return withRetry("Возврат оборудования", () -> transactionTemplate.execute(status -> doReturnEquipment(dto)));
+    }
+
+    private AssignmentHistoryDto doReturnEquipment(ReturnEquipmentDto dto) {
         log.info("=== НАЧАЛО: Возврат оборудования ===");
         log.info("ID записи: {}", dto.getId());
 
-        AssignmentHistory history = assignmentHistoryRepository.findById(dto.getId())
+        AssignmentHistory history = assignmentHistoryRepository.findForReturnById(dto.getId())
                 .orElseThrow(() -> {
                     log.error("Запись о выдаче с ID {} не найдена", dto.getId());
                     return new EntityNotFoundException(
@@ -104,34 +155,196 @@ public class AssignmentHistoryService {
         assignmentHistoryRepository.save(history);
         log.info("Дата возврата установлена: {}", history.getReturnedAt());
 
-        boolean hasActiveAssignments = assignmentHistoryRepository
-                .findByEquipmentIdAndReturnedAtIsNull(history.getEquipment().getId())
-                .isPresent();
+        Long equipmentId = history.getEquipment().getId();
+        activeAssignmentRegistry.returned(equipmentId, history.getId());
 
-        if (!hasActiveAssignments) {
-            history.getEquipment().setStatus(EquipmentStatus.IN_STOCK);
-            equipmentRepository.save(history.getEquipment());
-            log.info("Статус оборудования изменён на IN_STOCK (нет активных выдач)");
-        } else {
-            log.info("Статус оборудования остаётся ASSIGNED (есть другие активные выдачи)");
-        }
+        // Оборудование загружается через конкретный подтип; прокси в history указывает на тот же экземпляр
+        Equipment equipment = equipmentRepository.findConcreteById(equipmentId)
+                .orElseThrow(() -> new EntityNotFoundException(
+                        String.format("Equipment with id '%d' not found", equipmentId)
+                ));
+
+        // Открытая выдача у оборудования может быть только одна (assignment_history_active), и она закрыта
+        equipment.setStatus(EquipmentStatus.IN_STOCK);
+        equipmentRepository.save(equipment);
+        log.info("Статус оборудования изменён на IN_STOCK");
 
         log.info("=== УСПЕШНО: Оборудование возвращено ===");
         return assignmentHistoryMapping.toDto(history);
     }
 
-    public Page<AssignmentHistoryDto> getAllAssignments(Pageable pageable) {
-        log.debug("Запрос всех записей истории с пагинацией");
-        Page<AssignmentHistory> histories = assignmentHistoryRepository.findAll(pageable);
-        if (histories.isEmpty()) {
-            log.warn("Записи истории не найдены");
-            throw new NoEntitiesFoundException("No assignment records found");
+    @Transactional
+    public List<AssignmentBatchResultDto> assignEquipmentBatch(List<CreateAssignmentDto> dtoList) {
+        log.info("=== НАЧАЛО: Пакетная выдача оборудования ===");
+        log.info("Количество позиций: {}", dtoList.size());
+
+        // Все справочные данные пакета читаются тремя запросами
+        Set<Long> equipmentIds = new HashSet<>();
+        Set<Long> employeeIds = new HashSet<>();
+        for (CreateAssignmentDto dto : dtoList) {
+            equipmentIds.add(dto.getEquipmentId());
+            employeeIds.add(dto.getEmployeeId());
+        }
+
+        Map<Long, EquipmentRef> equipmentRefs = new HashMap<>();
+        for (EquipmentRef ref : equipmentRepository.findRefsByIdIn(equipmentIds)) {
+            equipmentRefs.put(ref.getId(), ref);
+        }
+        Map<Long, Employee> employees = new HashMap<>();
+        for (Employee employee : employeeRepository.findAllById(employeeIds)) {
+            employees.put(employee.getId(), employee);
+        }
+        Set<Long> busyEquipmentIds = new HashSet<>(assignmentHistoryRepository.findActiveEquipmentIds(equipmentIds));
+
+        AssignmentBatchResultDto[] results = new AssignmentBatchResultDto[dtoList.size()];
+        List<AssignmentHistory> histories = new ArrayList<>();
+        List<Integer> historyIndexes = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+
+        for (int i = 0; i < dtoList.size(); i++) {
+            CreateAssignmentDto dto = dtoList.get(i);
+            EquipmentRef equipmentRef = equipmentRefs.get(dto.getEquipmentId());
+            Employee employee = employees.get(dto.getEmployeeId());
+
+            if (equipmentRef == null) {
+                results[i] = AssignmentBatchResultDto.failed(i, String.format("Equipment with id '%d' not found", dto.getEquipmentId()));
+            } else if (employee == null) {
+                results[i] = AssignmentBatchResultDto.failed(i, String.format("Employee with id '%d' not found", dto.getEmployeeId()));
+            } else if (!busyEquipmentIds.add(dto.getEquipmentId())) {
+                // Занято активной выдачей в БД или более ранней позицией этого же пакета
+                results[i] = AssignmentBatchResultDto.failed(i, String.format("Equipment with id '%d' is already assigned to someone", dto.getEquipmentId()));
+            } else {
+                AssignmentHistory history = assignmentHistoryMapping.toEntity(dto);
+                history.setEquipment(equipmentRepository.getConcreteReference(equipmentRef));
+                history.setEmployee(employee);
+                history.setAssignedAt(now);
+                histories.add(history);
+                historyIndexes.add(i);
+            }
+        }
+
+        if (!histories.isEmpty()) {
+            // Проверка по истории выше не видит параллельные выдачи: статус меняется только у строк,
+            // которые удалось заблокировать не выданными, остальные позиции пакета отклоняются поштучно
+            List<Long> candidateIds = histories.stream().map(history -> history.getEquipment().getId()).toList();
+            Set<Long> assignableIds = new HashSet<>(equipmentRepository.lockAssignableByIdIn(candidateIds));
+            for (int i = histories.size() - 1; i >= 0; i--) {
+                Long equipmentId = histories.get(i).getEquipment().getId();
+                if (!assignableIds.contains(equipmentId)) {
+                    int index = historyIndexes.get(i);
+                    log.warn("Оборудование ID {} уже выдано (конкурентная выдача в пакете)", equipmentId);
+                    results[index] = AssignmentBatchResultDto.failed(index, String.format("Equipment with id '%d' is already assigned to someone", equipmentId));
+                    histories.remove(i);
+                    historyIndexes.remove(i);
+                }
+            }
+        }
+
+        if (!histories.isEmpty()) {
+            List<Long> assignedIds = histories.stream().map(history -> history.getEquipment().getId()).toList();
+            equipmentRepository.updateStatusByIdIn(assignedIds, EquipmentStatus.ASSIGNED.name(), now);
+            try {
+                // Вставка пачками по hibernate.jdbc.batch_size
+                assignmentHistoryRepository.saveAll(histories);
+                assignmentHistoryRepository.flush();
+            } catch (DataIntegrityViolationException e) {
+                if (!UniqueViolations.isViolated(e, UniqueViolations.ACTIVE_ASSIGNMENT)) throw e;
+                log.warn("Пакетная выдача конфликтует с параллельной выдачей: {}", e.getMostSpecificCause().getMessage());
+                throw new IllegalArgumentException("Some of the equipment was assigned concurrently, retry the batch");
+            }
+
+            for (int i = 0; i < histories.size(); i++) {
+                AssignmentHistory history = histories.get(i);
+                EquipmentRef equipmentRef = equipmentRefs.get(history.getEquipment().getId());
+                activeAssignmentRegistry.assigned(equipmentRef.getId(), history.getId());
+                equipmentStatusCounters.changed(equipmentRef.getType(), equipmentRef.getStatus(), EquipmentStatus.ASSIGNED);
+                results[historyIndexes.get(i)] = AssignmentBatchResultDto.assigned(historyIndexes.get(i), toDto(history, equipmentRef));
+            }
+        }
+
+        log.info("Пакетная выдача завершена. Выдано: {}, с ошибками: {}", histories.size(), dtoList.size() - histories.size());
+        log.info("=== УСПЕШНО: Пакетная выдача оборудования ===");
+        return List.of(results);
+    }
+
+    @Transactional
+    public List<AssignmentBatchResultDto> returnEquipmentBatch(List<ReturnEquipmentDto> dtoList) {
+        log.info("=== НАЧАЛО: Пакетный возврат оборудования ===");
+        log.info("Количество позиций: {}", dtoList.size());
+
+        Set<Long> historyIds = new HashSet<>();
+        for (ReturnEquipmentDto dto : dtoList) {
+            historyIds.add(dto.getId());
         }
-        log.debug("Найдено {} записей", histories.getTotalElements());
-        return histories.map(assignmentHistoryMapping::toDto);
+
+        Map<Long, AssignmentHistory> histories = new HashMap<>();
+        for (AssignmentHistory history : assignmentHistoryRepository.findAllForReturnByIdIn(historyIds)) {
+            histories.put(history.getId(), history);
+        }
+
+        AssignmentBatchResultDto[] results = new AssignmentBatchResultDto[dtoList.size()];
+        List<AssignmentHistory> returned = new ArrayList<>();
+        List<Integer> returnedIndexes = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+
+        for (int i = 0; i < dtoList.size(); i++) {
+            ReturnEquipmentDto dto = dtoList.get(i);
+            AssignmentHistory history = histories.get(dto.getId());
+
+            if (history == null) {
+                results[i] = AssignmentBatchResultDto.failed(i, String.format("Assignment record with id '%d' not found", dto.getId()));
+            } else if (history.getReturnedAt() != null) {
+                // Возвращено ранее или более ранней позицией этого же пакета
+                results[i] = AssignmentBatchResultDto.failed(i, "Equipment already returned");
+            } else {
+                history.setReturnedAt(now);
+                if (dto.getCondition() != null) {
+                    history.setCondition(dto.getCondition());
+                }
+                returned.add(history);
+                returnedIndexes.add(i);
+            }
+        }
+
+        if (!returned.isEmpty()) {
+            List<Long> equipmentIds = returned.stream().map(history -> history.getEquipment().getId()).toList();
+            Map<Long, EquipmentRef> equipmentRefs = new HashMap<>();
+            for (EquipmentRef ref : equipmentRepository.findRefsByIdIn(equipmentIds)) {
+                equipmentRefs.put(ref.getId(), ref);
+            }
+
+            // Изменённые записи истории сбрасываются пачкой UPDATE перед массовой сменой статуса
+            assignmentHistoryRepository.flush();
+            equipmentRepository.updateStatusByIdIn(equipmentIds, EquipmentStatus.IN_STOCK.name(), now);
+
+            for (int i = 0; i < returned.size(); i++) {
+                AssignmentHistory history = returned.get(i);
+                EquipmentRef equipmentRef = equipmentRefs.get(history.getEquipment().getId());
+                activeAssignmentRegistry.returned(equipmentRef.getId(), history.getId());
+                equipmentStatusCounters.changed(equipmentRef.getType(), equipmentRef.getStatus(), EquipmentStatus.IN_STOCK);
+                results[returnedIndexes.get(i)] = AssignmentBatchResultDto.returned(returnedIndexes.get(i), toDto(history, equipmentRef));
+            }
+        }
+
+        log.info("Пакетный возврат завершён. Возвращено: {}, с ошибками: {}", returned.size(), dtoList.size() - returned.size());
+        log.info("=== УСПЕШНО: Пакетный возврат оборудования ===");
+        return List.of(results);
+    }
+
+    // READ all: страница, срез или курсор (ListQuery) в окне по assigned_at
+    public ListResultDto<AssignmentHistoryDto> getAllAssignments(LocalDateTime from, LocalDateTime to, ListQuery query) {
+        log.debug("Запрос всех записей истории");
+        LocalDateTime windowFrom = windowFrom(from);
+        LocalDateTime windowTo = windowTo(from, to);
+        ListQuery recentQuery = query.withPageable(recentFirst(query.getPageable()));
+
+        return listPager.findAllMatching(recentQuery, AssignmentHistory.class, assignedBetween(windowFrom, windowTo), assignmentHistoryRepository,
+                pageable -> assignmentHistoryRepository.findSliceByAssignedAtBetween(windowFrom, windowTo, pageable),
+                assignmentHistoryMapping::toDto, "No assignment records found",
+                "equipment", "employee");
     }
 
-    public Page<AssignmentHistoryDto> getAssignmentsByEquipmentId(Long equipmentId, Pageable pageable) {
+    public ListResultDto<AssignmentHistoryDto> getAssignmentsByEquipmentId(Long equipmentId, LocalDateTime from, LocalDateTime to, ListQuery query) {
         log.debug("Поиск истории по оборудованию ID: {}", equipmentId);
 
         if (!equipmentRepository.existsById(equipmentId)) {
@@ -140,17 +353,19 @@ public class AssignmentHistoryService {
                     String.format("Equipment with id '%d' not found", equipmentId)
             );
         }
-
-        Page<AssignmentHistory> histories = assignmentHistoryRepository.findByEquipmentId(equipmentId, pageable);
-        if (histories.isEmpty()) {
-            log.warn("История для оборудования ID {} не найдена", equipmentId);
-            throw new NoEntitiesFoundException("No assignment records found for this equipment");
-        }
-        log.debug("Найдено {} записей для оборудования ID {}", histories.getTotalElements(), equipmentId);
-        return histories.map(assignmentHistoryMapping::toDto);
+        LocalDateTime windowFrom = windowFrom(from);
+        LocalDateTime windowTo = windowTo(from, to);
+        ListQuery recentQuery = query.withPageable(recentFirst(query.getPageable()));
+        Specification<AssignmentHistory> specification = CursorPagination.<AssignmentHistory>hasId("equipment", equipmentId)
+                .and(assignedBetween(windowFrom, windowTo));
+
+        return listPager.findAllMatching(recentQuery, AssignmentHistory.class, specification, assignmentHistoryRepository,
+                pageable -> assignmentHistoryRepository.findSliceByEquipmentIdAndAssignedAtBetween(equipmentId, windowFrom, windowTo, pageable),
+                assignmentHistoryMapping::toDto, "No assignment records found for this equipment",
+                "equipment", "employee");
     }
 
-    public Page<AssignmentHistoryDto> getAssignmentsByEmployeeId(Long employeeId, Pageable pageable) {
+    public ListResultDto<AssignmentHistoryDto> getAssignmentsByEmployeeId(Long employeeId, LocalDateTime from, LocalDateTime to, ListQuery query) {
         log.debug("Поиск истории по сотруднику ID: {}", employeeId);
 
         if (!employeeRepository.existsById(employeeId)) {
@@ -159,14 +374,38 @@ public class AssignmentHistoryService {
                     String.format("Employee with id '%d' not found", employeeId)
             );
         }
+        LocalDateTime windowFrom = windowFrom(from);
+        LocalDateTime windowTo = windowTo(from, to);
+        ListQuery recentQuery = query.withPageable(recentFirst(query.getPageable()));
+        Specification<AssignmentHistory> specification = CursorPagination.<AssignmentHistory>hasId("employee", employeeId)
+                .and(assignedBetween(windowFrom, windowTo));
+
+        return listPager.findAllMatching(recentQuery, AssignmentHistory.class, specification, assignmentHistoryRepository,
+                pageable -> assignmentHistoryRepository.findSliceByEmployeeIdAndAssignedAtBetween(employeeId, windowFrom, windowTo, pageable),
+                assignmentHistoryMapping::toDto, "No assignment records found for this employee",
+                "equipment", "employee");
+    }
 
-        Page<AssignmentHistory> histories = assignmentHistoryRepository.findByEmployeeId(employeeId, pageable);
-        if (histories.isEmpty()) {
-            log.warn("История для сотрудника ID {} не найдена", employeeId);
-            throw new NoEntitiesFoundException("No assignment records found for this employee");
-        }
-        log.debug("Найдено {} записей для сотрудника ID {}", histories.getTotalElements(), employeeId);
-        return histories.map(assignmentHistoryMapping::toDto);
+    // READ archive: закрытые выдачи, перенесённые из секций старше archive-after-months.
+    // Оборудование и сотрудник могли быть удалены после архивации, поэтому их наличие не проверяется
+    public ListResultDto<AssignmentHistoryDto> getArchivedAssignmentsByEquipmentId(Long equipmentId, ListQuery query) {
+        log.debug("Поиск архивной истории по оборудованию ID: {}", equipmentId);
+        ListQuery recentQuery = query.withPageable(recentFirst(query.getPageable()));
+
+        return listPager.findAllBy(recentQuery, AssignmentHistoryArchive.class, "equipment", equipmentId, assignmentHistoryArchiveRepository,
+                pageable -> assignmentHistoryArchiveRepository.findSliceByEquipmentId(equipmentId, pageable),
+                assignmentHistoryMapping::toDto, "No archived assignment records found for this equipment",
+                "equipment", "employee");
+    }
+
+    public ListResultDto<AssignmentHistoryDto> getArchivedAssignmentsByEmployeeId(Long employeeId, ListQuery query) {
+        log.debug("Поиск архивной истории по сотруднику ID: {}", employeeId);
+        ListQuery recentQuery = query.withPageable(recentFirst(query.getPageable()));
+
+        return listPager.findAllBy(recentQuery, AssignmentHistoryArchive.class, "employee", employeeId, assignmentHistoryArchiveRepository,
+                pageable -> assignmentHistoryArchiveRepository.findSliceByEmployeeId(employeeId, pageable),
+                assignmentHistoryMapping::toDto, "No archived assignment records found for this employee",
+                "equipment", "employee");
     }
 
     public AssignmentHistoryDto getAssignmentById(Long id) {
@@ -185,7 +424,11 @@ public class AssignmentHistoryService {
     public AssignmentHistoryDto getCurrentAssignmentByEquipmentId(Long equipmentId) {
         log.debug("Поиск активной выдачи по оборудованию ID: {}", equipmentId);
 
-        AssignmentHistory history = assignmentHistoryRepository.findByEquipmentIdAndReturnedAtIsNull(equipmentId)
+        // Карта могла отстать от возврата на другом экземпляре: закрытая выдача перечитывается из БД
+        AssignmentHistory history = activeAssignmentRegistry.findActiveAssignmentId(equipmentId)
+                .flatMap(assignmentHistoryRepository::findById)
+                .filter(active -> active.getReturnedAt() == null)
+                .or(() -> assignmentHistoryRepository.findByEquipmentIdAndReturnedAtIsNull(equipmentId))
                 .orElseThrow(() -> {
                     log.warn("Активная выдача для оборудования ID {} не найдена", equipmentId);
                     return new EntityNotFoundException(
@@ -204,6 +447,77 @@ public class AssignmentHistoryService {
     public long getCountAssignmentsWhereReturnedAtIsNull() {
         log.debug("Подсчёт количества активных задач");
 
-        return assignmentHistoryRepository.countByReturnedAtIsNull();
+        return activeAssignmentRegistry.count();
+    }
+
+    // Окно по assigned_at нужно для отсечения секций: без него запрос читает индексы всех секций.
+    // По умолчанию - с первого дня месяца-горизонта архивации: всё, что старше, уже перенесено
+    // в assignment_history_archive и доступно через архивные методы. Секции за горизонтом, оставленные из-за
+    // открытых выдач, читаются через явный from
+    private LocalDateTime windowFrom(LocalDateTime from) {
+        return from != null ? from : YearMonth.now().minusMonths(archiveAfterMonths).atDay(1).atStartOfDay();
+    }
+
+    private static LocalDateTime windowTo(LocalDateTime from, LocalDateTime to) {
+        LocalDateTime windowTo = to != null ? to : LocalDateTime.now();
+        if (from != null && from.isAfter(windowTo)) {
+            log.warn("Некорректное окно истории: from {} позже to {}", from, windowTo);
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+        return windowTo;
+    }
+
+    private static Specification<AssignmentHistory> assignedBetween(LocalDateTime from, LocalDateTime to) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.between(root.get("assignedAt"), from, to);
+    }
+
+    // Без явной сортировки история отдаётся от новых записей к старым: при секционировании по assigned_at
+    // первые страницы читаются из последних секций, и задержка не растёт вместе с объёмом истории
+    private static Pageable recentFirst(Pageable pageable) {
+        if (pageable.getSort().isSorted()) return pageable;
+        Sort sort = Sort.by(Sort.Direction.DESC, "assignedAt", "id");
+        return pageable.isPaged()
+                ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort)
+                : Pageable.unpaged(sort);
+    }
+
+    // DTO без обращения к прокси оборудования: имя и тип уже прочитаны в EquipmentRef
+    private static AssignmentHistoryDto toDto(AssignmentHistory history, EquipmentRef equipmentRef) {
+        return new AssignmentHistoryDto(
+                history.getId(),
+                equipmentRef.getId(),
+                equipmentRef.getName(),
+                equipmentRef.getType(),
+                history.getEmployee().getId(),
+                history.getEmployee().getFullName(),
+                history.getAssignedAt(),
+                history.getReturnedAt(),
+                history.getCondition());
+    }
+
+    // Ограниченный повтор всей транзакции при конфликте версий (@Version) или взаимоблокировке;
+    // конфликты по существу (оборудование уже выдано) не повторяются
+    private <T> T withRetry(String operation, Supplier<T> action) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return action.get();
+            } catch (OptimisticLockingFailureException | PessimisticLockingFailureException e) {
+                if (attempt >= MAX_ATTEMPTS) {
+                    log.warn("{}: конфликт параллельного изменения не разрешён за {} попыток", operation, MAX_ATTEMPTS);
+                    throw new IllegalArgumentException("Equipment was modified concurrently, please retry");
+                }
+                log.debug("{}: конфликт параллельного изменения, попытка {} из {}", operation, attempt, MAX_ATTEMPTS);
+                backoff(attempt);
+            }
+        }
+    }
+
+    private static void backoff(int attempt) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(1, RETRY_BASE_DELAY_MS << attempt));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to retry", e);
+        }
     }
 }
\ No newline at end of file
@@ -2,19 +2,20 @@ package ru.litvast.techtrackapi.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.litvast.techtrackapi.exception.EntityNotFoundException;
-import ru.litvast.techtrackapi.exception.NoEntitiesFoundException;
 import ru.litvast.techtrackapi.model.dto.BuildingFloorDto;
 import ru.litvast.techtrackapi.model.dto.BuildingFloorUpdateDto;
+import ru.litvast.techtrackapi.model.dto.ListResultDto;
+import ru.litvast.techtrackapi.model.dto.inventory.InventorySummaryDto;
 import ru.litvast.techtrackapi.model.dto.mapping.BuildingFloorMapping;
 import ru.litvast.techtrackapi.model.entity.Building;
 import ru.litvast.techtrackapi.model.entity.BuildingFloor;
 import ru.litvast.techtrackapi.repository.BuildingFloorRepository;
 import ru.litvast.techtrackapi.repository.BuildingRepository;
+import ru.litvast.techtrackapi.repository.RoomRepository;
+import ru.litvast.techtrackapi.util.ListQuery;
 
 @Slf4j
 @Service
@@ -23,7 +24,10 @@ public class BuildingFloorService {
 
     private final BuildingFloorRepository buildingFloorRepository;
     private final BuildingRepository buildingRepository;
+    private final RoomRepository roomRepository;
     private final BuildingFloorMapping buildingFloorMapping;
+    private final ListPager listPager;
+    private final InventoryRollups inventoryRollups;
 
     @Transactional
     public BuildingFloorDto addBuildingFloor(BuildingFloorDto dto) {
@@ -62,20 +66,15 @@ public class BuildingFloorService {
         return buildingFloorMapping.toDto(buildingFloor);
     }
 
-    public Page<BuildingFloorDto> getAllBuildingFloors(Pageable pageable) {
-        log.debug("Запрос всех этажей с пагинацией");
+    // READ all: страница, срез или курсор (ListQuery)
+    public ListResultDto<BuildingFloorDto> getAllBuildingFloors(ListQuery query) {
+        log.debug("Запрос всех этажей");
 
-        Page<BuildingFloor> floors = buildingFloorRepository.findAll(pageable);
-        if (floors.isEmpty()) {
-            log.warn("Этажи не найдены");
-            throw new NoEntitiesFoundException("No building floors found");
-        }
-
-        log.debug("Найдено {} этажей", floors.getTotalElements());
-        return floors.map(buildingFloorMapping::toDto);
+        return listPager.findAll(query, BuildingFloor.class, buildingFloorRepository,
+                buildingFloorRepository::findSliceBy, buildingFloorMapping::toDto, "No building floors found");
     }
 
-    public Page<BuildingFloorDto> getFloorsByBuildingId(Long buildingId, Pageable pageable) {
+    public ListResultDto<BuildingFloorDto> getFloorsByBuildingId(Long buildingId, ListQuery query) {
         log.debug("Поиск этажей по зданию ID: {}", buildingId);
 
         if (!buildingRepository.existsById(buildingId)) {
@@ -85,14 +84,9 @@ public class BuildingFloorService {
             );
         }
 
-        Page<BuildingFloor> floors = buildingFloorRepository.findByBuildingId(buildingId, pageable);
-        if (floors.isEmpty()) {
-            log.warn("Этажи для здания ID {} не найдены", buildingId);
-            throw new NoEntitiesFoundException("No floors found for this building");
-        }
-
-        log.debug("Найдено {} этажей для здания ID {}", floors.getTotalElements(), buildingId);
-        return floors.map(buildingFloorMapping::toDto);
+        return listPager.findAllBy(query, BuildingFloor.class, "building", buildingId, buildingFloorRepository,
+                pageable -> buildingFloorRepository.findSliceByBuildingId(buildingId, pageable),
+                buildingFloorMapping::toDto, "No floors found for this building");
     }
 
     public BuildingFloorDto getBuildingFloorById(Long id) {
@@ -109,6 +103,19 @@ public class BuildingFloorService {
         return buildingFloorMapping.toDto(floor);
     }
 
+    public InventorySummaryDto getBuildingFloorInventorySummary(Long id) {
+        log.debug("Сводка оборудования этажа ID: {}", id);
+
+        if (!buildingFloorRepository.existsById(id)) {
+            log.error("Этаж с ID {} не найден", id);
+            throw new EntityNotFoundException(
+                    String.format("Building floor with id '%d' not found", id)
+            );
+        }
+
+        return inventoryRollups.summary(InventoryRollups.Level.FLOOR, id);
+    }
+
     public BuildingFloorDto getBuildingFloorByNumberAndBuilding(Integer floorNumber, Long buildingId) {
         log.debug("Поиск этажа {} в здании {}", floorNumber, buildingId);
 
@@ -169,7 +176,13 @@ public class BuildingFloorService {
                                 String.format("Building with id '%d' not found", dto.getBuildingId())
                         );
                     });
+            Building previousBuilding = existingFloor.getBuilding();
+            inventoryRollups.floorMoved(id, previousBuilding.getId(), previousBuilding.getCompany().getId(),
+                    building.getId(), building.getCompany().getId());
             existingFloor.setBuilding(building);
+
+            int movedRooms = roomRepository.updateLocationByBuildingFloorId(id, building.getId(), building.getCompany().getId());
+            log.info("Путь обновлён у {} комнат этажа", movedRooms);
         }
 
         buildingFloorRepository.save(existingFloor);
@@ -2,19 +2,20 @@ package ru.litvast.techtrackapi.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.litvast.techtrackapi.exception.EntityNotFoundException;
-import ru.litvast.techtrackapi.exception.NoEntitiesFoundException;
 import ru.litvast.techtrackapi.model.dto.BuildingDto;
 import ru.litvast.techtrackapi.model.dto.BuildingUpdateDto;
+import ru.litvast.techtrackapi.model.dto.ListResultDto;
+import ru.litvast.techtrackapi.model.dto.inventory.InventorySummaryDto;
 import ru.litvast.techtrackapi.model.dto.mapping.BuildingMapping;
 import ru.litvast.techtrackapi.model.entity.Building;
 import ru.litvast.techtrackapi.model.entity.Company;
 import ru.litvast.techtrackapi.repository.BuildingRepository;
 import ru.litvast.techtrackapi.repository.CompanyRepository;
+import ru.litvast.techtrackapi.repository.RoomRepository;
+import ru.litvast.techtrackapi.util.ListQuery;
 
 @Slf4j
 @Service
@@ -23,7 +24,10 @@ public class BuildingService {
 
     private final BuildingRepository buildingRepository;
     private final CompanyRepository companyRepository;
+    private final RoomRepository roomRepository;
     private final BuildingMapping buildingMapping;
+    private final ListPager listPager;
+    private final InventoryRollups inventoryRollups;
 
     @Transactional
     public BuildingDto addBuilding(BuildingDto dto) {
@@ -62,20 +66,15 @@ public class BuildingService {
         return buildingMapping.toDto(building);
     }
 
-    public Page<BuildingDto> getAllBuildings(Pageable pageable) {
-        log.debug("Запрос всех зданий с пагинацией");
+    // READ all: страница, срез или курсор (ListQuery)
+    public ListResultDto<BuildingDto> getAllBuildings(ListQuery query) {
+        log.debug("Запрос всех зданий");
 
-        Page<Building> buildings = buildingRepository.findAll(pageable);
-        if (buildings.isEmpty()) {
-            log.warn("Здания не найдены");
-            throw new NoEntitiesFoundException("No buildings found");
-        }
-
-        log.debug("Найдено {} зданий", buildings.getTotalElements());
-        return buildings.map(buildingMapping::toDto);
+        return listPager.findAll(query, Building.class, buildingRepository,
+                buildingRepository::findSliceBy, buildingMapping::toDto, "No buildings found");
     }
 
-    public Page<BuildingDto> getBuildingsByCompanyId(Long companyId, Pageable pageable) {
+    public ListResultDto<BuildingDto> getBuildingsByCompanyId(Long companyId, ListQuery query) {
         log.debug("Поиск зданий по компании ID: {}", companyId);
 
         if (!companyRepository.existsById(companyId)) {
@@ -85,14 +84,9 @@ public class BuildingService {
             );
         }
 
-        Page<Building> buildings = buildingRepository.findByCompanyId(companyId, pageable);
-        if (buildings.isEmpty()) {
-            log.warn("Здания для компании ID {} не найдены", companyId);
-            throw new NoEntitiesFoundException("No buildings found for this company");
-        }
-
-        log.debug("Найдено {} зданий для компании ID {}", buildings.getTotalElements(), companyId);
-        return buildings.map(buildingMapping::toDto);
+        return listPager.findAllBy(query, Building.class, "company", companyId, buildingRepository,
+                pageable -> buildingRepository.findSliceByCompanyId(companyId, pageable),
+                buildingMapping::toDto, "No buildings found for this company");
     }
 
     public BuildingDto getBuildingById(Long id) {
@@ -109,6 +103,19 @@ public class BuildingService {
         return buildingMapping.toDto(building);
     }
 
+    public InventorySummaryDto getBuildingInventorySummary(Long id) {
+        log.debug("Сводка оборудования здания ID: {}", id);
+
+        if (!buildingRepository.existsById(id)) {
+            log.error("Здание с ID {} не найдено", id);
+            throw new EntityNotFoundException(
+                    String.format("Building with id '%d' not found", id)
+            );
+        }
+
+        return inventoryRollups.summary(InventoryRollups.Level.BUILDING, id);
+    }
+
     public BuildingDto getBuildingByName(String name) {
         log.debug("Поиск здания по названию: {}", name);
 
@@ -174,7 +181,11 @@ public class BuildingService {
                                 String.format("Company with id '%d' not found", dto.getCompanyId())
                         );
                     });
+            inventoryRollups.buildingMoved(id, existingBuilding.getCompany().getId(), company.getId());
             existingBuilding.setCompany(company);
+
+            int movedRooms = roomRepository.updateCompanyByBuildingId(id, company.getId());
+            log.info("Путь обновлён у {} комнат здания", movedRooms);
         }
 
         buildingRepository.save(existingBuilding);
@@ -2,17 +2,37 @@ package ru.litvast.techtrackapi.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.litvast.techtrackapi.exception.EntityNotFoundException;
-import ru.litvast.techtrackapi.exception.NoEntitiesFoundException;
 import ru.litvast.techtrackapi.model.dto.CompanyDto;
 import ru.litvast.techtrackapi.model.dto.CompanyUpdateDto;
+import ru.litvast.techtrackapi.model.dto.ListResultDto;
+import ru.litvast.techtrackapi.model.dto.inventory.InventorySummaryDto;
 import ru.litvast.techtrackapi.model.dto.mapping.CompanyMapping;
+import ru.litvast.techtrackapi.model.dto.tree.BuildingNodeDto;
+import ru.litvast.techtrackapi.model.dto.tree.CompanyTreeDto;
+import ru.litvast.techtrackapi.model.dto.tree.FloorNodeDto;
+import ru.litvast.techtrackapi.model.dto.tree.RoomCountDto;
+import ru.litvast.techtrackapi.model.dto.tree.RoomNodeDto;
+import ru.litvast.techtrackapi.model.entity.Building;
+import ru.litvast.techtrackapi.model.entity.BuildingFloor;
 import ru.litvast.techtrackapi.model.entity.Company;
+import ru.litvast.techtrackapi.model.entity.Room;
+import ru.litvast.techtrackapi.repository.BuildingFloorRepository;
+import ru.litvast.techtrackapi.repository.BuildingRepository;
 import ru.litvast.techtrackapi.repository.CompanyRepository;
+import ru.litvast.techtrackapi.repository.EmployeeRepository;
+import ru.litvast.techtrackapi.repository.RoomRepository;
+import ru.litvast.techtrackapi.util.ListQuery;
+import ru.litvast.techtrackapi.util.UniqueViolations;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Service
@@ -20,7 +40,13 @@ import ru.litvast.techtrackapi.repository.CompanyRepository;
 public class CompanyService {
 
     private final CompanyRepository companyRepository;
+    private final BuildingRepository buildingRepository;
+    private final BuildingFloorRepository buildingFloorRepository;
+    private final RoomRepository roomRepository;
+    private final EmployeeRepository employeeRepository;
     private final CompanyMapping companyMapping;
+    private final ListPager listPager;
+    private final InventoryRollups inventoryRollups;
 
     @Transactional
     public CompanyDto addCompany(CompanyDto dto) {
@@ -35,7 +61,15 @@ public class CompanyService {
         validateAddCompany(dto);
 
         Company company = companyMapping.toEntity(dto);
-        companyRepository.save(company);
+        try {
+            companyRepository.saveAndFlush(company);
+        } catch (DataIntegrityViolationException e) {
+            if (!UniqueViolations.isViolated(e, UniqueViolations.COMPANY_NAME)) throw e;
+            log.warn("Компания с названием '{}' уже существует", dto.getName());
+            throw new IllegalArgumentException(
+                    String.format("Company '%s' is already taken", dto.getName())
+            );
+        }
 
         log.info("Компания создана. ID: {}", company.getId());
         log.info("=== УСПЕШНО: Компания добавлена ===");
@@ -43,17 +77,12 @@ public class CompanyService {
         return companyMapping.toDto(company);
     }
 
-    public Page<CompanyDto> getAllCompanies(Pageable pageable) {
-        log.debug("Запрос всех компаний с пагинацией");
-
-        Page<Company> companies = companyRepository.findAll(pageable);
-        if (companies.isEmpty()) {
-            log.warn("Компании не найдены");
-            throw new NoEntitiesFoundException("No companies found");
-        }
+    // READ all: страница, срез или курсор (ListQuery)
+    public ListResultDto<CompanyDto> getAllCompanies(ListQuery query) {
+        log.debug("Запрос всех компаний");
 
-        log.debug("Найдено {} компаний", companies.getTotalElements());
-        return companies.map(companyMapping::toDto);
+        return listPager.findAll(query, Company.class, companyRepository,
+                companyRepository::findSliceBy, companyMapping::toDto, "No companies found");
     }
 
     public CompanyDto getCompanyById(Long id) {
@@ -70,6 +99,112 @@ public class CompanyService {
         return companyMapping.toDto(company);
     }
 
+    public InventorySummaryDto getCompanyInventorySummary(Long id) {
+        log.debug("Сводка оборудования компании ID: {}", id);
+
+        if (!companyRepository.existsById(id)) {
+            log.error("Компания с ID {} не найдена", id);
+            throw new EntityNotFoundException(
+                    String.format("Company with id '%d' not found", id)
+            );
+        }
+
+        return inventoryRollups.summary(InventoryRollups.Level.COMPANY, id);
+    }
+
+    // Дерево собирается из фиксированного числа плоских запросов (по одному на уровень) и сшивается по ID в памяти
+    public CompanyTreeDto getCompanyTree(Long id, boolean withCounts) {
+        log.debug("Построение дерева компании ID: {}, счётчики: {}", id, withCounts);
+
+        Company company = companyRepository.findById(id)
+                .orElseThrow(() -> {
+                    log.error("Компания с ID {} не найдена", id);
+                    return new EntityNotFoundException(
+                            String.format("Company with id '%d' not found", id)
+                    );
+                });
+
+        List<Building> buildings = buildingRepository.findByCompanyIdOrderByIdAsc(id);
+        List<BuildingFloor> floors = buildingFloorRepository.findByBuilding_CompanyIdOrderByFloorNumberAsc(id);
+        List<Room> rooms = roomRepository.findByCompanyIdOrderByIdAsc(id);
+
+        CompanyTreeDto tree = new CompanyTreeDto();
+        tree.setId(company.getId());
+        tree.setName(company.getName());
+        LocalDateTime lastModified = company.getUpdatedAt();
+
+        Map<Long, BuildingNodeDto> buildingNodes = new HashMap<>();
+        for (Building building : buildings) {
+            BuildingNodeDto node = new BuildingNodeDto();
+            node.setId(building.getId());
+            node.setName(building.getName());
+            node.setAddress(building.getAddress());
+            buildingNodes.put(node.getId(), node);
+            tree.getBuildings().add(node);
+            lastModified = latest(lastModified, building.getUpdatedAt());
+        }
+
+        Map<Long, FloorNodeDto> floorNodes = new HashMap<>();
+        for (BuildingFloor floor : floors) {
+            BuildingNodeDto parent = buildingNodes.get(floor.getBuilding().getId());
+            if (parent == null) continue;
+
+            FloorNodeDto node = new FloorNodeDto();
+            node.setId(floor.getId());
+            node.setFloorNumber(floor.getFloorNumber());
+            node.setDescription(floor.getDescription());
+            floorNodes.put(node.getId(), node);
+            parent.getFloors().add(node);
+            lastModified = latest(lastModified, floor.getUpdatedAt());
+        }
+
+        long hash = 1;
+        int roomCount = 0;
+        Map<Long, Long> employeeCounts = new HashMap<>();
+        if (withCounts) {
+            for (RoomCountDto roomCountDto : employeeRepository.countByRoomForCompany(id)) {
+                employeeCounts.put(roomCountDto.getRoomId(), roomCountDto.getCount());
+            }
+        }
+
+        for (Room room : rooms) {
+            FloorNodeDto parent = floorNodes.get(room.getBuildingFloor().getId());
+            if (parent == null) continue;
+
+            RoomNodeDto node = new RoomNodeDto();
+            node.setId(room.getId());
+            node.setName(room.getName());
+            node.setRoomNumber(room.getRoomNumber());
+            if (withCounts) {
+                node.setEmployeeCount(employeeCounts.getOrDefault(room.getId(), 0L));
+                node.setEquipmentCount(inventoryRollups.total(InventoryRollups.Level.ROOM, room.getId()));
+                hash = 31 * hash + node.getId();
+                hash = 31 * hash + node.getEmployeeCount();
+                hash = 31 * hash + node.getEquipmentCount();
+            }
+            parent.getRooms().add(node);
+            roomCount++;
+            lastModified = latest(lastModified, room.getUpdatedAt());
+        }
+
+        if (withCounts) {
+            sumCounts(tree);
+        }
+
+        // Удаление узла не меняет max(updatedAt), поэтому в версию входит и количество узлов
+        tree.setLastModified(lastModified);
+        tree.setVersion(String.format("%d-%d-%d-%d-%d%s",
+                id,
+                lastModified == null ? 0 : lastModified.toInstant(ZoneOffset.UTC).toEpochMilli(),
+                buildingNodes.size(),
+                floorNodes.size(),
+                roomCount,
+                withCounts ? "-c" + Long.toHexString(hash) : ""));
+
+        log.debug("Дерево компании ID {}: зданий {}, этажей {}, кабинетов {}", id, buildingNodes.size(), floorNodes.size(), roomCount);
+        return tree;
+    }
+
     public CompanyDto getCompanyByName(String name) {
         log.debug("Поиск компании по названию: {}", name);
 
@@ -101,7 +236,7 @@ public class CompanyService {
     public CompanyDto getCompanyByRoomId(long roomId) {
         log.debug("Поиск компании по айди кабинета: {}", roomId);
 
-        Company company = companyRepository.findByBuildings_Floors_Rooms_Id(roomId)
+        Company company = companyRepository.findByRoomId(roomId)
                 .orElseThrow(() -> {
                     log.error("Компания с кабинетом по айди '{}' не найдена", roomId);
                     return new EntityNotFoundException(
@@ -132,13 +267,6 @@ public class CompanyService {
 
         if (dto.getName() != null && !existingCompany.getName().equalsIgnoreCase(dto.getName())) {
             log.info("Изменение названия: {} -> {}", existingCompany.getName(), dto.getName());
-
-            if (companyRepository.existsByNameIgnoreCase(dto.getName())) {
-                log.warn("Компания с названием '{}' уже существует", dto.getName());
-                throw new IllegalArgumentException(
-                        String.format("Company '%s' is already taken", dto.getName())
-                );
-            }
             existingCompany.setName(dto.getName());
         }
 
@@ -177,7 +305,16 @@ public class CompanyService {
             existingCompany.setEmail(dto.getEmail());
         }
 
-        companyRepository.save(existingCompany);
+        try {
+            // Переименование в занятое название нарушит уникальный индекс при сбросе - здесь, а не при фиксации
+            companyRepository.saveAndFlush(existingCompany);
+        } catch (DataIntegrityViolationException e) {
+            if (!UniqueViolations.isViolated(e, UniqueViolations.COMPANY_NAME)) throw e;
+            log.warn("Компания с названием '{}' уже существует", dto.getName());
+            throw new IllegalArgumentException(
+                    String.format("Company '%s' is already taken", dto.getName())
+            );
+        }
         log.info("=== УСПЕШНО: Компания обновлена ===");
 
         return companyMapping.toDto(existingCompany);
@@ -199,13 +336,40 @@ public class CompanyService {
         log.info("=== УСПЕШНО: Компания удалена ===");
     }
 
-    public void validateAddCompany(CompanyDto dto) {
-        if (companyRepository.existsByNameIgnoreCase(dto.getName())) {
-            log.warn("Компания с названием '{}' уже существует", dto.getName());
-            throw new IllegalArgumentException(
-                    String.format("Company '%s' is already taken", dto.getName())
-            );
+    private static void sumCounts(CompanyTreeDto tree) {
+        long companyEmployees = 0;
+        long companyEquipment = 0;
+        for (BuildingNodeDto building : tree.getBuildings()) {
+            long buildingEmployees = 0;
+            long buildingEquipment = 0;
+            for (FloorNodeDto floor : building.getFloors()) {
+                long floorEmployees = 0;
+                long floorEquipment = 0;
+                for (RoomNodeDto room : floor.getRooms()) {
+                    floorEmployees += room.getEmployeeCount();
+                    floorEquipment += room.getEquipmentCount();
+                }
+                floor.setEmployeeCount(floorEmployees);
+                floor.setEquipmentCount(floorEquipment);
+                buildingEmployees += floorEmployees;
+                buildingEquipment += floorEquipment;
+            }
+            building.setEmployeeCount(buildingEmployees);
+            building.setEquipmentCount(buildingEquipment);
+            companyEmployees += buildingEmployees;
+            companyEquipment += buildingEquipment;
         }
+        tree.setEmployeeCount(companyEmployees);
+        tree.setEquipmentCount(companyEquipment);
+    }
+
+    private static LocalDateTime latest(LocalDateTime current, LocalDateTime candidate) {
+        if (candidate == null) return current;
+        return current == null || candidate.isAfter(current) ? candidate : current;
+    }
+
+    // Уникальность названия проверяет индекс по lower(name) при вставке
+    public void validateAddCompany(CompanyDto dto) {
         if (dto.getInn() != null && companyRepository.findByInn(dto.getInn()).isPresent()) {
             log.warn("Компания с ИНН '{}' уже существует", dto.getInn());
             throw new IllegalArgumentException(
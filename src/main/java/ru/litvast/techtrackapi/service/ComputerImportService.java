@@ -0,0 +1,421 @@
+package ru.litvast.techtrackapi.service;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.litvast.techtrackapi.model.dto.equipment.computer.*;
+import ru.litvast.techtrackapi.util.UniqueViolations;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Function;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ComputerImportService {
+
+    private static final int CHUNK_SIZE = 100;
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ComputerService computerService;
+    private final ProcessorService processorService;
+    private final MotherboardService motherboardService;
+    private final RamService ramService;
+    private final VideoCardService videoCardService;
+    private final PowerSupplyService powerSupplyService;
+    private final StorageDeviceService storageDeviceService;
+    private final CpuSocketService cpuSocketService;
+    private final TransactionTemplate transactionTemplate;
+
+    public void importComputers(InputStream inputStream, OutputStream outputStream) throws IOException {
+        log.info("=== НАЧАЛО: Импорт компьютеров (NDJSON) ===");
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        ImportCache cache = new ImportCache();
+
+        List<ImportLine> chunk = new ArrayList<>(CHUNK_SIZE);
+        long lineNumber = 0;
+        long created = 0;
+        long failed = 0;
+        String rawLine;
+
+        while ((rawLine = reader.readLine()) != null) {
+            lineNumber++;
+            if (rawLine.isBlank()) continue;
+
+            chunk.add(new ImportLine(lineNumber, rawLine));
+            if (chunk.size() == CHUNK_SIZE) {
+                for (ComputerImportResultDto result : processChunk(chunk, cache)) {
+                    if ("CREATED".equals(result.getStatus())) created++; else failed++;
+                    writeResult(writer, result);
+                }
+                writer.flush();
+                chunk.clear();
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            for (ComputerImportResultDto result : processChunk(chunk, cache)) {
+                if ("CREATED".equals(result.getStatus())) created++; else failed++;
+                writeResult(writer, result);
+            }
+        }
+        writer.flush();
+
+        log.info("Импорт завершён. Создано: {}, с ошибками: {}", created, failed);
+        log.info("=== УСПЕШНО: Импорт компьютеров ===");
+    }
+
+    private List<ComputerImportResultDto> processChunk(List<ImportLine> chunk, ImportCache cache) {
+        log.debug("Обработка пакета импорта из {} строк", chunk.size());
+
+        // Разбор и валидация; повтор названия внутри пакета - ошибка строки
+        Set<String> chunkNames = new HashSet<>();
+        for (ImportLine line : chunk) {
+            try {
+                ComputerDto computerDto = objectMapper.readValue(line.raw, ComputerDto.class);
+                line.name = computerDto.getName();
+
+                Set<ConstraintViolation<ComputerDto>> violations = validator.validate(computerDto);
+                if (!violations.isEmpty()) {
+                    line.error = violations.stream()
+                            .map(ConstraintViolation::getMessage)
+                            .sorted()
+                            .reduce((a, b) -> a + "; " + b)
+                            .orElse("Invalid computer");
+                    continue;
+                }
+
+                if (!chunkNames.add(computerDto.getName().toLowerCase())) {
+                    line.error = takenMessage(computerDto.getName());
+                    continue;
+                }
+
+                line.computer = computerDto;
+            } catch (JacksonException e) {
+                line.error = "Malformed JSON: " + e.getOriginalMessage();
+            }
+        }
+
+        // Занятые названия - одним запросом на пакет, затем разрешение комплектующих
+        // (с дедупликацией по названию на весь импорт)
+        Set<String> takenNames = computerService.findTakenComputerNames(chunkNames);
+        for (ImportLine line : chunk) {
+            if (line.computer == null) continue;
+
+            if (takenNames.contains(line.name.toLowerCase())) {
+                line.error = takenMessage(line.name);
+                line.computer = null;
+                continue;
+            }
+
+            try {
+                line.computer = resolveComponents(line.computer, cache);
+            } catch (RuntimeException e) {
+                line.error = e.getMessage();
+                line.computer = null;
+            }
+        }
+
+        // Проверки совместимости не обращаются к БД и выполняются параллельно
+        chunk.parallelStream()
+                .filter(line -> line.computer != null)
+                .forEach(line -> {
+                    try {
+                        computerService.checkCompatibility(line.computer);
+                    } catch (IllegalArgumentException e) {
+                        line.error = e.getMessage();
+                        line.computer = null;
+                    }
+                });
+
+        List<ImportLine> validLines = chunk.stream().filter(line -> line.computer != null).toList();
+        if (!validLines.isEmpty()) {
+            writeChunk(validLines, cache);
+        }
+
+        List<ComputerImportResultDto> results = new ArrayList<>(chunk.size());
+        for (ImportLine line : chunk) {
+            if (line.saved != null) {
+                results.add(ComputerImportResultDto.created(line.number, line.saved));
+            } else {
+                results.add(ComputerImportResultDto.failed(line.number, line.name, line.error));
+            }
+        }
+
+        return results;
+    }
+
+    // Только чтение: комплектующие находятся по ID или названию, недостающие остаются DTO без ID
+    // и создаются при записи пакета (writeChunk) в одной транзакции с компьютерами
+    private ComputerDto resolveComponents(ComputerDto computerDto, ImportCache cache) {
+        ProcessorDto processor = resolveShared(cache.processors, computerDto.getProcessor(),
+                ProcessorDto::getId, ProcessorDto::getName,
+                processorService::getProcessorById, processorService::findProcessorByName);
+        // Сокет новой модели нужен уже для проверки совместимости: существующий берётся из БД,
+        // новый - общий экземпляр на весь импорт, чтобы процессор и плата ссылались на один сокет
+        if (processor.getId() == null) {
+            processor.setSocket(resolveSocket(processor.getSocket(), cache));
+        }
+        computerDto.setProcessor(processor);
+
+        MotherboardDto motherboard = resolveShared(cache.motherboards, computerDto.getMotherboard(),
+                MotherboardDto::getId, MotherboardDto::getName,
+                motherboardService::getMotherboardById, motherboardService::findMotherboardByName);
+        if (motherboard.getId() == null) {
+            motherboard.setSocket(resolveSocket(motherboard.getSocket(), cache));
+        }
+        computerDto.setMotherboard(motherboard);
+
+        computerDto.setVideoCard(resolveShared(cache.videoCards, computerDto.getVideoCard(),
+                VideoCardDto::getId, VideoCardDto::getName,
+                videoCardService::getVideoCardById, videoCardService::findVideoCardByName));
+
+        computerDto.setPowerSupply(resolveShared(cache.powerSupplies, computerDto.getPowerSupply(),
+                PowerSupplyDto::getId, PowerSupplyDto::getName,
+                powerSupplyService::getPowerSupplyById, powerSupplyService::findPowerSupplyByName));
+
+        computerDto.setRams(resolveSharedList(cache.rams, computerDto.getRams(),
+                RamDto::getId, RamDto::getName, ramService::resolveRams, ramService::findRamsByNames));
+
+        computerDto.setStorageDevices(resolveSharedList(cache.storageDevices, computerDto.getStorageDevices(),
+                StorageDeviceDto::getId, StorageDeviceDto::getName,
+                storageDeviceService::resolveStorageDevices, storageDeviceService::findStorageDevicesByNames));
+
+        return computerDto;
+    }
+
+    private CpuSocketDto resolveSocket(CpuSocketDto socket, ImportCache cache) {
+        return resolveShared(cache.sockets, socket,
+                CpuSocketDto::getId, CpuSocketDto::getName,
+                cpuSocketService::getCpuSocketById, cpuSocketService::findCpuSocketByName);
+    }
+
+    private <T> T resolveShared(Map<String, T> cache, T dto,
+                                Function<T, Long> idGetter, Function<T, String> nameGetter,
+                                Function<Long, T> loader, Function<String, Optional<T>> finder) {
+        if (dto == null) return null;
+
+        String name = nameGetter.apply(dto);
+        String key = cacheKey(dto, idGetter, nameGetter);
+        T cached = cache.get(key);
+        if (cached != null) return cached;
+
+        T resolved = name != null ? finder.apply(name).orElse(dto) : loader.apply(idGetter.apply(dto));
+        cache.put(key, resolved);
+        if (idGetter.apply(resolved) != null) {
+            cache.put("id:" + idGetter.apply(resolved), resolved);
+        }
+        return resolved;
+    }
+
+    private <T> List<T> resolveSharedList(Map<String, T> cache, List<T> dtoList,
+                                          Function<T, Long> idGetter, Function<T, String> nameGetter,
+                                          Function<List<T>, List<T>> loader,
+                                          Function<Collection<String>, List<T>> finder) {
+        // Всё, что ещё не встречалось в импорте, разрешается одним запросом по ID и одним по названиям
+        List<T> byId = new ArrayList<>();
+        Map<String, T> byName = new LinkedHashMap<>();
+        for (T dto : dtoList) {
+            String key = cacheKey(dto, idGetter, nameGetter);
+            if (cache.containsKey(key)) continue;
+
+            if (nameGetter.apply(dto) != null) {
+                byName.putIfAbsent(key, dto);
+            } else {
+                byId.add(dto);
+            }
+        }
+
+        if (!byId.isEmpty()) {
+            List<T> loaded = loader.apply(byId);
+            for (int i = 0; i < byId.size(); i++) {
+                cache.put(cacheKey(byId.get(i), idGetter, nameGetter), loaded.get(i));
+            }
+        }
+
+        if (!byName.isEmpty()) {
+            List<String> names = byName.values().stream().map(nameGetter).toList();
+            for (T found : finder.apply(names)) {
+                cache.put("name:" + nameGetter.apply(found).toLowerCase(), found);
+                cache.put("id:" + idGetter.apply(found), found);
+            }
+            byName.forEach(cache::putIfAbsent);
+        }
+
+        List<T> result = new ArrayList<>(dtoList.size());
+        for (T dto : dtoList) {
+            result.add(cache.get(cacheKey(dto, idGetter, nameGetter)));
+        }
+        return result;
+    }
+
+    // Пакет записывается одной транзакцией; если она откатилась, строки пакета записываются по одной,
+    // и ошибку получает только строка, из-за которой не прошла запись
+    private void writeChunk(List<ImportLine> lines, ImportCache cache) {
+        Map<Object, Object> committed = new IdentityHashMap<>();
+        try {
+            List<ComputerDto> saved = writeComputers(lines.stream().map(line -> line.computer).toList(), committed);
+            for (int i = 0; i < lines.size(); i++) {
+                lines.get(i).saved = saved.get(i);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Пакет импорта не записан ({}), запись по одной строке", e.getMessage());
+            for (ImportLine line : lines) {
+                try {
+                    line.saved = writeComputers(List.of(line.computer), committed).get(0);
+                } catch (DataIntegrityViolationException ex) {
+                    line.error = UniqueViolations.isViolated(ex, UniqueViolations.EQUIPMENT_NAME)
+                            ? takenMessage(line.name)
+                            : ex.getMessage();
+                } catch (RuntimeException ex) {
+                    line.error = ex.getMessage();
+                }
+            }
+        }
+        cache.settle(committed);
+    }
+
+    // Создание недостающих комплектующих и запись компьютеров одной транзакцией: при ошибке откатывается всё,
+    // и в БД не остаётся комплектующих без компьютеров. Комплектующие создаются по копиям, исходные DTO
+    // не меняются, поэтому после отката их можно записать повторно. committed - новые модели, записанные
+    // предыдущими транзакциями пакета (исходный DTO -> созданный); пополняется только после фиксации
+    private List<ComputerDto> writeComputers(List<ComputerDto> computers, Map<Object, Object> committed) {
+        Map<Object, Object> created = new IdentityHashMap<>(committed);
+        List<ComputerDto> saved = transactionTemplate.execute(status -> {
+            List<ComputerDto> toSave = new ArrayList<>(computers.size());
+            for (ComputerDto computerDto : computers) {
+                ComputerDto computer = copyOf(computerDto);
+                computer.setProcessor(createIfNew(created, computerDto.getProcessor(),
+                        ProcessorDto::getId, processorService::addProcessor));
+                computer.setMotherboard(createIfNew(created, computerDto.getMotherboard(),
+                        MotherboardDto::getId, motherboardService::addMotherboard));
+                computer.setVideoCard(createIfNew(created, computerDto.getVideoCard(),
+                        VideoCardDto::getId, videoCardService::addVideoCard));
+                computer.setPowerSupply(createIfNew(created, computerDto.getPowerSupply(),
+                        PowerSupplyDto::getId, powerSupplyService::addPowerSupply));
+                computer.setRams(createIfNew(created, computerDto.getRams(),
+                        RamDto::getId, ramService::addSomeRam));
+                computer.setStorageDevices(createIfNew(created, computerDto.getStorageDevices(),
+                        StorageDeviceDto::getId, storageDeviceService::addSomeStorageDevices));
+                toSave.add(computer);
+            }
+            return computerService.saveComputers(toSave);
+        });
+        committed.putAll(created);
+        return saved;
+    }
+
+    // Один и тот же новый DTO (общий для строк импорта) создаётся один раз
+    @SuppressWarnings("unchecked")
+    private <T> T createIfNew(Map<Object, Object> created, T dto, Function<T, Long> idGetter, Function<T, T> creator) {
+        if (dto == null || idGetter.apply(dto) != null) return dto;
+        return (T) created.computeIfAbsent(dto, key -> creator.apply(copyOf(dto)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> List<T> createIfNew(Map<Object, Object> created, List<T> dtoList,
+                                    Function<T, Long> idGetter, Function<List<T>, List<T>> creator) {
+        List<T> newDtos = new ArrayList<>();
+        Set<T> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (T dto : dtoList) {
+            if (idGetter.apply(dto) == null && !created.containsKey(dto) && seen.add(dto)) {
+                newDtos.add(dto);
+            }
+        }
+
+        if (!newDtos.isEmpty()) {
+            List<T> saved = creator.apply(newDtos.stream().map(this::copyOf).toList());
+            for (int i = 0; i < newDtos.size(); i++) {
+                created.put(newDtos.get(i), saved.get(i));
+            }
+        }
+
+        List<T> result = new ArrayList<>(dtoList.size());
+        for (T dto : dtoList) {
+            result.add(idGetter.apply(dto) != null ? dto : (T) created.get(dto));
+        }
+        return result;
+    }
+
+    // Глубокая копия: сервисы создания дополняют переданный DTO (например, сокетом с ID), и при откате
+    // эти ID остались бы в общих для строк импорта DTO
+    @SuppressWarnings("unchecked")
+    private <T> T copyOf(T dto) {
+        return (T) objectMapper.convertValue(dto, dto.getClass());
+    }
+
+    private static String takenMessage(String name) {
+        return String.format("Computer '%s' is already taken", name);
+    }
+
+    private static <T> String cacheKey(T dto, Function<T, Long> idGetter, Function<T, String> nameGetter) {
+        String name = nameGetter.apply(dto);
+        return name != null ? "name:" + name.toLowerCase() : "id:" + idGetter.apply(dto);
+    }
+
+    private void writeResult(Writer writer, ComputerImportResultDto result) throws IOException {
+        writer.write(objectMapper.writeValueAsString(result));
+        writer.write('\n');
+    }
+
+    private static final class ImportLine {
+        private final long number;
+        private final String raw;
+        private String name;
+        private ComputerDto computer;
+        private ComputerDto saved;
+        private String error;
+
+        private ImportLine(long number, String raw) {
+            this.number = number;
+            this.raw = raw;
+        }
+    }
+
+    // Разрешённые комплектующие за время импорта (ключ - "name:<название>" или "id:<ID>").
+    // Значение без ID - новая модель, которая ещё не записана в БД
+    private static final class ImportCache {
+        private final Map<String, CpuSocketDto> sockets = new HashMap<>();
+        private final Map<String, ProcessorDto> processors = new HashMap<>();
+        private final Map<String, MotherboardDto> motherboards = new HashMap<>();
+        private final Map<String, VideoCardDto> videoCards = new HashMap<>();
+        private final Map<String, PowerSupplyDto> powerSupplies = new HashMap<>();
+        private final Map<String, RamDto> rams = new HashMap<>();
+        private final Map<String, StorageDeviceDto> storageDevices = new HashMap<>();
+
+        // После записи пакета созданные модели подменяют свои DTO; несозданные (откат, сокеты,
+        // созданные внутри addProcessor/addMotherboard) забываются и в следующем пакете ищутся в БД заново
+        private void settle(Map<Object, Object> created) {
+            settle(sockets, created, CpuSocketDto::getId);
+            settle(processors, created, ProcessorDto::getId);
+            settle(motherboards, created, MotherboardDto::getId);
+            settle(videoCards, created, VideoCardDto::getId);
+            settle(powerSupplies, created, PowerSupplyDto::getId);
+            settle(rams, created, RamDto::getId);
+            settle(storageDevices, created, StorageDeviceDto::getId);
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> void settle(Map<String, T> cache, Map<Object, Object> created, Function<T, Long> idGetter) {
+            cache.replaceAll((key, dto) -> (T) created.getOrDefault(dto, dto));
+            cache.values().removeIf(dto -> idGetter.apply(dto) == null);
+
+            Map<String, T> byId = new HashMap<>();
+            for (T dto : cache.values()) {
+                byId.put("id:" + idGetter.apply(dto), dto);
+            }
+            cache.putAll(byId);
+        }
+    }
+}
\ No newline at end of file
@@ -2,17 +2,18 @@ package ru.litvast.techtrackapi.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.litvast.techtrackapi.exception.EntityNotFoundException;
-import ru.litvast.techtrackapi.exception.NoEntitiesFoundException;
+import ru.litvast.techtrackapi.model.dto.ListResultDto;
 import ru.litvast.techtrackapi.model.dto.equipment.computer.*;
 import ru.litvast.techtrackapi.model.dto.mapping.equipment.computer.*;
 import ru.litvast.techtrackapi.model.entity.equipment.EquipmentStatus;
 import ru.litvast.techtrackapi.model.entity.equipment.computer.Computer;
 import ru.litvast.techtrackapi.repository.equipment.computer.ComputerRepository;
+import ru.litvast.techtrackapi.util.ListQuery;
+import ru.litvast.techtrackapi.util.UniqueViolations;
 
 import java.util.*;
 
@@ -36,6 +37,8 @@ public class ComputerService {
     private final RamMapping ramMapping;
     private final StorageDeviceMapping storageDeviceMapping;
     private final CpuSocketService cpuSocketService;
+    private final MotherboardCompatibilityIndex motherboardCompatibilityIndex;
+    private final ListPager listPager;
 
     // CREATE
     @Transactional
@@ -43,19 +46,12 @@ public class ComputerService {
         log.info("=== НАЧАЛО: Добавление компьютера ===");
         log.info("Название: {}", computerDto.getName());
 
-        if (computerRepository.existsByNameIgnoreCase(computerDto.getName())) {
-            log.warn("Компьютер с названием '{}' уже существует", computerDto.getName());
-            throw new IllegalArgumentException(
-                    String.format("Computer '%s' is already taken", computerDto.getName())
-            );
-        }
-
         // Проверка идентичности имён сокета процессора и материнской платы
         if ((computerDto.getProcessor().getSocket() != null && computerDto.getMotherboard().getSocket() != null)
                 && computerDto.getProcessor().getSocket().getName().equalsIgnoreCase(computerDto.getMotherboard().getSocket().getName())) {
-            log.info("Создание общего сокета для процессора и материнской платы: {}",
+            log.info("Общий сокет для процессора и материнской платы: {}",
                     computerDto.getProcessor().getSocket().getName());
-            CpuSocketDto tempSocket = cpuSocketService.addCpuSocket(computerDto.getProcessor().getSocket());
+            CpuSocketDto tempSocket = cpuSocketService.getOrCreateCpuSocket(computerDto.getProcessor().getSocket());
 
             computerDto.getProcessor().setSocket(tempSocket);
             computerDto.getMotherboard().setSocket(tempSocket);
@@ -97,58 +93,16 @@ public class ComputerService {
             computerDto.setPowerSupply(powerSupplyService.addPowerSupply(computerDto.getPowerSupply()));
         }
 
-        // Обработка оперативной памяти
-        Map<String, Long> ramNameId = new HashMap<>();
-        List<RamDto> tempRamList = new ArrayList<>();
-        computerDto.getRams().forEach(ram -> {
-            RamDto tempRamDto;
-            if (ram.getName() != null) {
-                if (!ramNameId.containsKey(ram.getName().toLowerCase())) {
-                    tempRamDto = ramService.addRam(ram);
-                    ramNameId.put(tempRamDto.getName().toLowerCase(), tempRamDto.getId());
-                    log.debug("Создана новая RAM: {}", ram.getName());
-                } else {
-                    tempRamDto = ramService.getRamById(ramNameId.get(ram.getName().toLowerCase()));
-                    log.debug("Использование существующей RAM ID: {}", tempRamDto.getId());
-                }
-                tempRamList.add(tempRamDto);
-            } else {
-                tempRamDto = ramService.getRamById(ram.getId());
-                tempRamList.add(tempRamDto);
-                log.debug("Использование существующей RAM по ID: {}", ram.getId());
-            }
-        });
-        computerDto.setRams(tempRamList);
+        // Обработка оперативной памяти и накопителей: один запрос на тип комплектующих
+        computerDto.setRams(ramService.resolveRams(computerDto.getRams()));
+        log.debug("Разрешено модулей RAM: {}", computerDto.getRams().size());
 
-        // Обработка накопителей
-        Map<String, Long> storageDeviceNameId = new HashMap<>();
-        List<StorageDeviceDto> tempStorageDeviceList = new ArrayList<>();
-        computerDto.getStorageDevices().forEach(storageDeviceDto -> {
-            StorageDeviceDto tempStorageDeviceDto;
-            if (storageDeviceDto.getName() != null) {
-                if (!storageDeviceNameId.containsKey(storageDeviceDto.getName().toLowerCase())) {
-                    tempStorageDeviceDto = storageDeviceService.addStorageDevice(storageDeviceDto);
-                    storageDeviceNameId.put(tempStorageDeviceDto.getName().toLowerCase(), tempStorageDeviceDto.getId());
-                    log.debug("Создан новый накопитель: {}", storageDeviceDto.getName());
-                } else {
-                    tempStorageDeviceDto = storageDeviceService.getStorageDeviceById(storageDeviceNameId.get(storageDeviceDto.getName().toLowerCase()));
-                    log.debug("Использование существующего накопителя ID: {}", tempStorageDeviceDto.getId());
-                }
-                tempStorageDeviceList.add(tempStorageDeviceDto);
-            } else {
-                tempStorageDeviceDto = storageDeviceService.getStorageDeviceById(storageDeviceDto.getId());
-                tempStorageDeviceList.add(tempStorageDeviceDto);
-                log.debug("Использование существующего накопителя по ID: {}", storageDeviceDto.getId());
-            }
-        });
-        computerDto.setStorageDevices(tempStorageDeviceList);
+        computerDto.setStorageDevices(storageDeviceService.resolveStorageDevices(computerDto.getStorageDevices()));
+        log.debug("Разрешено накопителей: {}", computerDto.getStorageDevices().size());
 
         // Проверки совместимости
         log.info("Проверка совместимости комплектующих...");
-        checkProcessorAndMotherboardCompatibility(computerDto.getProcessor(), computerDto.getMotherboard());
-        checkMotherboardAndRamsCompatibility(computerDto.getMotherboard(), computerDto.getRams());
-        checkMotherboardAndStorageDevicesCompatibility(computerDto.getMotherboard(), computerDto.getStorageDevices());
-        checkVideoCardAndPowerSupplyCompatibility(computerDto.getVideoCard(), computerDto.getPowerSupply());
+        checkCompatibility(computerDto);
         log.info("Проверки совместимости пройдены");
 
         if (computerDto.getStatus() == null) {
@@ -156,33 +110,56 @@ public class ComputerService {
             log.debug("Установлен статус по умолчанию: IN_STOCK");
         }
 
+        // Дубликат названия отсекает уникальный индекс по lower(name): одна вставка вместо SELECT + INSERT и без гонки между ними
         Computer computer = computerMapping.toEntity(computerDto);
-        computerRepository.save(computer);
+        try {
+            computerRepository.saveAndFlush(computer);
+        } catch (DataIntegrityViolationException e) {
+            if (!UniqueViolations.isViolated(e, UniqueViolations.EQUIPMENT_NAME)) throw e;
+            log.warn("Компьютер с названием '{}' уже существует", computerDto.getName());
+            throw new IllegalArgumentException(
+                    String.format("Computer '%s' is already taken", computerDto.getName())
+            );
+        }
         log.info("Компьютер создан. ID: {}", computer.getId());
         log.info("=== УСПЕШНО: Компьютер добавлен ===");
 
         return computerMapping.toDto(computer);
     }
 
-    // READ all with pagination
-    public Page<ComputerDto> getAllComputers(Pageable pageable) {
-        log.debug("Запрос всех компьютеров с пагинацией");
+    // CREATE multiple (уже разрешённые и проверенные сборки)
+    @Transactional
+    public List<ComputerDto> saveComputers(List<ComputerDto> computerDtoList) {
+        log.info("Сохранение пакета компьютеров. Количество: {}", computerDtoList.size());
 
-        Page<Computer> computers = computerRepository.findAll(pageable);
-        if (computers.isEmpty()) {
-            log.warn("Компьютеры не найдены");
-            throw new NoEntitiesFoundException("No computers found");
+        List<Computer> computers = new ArrayList<>(computerDtoList.size());
+        for (ComputerDto computerDto : computerDtoList) {
+            if (computerDto.getStatus() == null) {
+                computerDto.setStatus(EquipmentStatus.IN_STOCK);
+            }
+            computers.add(computerMapping.toEntity(computerDto));
         }
 
-        log.debug("Найдено {} компьютеров", computers.getTotalElements());
-        return computers.map(computerMapping::toDto);
+        List<Computer> savedComputers = computerRepository.saveAll(computers);
+        log.info("Пакет компьютеров сохранён. Количество: {}", savedComputers.size());
+
+        return savedComputers.stream().map(computerMapping::toDto).toList();
+    }
+
+    // READ all: страница, срез или курсор (ListQuery)
+    public ListResultDto<ComputerDto> getAllComputers(ListQuery query) {
+        log.debug("Запрос всех компьютеров");
+
+        return listPager.findAll(query, Computer.class, computerRepository,
+                computerRepository::findSliceBy, computerMapping::toDto, "No computers found",
+                "processor", "motherboard", "videoCard", "powerSupply");
     }
 
     // READ by id
     public ComputerDto getComputerById(Long id) {
         log.debug("Поиск компьютера по ID: {}", id);
 
-        Computer computer = computerRepository.findById(id)
+        Computer computer = computerRepository.findWithComponentsById(id)
                 .orElseThrow(() -> {
                     log.error("Компьютер с ID {} не найден", id);
                     return new EntityNotFoundException(
@@ -208,6 +185,14 @@ public class ComputerService {
         return computerMapping.toDto(computer);
     }
 
+    // EXISTS by name
+    // Названия из списка, уже занятые компьютерами, в нижнем регистре - одним запросом
+    public Set<String> findTakenComputerNames(Collection<String> names) {
+        if (names.isEmpty()) return Set.of();
+
+        return new HashSet<>(computerRepository.findLowerNamesIn(names.stream().map(String::toLowerCase).toList()));
+    }
+
     // COUNT
     public long getCountComputers() {
         log.debug("Подсчёт общего количества компьютеров");
@@ -221,7 +206,7 @@ public class ComputerService {
         log.info("=== НАЧАЛО: Обновление компьютера ===");
         log.info("ID компьютера: {}", computerDto.getId());
 
-        Computer existingComputer = computerRepository.findById(computerDto.getId())
+        Computer existingComputer = computerRepository.findWithComponentsById(computerDto.getId())
                 .orElseThrow(() -> {
                     log.error("Компьютер с ID {} не найден", computerDto.getId());
                     return new EntityNotFoundException(
@@ -229,13 +214,7 @@ public class ComputerService {
                     );
                 });
 
-        if (!existingComputer.getName().equalsIgnoreCase(computerDto.getName())) {
-            if (computerRepository.existsByNameIgnoreCase(computerDto.getName())) {
-                log.warn("Компьютер с названием '{}' уже существует", computerDto.getName());
-                throw new IllegalArgumentException(
-                        String.format("Computer '%s' is already taken", computerDto.getName())
-                );
-            }
+        if (computerDto.getName() != null && !existingComputer.getName().equalsIgnoreCase(computerDto.getName())) {
             log.info("Изменение названия: {} -> {}", existingComputer.getName(), computerDto.getName());
         }
 
@@ -279,68 +258,62 @@ public class ComputerService {
 
         // Обработка RAM
         if (tempComputerDto.getRams() != null && !tempComputerDto.getRams().isEmpty()) {
-            Map<String, Long> ramNameId = new HashMap<>();
-            List<RamDto> tempRamList = new ArrayList<>();
-            tempComputerDto.getRams().forEach(ram -> {
-                RamDto tempRamDto;
-                if (ram.getName() != null) {
-                    if (!ramNameId.containsKey(ram.getName().toLowerCase())) {
-                        tempRamDto = ramService.addRam(ram);
-                        ramNameId.put(tempRamDto.getName().toLowerCase(), tempRamDto.getId());
-                    } else {
-                        tempRamDto = ramService.getRamById(ramNameId.get(ram.getName().toLowerCase()));
-                    }
-                    tempRamList.add(tempRamDto);
-                } else {
-                    tempRamDto = ramService.getRamById(ram.getId());
-                    tempRamList.add(tempRamDto);
-                }
-            });
-            tempComputerDto.setRams(tempRamList);
+            tempComputerDto.setRams(ramService.resolveRams(tempComputerDto.getRams()));
         } else {
             tempComputerDto.setRams(ramMapping.toDtoList(existingComputer.getRams()));
         }
 
         // Обработка накопителей
         if (tempComputerDto.getStorageDevices() != null && !tempComputerDto.getStorageDevices().isEmpty()) {
-            Map<String, Long> storageDeviceNameId = new HashMap<>();
-            List<StorageDeviceDto> tempStorageDeviceList = new ArrayList<>();
-            tempComputerDto.getStorageDevices().forEach(storageDeviceDto -> {
-                StorageDeviceDto tempStorageDeviceDto;
-                if (storageDeviceDto.getName() != null) {
-                    if (!storageDeviceNameId.containsKey(storageDeviceDto.getName().toLowerCase())) {
-                        tempStorageDeviceDto = storageDeviceService.addStorageDevice(storageDeviceDto);
-                        storageDeviceNameId.put(tempStorageDeviceDto.getName().toLowerCase(), tempStorageDeviceDto.getId());
-                    } else {
-                        tempStorageDeviceDto = storageDeviceService.getStorageDeviceById(storageDeviceNameId.get(storageDeviceDto.getName().toLowerCase()));
-                    }
-                    tempStorageDeviceList.add(tempStorageDeviceDto);
-                } else {
-                    tempStorageDeviceDto = storageDeviceService.getStorageDeviceById(storageDeviceDto.getId());
-                    tempStorageDeviceList.add(tempStorageDeviceDto);
-                }
-            });
-            tempComputerDto.setStorageDevices(tempStorageDeviceList);
+            tempComputerDto.setStorageDevices(storageDeviceService.resolveStorageDevices(tempComputerDto.getStorageDevices()));
         } else {
             tempComputerDto.setStorageDevices(storageDeviceMapping.toDtoList(existingComputer.getStorageDevices()));
         }
 
         // Проверки совместимости
         log.info("Проверка совместимости обновлённых комплектующих...");
-        checkProcessorAndMotherboardCompatibility(tempComputerDto.getProcessor(), tempComputerDto.getMotherboard());
-        checkMotherboardAndRamsCompatibility(tempComputerDto.getMotherboard(), tempComputerDto.getRams());
-        checkMotherboardAndStorageDevicesCompatibility(tempComputerDto.getMotherboard(), tempComputerDto.getStorageDevices());
-        checkVideoCardAndPowerSupplyCompatibility(tempComputerDto.getVideoCard(), tempComputerDto.getPowerSupply());
+        checkCompatibility(tempComputerDto);
         log.info("Проверки совместимости пройдены");
 
-        Computer updatedComputer = computerMapping.toEntity(tempComputerDto);
-        updatedComputer.setId(existingComputer.getId());
-        computerRepository.save(updatedComputer);
+        // Изменения переносятся на загруженную сущность: её version проверяется при сбросе, новая сущность
+        // с тем же ID и пустой version была бы принята за новую и ушла бы в persist
+        if (computerDto.getName() != null) {
+            existingComputer.setName(computerDto.getName());
+        }
+        if (computerDto.getManufacturer() != null) {
+            log.info("Изменение производителя: {} -> {}", existingComputer.getManufacturer(), computerDto.getManufacturer());
+            existingComputer.setManufacturer(computerDto.getManufacturer());
+        }
+        if (computerDto.getInventoryNumber() != null) {
+            log.info("Изменение инвентарного номера: {} -> {}", existingComputer.getInventoryNumber(), computerDto.getInventoryNumber());
+            existingComputer.setInventoryNumber(computerDto.getInventoryNumber());
+        }
+        if (computerDto.getStatus() != null) {
+            log.info("Изменение статуса: {} -> {}", existingComputer.getStatus(), computerDto.getStatus());
+            existingComputer.setStatus(computerDto.getStatus());
+        }
+        existingComputer.setProcessor(processorMapping.toEntity(tempComputerDto.getProcessor()));
+        existingComputer.setMotherboard(motherboardMapping.toEntity(tempComputerDto.getMotherboard()));
+        existingComputer.setVideoCard(videoCardMapping.toEntity(tempComputerDto.getVideoCard()));
+        existingComputer.setPowerSupply(powerSupplyMapping.toEntity(tempComputerDto.getPowerSupply()));
+        existingComputer.setRams(ramMapping.toEntityList(tempComputerDto.getRams()));
+        existingComputer.setStorageDevices(storageDeviceMapping.toEntityList(tempComputerDto.getStorageDevices()));
+
+        try {
+            // Переименование в занятое название нарушит уникальный индекс при сбросе - здесь, а не при фиксации
+            computerRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            if (!UniqueViolations.isViolated(e, UniqueViolations.EQUIPMENT_NAME)) throw e;
+            log.warn("Компьютер с названием '{}' уже существует", computerDto.getName());
+            throw new IllegalArgumentException(
+                    String.format("Computer '%s' is already taken", computerDto.getName())
+            );
+        }
 
-        log.info("Компьютер обновлён. ID: {}", updatedComputer.getId());
+        log.info("Компьютер обновлён. ID: {}", existingComputer.getId());
         log.info("=== УСПЕШНО: Компьютер обновлён ===");
 
-        return computerMapping.toDto(updatedComputer);
+        return computerMapping.toDto(existingComputer);
     }
 
     // DELETE
@@ -360,6 +333,15 @@ public class ComputerService {
         log.info("=== УСПЕШНО: Компьютер удалён ===");
     }
 
+    public void checkCompatibility(ComputerDto computerDto) {
+        checkProcessorAndMotherboardCompatibility(computerDto.getProcessor(), computerDto.getMotherboard());
+        checkMotherboardAndRamsCompatibility(computerDto.getMotherboard(), computerDto.getRams());
+        checkMotherboardAndStorageDevicesCompatibility(computerDto.getMotherboard(), computerDto.getStorageDevices());
+        if (computerDto.getVideoCard() != null) {
+            checkVideoCardAndPowerSupplyCompatibility(computerDto.getVideoCard(), computerDto.getPowerSupply());
+        }
+    }
+
     private void checkProcessorAndMotherboardCompatibility(ProcessorDto processorDto, MotherboardDto motherboardDto) {
         if ((processorDto.getSocket() != null && motherboardDto.getSocket() != null)
                 && !motherboardDto.getSocket().equals(processorDto.getSocket())) {
@@ -368,129 +350,12 @@ public class ComputerService {
     }
 
     private void checkMotherboardAndRamsCompatibility(MotherboardDto motherboardDto, List<RamDto> ramDtoList) {
-        if (motherboardDto.getMemorySupports() == null || motherboardDto.getMemorySupports().isEmpty()) return;
-
-        /*
-        Создание массива ключ-значение, где ключом является один из поддерживаемых типов ОЗУ материнской
-        платой, а значением массив ОЗУ. После массив заполняется поддерживаемыми типами ОЗУ.
-        Необходимо это для дальнейшего соотношения поддерживаемого типа с самим ОЗУ.
-        */
-        Map<MemorySupportDto, ArrayList<RamDto>> memoryCheckList = new HashMap<>();
-        motherboardDto.getMemorySupports().forEach(memorySupportDto ->
-                memoryCheckList.put(memorySupportDto, new ArrayList<>(memorySupportDto.getNumberOfSlots())));
-
-        /*
-        Перебор массива ОЗУ с дальнейшим соотношением ОЗУ к подходящему поддерживаемому типу материнской платы
-        и занесение этого ОЗУ в массив ключ-значения, где ключом является этот подходящий поддерживаемый тип.
-        */
-        for (RamDto ramDto : ramDtoList) {
-            if (ramDto.getType() == null || ramDto.getFormFactor() == null) continue;
-
-            boolean compatible = false;
-
-            for (MemorySupportDto memorySupportDto : motherboardDto.getMemorySupports()) {
-                // Различные проверки совместимости поддерживаемого типа и ОЗУ
-                if (!memorySupportDto.getType().equals(ramDto.getType())) continue;
-                if (!memorySupportDto.getFormFactor().equals(ramDto.getFormFactor())) continue;
-
-                if (ramDto.getEcc() != null) {
-                    if (ramDto.getEcc() && !Boolean.TRUE.equals(memorySupportDto.getEccSupported())) {
-                        throw new IllegalArgumentException("ECC RAM is not supported by this motherboard");
-                    }
-                    if (!ramDto.getEcc() && !Boolean.TRUE.equals(memorySupportDto.getNonEccSupported())) {
-                        throw new IllegalArgumentException("Non-ECC RAM is not supported by this motherboard");
-                    }
-                }
-
-                memoryCheckList.get(memorySupportDto).add(ramDto);
-                compatible = true;
-                break;
-            }
-
-            /*
-            Если ОЗУ не нашла себе необходимый поддерживаемый тип в материнской плате, то выдаётся ошибка
-            и сущность компьютера не сохраняется
-            */
-            if (!compatible) {
-                throw new IllegalArgumentException(
-                        String.format("RAM '%s' is not compatible with this motherboard", ramDto.getName())
-                );
-            }
-        }
-
-        /*
-        Проверка достаточности количества каждого поддерживаемого типа материнской платы
-        к количеству помещённой ОЗУ и общего размера памяти к максимально
-        поддерживаемого материнской платой
-        */
-        for (MemorySupportDto memorySupportDto : motherboardDto.getMemorySupports()) {
-            if (memorySupportDto.getNumberOfSlots() < memoryCheckList.get(memorySupportDto).size()) {
-                throw new IllegalArgumentException(
-                        String.format("Amount of RAM '%d' with the type '%s' and form factor '%s' is greater than the number of motherboard slots '%d'",
-                                memoryCheckList.get(memorySupportDto).size(),
-                                memorySupportDto.getType(),
-                                memorySupportDto.getFormFactor(),
-                                memorySupportDto.getNumberOfSlots())
-                );
-            }
-
-            long sumRamVolumes = memoryCheckList.get(memorySupportDto).stream()
-                    .mapToLong(RamDto::getCapacityMb)
-                    .sum() / 1024;
-
-            if (memorySupportDto.getMaxMemoryGb() < sumRamVolumes) {
-                throw new IllegalArgumentException(
-                        String.format("The amount of RAM memory '%d' GB with type '%s' and form factor '%s' is greater than the supported amount on the motherboard '%d' GB",
-                                sumRamVolumes,
-                                memorySupportDto.getType(),
-                                memorySupportDto.getFormFactor(),
-                                memorySupportDto.getMaxMemoryGb())
-                );
-            }
-        }
+        // Поддерживаемые типы ОЗУ заранее скомпилированы в таблицу слотов материнской платы
+        motherboardCompatibilityIndex.getSlotTable(motherboardDto).checkRams(ramDtoList);
     }
 
     private void checkMotherboardAndStorageDevicesCompatibility(MotherboardDto motherboardDto, List<StorageDeviceDto> storageDeviceDtoList) {
-        if (motherboardDto.getStoragePorts() == null || motherboardDto.getStoragePorts().isEmpty()) return;
-
-        Map<StoragePortDto, ArrayList<StorageDeviceDto>> storageCheckList = new HashMap<>();
-        motherboardDto.getStoragePorts().forEach(storagePortDto ->
-                storageCheckList.put(storagePortDto, new ArrayList<>(storageDeviceDtoList.size())));
-
-        for (StorageDeviceDto storageDto : storageDeviceDtoList) {
-            if (storageDto.getConnectionInterface() == null || storageDto.getPortType() == null || storageDto.getFormFactor() == null) continue;
-
-            boolean compatible = false;
-
-            for (StoragePortDto storagePortDto : motherboardDto.getStoragePorts()) {
-                if (!storagePortDto.getConnectionInterface().equalsIgnoreCase(storageDto.getConnectionInterface())) continue;
-                if (!storagePortDto.getPortType().equalsIgnoreCase(storageDto.getPortType())) continue;
-                if (!storagePortDto.getFormFactor().equalsIgnoreCase(storageDto.getFormFactor())) continue;
-
-                storageCheckList.get(storagePortDto).add(storageDto);
-                compatible = true;
-                break;
-            }
-
-            if (!compatible) {
-                throw new IllegalArgumentException(
-                        String.format("Storage '%s' is not compatible with this motherboard", storageDto.getName())
-                );
-            }
-        }
-
-        for (StoragePortDto storagePortDto : motherboardDto.getStoragePorts()) {
-            if (storagePortDto.getCount() < storageCheckList.get(storagePortDto).size()) {
-                throw new IllegalArgumentException(
-                        String.format("The number of drives '%d' with connection type '%s', connection interface '%s', and form factor '%s' is greater than the number of motherboard slots '%d'",
-                                storageCheckList.get(storagePortDto).size(),
-                                storagePortDto.getPortType(),
-                                storagePortDto.getConnectionInterface(),
-                                storagePortDto.getFormFactor(),
-                                storagePortDto.getCount())
-                );
-            }
-        }
+        motherboardCompatibilityIndex.getSlotTable(motherboardDto).checkStorageDevices(storageDeviceDtoList);
     }
 
     private void checkVideoCardAndPowerSupplyCompatibility(VideoCardDto videoCardDto, PowerSupplyDto powerSupplyDto) {
@@ -2,18 +2,20 @@ package ru.litvast.techtrackapi.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.litvast.techtrackapi.exception.EntityNotFoundException;
-import ru.litvast.techtrackapi.exception.NoEntitiesFoundException;
+import ru.litvast.techtrackapi.model.dto.ListResultDto;
 import ru.litvast.techtrackapi.model.dto.equipment.computer.CpuArchitectureDto;
 import ru.litvast.techtrackapi.model.dto.mapping.equipment.computer.CpuArchitectureMapping;
 import ru.litvast.techtrackapi.model.entity.equipment.computer.CpuArchitecture;
 import ru.litvast.techtrackapi.repository.equipment.computer.CpuArchitectureRepository;
 import ru.litvast.techtrackapi.repository.equipment.computer.CpuSocketRepository;
 import ru.litvast.techtrackapi.util.Converter;
+import ru.litvast.techtrackapi.util.ListQuery;
+import ru.litvast.techtrackapi.util.UniqueViolations;
 
 @Slf4j
 @Service
@@ -23,6 +25,11 @@ public class CpuArchitectureService {
     private final CpuArchitectureRepository architectureRepository;
     private final CpuArchitectureMapping architectureMapping;
     private final CpuSocketRepository cpuSocketRepository;
+    private final ListPager listPager;
+
+    private final ReferenceDictionary<CpuArchitecture> dictionary = new ReferenceDictionary<>("CpuArchitecture",
+            CpuArchitecture::getId, CpuArchitecture::getName,
+            architecture -> new CpuArchitecture(architecture.getId(), architecture.getName(), architecture.getBitWidth()));
 
     // CREATE
     @Transactional
@@ -35,36 +42,58 @@ public class CpuArchitectureService {
             throw new IllegalArgumentException("To create an architecture, you must specify a name, not an ID");
         }
 
-        validateAddCpuArchitecture(architectureDto);
+        Long id = architectureRepository.insertIfAbsent(architectureDto.getName(), architectureDto.getBitWidth())
+                .orElseThrow(() -> {
+                    log.warn("Архитектура с названием '{}' уже существует", architectureDto.getName());
+                    return new IllegalArgumentException(
+                            String.format("CpuArchitecture '%s' is already taken", architectureDto.getName())
+                    );
+                });
 
         CpuArchitecture architecture = architectureMapping.toEntity(architectureDto);
-        architectureRepository.save(architecture);
+        architecture.setId(id);
 
+        dictionary.put(architecture);
         log.info("Архитектура создана. ID: {}", architecture.getId());
         log.info("=== УСПЕШНО: Архитектура добавлена ===");
 
         return architectureMapping.toDto(architecture);
     }
 
-    // READ all with pagination
-    public Page<CpuArchitectureDto> getAllCpuArchitectures(Pageable pageable) {
-        log.debug("Запрос всех архитектур процессоров с пагинацией");
+    // GET OR CREATE
+    @Transactional
+    public CpuArchitectureDto getOrCreateCpuArchitecture(CpuArchitectureDto architectureDto) {
+        if (architectureDto.getName() == null || architectureDto.getName().isBlank()) {
+            log.error("Не передано название архитектуры");
+            throw new IllegalArgumentException("To find or create an architecture, you must specify a name");
+        }
 
-        Page<CpuArchitecture> architectures = architectureRepository.findAll(pageable);
-        if (architectures.isEmpty()) {
-            log.warn("Архитектуры не найдены");
-            throw new NoEntitiesFoundException("No CPU architectures found");
+        CpuArchitecture cached = dictionary.peek(architectureDto.getName()).orElse(null);
+        if (cached != null) {
+            log.debug("Архитектура '{}' взята из словаря. ID: {}", architectureDto.getName(), cached.getId());
+            return architectureMapping.toDto(cached);
         }
 
-        log.debug("Найдено {} архитектур", architectures.getTotalElements());
-        return architectures.map(architectureMapping::toDto);
+        CpuArchitecture architecture = architectureRepository.upsert(architectureDto.getName(), architectureDto.getBitWidth());
+        log.debug("Архитектура '{}' получена из БД. ID: {}", architectureDto.getName(), architecture.getId());
+
+        dictionary.put(architecture);
+        return architectureMapping.toDto(architecture);
+    }
+
+    // READ all: страница, срез или курсор (ListQuery)
+    public ListResultDto<CpuArchitectureDto> getAllCpuArchitectures(ListQuery query) {
+        log.debug("Запрос всех архитектур процессоров");
+
+        return listPager.findAll(query, CpuArchitecture.class, architectureRepository,
+                architectureRepository::findSliceBy, architectureMapping::toDto, "No CPU architectures found");
     }
 
     // READ by id
     public CpuArchitectureDto getCpuArchitectureById(Long id) {
         log.debug("Поиск архитектуры по ID: {}", id);
 
-        CpuArchitecture architecture = architectureRepository.findById(id)
+        CpuArchitecture architecture = dictionary.findById(id, architectureRepository::findById)
                 .orElseThrow(() -> {
                     log.error("Архитектура с ID {} не найдена", id);
                     return new EntityNotFoundException(
@@ -86,7 +115,7 @@ public class CpuArchitectureService {
     public CpuArchitectureDto getCpuArchitectureByName(String name) {
         log.debug("Поиск архитектуры по названию: {}", name);
 
-        CpuArchitecture architecture = architectureRepository.findByNameIgnoreCase(name)
+        CpuArchitecture architecture = dictionary.findByKey(name, architectureRepository::findByNameIgnoreCase)
                 .orElseThrow(() -> {
                     log.error("Архитектура с названием '{}' не найдена", name);
                     return new EntityNotFoundException(
@@ -113,13 +142,6 @@ public class CpuArchitectureService {
 
         if (!existingArchitecture.getName().equalsIgnoreCase(architectureDto.getName())) {
             log.info("Изменение названия: {} -> {}", existingArchitecture.getName(), architectureDto.getName());
-
-            if (architectureRepository.existsByNameIgnoreCase(architectureDto.getName())) {
-                log.warn("Архитектура с названием '{}' уже существует", architectureDto.getName());
-                throw new IllegalArgumentException(
-                        String.format("CpuArchitecture '%s' is already taken", architectureDto.getName())
-                );
-            }
             existingArchitecture.setName(architectureDto.getName());
         }
 
@@ -128,7 +150,17 @@ public class CpuArchitectureService {
             existingArchitecture.setBitWidth(architectureDto.getBitWidth());
         }
 
-        architectureRepository.save(existingArchitecture);
+        dictionary.evict(id);
+        try {
+            // Переименование в занятое название нарушит уникальный индекс при сбросе - здесь, а не при фиксации
+            architectureRepository.saveAndFlush(existingArchitecture);
+        } catch (DataIntegrityViolationException e) {
+            if (!UniqueViolations.isViolated(e, UniqueViolations.CPU_ARCHITECTURE_NAME)) throw e;
+            log.warn("Архитектура с названием '{}' уже существует", architectureDto.getName());
+            throw new IllegalArgumentException(
+                    String.format("CpuArchitecture '%s' is already taken", architectureDto.getName())
+            );
+        }
         log.info("=== УСПЕШНО: Архитектура обновлена ===");
 
         return architectureMapping.toDto(existingArchitecture);
@@ -147,6 +179,7 @@ public class CpuArchitectureService {
             );
         }
 
+        dictionary.evict(id);
         architectureRepository.deleteById(id);
         log.info("=== УСПЕШНО: Архитектура удалена ===");
     }
@@ -160,4 +193,10 @@ public class CpuArchitectureService {
             );
         }
     }
+
+    // Прогрев словаря при старте и периодическая сверка с БД
+    @Scheduled(initialDelayString = "PT0S", fixedDelayString = "PT5M")
+    public void reloadDictionary() {
+        dictionary.reload(architectureRepository::findAll);
+    }
 }
\ No newline at end of file
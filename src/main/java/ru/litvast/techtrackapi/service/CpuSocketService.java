@@ -2,16 +2,20 @@ package ru.litvast.techtrackapi.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.litvast.techtrackapi.exception.EntityNotFoundException;
-import ru.litvast.techtrackapi.exception.NoEntitiesFoundException;
+import ru.litvast.techtrackapi.model.dto.ListResultDto;
 import ru.litvast.techtrackapi.model.dto.equipment.computer.CpuSocketDto;
 import ru.litvast.techtrackapi.model.dto.mapping.equipment.computer.CpuSocketMapping;
 import ru.litvast.techtrackapi.model.entity.equipment.computer.CpuSocket;
 import ru.litvast.techtrackapi.repository.equipment.computer.CpuSocketRepository;
+import ru.litvast.techtrackapi.util.ListQuery;
+import ru.litvast.techtrackapi.util.UniqueViolations;
+
+import java.util.Optional;
 
 @Slf4j
 @Service
@@ -20,6 +24,11 @@ public class CpuSocketService {
 
     private final CpuSocketRepository cpuSocketRepository;
     private final CpuSocketMapping cpuSocketMapping;
+    private final ListPager listPager;
+
+    private final ReferenceDictionary<CpuSocket> dictionary = new ReferenceDictionary<>("CpuSocket",
+            CpuSocket::getId, CpuSocket::getName,
+            socket -> new CpuSocket(socket.getId(), socket.getName(), socket.getManufacturer(), socket.getCompatibleCpus()));
 
     // CREATE
     @Transactional
@@ -32,36 +41,60 @@ public class CpuSocketService {
             throw new IllegalArgumentException("To create a socket, you must specify a name, not an ID");
         }
 
-        validateAddCpuSocket(socketDto);
+        // Одна вставка INSERT ... ON CONFLICT DO NOTHING вместо проверки existsByNameIgnoreCase и save
+        Long id = cpuSocketRepository.insertIfAbsent(socketDto.getName(), socketDto.getManufacturer(), socketDto.getCompatibleCpus())
+                .orElseThrow(() -> {
+                    log.warn("Сокет с названием '{}' уже существует", socketDto.getName());
+                    return new IllegalArgumentException(
+                            String.format("CpuSocket '%s' is already taken", socketDto.getName())
+                    );
+                });
 
         CpuSocket socket = cpuSocketMapping.toEntity(socketDto);
-        cpuSocketRepository.save(socket);
+        socket.setId(id);
 
+        dictionary.put(socket);
         log.info("Сокет создан. ID: {}", socket.getId());
         log.info("=== УСПЕШНО: Сокет добавлен ===");
 
         return cpuSocketMapping.toDto(socket);
     }
 
-    // READ all with pagination
-    public Page<CpuSocketDto> getAllCpuSockets(Pageable pageable) {
-        log.debug("Запрос всех сокетов процессоров с пагинацией");
+    // GET OR CREATE: для ссылок из процессоров и материнских плат, повторная передача сокета не ошибка
+    @Transactional
+    public CpuSocketDto getOrCreateCpuSocket(CpuSocketDto socketDto) {
+        if (socketDto.getName() == null || socketDto.getName().isBlank()) {
+            log.error("Не передано название сокета");
+            throw new IllegalArgumentException("To find or create a socket, you must specify a name");
+        }
 
-        Page<CpuSocket> sockets = cpuSocketRepository.findAll(pageable);
-        if (sockets.isEmpty()) {
-            log.warn("Сокеты не найдены");
-            throw new NoEntitiesFoundException("No CPU sockets found");
+        CpuSocket cached = dictionary.peek(socketDto.getName()).orElse(null);
+        if (cached != null) {
+            log.debug("Сокет '{}' взят из словаря. ID: {}", socketDto.getName(), cached.getId());
+            return cpuSocketMapping.toDto(cached);
         }
 
-        log.debug("Найдено {} сокетов", sockets.getTotalElements());
-        return sockets.map(cpuSocketMapping::toDto);
+        // Один INSERT ... ON CONFLICT DO UPDATE ... RETURNING и для нового, и для существующего сокета
+        CpuSocket socket = cpuSocketRepository.upsert(socketDto.getName(), socketDto.getManufacturer(), socketDto.getCompatibleCpus());
+        log.debug("Сокет '{}' получен из БД. ID: {}", socketDto.getName(), socket.getId());
+
+        dictionary.put(socket);
+        return cpuSocketMapping.toDto(socket);
+    }
+
+    // READ all: страница, срез или курсор (ListQuery)
+    public ListResultDto<CpuSocketDto> getAllCpuSockets(ListQuery query) {
+        log.debug("Запрос всех сокетов процессоров");
+
+        return listPager.findAll(query, CpuSocket.class, cpuSocketRepository,
+                cpuSocketRepository::findSliceBy, cpuSocketMapping::toDto, "No CPU sockets found");
     }
 
     // READ by id
     public CpuSocketDto getCpuSocketById(Long id) {
         log.debug("Поиск сокета по ID: {}", id);
 
-        CpuSocket socket = cpuSocketRepository.findById(id)
+        CpuSocket socket = dictionary.findById(id, cpuSocketRepository::findById)
                 .orElseThrow(() -> {
                     log.error("Сокет с ID {} не найден", id);
                     return new EntityNotFoundException(
@@ -76,7 +109,7 @@ public class CpuSocketService {
     public CpuSocketDto getCpuSocketByName(String name) {
         log.debug("Поиск сокета по названию: {}", name);
 
-        CpuSocket socket = cpuSocketRepository.findByNameIgnoreCase(name)
+        CpuSocket socket = dictionary.findByKey(name, cpuSocketRepository::findByNameIgnoreCase)
                 .orElseThrow(() -> {
                     log.error("Сокет с названием '{}' не найден", name);
                     return new EntityNotFoundException(
@@ -87,6 +120,13 @@ public class CpuSocketService {
         return cpuSocketMapping.toDto(socket);
     }
 
+    // FIND by name: отсутствие не ошибка (импорт создаёт недостающие комплектующие)
+    public Optional<CpuSocketDto> findCpuSocketByName(String name) {
+        log.debug("Поиск сокета по названию: {}", name);
+
+        return dictionary.findByKey(name, cpuSocketRepository::findByNameIgnoreCase).map(cpuSocketMapping::toDto);
+    }
+
     // UPDATE
     @Transactional
     public CpuSocketDto updateCpuSocket(Long id, CpuSocketDto socketDto) {
@@ -103,13 +143,6 @@ public class CpuSocketService {
 
         if (!existingSocket.getName().equalsIgnoreCase(socketDto.getName())) {
             log.info("Изменение названия: {} -> {}", existingSocket.getName(), socketDto.getName());
-
-            if (cpuSocketRepository.existsByNameIgnoreCase(socketDto.getName())) {
-                log.warn("Сокет с названием '{}' уже существует", socketDto.getName());
-                throw new IllegalArgumentException(
-                        String.format("CpuSocket '%s' is already taken", socketDto.getName())
-                );
-            }
             existingSocket.setName(socketDto.getName());
         }
 
@@ -123,7 +156,17 @@ public class CpuSocketService {
             existingSocket.setCompatibleCpus(socketDto.getCompatibleCpus());
         }
 
-        cpuSocketRepository.save(existingSocket);
+        dictionary.evict(id);
+        try {
+            // Переименование в занятое название нарушит уникальный индекс при сбросе - здесь, а не при фиксации
+            cpuSocketRepository.saveAndFlush(existingSocket);
+        } catch (DataIntegrityViolationException e) {
+            if (!UniqueViolations.isViolated(e, UniqueViolations.CPU_SOCKET_NAME)) throw e;
+            log.warn("Сокет с названием '{}' уже существует", socketDto.getName());
+            throw new IllegalArgumentException(
+                    String.format("CpuSocket '%s' is already taken", socketDto.getName())
+            );
+        }
         log.info("=== УСПЕШНО: Сокет обновлён ===");
 
         return cpuSocketMapping.toDto(existingSocket);
@@ -142,6 +185,7 @@ public class CpuSocketService {
             );
         }
 
+        dictionary.evict(id);
         cpuSocketRepository.deleteById(id);
         log.info("=== УСПЕШНО: Сокет удалён ===");
     }
@@ -155,4 +199,10 @@ public class CpuSocketService {
             );
         }
     }
+
+    // Прогрев словаря при старте и периодическая сверка с БД
+    @Scheduled(initialDelayString = "PT0S", fixedDelayString = "PT5M")
+    public void reloadDictionary() {
+        dictionary.reload(cpuSocketRepository::findAll);
+    }
 }
\ No newline at end of file
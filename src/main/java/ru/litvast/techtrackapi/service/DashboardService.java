@@ -0,0 +1,177 @@
+package ru.litvast.techtrackapi.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import ru.litvast.techtrackapi.model.dto.dashboard.DashboardCountRow;
+import ru.litvast.techtrackapi.model.dto.dashboard.DashboardSummaryDto;
+import ru.litvast.techtrackapi.model.dto.dashboard.NamedCountDto;
+import ru.litvast.techtrackapi.model.entity.equipment.EquipmentStatus;
+import ru.litvast.techtrackapi.repository.equipment.EquipmentRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DashboardService {
+
+    private static final Duration SUMMARY_TTL = Duration.ofSeconds(15);
+    // Сводка старше TTL, но не старше MAX_STALENESS отдаётся сразу, пока пересчёт идёт в фоне
+    private static final Duration MAX_STALENESS = SUMMARY_TTL.multipliedBy(2);
+    private static final Duration IDLE_TIMEOUT = Duration.ofMinutes(5);
+    private static final Duration REFRESH_WAIT = Duration.ofSeconds(30);
+
+    private final EquipmentRepository equipmentRepository;
+
+    // Пересчёт выполняется только здесь: поток запроса его не запускает, а самое большее дожидается
+    private final ExecutorService refresher = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("dashboard-refresh").daemon().factory());
+    private final AtomicReference<CompletableFuture<DashboardSummaryDto>> inFlight = new AtomicReference<>();
+
+    private volatile DashboardSummaryDto summary;
+    private volatile long summaryComputedAt;
+    private volatile long lastRequestedAt;
+
+    // READ summary
+    public DashboardSummaryDto getSummary() {
+        long now = System.nanoTime();
+        lastRequestedAt = now;
+
+        DashboardSummaryDto cached = summary;
+        if (cached != null) {
+            long age = now - summaryComputedAt;
+            if (age <= SUMMARY_TTL.toNanos()) {
+                return cached;
+            }
+            if (age <= MAX_STALENESS.toNanos()) {
+                refreshAsync();
+                return cached;
+            }
+        }
+
+        // Холодный кеш или долгий простой: устаревшая сводка не отдаётся, запрос ждёт фоновый пересчёт
+        return await(refreshAsync());
+    }
+
+    // Фоновое обновление, пока дашборд кто-то опрашивает: при активном опросе сводка не старше MAX_STALENESS
+    @Scheduled(fixedDelayString = "PT5S")
+    public void refreshIfActive() {
+        if (summary == null || System.nanoTime() - lastRequestedAt > IDLE_TIMEOUT.toNanos()) return;
+        if (System.nanoTime() - summaryComputedAt < SUMMARY_TTL.toNanos()) return;
+
+        refreshAsync();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    // Один пересчёт на всех: пока он идёт, остальные получают тот же future
+    private CompletableFuture<DashboardSummaryDto> refreshAsync() {
+        while (true) {
+            CompletableFuture<DashboardSummaryDto> current = inFlight.get();
+            if (current != null) return current;
+
+            CompletableFuture<DashboardSummaryDto> started = new CompletableFuture<>();
+            if (!inFlight.compareAndSet(null, started)) continue;
+
+            refresher.execute(() -> {
+                try {
+                    started.complete(compute());
+                } catch (RuntimeException e) {
+                    log.error("Ошибка обновления сводки дашборда: {}", e.getMessage());
+                    started.completeExceptionally(e);
+                } finally {
+                    inFlight.compareAndSet(started, null);
+                }
+            });
+            return started;
+        }
+    }
+
+    private DashboardSummaryDto await(CompletableFuture<DashboardSummaryDto> refresh) {
+        try {
+            return refresh.get(REFRESH_WAIT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Dashboard summary refresh was interrupted", e);
+        } catch (TimeoutException e) {
+            log.warn("Сводка дашборда не пересчитана за {}", REFRESH_WAIT);
+            throw new IllegalStateException("Dashboard summary is not ready yet, retry later");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw new IllegalStateException("Dashboard summary refresh failed", e.getCause());
+        }
+    }
+
+    private DashboardSummaryDto compute() {
+        log.debug("Пересчёт сводки дашборда");
+
+        Map<EquipmentStatus, Long> byStatus = new EnumMap<>(EquipmentStatus.class);
+        Map<String, Map<EquipmentStatus, Long>> byTypeAndStatus = new TreeMap<>();
+        List<NamedCountDto> employeesByCompany = new ArrayList<>();
+        List<NamedCountDto> equipmentByBuilding = new ArrayList<>();
+        long totalEquipment = 0;
+        long activeAssignments = 0;
+
+        for (DashboardCountRow row : equipmentRepository.dashboardCounts()) {
+            long total = row.getTotal() == null ? 0 : row.getTotal();
+            switch (row.getKind()) {
+                case "EQUIPMENT" -> {
+                    totalEquipment += total;
+                    if (row.getSubKey() == null) continue;
+                    EquipmentStatus status = statusOf(row.getSubKey());
+                    // Статус, которого нет в enum (правка в обход API), учитывается только в общем числе
+                    if (status == null) {
+                        log.warn("Неизвестный статус оборудования в сводке дашборда: {}", row.getSubKey());
+                        continue;
+                    }
+                    byStatus.merge(status, total, Long::sum);
+                    byTypeAndStatus.computeIfAbsent(row.getGroupKey(), type -> new EnumMap<>(EquipmentStatus.class))
+                            .put(status, total);
+                }
+                case "ACTIVE_ASSIGNMENTS" -> activeAssignments = total;
+                case "EMPLOYEES_BY_COMPANY" ->
+                        employeesByCompany.add(new NamedCountDto(Long.valueOf(row.getGroupKey()), row.getName(), total));
+                case "EQUIPMENT_BY_BUILDING" ->
+                        equipmentByBuilding.add(new NamedCountDto(Long.valueOf(row.getGroupKey()), row.getName(), total));
+                default -> log.warn("Неизвестный агрегат дашборда: {}", row.getKind());
+            }
+        }
+
+        DashboardSummaryDto computed = new DashboardSummaryDto(
+                totalEquipment,
+                byStatus,
+                byTypeAndStatus,
+                activeAssignments,
+                employeesByCompany,
+                equipmentByBuilding,
+                LocalDateTime.now()
+        );
+        summary = computed;
+        summaryComputedAt = System.nanoTime();
+
+        return computed;
+    }
+
+    private static EquipmentStatus statusOf(String value) {
+        try {
+            return EquipmentStatus.valueOf(value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -2,14 +2,12 @@ package ru.litvast.techtrackapi.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.litvast.techtrackapi.exception.EntityNotFoundException;
-import ru.litvast.techtrackapi.exception.NoEntitiesFoundException;
 import ru.litvast.techtrackapi.model.dto.EmployeeDto;
 import ru.litvast.techtrackapi.model.dto.EmployeeUpdateDto;
+import ru.litvast.techtrackapi.model.dto.ListResultDto;
 import ru.litvast.techtrackapi.model.dto.mapping.EmployeeMapping;
 import ru.litvast.techtrackapi.model.entity.Employee;
 import ru.litvast.techtrackapi.model.entity.Room;
@@ -21,6 +19,7 @@ import ru.litvast.techtrackapi.repository.RoomRepository;
 import ru.litvast.techtrackapi.repository.UserRepository;
 import ru.litvast.techtrackapi.repository.equipment.computer.ComputerRepository;
 import ru.litvast.techtrackapi.repository.equipment.PrinterRepository;
+import ru.litvast.techtrackapi.util.ListQuery;
 
 @Slf4j
 @Service
@@ -33,6 +32,7 @@ public class EmployeeService {
     private final RoomRepository roomRepository;
     private final ComputerRepository computerRepository;
     private final PrinterRepository printerRepository;
+    private final ListPager listPager;
 
     // CREATE
     @Transactional
@@ -104,18 +104,12 @@ public class EmployeeService {
         return employeeMapping.toDto(employee);
     }
 
-    // READ all
-    public Page<EmployeeDto> getAllEmployees(Pageable pageable) {
-        log.debug("Запрос всех сотрудников с пагинацией");
+    // READ all: страница, срез или курсор (ListQuery)
+    public ListResultDto<EmployeeDto> getAllEmployees(ListQuery query) {
+        log.debug("Запрос всех сотрудников");
 
-        Page<Employee> employees = employeeRepository.findAll(pageable);
-        if (employees.isEmpty()) {
-            log.warn("Сотрудники не найдены");
-            throw new NoEntitiesFoundException("No employees found");
-        }
-
-        log.debug("Найдено {} сотрудников", employees.getTotalElements());
-        return employees.map(employeeMapping::toDto);
+        return listPager.findAll(query, Employee.class, employeeRepository,
+                employeeRepository::findSliceBy, employeeMapping::toDto, "No employees found");
     }
 
     // READ by id
@@ -189,7 +183,7 @@ public class EmployeeService {
     public long getCountEmployeesByCompanyId(long companyId) {
         log.debug("Подсчёт сотрудников по айди компании: {}", companyId);
 
-        return employeeRepository.countByRoom_BuildingFloor_Building_Company_Id(companyId);
+        return employeeRepository.countByRoom_CompanyId(companyId);
     }
 
     // UPDATE
@@ -0,0 +1,65 @@
+package ru.litvast.techtrackapi.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+@Slf4j
+@Component
+public class EntityCountCache {
+
+    private static final Duration COUNT_TTL = Duration.ofSeconds(30);
+    private static final int MAX_CACHED_COUNTS = 10_000;
+
+    // Приблизительные количества записей: ключ ("Сущность" или "Сущность:связь:ID") -> количество и момент истечения
+    private final Map<String, CachedCount> counts = new ConcurrentHashMap<>();
+
+    public long count(Class<?> entityType, LongSupplier counter) {
+        return count(entityType.getSimpleName(), counter);
+    }
+
+    public long count(Class<?> entityType, String association, Long id, LongSupplier counter) {
+        return count(entityType.getSimpleName() + ":" + association + ":" + id, counter);
+    }
+
+    public void invalidate(Class<?> entityType) {
+        String prefix = entityType.getSimpleName();
+        counts.keySet().removeIf(key -> key.equals(prefix) || key.startsWith(prefix + ":"));
+    }
+
+    private long count(String key, LongSupplier counter) {
+        long now = System.nanoTime();
+
+        CachedCount cached = counts.get(key);
+        if (cached != null && now - cached.expiresAt < 0) {
+            return cached.value;
+        }
+
+        long value = counter.getAsLong();
+        log.debug("Количество записей '{}' пересчитано: {}", key, value);
+
+        if (counts.size() >= MAX_CACHED_COUNTS) {
+            counts.values().removeIf(count -> now - count.expiresAt >= 0);
+            if (counts.size() >= MAX_CACHED_COUNTS) {
+                counts.clear();
+            }
+        }
+        counts.put(key, new CachedCount(value, now + COUNT_TTL.toNanos()));
+
+        return value;
+    }
+
+    private static final class CachedCount {
+        private final long value;
+        private final long expiresAt;
+
+        private CachedCount(long value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package ru.litvast.techtrackapi.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.litvast.techtrackapi.model.dto.equipment.EquipmentExportRowDto;
+import ru.litvast.techtrackapi.repository.equipment.EquipmentRepository;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EquipmentExportService {
+
+    public static final String FORMAT_CSV = "csv";
+    public static final String FORMAT_NDJSON = "ndjson";
+
+    private static final int FLUSH_EVERY_ROWS = 1_000;
+    private static final String CSV_HEADER = "id,type,name,manufacturer,inventoryNumber,status,purchaseDate,warrantyEndDate,"
+            + "quantity,company,building,floorNumber,room,assignee";
+
+    private final EquipmentRepository equipmentRepository;
+    private final ObjectMapper objectMapper;
+
+    public static String normalizeFormat(String format) {
+        String normalized = format == null ? FORMAT_CSV : format.toLowerCase(Locale.ROOT);
+        if (!FORMAT_CSV.equals(normalized) && !FORMAT_NDJSON.equals(normalized)) {
+            throw new IllegalArgumentException(String.format("Unsupported export format '%s'", format));
+        }
+        return normalized;
+    }
+
+    // Курсор PostgreSQL работает только внутри транзакции, иначе драйвер вычитает весь результат в память
+    @Transactional(readOnly = true)
+    public void exportEquipment(String format, OutputStream outputStream) throws IOException {
+        log.info("=== НАЧАЛО: Экспорт оборудования ({}) ===", format);
+
+        boolean csv = FORMAT_CSV.equals(normalizeFormat(format));
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        long rows = 0;
+
+        if (csv) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        try (Stream<EquipmentExportRowDto> stream = equipmentRepository.streamExportRows()) {
+            Iterator<EquipmentExportRowDto> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                EquipmentExportRowDto row = iterator.next();
+                if (csv) {
+                    writeCsvRow(writer, row);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(row));
+                    writer.write('\n');
+                }
+
+                if (++rows % FLUSH_EVERY_ROWS == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+
+        log.info("Экспортировано строк: {}", rows);
+        log.info("=== УСПЕШНО: Экспорт оборудования ===");
+    }
+
+    private void writeCsvRow(Writer writer, EquipmentExportRowDto row) throws IOException {
+        writer.write(String.valueOf(row.getId()));
+        writeCsvValue(writer, row.getType());
+        writeCsvValue(writer, row.getName());
+        writeCsvValue(writer, row.getManufacturer());
+        writeCsvValue(writer, row.getInventoryNumber());
+        writeCsvValue(writer, row.getStatus());
+        writeCsvValue(writer, row.getPurchaseDate());
+        writeCsvValue(writer, row.getWarrantyEndDate());
+        writeCsvValue(writer, row.getQuantity());
+        writeCsvValue(writer, row.getCompany());
+        writeCsvValue(writer, row.getBuilding());
+        writeCsvValue(writer, row.getFloorNumber());
+        writeCsvValue(writer, row.getRoom());
+        writeCsvValue(writer, row.getAssignee());
+        writer.write('\n');
+    }
+
+    private static void writeCsvValue(Writer writer, Object value) throws IOException {
+        writer.write(',');
+        if (value == null) return;
+
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            writer.write(text);
+            return;
+        }
+
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,113 @@
+package ru.litvast.techtrackapi.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.litvast.techtrackapi.model.dto.equipment.EquipmentStatusCountDto;
+import ru.litvast.techtrackapi.model.entity.equipment.EquipmentStatus;
+import ru.litvast.techtrackapi.repository.equipment.EquipmentRepository;
+import ru.litvast.techtrackapi.util.CommitGate;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EquipmentStatusCounters {
+
+    private static final int STATUS_COUNT = EquipmentStatus.values().length;
+    private static final Duration RECONCILE_WAIT = Duration.ofSeconds(2);
+
+    private final EquipmentRepository equipmentRepository;
+
+    private final CommitGate gate = new CommitGate();
+    // Счётчики по типу оборудования (дискриминатор): индекс массива - EquipmentStatus.ordinal()
+    private volatile Map<String, LongAdder[]> counters = new ConcurrentHashMap<>();
+
+    private volatile boolean reconciled;
+
+    public long count(EquipmentStatus status) {
+        if (!reconciled) {
+            return equipmentRepository.countByStatus(status);
+        }
+
+        long total = 0;
+        for (LongAdder[] typeCounters : counters.values()) {
+            total += typeCounters[status.ordinal()].sum();
+        }
+        return total;
+    }
+
+    public long count(String type, EquipmentStatus status) {
+        if (!reconciled) {
+            return equipmentRepository.countByTypeAndStatus(type, status);
+        }
+
+        LongAdder[] typeCounters = counters.get(type);
+        return typeCounters == null ? 0 : typeCounters[status.ordinal()].sum();
+    }
+
+    // Вызываются внутри транзакции, изменившей оборудование: счётчики меняются после её фиксации
+    public void created(String type, EquipmentStatus status) {
+        if (status == null) return;
+        gate.afterCommit(() -> add(type, status, 1));
+    }
+
+    public void removed(String type, EquipmentStatus status) {
+        if (status == null) return;
+        gate.afterCommit(() -> add(type, status, -1));
+    }
+
+    public void changed(String type, EquipmentStatus from, EquipmentStatus to) {
+        if (from == to) return;
+        gate.afterCommit(() -> {
+            if (from != null) add(type, from, -1);
+            if (to != null) add(type, to, 1);
+        });
+    }
+
+    // Сверка с БД: исправляет расхождения после откатов, массовых запросов и правок в обход JPA.
+    // Счётчики собираются заново и подменяются целиком, как в SearchIndex. Запрос идёт при закрытом шлюзе,
+    // поэтому каждое изменение либо уже применено и видно в БД, либо ещё не зафиксировано - повторно не учитывается
+    @Scheduled(initialDelayString = "PT0S", fixedDelayString = "PT5M")
+    public synchronized void reconcile() {
+        Map<String, LongAdder[]> rebuilt = new ConcurrentHashMap<>();
+        boolean swapped = gate.runExclusive(RECONCILE_WAIT, () -> {
+            for (EquipmentStatusCountDto count : equipmentRepository.countGroupByTypeAndStatus()) {
+                if (count.getType() == null || count.getStatus() == null) continue;
+                countersFor(rebuilt, count.getType())[count.getStatus().ordinal()].add(count.getCount());
+            }
+            counters = rebuilt;
+        });
+
+        if (!swapped) {
+            log.warn("Сверка счётчиков оборудования отложена: транзакции не завершились за {}", RECONCILE_WAIT);
+            return;
+        }
+        if (!reconciled) {
+            log.info("Счётчики оборудования загружены: {} типов", rebuilt.size());
+        } else {
+            log.debug("Счётчики оборудования сверены с БД: {} типов", rebuilt.size());
+        }
+        reconciled = true;
+    }
+
+    // Подмена счётчиков возможна только при пустом шлюзе, а add выполняется внутри него - блокировка не нужна
+    private void add(String type, EquipmentStatus status, long delta) {
+        countersFor(counters, type)[status.ordinal()].add(delta);
+    }
+
+    private static LongAdder[] countersFor(Map<String, LongAdder[]> target, String type) {
+        return target.computeIfAbsent(type, key -> {
+            LongAdder[] typeCounters = new LongAdder[STATUS_COUNT];
+            for (int i = 0; i < STATUS_COUNT; i++) {
+                typeCounters[i] = new LongAdder();
+            }
+            return typeCounters;
+        });
+    }
+}
@@ -0,0 +1,202 @@
+package ru.litvast.techtrackapi.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.litvast.techtrackapi.model.dto.inventory.InventorySummaryDto;
+import ru.litvast.techtrackapi.model.dto.inventory.RoomInventoryRow;
+import ru.litvast.techtrackapi.model.entity.Room;
+import ru.litvast.techtrackapi.model.entity.RoomEquipment;
+import ru.litvast.techtrackapi.repository.RoomEquipmentRepository;
+import ru.litvast.techtrackapi.util.CommitGate;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InventoryRollups {
+
+    public enum Level { ROOM, FLOOR, BUILDING, COMPANY }
+
+    private static final Duration RECONCILE_WAIT = Duration.ofSeconds(2);
+
+    private final RoomEquipmentRepository roomEquipmentRepository;
+
+    private final CommitGate gate = new CommitGate();
+    // Узел иерархии ("BUILDING:12") -> тип оборудования -> сумма RoomEquipment.quantity
+    private volatile Map<String, Map<String, LongAdder>> totals = new ConcurrentHashMap<>();
+
+    private volatile boolean reconciled;
+
+    public InventorySummaryDto summary(Level level, Long id) {
+        if (!reconciled) {
+            reconcile();
+        }
+
+        Map<String, Long> byType = new TreeMap<>();
+        long total = 0;
+        Map<String, LongAdder> nodeTotals = totals.get(key(level, id));
+        if (nodeTotals != null) {
+            for (Map.Entry<String, LongAdder> entry : nodeTotals.entrySet()) {
+                long quantity = entry.getValue().sum();
+                if (quantity == 0) continue;
+                byType.put(entry.getKey(), quantity);
+                total += quantity;
+            }
+        }
+        return new InventorySummaryDto(level.name(), id, byType, total);
+    }
+
+    public long total(Level level, Long id) {
+        if (!reconciled) {
+            reconcile();
+        }
+
+        Map<String, LongAdder> nodeTotals = totals.get(key(level, id));
+        if (nodeTotals == null) return 0;
+
+        long total = 0;
+        for (LongAdder counter : nodeTotals.values()) {
+            total += counter.sum();
+        }
+        return total;
+    }
+
+    // Размещение оборудования изменилось: before - до изменения (null при создании), after - после (null при удалении)
+    public void placementChanged(Placement before, Placement after) {
+        apply(target -> {
+            if (before != null) {
+                add(target, before.getLocation(), before.getType(), -before.getQuantity());
+            }
+            if (after != null) {
+                add(target, after.getLocation(), after.getType(), after.getQuantity());
+            }
+        });
+    }
+
+    // Комната перенесена: её суммы переезжают между этажами, зданиями и компаниями
+    public void roomMoved(Location from, Location to) {
+        apply(target -> moveNode(target, key(Level.ROOM, from.getRoomId()),
+                new String[]{key(Level.FLOOR, from.getFloorId()), key(Level.BUILDING, from.getBuildingId()), key(Level.COMPANY, from.getCompanyId())},
+                new String[]{key(Level.FLOOR, to.getFloorId()), key(Level.BUILDING, to.getBuildingId()), key(Level.COMPANY, to.getCompanyId())}));
+    }
+
+    public void floorMoved(Long floorId, Long fromBuildingId, Long fromCompanyId, Long toBuildingId, Long toCompanyId) {
+        apply(target -> moveNode(target, key(Level.FLOOR, floorId),
+                new String[]{key(Level.BUILDING, fromBuildingId), key(Level.COMPANY, fromCompanyId)},
+                new String[]{key(Level.BUILDING, toBuildingId), key(Level.COMPANY, toCompanyId)}));
+    }
+
+    public void buildingMoved(Long buildingId, Long fromCompanyId, Long toCompanyId) {
+        apply(target -> moveNode(target, key(Level.BUILDING, buildingId),
+                new String[]{key(Level.COMPANY, fromCompanyId)},
+                new String[]{key(Level.COMPANY, toCompanyId)}));
+    }
+
+    // Сверка с БД: исправляет расхождения после откатов, конкурентных переносов и правок в обход сервисов.
+    // Суммы собираются заново и подменяются целиком, как в SearchIndex. Запрос идёт при закрытом шлюзе,
+    // поэтому каждое изменение либо уже применено и видно в БД, либо ещё не зафиксировано - повторно не учитывается
+    @Scheduled(initialDelayString = "PT0S", fixedDelayString = "PT5M")
+    public synchronized void reconcile() {
+        Map<String, Map<String, LongAdder>> rebuilt = new ConcurrentHashMap<>();
+        boolean swapped = gate.runExclusive(RECONCILE_WAIT, () -> {
+            for (RoomInventoryRow row : roomEquipmentRepository.sumQuantityByRoomAndType()) {
+                Location location = new Location(row.getRoomId(), row.getFloorId(), row.getBuildingId(), row.getCompanyId());
+                add(rebuilt, location, row.getType(), row.getQuantity());
+            }
+            totals = rebuilt;
+        });
+
+        if (!swapped) {
+            log.warn("Сверка сводок размещения отложена: транзакции не завершились за {}", RECONCILE_WAIT);
+            return;
+        }
+        if (!reconciled) {
+            log.info("Сводки размещения оборудования загружены: {} узлов", rebuilt.size());
+        } else {
+            log.debug("Сводки размещения оборудования сверены с БД: {} узлов", rebuilt.size());
+        }
+        reconciled = true;
+    }
+
+    // Вызывается внутри транзакции, изменившей размещение: суммы меняются после её фиксации.
+    // Подмена сумм возможна только при пустом шлюзе, а change выполняется внутри него - блокировка не нужна
+    private void apply(Consumer<Map<String, Map<String, LongAdder>>> change) {
+        gate.afterCommit(() -> change.accept(totals));
+    }
+
+    private static void add(Map<String, Map<String, LongAdder>> target, Location location, String type, long quantity) {
+        if (type == null || quantity == 0) return;
+        for (String node : nodes(location)) {
+            counter(target, node, type).add(quantity);
+        }
+    }
+
+    private static void moveNode(Map<String, Map<String, LongAdder>> target, String node, String[] fromAncestors, String[] toAncestors) {
+        Map<String, LongAdder> nodeTotals = target.get(node);
+        if (nodeTotals == null) return;
+
+        for (Map.Entry<String, LongAdder> entry : nodeTotals.entrySet()) {
+            long quantity = entry.getValue().sum();
+            if (quantity == 0) continue;
+            for (String ancestor : fromAncestors) {
+                counter(target, ancestor, entry.getKey()).add(-quantity);
+            }
+            for (String ancestor : toAncestors) {
+                counter(target, ancestor, entry.getKey()).add(quantity);
+            }
+        }
+    }
+
+    private static LongAdder counter(Map<String, Map<String, LongAdder>> target, String node, String type) {
+        return target.computeIfAbsent(node, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(type, key -> new LongAdder());
+    }
+
+    public static Location locationOf(Room room) {
+        return new Location(room.getId(), room.getBuildingFloor().getId(), room.getBuildingId(), room.getCompanyId());
+    }
+
+    public static Placement placementOf(RoomEquipment roomEquipment) {
+        Integer quantity = roomEquipment.getQuantity();
+        return new Placement(locationOf(roomEquipment.getRoom()), roomEquipment.getEquipment().getType(),
+                quantity == null ? 0 : quantity);
+    }
+
+    private static String[] nodes(Location location) {
+        return new String[]{
+                key(Level.ROOM, location.getRoomId()),
+                key(Level.FLOOR, location.getFloorId()),
+                key(Level.BUILDING, location.getBuildingId()),
+                key(Level.COMPANY, location.getCompanyId())
+        };
+    }
+
+    private static String key(Level level, Long id) {
+        return level.name() + ':' + id;
+    }
+
+    // Путь комнаты по иерархии Company -> Building -> Floor -> Room
+    @Value
+    public static class Location {
+        Long roomId;
+        Long floorId;
+        Long buildingId;
+        Long companyId;
+    }
+
+    @Value
+    public static class Placement {
+        Location location;
+        String type;
+        long quantity;
+    }
+}
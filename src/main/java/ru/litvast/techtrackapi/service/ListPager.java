@@ -0,0 +1,86 @@
+package ru.litvast.techtrackapi.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Component;
+import ru.litvast.techtrackapi.exception.NoEntitiesFoundException;
+import ru.litvast.techtrackapi.model.dto.ListResultDto;
+import ru.litvast.techtrackapi.model.dto.PageDto;
+import ru.litvast.techtrackapi.model.dto.SliceDto;
+import ru.litvast.techtrackapi.util.CursorPagination;
+import ru.litvast.techtrackapi.util.ListQuery;
+
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+// Выдача списков во всех режимах ListQuery. Результат - ListResultDto: PageDto, SliceDto или CursorPageDto
+// в зависимости от режима, контроллеры отдают его как есть.
+// fetch повторяет @EntityGraph метода sliceFinder: курсорный запрос строится по Specification и присоединяет связи сам
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ListPager {
+
+    private final EntityCountCache entityCountCache;
+
+    public <E, D> ListResultDto<D> findAll(ListQuery query, Class<E> type, JpaSpecificationExecutor<E> repository,
+                                 Function<Pageable, Slice<E>> sliceFinder, Function<E, D> mapper, String emptyMessage, String... fetch) {
+        Specification<E> specification = Specification.unrestricted();
+        return find(query, type, repository, specification, sliceFinder, mapper, emptyMessage, fetch,
+                () -> entityCountCache.count(type, () -> repository.count(specification)));
+    }
+
+    // Записи одного родителя: association - имя связи в сущности ("company", "room", ...)
+    public <E, D> ListResultDto<D> findAllBy(ListQuery query, Class<E> type, String association, Long id, JpaSpecificationExecutor<E> repository,
+                                   Function<Pageable, Slice<E>> sliceFinder, Function<E, D> mapper, String emptyMessage, String... fetch) {
+        Specification<E> specification = CursorPagination.hasId(association, id);
+        return find(query, type, repository, specification, sliceFinder, mapper, emptyMessage, fetch,
+                () -> entityCountCache.count(type, association, id, () -> repository.count(specification)));
+    }
+
+    // Произвольный фильтр (например, окно по дате): ключа для кеша количества нет, общее количество всегда точное
+    public <E, D> ListResultDto<D> findAllMatching(ListQuery query, Class<E> type, Specification<E> specification, JpaSpecificationExecutor<E> repository,
+                                        Function<Pageable, Slice<E>> sliceFinder, Function<E, D> mapper, String emptyMessage, String... fetch) {
+        return find(query, type, repository, specification, sliceFinder, mapper, emptyMessage, fetch,
+                () -> repository.count(specification));
+    }
+
+    private <E, D> ListResultDto<D> find(ListQuery query, Class<E> type, JpaSpecificationExecutor<E> repository, Specification<E> specification,
+                               Function<Pageable, Slice<E>> sliceFinder, Function<E, D> mapper, String emptyMessage,
+                               String[] fetch, LongSupplier cachedCounter) {
+        Pageable pageable = query.getPageable();
+
+        if (query.getAfter() != null) {
+            Window<E> window = CursorPagination.scroll(repository, specification, query.getAfter(), pageable, fetch);
+            requireNotEmpty(window.isEmpty(), type, emptyMessage);
+            log.debug("{}: найдено {} записей по курсору", type.getSimpleName(), window.size());
+            return CursorPagination.toDto(window.map(mapper), pageable);
+        }
+
+        Slice<E> slice = sliceFinder.apply(pageable);
+        requireNotEmpty(slice.isEmpty(), type, emptyMessage);
+        if (query.getTotal() == ListQuery.Total.NONE) {
+            log.debug("{}: найдено {} записей без подсчёта общего количества", type.getSimpleName(), slice.getNumberOfElements());
+            return SliceDto.of(slice.map(mapper));
+        }
+
+        // Запрос количества выполняется, только если его нельзя вывести из размера страницы
+        LongSupplier counter = query.getTotal() == ListQuery.Total.CACHED
+                ? cachedCounter
+                : () -> repository.count(specification);
+        return PageDto.of(PageableExecutionUtils.getPage(slice.map(mapper).getContent(), pageable, counter));
+    }
+
+    private static void requireNotEmpty(boolean empty, Class<?> type, String emptyMessage) {
+        if (empty) {
+            log.warn("{}: записи не найдены", type.getSimpleName());
+            throw new NoEntitiesFoundException(emptyMessage);
+        }
+    }
+}
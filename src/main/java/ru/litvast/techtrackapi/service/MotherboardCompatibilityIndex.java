@@ -0,0 +1,252 @@
+package ru.litvast.techtrackapi.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ru.litvast.techtrackapi.model.dto.equipment.computer.MemorySupportDto;
+import ru.litvast.techtrackapi.model.dto.equipment.computer.MotherboardDto;
+import ru.litvast.techtrackapi.model.dto.equipment.computer.RamDto;
+import ru.litvast.techtrackapi.model.dto.equipment.computer.StorageDeviceDto;
+import ru.litvast.techtrackapi.model.dto.equipment.computer.StoragePortDto;
+import ru.litvast.techtrackapi.model.entity.equipment.computer.RamFormFactor;
+import ru.litvast.techtrackapi.model.entity.equipment.computer.RamType;
+import ru.litvast.techtrackapi.util.TransactionHooks;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Component
+public class MotherboardCompatibilityIndex {
+
+    private static final int FORM_FACTOR_COUNT = RamFormFactor.values().length;
+    private static final int ECC_SUPPORTED = 1;
+    private static final int NON_ECC_SUPPORTED = 2;
+
+    private final Map<Long, SlotTable> slotTables = new ConcurrentHashMap<>();
+
+    // Словарь кортежей (тип порта, интерфейс, форм-фактор) -> числовой код
+    private final Map<String, Integer> portCodes = new ConcurrentHashMap<>();
+    private final AtomicInteger nextPortCode = new AtomicInteger();
+
+    public SlotTable getSlotTable(MotherboardDto motherboardDto) {
+        // Новая плата без ID (или ещё не сохранённая) компилируется без кеширования
+        if (motherboardDto.getId() == null) {
+            return compile(motherboardDto);
+        }
+
+        return slotTables.computeIfAbsent(motherboardDto.getId(), id -> {
+            log.debug("Компиляция таблицы совместимости для материнской платы ID: {}", id);
+            return compile(motherboardDto);
+        });
+    }
+
+    // Сброс после фиксации транзакции: сброшенную раньше таблицу параллельный запрос успел бы
+    // заново скомпилировать по ещё не изменённой плате, и она осталась бы в кеше устаревшей
+    public void invalidate(Long motherboardId) {
+        if (motherboardId == null) return;
+
+        TransactionHooks.afterCommit(() -> {
+            if (slotTables.remove(motherboardId) != null) {
+                log.debug("Таблица совместимости материнской платы ID {} сброшена", motherboardId);
+            }
+        });
+    }
+
+    private SlotTable compile(MotherboardDto motherboardDto) {
+        List<MemorySupportDto> memorySupports = motherboardDto.getMemorySupports();
+        List<StoragePortDto> storagePorts = motherboardDto.getStoragePorts();
+
+        int memoryCount = memorySupports == null ? 0 : memorySupports.size();
+        int[] ramKeys = new int[memoryCount];
+        int[] ramSlots = new int[memoryCount];
+        long[] ramMaxMemoryGb = new long[memoryCount];
+        byte[] ramEccMasks = new byte[memoryCount];
+        RamType[] ramTypes = new RamType[memoryCount];
+        RamFormFactor[] ramFormFactors = new RamFormFactor[memoryCount];
+
+        for (int i = 0; i < memoryCount; i++) {
+            MemorySupportDto memorySupportDto = memorySupports.get(i);
+            ramKeys[i] = ramKey(memorySupportDto.getType(), memorySupportDto.getFormFactor());
+            ramSlots[i] = memorySupportDto.getNumberOfSlots() == null ? 0 : memorySupportDto.getNumberOfSlots();
+            ramMaxMemoryGb[i] = memorySupportDto.getMaxMemoryGb() == null ? Long.MAX_VALUE : memorySupportDto.getMaxMemoryGb();
+            ramEccMasks[i] = (byte) ((Boolean.TRUE.equals(memorySupportDto.getEccSupported()) ? ECC_SUPPORTED : 0)
+                    | (Boolean.TRUE.equals(memorySupportDto.getNonEccSupported()) ? NON_ECC_SUPPORTED : 0));
+            ramTypes[i] = memorySupportDto.getType();
+            ramFormFactors[i] = memorySupportDto.getFormFactor();
+        }
+
+        int portCount = storagePorts == null ? 0 : storagePorts.size();
+        int[] portKeys = new int[portCount];
+        int[] portSlots = new int[portCount];
+        String[][] portLabels = new String[portCount][];
+
+        for (int i = 0; i < portCount; i++) {
+            StoragePortDto storagePortDto = storagePorts.get(i);
+            portKeys[i] = internPort(storagePortDto.getPortType(), storagePortDto.getConnectionInterface(), storagePortDto.getFormFactor());
+            portSlots[i] = storagePortDto.getCount() == null ? 0 : storagePortDto.getCount();
+            portLabels[i] = new String[]{
+                    storagePortDto.getPortType(),
+                    storagePortDto.getConnectionInterface(),
+                    storagePortDto.getFormFactor()
+            };
+        }
+
+        return new SlotTable(ramKeys, ramSlots, ramMaxMemoryGb, ramEccMasks, ramTypes, ramFormFactors,
+                portKeys, portSlots, portLabels);
+    }
+
+    private static int ramKey(RamType type, RamFormFactor formFactor) {
+        if (type == null || formFactor == null) return -1;
+        return type.ordinal() * FORM_FACTOR_COUNT + formFactor.ordinal();
+    }
+
+    private int internPort(String portType, String connectionInterface, String formFactor) {
+        return portCodes.computeIfAbsent(portTuple(portType, connectionInterface, formFactor),
+                tuple -> nextPortCode.getAndIncrement());
+    }
+
+    private int findPort(String portType, String connectionInterface, String formFactor) {
+        Integer code = portCodes.get(portTuple(portType, connectionInterface, formFactor));
+        return code == null ? -1 : code;
+    }
+
+    private static String portTuple(String portType, String connectionInterface, String formFactor) {
+        return (portType == null ? "" : portType.toLowerCase(Locale.ROOT)) + '\u0000'
+                + (connectionInterface == null ? "" : connectionInterface.toLowerCase(Locale.ROOT)) + '\u0000'
+                + (formFactor == null ? "" : formFactor.toLowerCase(Locale.ROOT));
+    }
+
+    public final class SlotTable {
+
+        private final int[] ramKeys;
+        private final int[] ramSlots;
+        private final long[] ramMaxMemoryGb;
+        private final byte[] ramEccMasks;
+        private final RamType[] ramTypes;
+        private final RamFormFactor[] ramFormFactors;
+
+        private final int[] portKeys;
+        private final int[] portSlots;
+        private final String[][] portLabels;
+
+        private SlotTable(int[] ramKeys, int[] ramSlots, long[] ramMaxMemoryGb, byte[] ramEccMasks,
+                          RamType[] ramTypes, RamFormFactor[] ramFormFactors,
+                          int[] portKeys, int[] portSlots, String[][] portLabels) {
+            this.ramKeys = ramKeys;
+            this.ramSlots = ramSlots;
+            this.ramMaxMemoryGb = ramMaxMemoryGb;
+            this.ramEccMasks = ramEccMasks;
+            this.ramTypes = ramTypes;
+            this.ramFormFactors = ramFormFactors;
+            this.portKeys = portKeys;
+            this.portSlots = portSlots;
+            this.portLabels = portLabels;
+        }
+
+        public void checkRams(List<RamDto> ramDtoList) {
+            if (ramKeys.length == 0) return;
+
+            int[] usedSlots = new int[ramKeys.length];
+            long[] usedMemoryMb = new long[ramKeys.length];
+
+            for (RamDto ramDto : ramDtoList) {
+                if (ramDto.getType() == null || ramDto.getFormFactor() == null) continue;
+
+                int key = ramKey(ramDto.getType(), ramDto.getFormFactor());
+                int slot = -1;
+                for (int i = 0; i < ramKeys.length; i++) {
+                    if (ramKeys[i] == key) {
+                        slot = i;
+                        break;
+                    }
+                }
+
+                if (slot < 0) {
+                    throw new IllegalArgumentException(
+                            String.format("RAM '%s' is not compatible with this motherboard", ramDto.getName())
+                    );
+                }
+
+                if (ramDto.getEcc() != null) {
+                    if (ramDto.getEcc() && (ramEccMasks[slot] & ECC_SUPPORTED) == 0) {
+                        throw new IllegalArgumentException("ECC RAM is not supported by this motherboard");
+                    }
+                    if (!ramDto.getEcc() && (ramEccMasks[slot] & NON_ECC_SUPPORTED) == 0) {
+                        throw new IllegalArgumentException("Non-ECC RAM is not supported by this motherboard");
+                    }
+                }
+
+                usedSlots[slot]++;
+                usedMemoryMb[slot] += ramDto.getCapacityMb() == null ? 0 : ramDto.getCapacityMb();
+            }
+
+            for (int i = 0; i < ramKeys.length; i++) {
+                if (ramSlots[i] < usedSlots[i]) {
+                    throw new IllegalArgumentException(
+                            String.format("Amount of RAM '%d' with the type '%s' and form factor '%s' is greater than the number of motherboard slots '%d'",
+                                    usedSlots[i],
+                                    ramTypes[i],
+                                    ramFormFactors[i],
+                                    ramSlots[i])
+                    );
+                }
+
+                long sumRamVolumes = usedMemoryMb[i] / 1024;
+                if (ramMaxMemoryGb[i] < sumRamVolumes) {
+                    throw new IllegalArgumentException(
+                            String.format("The amount of RAM memory '%d' GB with type '%s' and form factor '%s' is greater than the supported amount on the motherboard '%d' GB",
+                                    sumRamVolumes,
+                                    ramTypes[i],
+                                    ramFormFactors[i],
+                                    ramMaxMemoryGb[i])
+                    );
+                }
+            }
+        }
+
+        public void checkStorageDevices(List<StorageDeviceDto> storageDeviceDtoList) {
+            if (portKeys.length == 0) return;
+
+            int[] usedPorts = new int[portKeys.length];
+
+            for (StorageDeviceDto storageDto : storageDeviceDtoList) {
+                if (storageDto.getConnectionInterface() == null || storageDto.getPortType() == null || storageDto.getFormFactor() == null) continue;
+
+                int key = findPort(storageDto.getPortType(), storageDto.getConnectionInterface(), storageDto.getFormFactor());
+                int slot = -1;
+                if (key >= 0) {
+                    for (int i = 0; i < portKeys.length; i++) {
+                        if (portKeys[i] == key) {
+                            slot = i;
+                            break;
+                        }
+                    }
+                }
+
+                if (slot < 0) {
+                    throw new IllegalArgumentException(
+                            String.format("Storage '%s' is not compatible with this motherboard", storageDto.getName())
+                    );
+                }
+
+                usedPorts[slot]++;
+            }
+
+            for (int i = 0; i < portKeys.length; i++) {
+                if (portSlots[i] < usedPorts[i]) {
+                    throw new IllegalArgumentException(
+                            String.format("The number of drives '%d' with connection type '%s', connection interface '%s', and form factor '%s' is greater than the number of motherboard slots '%d'",
+                                    usedPorts[i],
+                                    portLabels[i][0],
+                                    portLabels[i][1],
+                                    portLabels[i][2],
+                                    portSlots[i])
+                    );
+                }
+            }
+        }
+    }
+}
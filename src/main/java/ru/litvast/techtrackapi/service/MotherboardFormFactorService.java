@@ -2,16 +2,18 @@ package ru.litvast.techtrackapi.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.litvast.techtrackapi.exception.EntityNotFoundException;
-import ru.litvast.techtrackapi.exception.NoEntitiesFoundException;
+import ru.litvast.techtrackapi.model.dto.ListResultDto;
 import ru.litvast.techtrackapi.model.dto.equipment.computer.MotherboardFormFactorDto;
 import ru.litvast.techtrackapi.model.dto.mapping.equipment.computer.MotherboardFormFactorMapping;
 import ru.litvast.techtrackapi.model.entity.equipment.computer.MotherboardFormFactor;
 import ru.litvast.techtrackapi.repository.equipment.computer.MotherboardFormFactorRepository;
+import ru.litvast.techtrackapi.util.ListQuery;
+import ru.litvast.techtrackapi.util.UniqueViolations;
 
 @Slf4j
 @Service
@@ -20,6 +22,12 @@ public class MotherboardFormFactorService {
 
     private final MotherboardFormFactorRepository formFactorRepository;
     private final MotherboardFormFactorMapping formFactorMapping;
+    private final ListPager listPager;
+
+    private final ReferenceDictionary<MotherboardFormFactor> dictionary = new ReferenceDictionary<>("MotherboardFormFactor",
+            MotherboardFormFactor::getId, MotherboardFormFactor::getCode,
+            formFactor -> new MotherboardFormFactor(formFactor.getId(), formFactor.getCode(), formFactor.getName(),
+                    formFactor.getWidthMm(), formFactor.getHeightMm()));
 
     @Transactional
     public MotherboardFormFactorDto addFormFactor(MotherboardFormFactorDto dto) {
@@ -31,24 +39,55 @@ public class MotherboardFormFactorService {
             throw new IllegalArgumentException("To create a form factor, you must specify name and code, not an ID");
         }
 
-        if (formFactorRepository.existsByCodeIgnoreCase(dto.getCode())) {
-            log.warn("Форм-фактор с кодом '{}' уже существует", dto.getCode());
-            throw new IllegalArgumentException("Form factor with code '" + dto.getCode() + "' already exists");
-        }
+        // Конфликт возможен и по lower(code), и по названию
+        Long id = formFactorRepository.insertIfAbsent(dto.getCode(), dto.getName(), dto.getWidthMm(), dto.getHeightMm())
+                .orElseThrow(() -> {
+                    log.warn("Форм-фактор с кодом '{}' или названием '{}' уже существует", dto.getCode(), dto.getName());
+                    return new IllegalArgumentException(
+                            "Form factor with code '" + dto.getCode() + "' or name '" + dto.getName() + "' already exists");
+                });
 
         MotherboardFormFactor entity = formFactorMapping.toEntity(dto);
-        formFactorRepository.save(entity);
+        entity.setId(id);
 
+        dictionary.put(entity);
         log.info("Форм-фактор создан. ID: {}", entity.getId());
         log.info("=== УСПЕШНО: Форм-фактор добавлен ===");
 
         return formFactorMapping.toDto(entity);
     }
 
+    // Ищет по коду; конфликт по названию при другом коде остаётся ошибкой
+    @Transactional
+    public MotherboardFormFactorDto getOrCreateFormFactor(MotherboardFormFactorDto dto) {
+        if (dto.getCode() == null || dto.getCode().isBlank()) {
+            log.error("Не передан код форм-фактора");
+            throw new IllegalArgumentException("To find or create a form factor, you must specify a code");
+        }
+
+        MotherboardFormFactor cached = dictionary.peek(dto.getCode()).orElse(null);
+        if (cached != null) {
+            log.debug("Форм-фактор '{}' взят из словаря. ID: {}", dto.getCode(), cached.getId());
+            return formFactorMapping.toDto(cached);
+        }
+
+        MotherboardFormFactor entity;
+        try {
+            entity = formFactorRepository.upsert(dto.getCode(), dto.getName(), dto.getWidthMm(), dto.getHeightMm());
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Форм-фактор с названием '{}' уже существует под другим кодом", dto.getName());
+            throw new IllegalArgumentException("Form factor with name '" + dto.getName() + "' already exists");
+        }
+        log.debug("Форм-фактор '{}' получен из БД. ID: {}", dto.getCode(), entity.getId());
+
+        dictionary.put(entity);
+        return formFactorMapping.toDto(entity);
+    }
+
     public MotherboardFormFactorDto getFormFactorById(Long id) {
         log.debug("Поиск форм-фактора по ID: {}", id);
 
-        MotherboardFormFactor entity = formFactorRepository.findById(id)
+        MotherboardFormFactor entity = dictionary.findById(id, formFactorRepository::findById)
                 .orElseThrow(() -> {
                     log.error("Форм-фактор с ID {} не найден", id);
                     return new EntityNotFoundException("Form factor with id '" + id + "' not found");
@@ -60,7 +99,7 @@ public class MotherboardFormFactorService {
     public MotherboardFormFactorDto getFormFactorByCode(String code) {
         log.debug("Поиск форм-фактора по коду: {}", code);
 
-        MotherboardFormFactor entity = formFactorRepository.findByCodeIgnoreCase(code)
+        MotherboardFormFactor entity = dictionary.findByKey(code, formFactorRepository::findByCodeIgnoreCase)
                 .orElseThrow(() -> {
                     log.error("Форм-фактор с кодом '{}' не найден", code);
                     return new EntityNotFoundException("Form factor with code '" + code + "' not found");
@@ -69,17 +108,12 @@ public class MotherboardFormFactorService {
         return formFactorMapping.toDto(entity);
     }
 
-    public Page<MotherboardFormFactorDto> getAllFormFactors(Pageable pageable) {
-        log.debug("Запрос всех форм-факторов с пагинацией");
-
-        Page<MotherboardFormFactor> entities = formFactorRepository.findAll(pageable);
-        if (entities.isEmpty()) {
-            log.warn("Форм-факторы не найдены");
-            throw new NoEntitiesFoundException("No form factors found");
-        }
+    // READ all: страница, срез или курсор (ListQuery)
+    public ListResultDto<MotherboardFormFactorDto> getAllFormFactors(ListQuery query) {
+        log.debug("Запрос всех форм-факторов");
 
-        log.debug("Найдено {} форм-факторов", entities.getTotalElements());
-        return entities.map(formFactorMapping::toDto);
+        return listPager.findAll(query, MotherboardFormFactor.class, formFactorRepository,
+                formFactorRepository::findSliceBy, formFactorMapping::toDto, "No form factors found");
     }
 
     @Transactional
@@ -95,11 +129,6 @@ public class MotherboardFormFactorService {
 
         if (!existing.getCode().equalsIgnoreCase(dto.getCode())) {
             log.info("Изменение кода: {} -> {}", existing.getCode(), dto.getCode());
-
-            if (formFactorRepository.existsByCodeIgnoreCase(dto.getCode())) {
-                log.warn("Форм-фактор с кодом '{}' уже существует", dto.getCode());
-                throw new IllegalArgumentException("Form factor with code '" + dto.getCode() + "' already exists");
-            }
             existing.setCode(dto.getCode());
         }
 
@@ -118,7 +147,15 @@ public class MotherboardFormFactorService {
             existing.setHeightMm(dto.getHeightMm());
         }
 
-        formFactorRepository.save(existing);
+        dictionary.evict(id);
+        try {
+            // Смена кода на занятый нарушит уникальный индекс при сбросе - здесь, а не при фиксации
+            formFactorRepository.saveAndFlush(existing);
+        } catch (DataIntegrityViolationException e) {
+            if (!UniqueViolations.isViolated(e, UniqueViolations.FORM_FACTOR_CODE)) throw e;
+            log.warn("Форм-фактор с кодом '{}' уже существует", dto.getCode());
+            throw new IllegalArgumentException("Form factor with code '" + dto.getCode() + "' already exists");
+        }
         log.info("=== УСПЕШНО: Форм-фактор обновлён ===");
 
         return formFactorMapping.toDto(existing);
@@ -134,7 +171,14 @@ public class MotherboardFormFactorService {
             throw new EntityNotFoundException("Form factor with id '" + id + "' not found");
         }
 
+        dictionary.evict(id);
         formFactorRepository.deleteById(id);
         log.info("=== УСПЕШНО: Форм-фактор удалён ===");
     }
+
+    // Прогрев словаря при старте и периодическая сверка с БД
+    @Scheduled(initialDelayString = "PT0S", fixedDelayString = "PT5M")
+    public void reloadDictionary() {
+        dictionary.reload(formFactorRepository::findAll);
+    }
 }
\ No newline at end of file
@@ -2,16 +2,19 @@ package ru.litvast.techtrackapi.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.litvast.techtrackapi.exception.EntityNotFoundException;
-import ru.litvast.techtrackapi.exception.NoEntitiesFoundException;
+import ru.litvast.techtrackapi.model.dto.ListResultDto;
 import ru.litvast.techtrackapi.model.dto.equipment.computer.*;
 import ru.litvast.techtrackapi.model.dto.mapping.equipment.computer.*;
 import ru.litvast.techtrackapi.model.entity.equipment.computer.Motherboard;
 import ru.litvast.techtrackapi.repository.equipment.computer.MotherboardRepository;
+import ru.litvast.techtrackapi.util.ListQuery;
+import ru.litvast.techtrackapi.util.UniqueViolations;
+
+import java.util.Optional;
 
 @Slf4j
 @Service
@@ -27,6 +30,8 @@ public class MotherboardService {
     private final MemorySupportMapping memorySupportMapping;
     private final StoragePortMapping storagePortMapping;
     private final IoPortMapping ioPortMapping;
+    private final MotherboardCompatibilityIndex motherboardCompatibilityIndex;
+    private final ListPager listPager;
 
     // CREATE
     @Transactional
@@ -39,24 +44,30 @@ public class MotherboardService {
             throw new IllegalArgumentException("To create a motherboard, you must specify a name, not an ID");
         }
 
-        // Сохраняем formFactor, если новый
+        // Форм-фактор без ID находим по коду или создаём
         if (dto.getFormFactor() != null && dto.getFormFactor().getId() == null) {
-            log.debug("Создание нового форм-фактора: {}", dto.getFormFactor().getCode());
-            MotherboardFormFactorDto saved = formFactorService.addFormFactor(dto.getFormFactor());
+            log.debug("Форм-фактор по коду: {}", dto.getFormFactor().getCode());
+            MotherboardFormFactorDto saved = formFactorService.getOrCreateFormFactor(dto.getFormFactor());
             dto.setFormFactor(saved);
         }
 
-        // Сохраняем socket, если новый
+        // Сокет без ID находим по названию или создаём
         if (dto.getSocket() != null && dto.getSocket().getId() == null) {
-            log.debug("Создание нового сокета: {}", dto.getSocket().getName());
-            CpuSocketDto saved = cpuSocketService.addCpuSocket(dto.getSocket());
+            log.debug("Сокет по названию: {}", dto.getSocket().getName());
+            CpuSocketDto saved = cpuSocketService.getOrCreateCpuSocket(dto.getSocket());
             dto.setSocket(saved);
         }
 
-        validateAddMotherboard(dto);
-
         Motherboard entity = motherboardMapping.toEntity(dto);
-        motherboardRepository.save(entity);
+        try {
+            motherboardRepository.saveAndFlush(entity);
+        } catch (DataIntegrityViolationException e) {
+            if (!UniqueViolations.isViolated(e, UniqueViolations.MOTHERBOARD_NAME)) throw e;
+            log.warn("Материнская плата с названием '{}' уже существует", dto.getName());
+            throw new IllegalArgumentException(
+                    String.format("Motherboard '%s' is already taken", dto.getName())
+            );
+        }
 
         log.info("Материнская плата создана. ID: {}", entity.getId());
         log.info("=== УСПЕШНО: Материнская плата добавлена ===");
@@ -64,18 +75,13 @@ public class MotherboardService {
         return motherboardMapping.toDto(entity);
     }
 
-    // READ all with pagination
-    public Page<MotherboardDto> getAllMotherboards(Pageable pageable) {
-        log.debug("Запрос всех материнских плат с пагинацией");
+    // READ all: страница, срез или курсор (ListQuery)
+    public ListResultDto<MotherboardDto> getAllMotherboards(ListQuery query) {
+        log.debug("Запрос всех материнских плат");
 
-        Page<Motherboard> entities = motherboardRepository.findAll(pageable);
-        if (entities.isEmpty()) {
-            log.warn("Материнские платы не найдены");
-            throw new NoEntitiesFoundException("No motherboards found");
-        }
-
-        log.debug("Найдено {} материнских плат", entities.getTotalElements());
-        return entities.map(motherboardMapping::toDto);
+        return listPager.findAll(query, Motherboard.class, motherboardRepository,
+                motherboardRepository::findSliceBy, motherboardMapping::toDto, "No motherboards found",
+                "socket", "formFactor");
     }
 
     // READ by id
@@ -108,6 +114,13 @@ public class MotherboardService {
         return motherboardMapping.toDto(entity);
     }
 
+    // FIND by name: отсутствие не ошибка (импорт создаёт недостающие комплектующие)
+    public Optional<MotherboardDto> findMotherboardByName(String name) {
+        log.debug("Поиск материнской платы по названию: {}", name);
+
+        return motherboardRepository.findByNameIgnoreCase(name).map(motherboardMapping::toDto);
+    }
+
     // UPDATE
     @Transactional
     public MotherboardDto updateMotherboard(Long id, MotherboardDto dto) {
@@ -124,13 +137,6 @@ public class MotherboardService {
 
         if (!existing.getName().equalsIgnoreCase(dto.getName())) {
             log.info("Изменение названия: {} -> {}", existing.getName(), dto.getName());
-
-            if (motherboardRepository.existsByNameIgnoreCase(dto.getName())) {
-                log.warn("Материнская плата с названием '{}' уже существует", dto.getName());
-                throw new IllegalArgumentException(
-                        String.format("Motherboard '%s' is already taken", dto.getName())
-                );
-            }
             existing.setName(dto.getName());
         }
 
@@ -140,9 +146,9 @@ public class MotherboardService {
                 log.debug("Обновление форм-фактора по ID: {}", dto.getFormFactor().getId());
                 existing.setFormFactor(motherboardFormFactorMapping.toEntity(formFactorService.getFormFactorById(dto.getFormFactor().getId())));
             } else {
-                log.debug("Создание нового форм-фактора: {}", dto.getFormFactor().getCode());
-                MotherboardFormFactorDto saved = formFactorService.addFormFactor(dto.getFormFactor());
-                existing.setFormFactor(motherboardFormFactorMapping.toEntity(formFactorService.getFormFactorById(saved.getId())));
+                log.debug("Форм-фактор по коду: {}", dto.getFormFactor().getCode());
+                MotherboardFormFactorDto saved = formFactorService.getOrCreateFormFactor(dto.getFormFactor());
+                existing.setFormFactor(motherboardFormFactorMapping.toEntity(saved));
             }
         }
 
@@ -152,9 +158,9 @@ public class MotherboardService {
                 log.debug("Обновление сокета по ID: {}", dto.getSocket().getId());
                 existing.setSocket(cpuSocketMapping.toEntity(cpuSocketService.getCpuSocketById(dto.getSocket().getId())));
             } else {
-                log.debug("Создание нового сокета: {}", dto.getSocket().getName());
-                CpuSocketDto saved = cpuSocketService.addCpuSocket(dto.getSocket());
-                existing.setSocket(cpuSocketMapping.toEntity(cpuSocketService.getCpuSocketById(saved.getId())));
+                log.debug("Сокет по названию: {}", dto.getSocket().getName());
+                CpuSocketDto saved = cpuSocketService.getOrCreateCpuSocket(dto.getSocket());
+                existing.setSocket(cpuSocketMapping.toEntity(saved));
             }
         }
 
@@ -172,7 +178,17 @@ public class MotherboardService {
         existing.setStoragePorts(storagePortMapping.toEntityList(dto.getStoragePorts()));
         existing.setIoPorts(ioPortMapping.toEntityList(dto.getIoPorts()));
 
-        motherboardRepository.save(existing);
+        try {
+            // Переименование в занятое название нарушит уникальный индекс при сбросе - здесь, а не при фиксации
+            motherboardRepository.saveAndFlush(existing);
+        } catch (DataIntegrityViolationException e) {
+            if (!UniqueViolations.isViolated(e, UniqueViolations.MOTHERBOARD_NAME)) throw e;
+            log.warn("Материнская плата с названием '{}' уже существует", dto.getName());
+            throw new IllegalArgumentException(
+                    String.format("Motherboard '%s' is already taken", dto.getName())
+            );
+        }
+        motherboardCompatibilityIndex.invalidate(existing.getId());
         log.info("=== УСПЕШНО: Материнская плата обновлена ===");
 
         return motherboardMapping.toDto(existing);
@@ -192,6 +208,7 @@ public class MotherboardService {
         }
 
         motherboardRepository.deleteById(id);
+        motherboardCompatibilityIndex.invalidate(id);
         log.info("=== УСПЕШНО: Материнская плата удалена ===");
     }
 
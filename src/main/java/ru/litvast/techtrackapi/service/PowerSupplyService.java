@@ -2,17 +2,20 @@ package ru.litvast.techtrackapi.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.litvast.techtrackapi.exception.EntityNotFoundException;
-import ru.litvast.techtrackapi.exception.NoEntitiesFoundException;
+import ru.litvast.techtrackapi.model.dto.ListResultDto;
 import ru.litvast.techtrackapi.model.dto.equipment.computer.PowerSupplyDto;
 import ru.litvast.techtrackapi.model.dto.mapping.equipment.computer.PowerSupplyMapping;
 import ru.litvast.techtrackapi.model.entity.equipment.computer.PowerSupply;
 import ru.litvast.techtrackapi.repository.equipment.computer.PowerSupplyRepository;
 import ru.litvast.techtrackapi.util.Converter;
+import ru.litvast.techtrackapi.util.ListQuery;
+import ru.litvast.techtrackapi.util.UniqueViolations;
+
+import java.util.Optional;
 
 @Slf4j
 @Service
@@ -21,6 +24,7 @@ public class PowerSupplyService {
 
     private final PowerSupplyRepository powerSupplyRepository;
     private final PowerSupplyMapping powerSupplyMapping;
+    private final ListPager listPager;
 
     // CREATE
     @Transactional
@@ -33,10 +37,16 @@ public class PowerSupplyService {
             throw new IllegalArgumentException("To create a power supply, you must specify a name, not an ID");
         }
 
-        validateAddPowerSupply(powerSupplyDto);
-
         PowerSupply powerSupply = powerSupplyMapping.toEntity(powerSupplyDto);
-        powerSupplyRepository.save(powerSupply);
+        try {
+            powerSupplyRepository.saveAndFlush(powerSupply);
+        } catch (DataIntegrityViolationException e) {
+            if (!UniqueViolations.isViolated(e, UniqueViolations.POWER_SUPPLY_NAME)) throw e;
+            log.warn("Блок питания с названием '{}' уже существует", powerSupplyDto.getName());
+            throw new IllegalArgumentException(
+                    String.format("Power supply '%s' is already taken", powerSupplyDto.getName())
+            );
+        }
 
         log.info("Блок питания создан. ID: {}", powerSupply.getId());
         log.info("=== УСПЕШНО: Блок питания добавлен ===");
@@ -44,18 +54,12 @@ public class PowerSupplyService {
         return powerSupplyMapping.toDto(powerSupply);
     }
 
-    // READ all with pagination
-    public Page<PowerSupplyDto> getAllPowerSupplies(Pageable pageable) {
-        log.debug("Запрос всех блоков питания с пагинацией");
+    // READ all: страница, срез или курсор (ListQuery)
+    public ListResultDto<PowerSupplyDto> getAllPowerSupplies(ListQuery query) {
+        log.debug("Запрос всех блоков питания");
 
-        Page<PowerSupply> powerSupplies = powerSupplyRepository.findAll(pageable);
-        if (powerSupplies.isEmpty()) {
-            log.warn("Блоки питания не найдены");
-            throw new NoEntitiesFoundException("No power supplies found");
-        }
-
-        log.debug("Найдено {} блоков питания", powerSupplies.getTotalElements());
-        return powerSupplies.map(powerSupplyMapping::toDto);
+        return listPager.findAll(query, PowerSupply.class, powerSupplyRepository,
+                powerSupplyRepository::findSliceBy, powerSupplyMapping::toDto, "No power supplies found");
     }
 
     // READ by id
@@ -95,6 +99,13 @@ public class PowerSupplyService {
         return powerSupplyMapping.toDto(powerSupply);
     }
 
+    // FIND by name: отсутствие не ошибка (импорт создаёт недостающие комплектующие)
+    public Optional<PowerSupplyDto> findPowerSupplyByName(String name) {
+        log.debug("Поиск блока питания по названию: {}", name);
+
+        return powerSupplyRepository.findByNameIgnoreCase(name).map(powerSupplyMapping::toDto);
+    }
+
     // UPDATE
     @Transactional
     public PowerSupplyDto updatePowerSupply(Long id, PowerSupplyDto powerSupplyDto) {
@@ -111,13 +122,6 @@ public class PowerSupplyService {
 
         if (!existingPowerSupply.getName().equalsIgnoreCase(powerSupplyDto.getName())) {
             log.info("Изменение названия: {} -> {}", existingPowerSupply.getName(), powerSupplyDto.getName());
-
-            if (powerSupplyRepository.existsByNameIgnoreCase(powerSupplyDto.getName())) {
-                log.warn("Блок питания с названием '{}' уже существует", powerSupplyDto.getName());
-                throw new IllegalArgumentException(
-                        String.format("Power supply '%s' is already taken", powerSupplyDto.getName())
-                );
-            }
             existingPowerSupply.setName(powerSupplyDto.getName());
         }
 
@@ -146,7 +150,16 @@ public class PowerSupplyService {
             existingPowerSupply.setModular(powerSupplyDto.getModular());
         }
 
-        powerSupplyRepository.save(existingPowerSupply);
+        try {
+            // Переименование в занятое название нарушит уникальный индекс при сбросе - здесь, а не при фиксации
+            powerSupplyRepository.saveAndFlush(existingPowerSupply);
+        } catch (DataIntegrityViolationException e) {
+            if (!UniqueViolations.isViolated(e, UniqueViolations.POWER_SUPPLY_NAME)) throw e;
+            log.warn("Блок питания с названием '{}' уже существует", powerSupplyDto.getName());
+            throw new IllegalArgumentException(
+                    String.format("Power supply '%s' is already taken", powerSupplyDto.getName())
+            );
+        }
         log.info("=== УСПЕШНО: Блок питания обновлён ===");
 
         return powerSupplyMapping.toDto(existingPowerSupply);
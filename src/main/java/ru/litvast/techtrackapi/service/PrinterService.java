@@ -2,18 +2,19 @@ package ru.litvast.techtrackapi.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.litvast.techtrackapi.exception.EntityNotFoundException;
-import ru.litvast.techtrackapi.exception.NoEntitiesFoundException;
+import ru.litvast.techtrackapi.model.dto.ListResultDto;
 import ru.litvast.techtrackapi.model.dto.equipment.PrinterDto;
 import ru.litvast.techtrackapi.model.dto.equipment.PrinterUpdateDto;
 import ru.litvast.techtrackapi.model.dto.mapping.equipment.PrinterMapping;
 import ru.litvast.techtrackapi.model.entity.equipment.EquipmentStatus;
 import ru.litvast.techtrackapi.model.entity.equipment.Printer;
 import ru.litvast.techtrackapi.repository.equipment.PrinterRepository;
+import ru.litvast.techtrackapi.util.ListQuery;
+import ru.litvast.techtrackapi.util.UniqueViolations;
 
 @Slf4j
 @Service
@@ -22,6 +23,7 @@ public class PrinterService {
 
     private final PrinterRepository printerRepository;
     private final PrinterMapping printerMapping;
+    private final ListPager listPager;
 
     // CREATE
     @Transactional
@@ -50,18 +52,12 @@ public class PrinterService {
         return printerMapping.toDto(printer);
     }
 
-    // READ all with pagination
-    public Page<PrinterDto> getAllPrinters(Pageable pageable) {
-        log.debug("Запрос всех принтеров с пагинацией");
+    // READ all: страница, срез или курсор (ListQuery)
+    public ListResultDto<PrinterDto> getAllPrinters(ListQuery query) {
+        log.debug("Запрос всех принтеров");
 
-        Page<Printer> printers = printerRepository.findAll(pageable);
-        if (printers.isEmpty()) {
-            log.warn("Принтеры не найдены");
-            throw new NoEntitiesFoundException("No printers found");
-        }
-
-        log.debug("Найдено {} принтеров", printers.getTotalElements());
-        return printers.map(printerMapping::toDto);
+        return listPager.findAll(query, Printer.class, printerRepository,
+                printerRepository::findSliceBy, printerMapping::toDto, "No printers found");
     }
 
     // READ by id
@@ -132,13 +128,6 @@ public class PrinterService {
 
         if (dto.getName() != null && !existingPrinter.getName().equalsIgnoreCase(dto.getName())) {
             log.info("Изменение названия: {} -> {}", existingPrinter.getName(), dto.getName());
-
-            if (printerRepository.existsByNameIgnoreCase(dto.getName())) {
-                log.warn("Принтер с названием '{}' уже существует", dto.getName());
-                throw new IllegalArgumentException(
-                        String.format("Printer '%s' is already taken", dto.getName())
-                );
-            }
             existingPrinter.setName(dto.getName());
         }
 
@@ -202,7 +191,16 @@ public class PrinterService {
             existingPrinter.setPaperSize(dto.getPaperSize());
         }
 
-        printerRepository.save(existingPrinter);
+        try {
+            // Переименование в занятое название нарушит уникальный индекс при сбросе - здесь, а не при фиксации
+            printerRepository.saveAndFlush(existingPrinter);
+        } catch (DataIntegrityViolationException e) {
+            if (!UniqueViolations.isViolated(e, UniqueViolations.EQUIPMENT_NAME)) throw e;
+            log.warn("Принтер с названием '{}' уже существует", dto.getName());
+            throw new IllegalArgumentException(
+                    String.format("Printer '%s' is already taken", dto.getName())
+            );
+        }
         log.info("=== УСПЕШНО: Принтер обновлён ===");
 
         return printerMapping.toDto(existingPrinter);
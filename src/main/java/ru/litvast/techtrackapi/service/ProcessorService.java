@@ -2,12 +2,11 @@ package ru.litvast.techtrackapi.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.litvast.techtrackapi.exception.EntityNotFoundException;
-import ru.litvast.techtrackapi.exception.NoEntitiesFoundException;
+import ru.litvast.techtrackapi.model.dto.ListResultDto;
 import ru.litvast.techtrackapi.model.dto.equipment.computer.CpuArchitectureDto;
 import ru.litvast.techtrackapi.model.dto.equipment.computer.CpuSocketDto;
 import ru.litvast.techtrackapi.model.dto.equipment.computer.ProcessorDto;
@@ -17,6 +16,10 @@ import ru.litvast.techtrackapi.model.dto.mapping.equipment.computer.ProcessorMap
 import ru.litvast.techtrackapi.model.entity.equipment.computer.Processor;
 import ru.litvast.techtrackapi.repository.equipment.computer.ProcessorRepository;
 import ru.litvast.techtrackapi.util.Converter;
+import ru.litvast.techtrackapi.util.ListQuery;
+import ru.litvast.techtrackapi.util.UniqueViolations;
+
+import java.util.Optional;
 
 @Slf4j
 @Service
@@ -29,6 +32,7 @@ public class ProcessorService {
     private final CpuArchitectureService cpuArchitectureService;
     private final CpuSocketMapping cpuSocketMapping;
     private final CpuArchitectureMapping cpuArchitectureMapping;
+    private final ListPager listPager;
 
     // CREATE
     @Transactional
@@ -41,32 +45,38 @@ public class ProcessorService {
             throw new IllegalArgumentException("To create a processor, you must specify a name, not an ID");
         }
 
-        // Сохраняем socket, если он новый
+        // Сокет без ID находим по названию или создаём
         if (processorDto.getSocket() != null) {
             if (processorDto.getSocket().getId() == null) {
-                log.debug("Создание нового сокета: {}", processorDto.getSocket().getName());
-                processorDto.setSocket(cpuSocketService.addCpuSocket(processorDto.getSocket()));
+                log.debug("Сокет по названию: {}", processorDto.getSocket().getName());
+                processorDto.setSocket(cpuSocketService.getOrCreateCpuSocket(processorDto.getSocket()));
             } else {
                 log.debug("Использование существующего сокета ID: {}", processorDto.getSocket().getId());
                 processorDto.setSocket(cpuSocketService.getCpuSocketById(processorDto.getSocket().getId()));
             }
         }
 
-        // Сохраняем architecture, если она новая
+        // Архитектуру без ID находим по названию или создаём
         if (processorDto.getArchitecture() != null) {
             if (processorDto.getArchitecture().getId() == null) {
-                log.debug("Создание новой архитектуры: {}", processorDto.getArchitecture().getName());
-                processorDto.setArchitecture(cpuArchitectureService.addCpuArchitecture(processorDto.getArchitecture()));
+                log.debug("Архитектура по названию: {}", processorDto.getArchitecture().getName());
+                processorDto.setArchitecture(cpuArchitectureService.getOrCreateCpuArchitecture(processorDto.getArchitecture()));
             } else {
                 log.debug("Использование существующей архитектуры ID: {}", processorDto.getArchitecture().getId());
                 processorDto.setArchitecture(cpuArchitectureService.getCpuArchitectureById(processorDto.getArchitecture().getId()));
             }
         }
 
-        validateAddProcessor(processorDto);
-
         Processor processor = processorMapping.toEntity(processorDto);
-        processorRepository.save(processor);
+        try {
+            processorRepository.saveAndFlush(processor);
+        } catch (DataIntegrityViolationException e) {
+            if (!UniqueViolations.isViolated(e, UniqueViolations.PROCESSOR_NAME)) throw e;
+            log.warn("Процессор с названием '{}' уже существует", processorDto.getName());
+            throw new IllegalArgumentException(
+                    String.format("Processor '%s' is already taken", processorDto.getName())
+            );
+        }
 
         log.info("Процессор создан. ID: {}", processor.getId());
         log.info("=== УСПЕШНО: Процессор добавлен ===");
@@ -74,18 +84,13 @@ public class ProcessorService {
         return processorMapping.toDto(processor);
     }
 
-    // READ all with pagination
-    public Page<ProcessorDto> getAllProcessors(Pageable pageable) {
-        log.debug("Запрос всех процессоров с пагинацией");
+    // READ all: страница, срез или курсор (ListQuery)
+    public ListResultDto<ProcessorDto> getAllProcessors(ListQuery query) {
+        log.debug("Запрос всех процессоров");
 
-        Page<Processor> processors = processorRepository.findAll(pageable);
-        if (processors.isEmpty()) {
-            log.warn("Процессоры не найдены");
-            throw new NoEntitiesFoundException("No processors found");
-        }
-
-        log.debug("Найдено {} процессоров", processors.getTotalElements());
-        return processors.map(processorMapping::toDto);
+        return listPager.findAll(query, Processor.class, processorRepository,
+                processorRepository::findSliceBy, processorMapping::toDto, "No processors found",
+                "socket", "architecture");
     }
 
     // READ by id
@@ -125,6 +130,13 @@ public class ProcessorService {
         return processorMapping.toDto(processor);
     }
 
+    // FIND by name: отсутствие не ошибка (импорт создаёт недостающие комплектующие)
+    public Optional<ProcessorDto> findProcessorByName(String name) {
+        log.debug("Поиск процессора по названию: {}", name);
+
+        return processorRepository.findByNameIgnoreCase(name).map(processorMapping::toDto);
+    }
+
     // UPDATE
     @Transactional
     public ProcessorDto updateProcessor(Long id, ProcessorDto processorDto) {
@@ -141,13 +153,6 @@ public class ProcessorService {
 
         if (!existingProcessor.getName().equalsIgnoreCase(processorDto.getName())) {
             log.info("Изменение названия: {} -> {}", existingProcessor.getName(), processorDto.getName());
-
-            if (processorRepository.existsByNameIgnoreCase(processorDto.getName())) {
-                log.warn("Процессор с названием '{}' уже существует", processorDto.getName());
-                throw new IllegalArgumentException(
-                        String.format("Processor '%s' is already taken", processorDto.getName())
-                );
-            }
             existingProcessor.setName(processorDto.getName());
         }
 
@@ -158,8 +163,8 @@ public class ProcessorService {
                 CpuSocketDto existingSocket = cpuSocketService.getCpuSocketById(processorDto.getSocket().getId());
                 processorDto.setSocket(existingSocket);
             } else {
-                log.debug("Создание нового сокета: {}", processorDto.getSocket().getName());
-                CpuSocketDto newSocket = cpuSocketService.addCpuSocket(processorDto.getSocket());
+                log.debug("Сокет по названию: {}", processorDto.getSocket().getName());
+                CpuSocketDto newSocket = cpuSocketService.getOrCreateCpuSocket(processorDto.getSocket());
                 processorDto.setSocket(newSocket);
             }
         } else {
@@ -175,8 +180,8 @@ public class ProcessorService {
                 CpuArchitectureDto existingArchitecture = cpuArchitectureService.getCpuArchitectureById(processorDto.getArchitecture().getId());
                 processorDto.setArchitecture(existingArchitecture);
             } else {
-                log.debug("Создание новой архитектуры: {}", processorDto.getArchitecture().getName());
-                CpuArchitectureDto newArchitecture = cpuArchitectureService.addCpuArchitecture(processorDto.getArchitecture());
+                log.debug("Архитектура по названию: {}", processorDto.getArchitecture().getName());
+                CpuArchitectureDto newArchitecture = cpuArchitectureService.getOrCreateCpuArchitecture(processorDto.getArchitecture());
                 processorDto.setArchitecture(newArchitecture);
             }
         } else {
@@ -224,7 +229,16 @@ public class ProcessorService {
             existingProcessor.setArchitecture(cpuArchitectureMapping.toEntity(processorDto.getArchitecture()));
         }
 
-        processorRepository.save(existingProcessor);
+        try {
+            // Переименование в занятое название нарушит уникальный индекс при сбросе - здесь, а не при фиксации
+            processorRepository.saveAndFlush(existingProcessor);
+        } catch (DataIntegrityViolationException e) {
+            if (!UniqueViolations.isViolated(e, UniqueViolations.PROCESSOR_NAME)) throw e;
+            log.warn("Процессор с названием '{}' уже существует", processorDto.getName());
+            throw new IllegalArgumentException(
+                    String.format("Processor '%s' is already taken", processorDto.getName())
+            );
+        }
         log.info("=== УСПЕШНО: Процессор обновлён ===");
 
         return processorMapping.toDto(existingProcessor);
@@ -2,19 +2,21 @@ package ru.litvast.techtrackapi.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.litvast.techtrackapi.exception.EntityNotFoundException;
-import ru.litvast.techtrackapi.exception.NoEntitiesFoundException;
+import ru.litvast.techtrackapi.model.dto.ListResultDto;
 import ru.litvast.techtrackapi.model.dto.equipment.computer.RamDto;
 import ru.litvast.techtrackapi.model.dto.mapping.equipment.computer.RamMapping;
 import ru.litvast.techtrackapi.model.entity.equipment.computer.Ram;
 import ru.litvast.techtrackapi.repository.equipment.computer.RamRepository;
 import ru.litvast.techtrackapi.util.Converter;
+import ru.litvast.techtrackapi.util.ListQuery;
+import ru.litvast.techtrackapi.util.NamedComponents;
+import ru.litvast.techtrackapi.util.UniqueViolations;
 
-import java.util.List;
+import java.util.*;
 
 @Slf4j
 @Service
@@ -23,6 +25,7 @@ public class RamService {
 
     private final RamRepository ramRepository;
     private final RamMapping ramMapping;
+    private final ListPager listPager;
 
     // CREATE single
     @Transactional
@@ -41,10 +44,16 @@ public class RamService {
             throw new IllegalArgumentException("To create a RAM, you must specify a name, not an ID");
         }
 
-        validateAddRam(ramDto);
-
         Ram ram = ramMapping.toEntity(ramDto);
-        ramRepository.save(ram);
+        try {
+            ramRepository.saveAndFlush(ram);
+        } catch (DataIntegrityViolationException e) {
+            if (!UniqueViolations.isViolated(e, UniqueViolations.RAM_NAME)) throw e;
+            log.warn("Модуль RAM с названием '{}' уже существует", ramDto.getName());
+            throw new IllegalArgumentException(
+                    String.format("RAM '%s' is already taken", ramDto.getName())
+            );
+        }
 
         log.info("Модуль RAM создан. ID: {}", ram.getId());
         log.info("=== УСПЕШНО: Модуль RAM добавлен ===");
@@ -80,18 +89,22 @@ public class RamService {
         return ramMapping.toDtoList(rams);
     }
 
-    // READ all with pagination
-    public Page<RamDto> getAllRams(Pageable pageable) {
-        log.debug("Запрос всех модулей RAM с пагинацией");
+    // RESOLVE for computer build
+    @Transactional
+    public List<RamDto> resolveRams(List<RamDto> ramDtoList) {
+        log.debug("Разрешение {} модулей RAM для сборки", ramDtoList.size());
 
-        Page<Ram> rams = ramRepository.findAll(pageable);
-        if (rams.isEmpty()) {
-            log.warn("Модули RAM не найдены");
-            throw new NoEntitiesFoundException("No RAMs found");
-        }
+        return NamedComponents.resolve(ramDtoList, "RAM", UniqueViolations.RAM_NAME,
+                ramRepository, ramRepository::findAllByLowerNameIn,
+                RamDto::getId, RamDto::getName, ramMapping::toEntityList, ramMapping::toDto);
+    }
+
+    // READ all: страница, срез или курсор (ListQuery)
+    public ListResultDto<RamDto> getAllRams(ListQuery query) {
+        log.debug("Запрос всех модулей RAM");
 
-        log.debug("Найдено {} модулей RAM", rams.getTotalElements());
-        return rams.map(ramMapping::toDto);
+        return listPager.findAll(query, Ram.class, ramRepository,
+                ramRepository::findSliceBy, ramMapping::toDto, "No RAMs found");
     }
 
     // READ by id
@@ -131,6 +144,14 @@ public class RamService {
         return ramMapping.toDto(ram);
     }
 
+    // FIND by names (без учёта регистра): отсутствующие названия просто не попадают в результат
+    public List<RamDto> findRamsByNames(Collection<String> names) {
+        log.debug("Поиск модулей RAM по {} названиям", names.size());
+
+        List<String> lowerNames = names.stream().map(String::toLowerCase).toList();
+        return ramMapping.toDtoList(ramRepository.findAllByLowerNameIn(lowerNames));
+    }
+
     // UPDATE
     @Transactional
     public RamDto updateRam(Long id, RamDto ramDto) {
@@ -148,13 +169,6 @@ public class RamService {
         if (ramDto.getName() != null) {
             if (!existingRam.getName().equalsIgnoreCase(ramDto.getName())) {
                 log.info("Изменение названия: {} -> {}", existingRam.getName(), ramDto.getName());
-
-                if (ramRepository.existsByNameIgnoreCase(ramDto.getName())) {
-                    log.warn("Модуль RAM с названием '{}' уже существует", ramDto.getName());
-                    throw new IllegalArgumentException(
-                            String.format("RAM '%s' is already taken", ramDto.getName())
-                    );
-                }
                 existingRam.setName(ramDto.getName());
             }
         }
@@ -224,7 +238,16 @@ public class RamService {
             existingRam.setOnDieEcc(ramDto.getOnDieEcc());
         }
 
-        ramRepository.save(existingRam);
+        try {
+            // Переименование в занятое название нарушит уникальный индекс при сбросе - здесь, а не при фиксации
+            ramRepository.saveAndFlush(existingRam);
+        } catch (DataIntegrityViolationException e) {
+            if (!UniqueViolations.isViolated(e, UniqueViolations.RAM_NAME)) throw e;
+            log.warn("Модуль RAM с названием '{}' уже существует", ramDto.getName());
+            throw new IllegalArgumentException(
+                    String.format("RAM '%s' is already taken", ramDto.getName())
+            );
+        }
         log.info("=== УСПЕШНО: Модуль RAM обновлён ===");
 
         return ramMapping.toDto(existingRam);
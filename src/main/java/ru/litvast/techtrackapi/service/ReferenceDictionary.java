@@ -0,0 +1,169 @@
+package ru.litvast.techtrackapi.service;
+
+import lombok.extern.slf4j.Slf4j;
+import ru.litvast.techtrackapi.util.TransactionHooks;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+// Небольшой справочник (сокеты, архитектуры, форм-факторы) целиком в памяти.
+// Чтение идёт по неизменяемому снимку без блокировок, изменение копирует снимок и подменяет ссылку.
+// Хранятся копии сущностей вне сессии; вызывающий код только читает их (маппинг в DTO)
+@Slf4j
+public class ReferenceDictionary<E> {
+
+    private final String name;
+    private final Function<E, Long> idGetter;
+    private final Function<E, String> keyGetter;
+    private final UnaryOperator<E> copier;
+
+    private final Object lock = new Object();
+    private volatile Snapshot<E> snapshot = new Snapshot<>(new HashMap<>(), new HashMap<>());
+    // Изменения, пришедшие во время перезагрузки; применяются к новому снимку перед подменой
+    private List<Change<E>> pendingChanges;
+
+    private volatile boolean loaded;
+
+    public ReferenceDictionary(String name, Function<E, Long> idGetter, Function<E, String> keyGetter, UnaryOperator<E> copier) {
+        this.name = name;
+        this.idGetter = idGetter;
+        this.keyGetter = keyGetter;
+        this.copier = copier;
+    }
+
+    // Промах читается из БД и дописывается в снимок после фиксации транзакции
+    public Optional<E> findById(Long id, Function<Long, Optional<E>> loader) {
+        E cached = snapshot.byId.get(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<E> entity = loader.apply(id);
+        entity.ifPresent(this::put);
+        return entity;
+    }
+
+    public Optional<E> findByKey(String key, Function<String, Optional<E>> loader) {
+        Optional<E> cached = peek(key);
+        if (cached.isPresent()) {
+            return cached;
+        }
+
+        Optional<E> entity = loader.apply(key);
+        entity.ifPresent(this::put);
+        return entity;
+    }
+
+    // Только снимок, без обращения к БД
+    public Optional<E> peek(String key) {
+        if (key == null) return Optional.empty();
+        return Optional.ofNullable(snapshot.byKey.get(normalize(key)));
+    }
+
+    public void put(E entity) {
+        E copy = copier.apply(entity);
+        TransactionHooks.afterCommit(() -> apply(new Change<>(idGetter.apply(copy), copy)));
+    }
+
+    public void evict(Long id) {
+        TransactionHooks.afterCommit(() -> apply(new Change<>(id, null)));
+    }
+
+    // Полная загрузка: прогрев при старте и исправление правок в обход сервисов (другие экземпляры, откаты гонок)
+    public void reload(Supplier<List<E>> loader) {
+        List<Change<E>> pending = new ArrayList<>();
+        synchronized (lock) {
+            pendingChanges = pending;
+        }
+
+        Snapshot<E> rebuilt;
+        try {
+            Map<Long, E> byId = new HashMap<>();
+            Map<String, E> byKey = new HashMap<>();
+            for (E entity : loader.get()) {
+                E copy = copier.apply(entity);
+                byId.put(idGetter.apply(copy), copy);
+                if (keyGetter.apply(copy) != null) {
+                    byKey.put(normalize(keyGetter.apply(copy)), copy);
+                }
+            }
+            rebuilt = new Snapshot<>(byId, byKey);
+
+            synchronized (lock) {
+                for (Change<E> change : pending) {
+                    rebuilt = rebuilt.with(change, idGetter, keyGetter);
+                }
+                snapshot = rebuilt;
+            }
+        } finally {
+            synchronized (lock) {
+                pendingChanges = null;
+            }
+        }
+
+        if (!loaded) {
+            log.info("Справочник '{}' загружен: {} записей", name, rebuilt.byId.size());
+        } else {
+            log.debug("Справочник '{}' перезагружен: {} записей", name, rebuilt.byId.size());
+        }
+        loaded = true;
+    }
+
+    private void apply(Change<E> change) {
+        synchronized (lock) {
+            snapshot = snapshot.with(change, idGetter, keyGetter);
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+        }
+    }
+
+    private static String normalize(String key) {
+        return key.toLowerCase(Locale.ROOT);
+    }
+
+    // Не изменяется после публикации: каждая правка собирает новый снимок
+    private static final class Snapshot<E> {
+        private final Map<Long, E> byId;
+        private final Map<String, E> byKey;
+
+        private Snapshot(Map<Long, E> byId, Map<String, E> byKey) {
+            this.byId = byId;
+            this.byKey = byKey;
+        }
+
+        private Snapshot<E> with(Change<E> change, Function<E, Long> idGetter, Function<E, String> keyGetter) {
+            Map<Long, E> newById = new HashMap<>(byId);
+            Map<String, E> newByKey = new HashMap<>(byKey);
+
+            E previous = newById.remove(change.id);
+            if (previous != null && keyGetter.apply(previous) != null) {
+                newByKey.remove(normalize(keyGetter.apply(previous)), previous);
+            }
+            if (change.entity != null) {
+                newById.put(idGetter.apply(change.entity), change.entity);
+                if (keyGetter.apply(change.entity) != null) {
+                    newByKey.put(normalize(keyGetter.apply(change.entity)), change.entity);
+                }
+            }
+            return new Snapshot<>(newById, newByKey);
+        }
+    }
+
+    private static final class Change<E> {
+        private final Long id;
+        private final E entity;
+
+        private Change(Long id, E entity) {
+            this.id = id;
+            this.entity = entity;
+        }
+    }
+}
@@ -2,21 +2,20 @@ package ru.litvast.techtrackapi.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.litvast.techtrackapi.exception.EntityNotFoundException;
-import ru.litvast.techtrackapi.exception.NoEntitiesFoundException;
+import ru.litvast.techtrackapi.model.dto.ListResultDto;
 import ru.litvast.techtrackapi.model.dto.mapping.RoomEquipmentMapping;
 import ru.litvast.techtrackapi.model.dto.RoomEquipmentDto;
 import ru.litvast.techtrackapi.model.dto.RoomEquipmentUpdateDto;
+import ru.litvast.techtrackapi.model.dto.equipment.EquipmentRef;
 import ru.litvast.techtrackapi.model.entity.Room;
 import ru.litvast.techtrackapi.model.entity.RoomEquipment;
-import ru.litvast.techtrackapi.model.entity.equipment.Equipment;
 import ru.litvast.techtrackapi.repository.RoomEquipmentRepository;
 import ru.litvast.techtrackapi.repository.RoomRepository;
 import ru.litvast.techtrackapi.repository.equipment.EquipmentRepository;
+import ru.litvast.techtrackapi.util.ListQuery;
 
 @Slf4j
 @Service
@@ -26,7 +25,9 @@ public class RoomEquipmentService {
     private final RoomEquipmentRepository roomEquipmentRepository;
     private final RoomRepository roomRepository;
     private final EquipmentRepository equipmentRepository;
+    private final InventoryRollups inventoryRollups;
     private final RoomEquipmentMapping roomEquipmentMapping;
+    private final ListPager listPager;
 
     @Transactional
     public RoomEquipmentDto addRoomEquipment(RoomEquipmentDto dto) {
@@ -47,7 +48,7 @@ public class RoomEquipmentService {
                     );
                 });
 
-        Equipment equipment = equipmentRepository.findById(dto.getEquipmentId())
+        EquipmentRef equipmentRef = equipmentRepository.findRefById(dto.getEquipmentId())
                 .orElseThrow(() -> {
                     log.error("Оборудование с ID {} не найдено", dto.getEquipmentId());
                     return new EntityNotFoundException(
@@ -65,8 +66,9 @@ public class RoomEquipmentService {
 
         RoomEquipment roomEquipment = roomEquipmentMapping.toEntity(dto);
         roomEquipment.setRoom(room);
-        roomEquipment.setEquipment(equipment);
+        roomEquipment.setEquipment(equipmentRepository.getConcreteReference(equipmentRef));
         roomEquipmentRepository.save(roomEquipment);
+        inventoryRollups.placementChanged(null, InventoryRollups.placementOf(roomEquipment));
 
         log.info("Оборудование добавлено в комнату. ID записи: {}", roomEquipment.getId());
         log.info("=== УСПЕШНО: Оборудование добавлено в комнату ===");
@@ -74,20 +76,16 @@ public class RoomEquipmentService {
         return roomEquipmentMapping.toDto(roomEquipment);
     }
 
-    public Page<RoomEquipmentDto> getAllRoomEquipments(Pageable pageable) {
-        log.debug("Запрос всех записей оборудования в комнатах с пагинацией");
+    // READ all: страница, срез или курсор (ListQuery)
+    public ListResultDto<RoomEquipmentDto> getAllRoomEquipments(ListQuery query) {
+        log.debug("Запрос всех записей оборудования в комнатах");
 
-        Page<RoomEquipment> items = roomEquipmentRepository.findAll(pageable);
-        if (items.isEmpty()) {
-            log.warn("Записи оборудования в комнатах не найдены");
-            throw new NoEntitiesFoundException("No room equipment records found");
-        }
-
-        log.debug("Найдено {} записей", items.getTotalElements());
-        return items.map(roomEquipmentMapping::toDto);
+        return listPager.findAll(query, RoomEquipment.class, roomEquipmentRepository,
+                roomEquipmentRepository::findSliceBy, roomEquipmentMapping::toDto, "No room equipment records found",
+                "room", "equipment");
     }
 
-    public Page<RoomEquipmentDto> getRoomEquipmentsByRoomId(Long roomId, Pageable pageable) {
+    public ListResultDto<RoomEquipmentDto> getRoomEquipmentsByRoomId(Long roomId, ListQuery query) {
         log.debug("Поиск оборудования в комнате ID: {}", roomId);
 
         if (!roomRepository.existsById(roomId)) {
@@ -97,17 +95,13 @@ public class RoomEquipmentService {
             );
         }
 
-        Page<RoomEquipment> items = roomEquipmentRepository.findByRoomId(roomId, pageable);
-        if (items.isEmpty()) {
-            log.warn("Оборудование в комнате ID {} не найдено", roomId);
-            throw new NoEntitiesFoundException("No equipment found in this room");
-        }
-
-        log.debug("Найдено {} единиц оборудования в комнате ID {}", items.getTotalElements(), roomId);
-        return items.map(roomEquipmentMapping::toDto);
+        return listPager.findAllBy(query, RoomEquipment.class, "room", roomId, roomEquipmentRepository,
+                pageable -> roomEquipmentRepository.findSliceByRoomId(roomId, pageable),
+                roomEquipmentMapping::toDto, "No equipment found in this room",
+                "room", "equipment");
     }
 
-    public Page<RoomEquipmentDto> getRoomEquipmentsByEquipmentId(Long equipmentId, Pageable pageable) {
+    public ListResultDto<RoomEquipmentDto> getRoomEquipmentsByEquipmentId(Long equipmentId, ListQuery query) {
         log.debug("Поиск комнат с оборудованием ID: {}", equipmentId);
 
         if (!equipmentRepository.existsById(equipmentId)) {
@@ -117,14 +111,10 @@ public class RoomEquipmentService {
             );
         }
 
-        Page<RoomEquipment> items = roomEquipmentRepository.findByEquipmentId(equipmentId, pageable);
-        if (items.isEmpty()) {
-            log.warn("Оборудование ID {} не назначено ни в одну комнату", equipmentId);
-            throw new NoEntitiesFoundException("This equipment is not assigned to any room");
-        }
-
-        log.debug("Оборудование ID {} найдено в {} комнатах", equipmentId, items.getTotalElements());
-        return items.map(roomEquipmentMapping::toDto);
+        return listPager.findAllBy(query, RoomEquipment.class, "equipment", equipmentId, roomEquipmentRepository,
+                pageable -> roomEquipmentRepository.findSliceByEquipmentId(equipmentId, pageable),
+                roomEquipmentMapping::toDto, "This equipment is not assigned to any room",
+                "room", "equipment");
     }
 
     public RoomEquipmentDto getRoomEquipmentById(Long id) {
@@ -158,6 +148,7 @@ public class RoomEquipmentService {
                             String.format("Room equipment record with id '%d' not found", id)
                     );
                 });
+        InventoryRollups.Placement before = InventoryRollups.placementOf(existingItem);
 
         if (dto.getQuantity() != null) {
             log.info("Изменение количества: {} -> {}", existingItem.getQuantity(), dto.getQuantity());
@@ -189,17 +180,18 @@ public class RoomEquipmentService {
 
             log.info("Изменение оборудования: {} -> {}", existingItem.getEquipment().getId(), dto.getEquipmentId());
 
-            Equipment equipment = equipmentRepository.findById(dto.getEquipmentId())
+            EquipmentRef equipmentRef = equipmentRepository.findRefById(dto.getEquipmentId())
                     .orElseThrow(() -> {
                         log.error("Оборудование с ID {} не найдено", dto.getEquipmentId());
                         return new EntityNotFoundException(
                                 String.format("Equipment with id '%d' not found", dto.getEquipmentId())
                         );
                     });
-            existingItem.setEquipment(equipment);
+            existingItem.setEquipment(equipmentRepository.getConcreteReference(equipmentRef));
         }
 
         roomEquipmentRepository.save(existingItem);
+        inventoryRollups.placementChanged(before, InventoryRollups.placementOf(existingItem));
         log.info("=== УСПЕШНО: Запись обновлена ===");
 
         return roomEquipmentMapping.toDto(existingItem);
@@ -210,14 +202,17 @@ public class RoomEquipmentService {
         log.info("=== НАЧАЛО: Удаление записи оборудования из комнаты ===");
         log.info("ID записи: {}", id);
 
-        if (!roomEquipmentRepository.existsById(id)) {
-            log.error("Запись с ID {} не найдена", id);
-            throw new EntityNotFoundException(
-                    String.format("Room equipment record with id '%d' not found", id)
-            );
-        }
+        RoomEquipment item = roomEquipmentRepository.findById(id)
+                .orElseThrow(() -> {
+                    log.error("Запись с ID {} не найдена", id);
+                    return new EntityNotFoundException(
+                            String.format("Room equipment record with id '%d' not found", id)
+                    );
+                });
 
-        roomEquipmentRepository.deleteById(id);
+        InventoryRollups.Placement before = InventoryRollups.placementOf(item);
+        roomEquipmentRepository.delete(item);
+        inventoryRollups.placementChanged(before, null);
         log.info("=== УСПЕШНО: Запись удалена ===");
     }
 }
\ No newline at end of file
@@ -2,19 +2,20 @@ package ru.litvast.techtrackapi.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.litvast.techtrackapi.exception.EntityNotFoundException;
-import ru.litvast.techtrackapi.exception.NoEntitiesFoundException;
+import ru.litvast.techtrackapi.model.dto.ListResultDto;
 import ru.litvast.techtrackapi.model.dto.RoomDto;
 import ru.litvast.techtrackapi.model.dto.RoomUpdateDto;
+import ru.litvast.techtrackapi.model.dto.inventory.InventorySummaryDto;
 import ru.litvast.techtrackapi.model.dto.mapping.RoomMapping;
+import ru.litvast.techtrackapi.model.entity.Building;
 import ru.litvast.techtrackapi.model.entity.BuildingFloor;
 import ru.litvast.techtrackapi.model.entity.Room;
 import ru.litvast.techtrackapi.repository.BuildingFloorRepository;
 import ru.litvast.techtrackapi.repository.RoomRepository;
+import ru.litvast.techtrackapi.util.ListQuery;
 
 @Slf4j
 @Service
@@ -24,6 +25,8 @@ public class RoomService {
     private final RoomRepository roomRepository;
     private final BuildingFloorRepository buildingFloorRepository;
     private final RoomMapping roomMapping;
+    private final ListPager listPager;
+    private final InventoryRollups inventoryRollups;
 
     @Transactional
     public RoomDto addRoom(RoomDto dto) {
@@ -51,7 +54,7 @@ public class RoomService {
                 });
 
         Room room = roomMapping.toEntity(dto);
-        room.setBuildingFloor(buildingFloor);
+        applyLocation(room, buildingFloor);
         roomRepository.save(room);
 
         log.info("Комната создана. ID: {}", room.getId());
@@ -60,20 +63,15 @@ public class RoomService {
         return roomMapping.toDto(room);
     }
 
-    public Page<RoomDto> getAllRooms(Pageable pageable) {
-        log.debug("Запрос всех комнат с пагинацией");
-
-        Page<Room> rooms = roomRepository.findAll(pageable);
-        if (rooms.isEmpty()) {
-            log.warn("Комнаты не найдены");
-            throw new NoEntitiesFoundException("No rooms found");
-        }
+    // READ all: страница, срез или курсор (ListQuery)
+    public ListResultDto<RoomDto> getAllRooms(ListQuery query) {
+        log.debug("Запрос всех комнат");
 
-        log.debug("Найдено {} комнат", rooms.getTotalElements());
-        return rooms.map(roomMapping::toDto);
+        return listPager.findAll(query, Room.class, roomRepository,
+                roomRepository::findSliceBy, roomMapping::toDto, "No rooms found");
     }
 
-    public Page<RoomDto> getRoomsByBuildingFloorId(Long buildingFloorId, Pageable pageable) {
+    public ListResultDto<RoomDto> getRoomsByBuildingFloorId(Long buildingFloorId, ListQuery query) {
         log.debug("Поиск комнат по этажу ID: {}", buildingFloorId);
 
         if (!buildingFloorRepository.existsById(buildingFloorId)) {
@@ -83,14 +81,9 @@ public class RoomService {
             );
         }
 
-        Page<Room> rooms = roomRepository.findByBuildingFloorId(buildingFloorId, pageable);
-        if (rooms.isEmpty()) {
-            log.warn("Комнаты для этажа ID {} не найдены", buildingFloorId);
-            throw new NoEntitiesFoundException("No rooms found for this building floor");
-        }
-
-        log.debug("Найдено {} комнат для этажа ID {}", rooms.getTotalElements(), buildingFloorId);
-        return rooms.map(roomMapping::toDto);
+        return listPager.findAllBy(query, Room.class, "buildingFloor", buildingFloorId, roomRepository,
+                pageable -> roomRepository.findSliceByBuildingFloorId(buildingFloorId, pageable),
+                roomMapping::toDto, "No rooms found for this building floor");
     }
 
     public RoomDto getRoomById(Long id) {
@@ -107,6 +100,19 @@ public class RoomService {
         return roomMapping.toDto(room);
     }
 
+    public InventorySummaryDto getRoomInventorySummary(Long id) {
+        log.debug("Сводка оборудования комнаты ID: {}", id);
+
+        if (!roomRepository.existsById(id)) {
+            log.error("Комната с ID {} не найдена", id);
+            throw new EntityNotFoundException(
+                    String.format("Room with id '%d' not found", id)
+            );
+        }
+
+        return inventoryRollups.summary(InventoryRollups.Level.ROOM, id);
+    }
+
     public RoomDto getRoomByName(String name) {
         log.debug("Поиск комнаты по названию: {}", name);
 
@@ -172,7 +178,9 @@ public class RoomService {
                                 String.format("Building floor with id '%d' not found", dto.getBuildingFloorId())
                         );
                     });
-            existingRoom.setBuildingFloor(buildingFloor);
+            InventoryRollups.Location before = InventoryRollups.locationOf(existingRoom);
+            applyLocation(existingRoom, buildingFloor);
+            inventoryRollups.roomMoved(before, InventoryRollups.locationOf(existingRoom));
         }
 
         roomRepository.save(existingRoom);
@@ -196,4 +204,12 @@ public class RoomService {
         roomRepository.deleteById(id);
         log.info("=== УСПЕШНО: Комната удалена ===");
     }
+
+    // Этаж комнаты вместе с материализованным путём (здание и компания этажа)
+    private static void applyLocation(Room room, BuildingFloor buildingFloor) {
+        Building building = buildingFloor.getBuilding();
+        room.setBuildingFloor(buildingFloor);
+        room.setBuildingId(building.getId());
+        room.setCompanyId(building.getCompany().getId());
+    }
 }
\ No newline at end of file
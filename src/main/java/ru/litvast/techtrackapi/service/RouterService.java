@@ -2,18 +2,19 @@ package ru.litvast.techtrackapi.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.litvast.techtrackapi.exception.EntityNotFoundException;
-import ru.litvast.techtrackapi.exception.NoEntitiesFoundException;
+import ru.litvast.techtrackapi.model.dto.ListResultDto;
 import ru.litvast.techtrackapi.model.dto.equipment.RouterDto;
 import ru.litvast.techtrackapi.model.dto.equipment.RouterUpdateDto;
 import ru.litvast.techtrackapi.model.dto.mapping.equipment.RouterMapping;
 import ru.litvast.techtrackapi.model.entity.equipment.EquipmentStatus;
 import ru.litvast.techtrackapi.model.entity.equipment.Router;
 import ru.litvast.techtrackapi.repository.equipment.RouterRepository;
+import ru.litvast.techtrackapi.util.ListQuery;
+import ru.litvast.techtrackapi.util.UniqueViolations;
 
 @Slf4j
 @Service
@@ -22,6 +23,7 @@ public class RouterService {
 
     private final RouterRepository routerRepository;
     private final RouterMapping routerMapping;
+    private final ListPager listPager;
 
     // CREATE
     @Transactional
@@ -50,18 +52,12 @@ public class RouterService {
         return routerMapping.toDto(router);
     }
 
-    // READ all with pagination
-    public Page<RouterDto> getAllRouters(Pageable pageable) {
-        log.debug("Запрос всех роутеров с пагинацией");
+    // READ all: страница, срез или курсор (ListQuery)
+    public ListResultDto<RouterDto> getAllRouters(ListQuery query) {
+        log.debug("Запрос всех роутеров");
 
-        Page<Router> routers = routerRepository.findAll(pageable);
-        if (routers.isEmpty()) {
-            log.warn("Роутеры не найдены");
-            throw new NoEntitiesFoundException("No routers found");
-        }
-
-        log.debug("Найдено {} роутеров", routers.getTotalElements());
-        return routers.map(routerMapping::toDto);
+        return listPager.findAll(query, Router.class, routerRepository,
+                routerRepository::findSliceBy, routerMapping::toDto, "No routers found");
     }
 
     // READ by id
@@ -132,13 +128,6 @@ public class RouterService {
 
         if (dto.getName() != null && !existingRouter.getName().equalsIgnoreCase(dto.getName())) {
             log.info("Изменение названия: {} -> {}", existingRouter.getName(), dto.getName());
-
-            if (routerRepository.existsByNameIgnoreCase(dto.getName())) {
-                log.warn("Роутер с названием '{}' уже существует", dto.getName());
-                throw new IllegalArgumentException(
-                        String.format("Router '%s' is already taken", dto.getName())
-                );
-            }
             existingRouter.setName(dto.getName());
         }
 
@@ -189,7 +178,16 @@ public class RouterService {
             existingRouter.setSecurityStandard(dto.getSecurityStandard());
         }
 
-        routerRepository.save(existingRouter);
+        try {
+            // Переименование в занятое название нарушит уникальный индекс при сбросе - здесь, а не при фиксации
+            routerRepository.saveAndFlush(existingRouter);
+        } catch (DataIntegrityViolationException e) {
+            if (!UniqueViolations.isViolated(e, UniqueViolations.EQUIPMENT_NAME)) throw e;
+            log.warn("Роутер с названием '{}' уже существует", dto.getName());
+            throw new IllegalArgumentException(
+                    String.format("Router '%s' is already taken", dto.getName())
+            );
+        }
         log.info("=== УСПЕШНО: Роутер обновлён ===");
 
         return routerMapping.toDto(existingRouter);
@@ -0,0 +1,281 @@
+package ru.litvast.techtrackapi.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.litvast.techtrackapi.exception.NoEntitiesFoundException;
+import ru.litvast.techtrackapi.model.dto.search.SearchHitDto;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SearchIndex {
+
+    public static final String PROCESSOR = "PROCESSOR";
+    public static final String RAM = "RAM";
+    public static final String VIDEO_CARD = "VIDEO_CARD";
+    public static final String STORAGE_DEVICE = "STORAGE_DEVICE";
+    public static final String POWER_SUPPLY = "POWER_SUPPLY";
+    public static final String MOTHERBOARD = "MOTHERBOARD";
+    public static final String EMPLOYEE = "EMPLOYEE";
+    public static final String ROOM = "ROOM";
+
+    private static final int MAX_LIMIT = 100;
+    // Доля триграмм запроса, которая должна совпасть, чтобы документ попал в выдачу (допускает опечатки)
+    private static final double MIN_GRAM_SHARE = 0.6;
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Object lock = new Object();
+    private volatile Index index = new Index();
+    // Изменения, пришедшие во время перестроения; применяются к новому индексу перед подменой
+    private List<Change> pendingChanges;
+
+    private volatile boolean loaded;
+
+    public List<SearchHitDto> search(String query, Collection<String> types, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be empty");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException(String.format("Limit must be between 1 and %d", MAX_LIMIT));
+        }
+        if (!loaded) {
+            rebuild();
+        }
+
+        long started = System.nanoTime();
+        String normalized = normalize(query);
+        Set<String> queryGrams = grams(normalized);
+        Set<String> typeFilter = new LinkedHashSet<>();
+        if (types != null) {
+            types.forEach(type -> typeFilter.add(type.toUpperCase(Locale.ROOT)));
+        }
+
+        // Подсчёт совпавших триграмм по документам-кандидатам
+        Index current = index;
+        Map<Document, int[]> matches = new HashMap<>();
+        for (String gram : queryGrams) {
+            Set<Document> documents = current.postings.get(gram);
+            if (documents == null) continue;
+            for (Document document : documents) {
+                if (!typeFilter.isEmpty() && !typeFilter.contains(document.type)) continue;
+                matches.computeIfAbsent(document, key -> new int[1])[0]++;
+            }
+        }
+
+        List<SearchHitDto> hits = new ArrayList<>();
+        for (Map.Entry<Document, int[]> entry : matches.entrySet()) {
+            double share = (double) entry.getValue()[0] / queryGrams.size();
+            if (share < MIN_GRAM_SHARE) continue;
+
+            Document document = entry.getKey();
+            hits.add(new SearchHitDto(document.type, document.id, document.title, share + matchBonus(document, normalized)));
+        }
+        hits.sort(Comparator.comparingDouble(SearchHitDto::getScore).reversed()
+                .thenComparing(SearchHitDto::getTitle, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)));
+
+        log.debug("Поиск '{}': {} кандидатов, {} совпадений за {} мкс",
+                query, matches.size(), hits.size(), (System.nanoTime() - started) / 1000);
+
+        if (hits.isEmpty()) {
+            throw new NoEntitiesFoundException(String.format("Nothing found for '%s'", query));
+        }
+        return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+    }
+
+    // Вызывается слушателем сущностей после фиксации транзакции
+    public void put(String type, Long id, String title, String... values) {
+        if (id == null) return;
+        apply(new Change(key(type, id), new Document(type, id, title, values)));
+    }
+
+    public void remove(String type, Long id) {
+        if (id == null) return;
+        apply(new Change(key(type, id), null));
+    }
+
+    // Полное перестроение по БД: прогрев при старте и исправление правок в обход JPA (массовые запросы, другие экземпляры)
+    @Scheduled(initialDelayString = "PT0S", fixedDelayString = "PT30M")
+    public synchronized void rebuild() {
+        List<Change> pending = new ArrayList<>();
+        synchronized (lock) {
+            pendingChanges = pending;
+        }
+
+        Index rebuilt = new Index();
+        try {
+            jdbcTemplate.query("select id, type, name, inventory_number from equipment", rs -> {
+                rebuilt.put(new Document(rs.getString("type"), rs.getLong("id"), rs.getString("name"),
+                        new String[]{rs.getString("name"), rs.getString("inventory_number")}));
+            });
+            loadNames(rebuilt, PROCESSOR, "processors");
+            loadNames(rebuilt, RAM, "ram");
+            loadNames(rebuilt, VIDEO_CARD, "video_cards");
+            loadNames(rebuilt, STORAGE_DEVICE, "storage_devices");
+            loadNames(rebuilt, POWER_SUPPLY, "power_supplies");
+            loadNames(rebuilt, MOTHERBOARD, "motherboards");
+            jdbcTemplate.query("select id, full_name, email from employees", rs -> {
+                rebuilt.put(new Document(EMPLOYEE, rs.getLong("id"), rs.getString("full_name"),
+                        new String[]{rs.getString("full_name"), rs.getString("email")}));
+            });
+            jdbcTemplate.query("select id, name, room_number from rooms", rs -> {
+                rebuilt.put(new Document(ROOM, rs.getLong("id"), rs.getString("name"),
+                        new String[]{rs.getString("name"), rs.getString("room_number")}));
+            });
+
+            synchronized (lock) {
+                pending.forEach(change -> change.applyTo(rebuilt));
+                index = rebuilt;
+            }
+        } finally {
+            synchronized (lock) {
+                pendingChanges = null;
+            }
+        }
+
+        if (!loaded) {
+            log.info("Поисковый индекс построен: {} документов, {} триграмм", rebuilt.documents.size(), rebuilt.postings.size());
+        } else {
+            log.debug("Поисковый индекс перестроен: {} документов, {} триграмм", rebuilt.documents.size(), rebuilt.postings.size());
+        }
+        loaded = true;
+    }
+
+    private void loadNames(Index target, String type, String table) {
+        jdbcTemplate.query(String.format("select id, name from %s", table), rs -> {
+            target.put(new Document(type, rs.getLong("id"), rs.getString("name"), new String[]{rs.getString("name")}));
+        });
+    }
+
+    private void apply(Change change) {
+        synchronized (lock) {
+            change.applyTo(index);
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+        }
+    }
+
+    // Точное совпадение поля важнее совпадения по префиксу, префикс важнее вхождения
+    private static double matchBonus(Document document, String query) {
+        double bonus = 0;
+        for (String value : document.values) {
+            if (value.equals(query)) return 3;
+            if (value.startsWith(query)) bonus = Math.max(bonus, 2);
+            else if (value.contains(query)) bonus = Math.max(bonus, 1);
+        }
+        return bonus;
+    }
+
+    // Триграммы каждого слова с двумя ведущими пробелами: короткий запрос совпадает как префикс слова
+    private static Set<String> grams(String normalized) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (String token : TOKEN_SEPARATOR.split(normalized)) {
+            if (token.isEmpty()) continue;
+            String padded = "  " + token;
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                grams.add(padded.substring(i, i + 3));
+            }
+        }
+        return grams;
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT).replace('ё', 'е');
+    }
+
+    private static String key(String type, Long id) {
+        return type + ':' + id;
+    }
+
+    private static final class Index {
+        private final Map<String, Document> documents = new ConcurrentHashMap<>();
+        private final Map<String, Set<Document>> postings = new ConcurrentHashMap<>();
+
+        private void put(Document document) {
+            Document previous = documents.put(key(document.type, document.id), document);
+            if (previous != null) {
+                unlink(previous);
+            }
+            for (String gram : document.grams) {
+                postings.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(document);
+            }
+        }
+
+        private void remove(String key) {
+            Document previous = documents.remove(key);
+            if (previous != null) {
+                unlink(previous);
+            }
+        }
+
+        private void unlink(Document document) {
+            for (String gram : document.grams) {
+                postings.computeIfPresent(gram, (key, documents) -> {
+                    documents.remove(document);
+                    return documents.isEmpty() ? null : documents;
+                });
+            }
+        }
+    }
+
+    // Сравнивается по ссылке: новая версия документа всегда заменяет старую целиком
+    private static final class Document {
+        private final String type;
+        private final Long id;
+        private final String title;
+        private final String[] values;
+        private final Set<String> grams;
+
+        private Document(String type, Long id, String title, String[] values) {
+            this.type = type;
+            this.id = id;
+            this.title = title;
+
+            List<String> normalized = new ArrayList<>();
+            Set<String> documentGrams = new LinkedHashSet<>();
+            for (String value : values) {
+                if (value == null || value.isBlank()) continue;
+                String normalizedValue = normalize(value);
+                normalized.add(normalizedValue);
+                documentGrams.addAll(grams(normalizedValue));
+            }
+            this.values = normalized.toArray(new String[0]);
+            this.grams = documentGrams;
+        }
+    }
+
+    private static final class Change {
+        private final String key;
+        private final Document document;
+
+        private Change(String key, Document document) {
+            this.key = key;
+            this.document = document;
+        }
+
+        private void applyTo(Index target) {
+            if (document != null) {
+                target.put(document);
+            } else {
+                target.remove(key);
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package ru.litvast.techtrackapi.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+// Попадания, промахи и доля попаданий по каждому региону кэша второго уровня (/actuator/metrics/techtrack.l2.cache).
+// Нужна статистика Hibernate, а она добавляет накладные расходы на каждую операцию сессии, поэтому по умолчанию
+// выключена и включается свойством techtrack.l2-cache-metrics.enabled=true
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SecondLevelCacheMetrics {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final MeterRegistry meterRegistry;
+
+    @PostConstruct
+    void registerMetrics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (!statistics.isStatisticsEnabled()) {
+            log.info("Статистика Hibernate выключена (techtrack.l2-cache-metrics.enabled), метрики кэша второго уровня не регистрируются");
+            return;
+        }
+
+        int registered = 0;
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = statistics.getDomainDataRegionStatistics(region);
+            if (regionStatistics == null) continue;
+
+            FunctionCounter.builder("techtrack.l2.cache", regionStatistics, CacheRegionStatistics::getHitCount)
+                    .tag("region", region)
+                    .tag("result", "hit")
+                    .description("Second-level cache lookups served from memory")
+                    .register(meterRegistry);
+            FunctionCounter.builder("techtrack.l2.cache", regionStatistics, CacheRegionStatistics::getMissCount)
+                    .tag("region", region)
+                    .tag("result", "miss")
+                    .description("Second-level cache lookups loaded from the database")
+                    .register(meterRegistry);
+            FunctionCounter.builder("techtrack.l2.cache.puts", regionStatistics, CacheRegionStatistics::getPutCount)
+                    .tag("region", region)
+                    .description("Entries put into the second-level cache")
+                    .register(meterRegistry);
+            Gauge.builder("techtrack.l2.cache.hit.ratio", regionStatistics, SecondLevelCacheMetrics::hitRatio)
+                    .tag("region", region)
+                    .description("Share of second-level cache lookups served from memory since startup")
+                    .register(meterRegistry);
+            registered++;
+        }
+
+        log.info("Метрики кэша второго уровня зарегистрированы для {} регионов", registered);
+    }
+
+    private static double hitRatio(CacheRegionStatistics statistics) {
+        long hits = statistics.getHitCount();
+        long lookups = hits + statistics.getMissCount();
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+}
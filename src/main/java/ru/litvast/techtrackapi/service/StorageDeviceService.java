@@ -2,19 +2,21 @@ package ru.litvast.techtrackapi.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.litvast.techtrackapi.exception.EntityNotFoundException;
-import ru.litvast.techtrackapi.exception.NoEntitiesFoundException;
+import ru.litvast.techtrackapi.model.dto.ListResultDto;
 import ru.litvast.techtrackapi.model.dto.equipment.computer.StorageDeviceDto;
 import ru.litvast.techtrackapi.model.dto.mapping.equipment.computer.StorageDeviceMapping;
 import ru.litvast.techtrackapi.model.entity.equipment.computer.StorageDevice;
 import ru.litvast.techtrackapi.repository.equipment.computer.StorageDeviceRepository;
 import ru.litvast.techtrackapi.util.Converter;
+import ru.litvast.techtrackapi.util.ListQuery;
+import ru.litvast.techtrackapi.util.NamedComponents;
+import ru.litvast.techtrackapi.util.UniqueViolations;
 
-import java.util.List;
+import java.util.*;
 
 @Slf4j
 @Service
@@ -23,6 +25,7 @@ public class StorageDeviceService {
 
     private final StorageDeviceRepository storageDeviceRepository;
     private final StorageDeviceMapping storageDeviceMapping;
+    private final ListPager listPager;
 
     // CREATE single
     @Transactional
@@ -42,10 +45,16 @@ public class StorageDeviceService {
             throw new IllegalArgumentException("To create a storage device, you must specify a name, not an ID");
         }
 
-        validateAddStorageDevice(storageDeviceDto);
-
         StorageDevice storageDevice = storageDeviceMapping.toEntity(storageDeviceDto);
-        storageDeviceRepository.save(storageDevice);
+        try {
+            storageDeviceRepository.saveAndFlush(storageDevice);
+        } catch (DataIntegrityViolationException e) {
+            if (!UniqueViolations.isViolated(e, UniqueViolations.STORAGE_DEVICE_NAME)) throw e;
+            log.warn("Накопитель с названием '{}' уже существует", storageDeviceDto.getName());
+            throw new IllegalArgumentException(
+                    String.format("Storage device '%s' is already taken", storageDeviceDto.getName())
+            );
+        }
 
         log.info("Накопитель создан. ID: {}", storageDevice.getId());
         log.info("=== УСПЕШНО: Накопитель добавлен ===");
@@ -81,18 +90,22 @@ public class StorageDeviceService {
         return storageDeviceMapping.toDtoList(storageDevices);
     }
 
-    // READ all with pagination
-    public Page<StorageDeviceDto> getAllStorageDevices(Pageable pageable) {
-        log.debug("Запрос всех накопителей с пагинацией");
+    // RESOLVE for computer build
+    @Transactional
+    public List<StorageDeviceDto> resolveStorageDevices(List<StorageDeviceDto> storageDeviceDtoList) {
+        log.debug("Разрешение {} накопителей для сборки", storageDeviceDtoList.size());
 
-        Page<StorageDevice> storageDevices = storageDeviceRepository.findAll(pageable);
-        if (storageDevices.isEmpty()) {
-            log.warn("Накопители не найдены");
-            throw new NoEntitiesFoundException("No storage devices found");
-        }
+        return NamedComponents.resolve(storageDeviceDtoList, "storage device", UniqueViolations.STORAGE_DEVICE_NAME,
+                storageDeviceRepository, storageDeviceRepository::findAllByLowerNameIn,
+                StorageDeviceDto::getId, StorageDeviceDto::getName, storageDeviceMapping::toEntityList, storageDeviceMapping::toDto);
+    }
+
+    // READ all: страница, срез или курсор (ListQuery)
+    public ListResultDto<StorageDeviceDto> getAllStorageDevices(ListQuery query) {
+        log.debug("Запрос всех накопителей");
 
-        log.debug("Найдено {} накопителей", storageDevices.getTotalElements());
-        return storageDevices.map(storageDeviceMapping::toDto);
+        return listPager.findAll(query, StorageDevice.class, storageDeviceRepository,
+                storageDeviceRepository::findSliceBy, storageDeviceMapping::toDto, "No storage devices found");
     }
 
     // READ by id
@@ -132,6 +145,14 @@ public class StorageDeviceService {
         return storageDeviceMapping.toDto(storageDevice);
     }
 
+    // FIND by names (без учёта регистра): отсутствующие названия просто не попадают в результат
+    public List<StorageDeviceDto> findStorageDevicesByNames(Collection<String> names) {
+        log.debug("Поиск накопителей по {} названиям", names.size());
+
+        List<String> lowerNames = names.stream().map(String::toLowerCase).toList();
+        return storageDeviceMapping.toDtoList(storageDeviceRepository.findAllByLowerNameIn(lowerNames));
+    }
+
     // UPDATE
     @Transactional
     public StorageDeviceDto updateStorageDevice(Long id, StorageDeviceDto storageDeviceDto) {
@@ -148,13 +169,6 @@ public class StorageDeviceService {
 
         if (!existingStorageDevice.getName().equalsIgnoreCase(storageDeviceDto.getName())) {
             log.info("Изменение названия: {} -> {}", existingStorageDevice.getName(), storageDeviceDto.getName());
-
-            if (storageDeviceRepository.existsByNameIgnoreCase(storageDeviceDto.getName())) {
-                log.warn("Накопитель с названием '{}' уже существует", storageDeviceDto.getName());
-                throw new IllegalArgumentException(
-                        String.format("Storage device '%s' is already taken", storageDeviceDto.getName())
-                );
-            }
             existingStorageDevice.setName(storageDeviceDto.getName());
         }
 
@@ -213,7 +227,16 @@ public class StorageDeviceService {
             existingStorageDevice.setHeightMm(storageDeviceDto.getHeightMm());
         }
 
-        storageDeviceRepository.save(existingStorageDevice);
+        try {
+            // Переименование в занятое название нарушит уникальный индекс при сбросе - здесь, а не при фиксации
+            storageDeviceRepository.saveAndFlush(existingStorageDevice);
+        } catch (DataIntegrityViolationException e) {
+            if (!UniqueViolations.isViolated(e, UniqueViolations.STORAGE_DEVICE_NAME)) throw e;
+            log.warn("Накопитель с названием '{}' уже существует", storageDeviceDto.getName());
+            throw new IllegalArgumentException(
+                    String.format("Storage device '%s' is already taken", storageDeviceDto.getName())
+            );
+        }
         log.info("=== УСПЕШНО: Накопитель обновлён ===");
 
         return storageDeviceMapping.toDto(existingStorageDevice);
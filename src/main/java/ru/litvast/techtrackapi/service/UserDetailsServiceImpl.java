@@ -1,27 +1,108 @@
 package ru.litvast.techtrackapi.service;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import ru.litvast.techtrackapi.model.entity.User;
 import ru.litvast.techtrackapi.repository.UserRepository;
+import ru.litvast.techtrackapi.util.TransactionHooks;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class UserDetailsServiceImpl implements UserDetailsService {
 
+    private static final Duration PRINCIPAL_TTL = Duration.ofMinutes(5);
+    private static final int MAX_CACHED_PRINCIPALS = 10_000;
+
     private final UserRepository userRepository;
+    private final MeterRegistry meterRegistry;
+
+    // Кеш principal'ов: username -> пользователь и момент истечения записи
+    private final Map<String, CachedPrincipal> principals = new ConcurrentHashMap<>();
+
+    private Counter hits;
+    private Counter misses;
+
+    @PostConstruct
+    void registerMetrics() {
+        hits = Counter.builder("techtrack.principal.cache")
+                .tag("result", "hit")
+                .description("Principal lookups served from the in-memory cache")
+                .register(meterRegistry);
+        misses = Counter.builder("techtrack.principal.cache")
+                .tag("result", "miss")
+                .description("Principal lookups loaded from the database")
+                .register(meterRegistry);
+        Gauge.builder("techtrack.principal.cache.size", principals, Map::size)
+                .description("Number of cached principals")
+                .register(meterRegistry);
+    }
 
     @Override
     public User loadUserByUsername(String username) throws UsernameNotFoundException {
+        long now = System.nanoTime();
+
+        CachedPrincipal cached = principals.get(username);
+        if (cached != null && now - cached.expiresAt < 0) {
+            hits.increment();
+            return cached.user;
+        }
+
+        misses.increment();
         log.debug("Попытка загрузки пользователя по username: {}", username);
 
-        return userRepository.findByUsername(username).orElseThrow(() -> {
+        User user = userRepository.findByUsername(username).orElseThrow(() -> {
             log.warn("Пользователь с username '{}' не найден", username);
             return new UsernameNotFoundException("Not found user with username: " + username);
         });
+
+        if (principals.size() >= MAX_CACHED_PRINCIPALS) {
+            principals.values().removeIf(principal -> now - principal.expiresAt >= 0);
+            if (principals.size() >= MAX_CACHED_PRINCIPALS) {
+                principals.clear();
+            }
+        }
+        principals.put(username, new CachedPrincipal(user, now + PRINCIPAL_TTL.toNanos()));
+
+        return user;
+    }
+
+    public void evictUser(String username) {
+        if (username == null) return;
+
+        evictNow(username);
+
+        // Повторный сброс после коммита, чтобы параллельный запрос не закешировал старое состояние
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionHooks.afterCommit(() -> evictNow(username));
+        }
+    }
+
+    private void evictNow(String username) {
+        // Токен хранит username в том регистре, в котором пользователь вошёл
+        principals.keySet().removeIf(cachedUsername -> cachedUsername.equalsIgnoreCase(username));
+        log.debug("Principal пользователя '{}' удалён из кеша", username);
+    }
+
+    private static final class CachedPrincipal {
+        private final User user;
+        private final long expiresAt;
+
+        private CachedPrincipal(User user, long expiresAt) {
+            this.user = user;
+            this.expiresAt = expiresAt;
+        }
     }
-}
\ No newline at end of file
+}
@@ -2,8 +2,6 @@ package ru.litvast.techtrackapi.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -14,19 +12,20 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.litvast.techtrackapi.model.dto.JwtTokensDto;
+import ru.litvast.techtrackapi.model.dto.ListResultDto;
 import ru.litvast.techtrackapi.model.dto.RefreshTokenDto;
 import ru.litvast.techtrackapi.model.dto.mapping.UserMapping;
 import ru.litvast.techtrackapi.model.dto.user.UserCreateDto;
 import ru.litvast.techtrackapi.model.dto.user.UserCredentialsDto;
 import ru.litvast.techtrackapi.model.dto.user.UserNoPasswordDto;
 import ru.litvast.techtrackapi.model.dto.user.UserUpdateDto;
-import ru.litvast.techtrackapi.exception.NoEntitiesFoundException;
 import ru.litvast.techtrackapi.exception.EntityNotFoundException;
 import ru.litvast.techtrackapi.model.entity.Role;
 import ru.litvast.techtrackapi.model.entity.User;
 import ru.litvast.techtrackapi.repository.UserRepository;
 import ru.litvast.techtrackapi.security.JwtService;
 import ru.litvast.techtrackapi.util.Converter;
+import ru.litvast.techtrackapi.util.ListQuery;
 
 @Slf4j
 @Service
@@ -38,6 +37,8 @@ public class UserService {
     private final AuthenticationManager authenticationManager;
     private final UserMapping userMapping;
     private final JwtService jwtService;
+    private final UserDetailsServiceImpl userDetailsServiceImpl;
+    private final ListPager listPager;
 
     @Transactional
     public UserNoPasswordDto signup(UserCredentialsDto userCredentialsDTO) {
@@ -157,6 +158,8 @@ public class UserService {
                     );
                 });
 
+        String previousUsername = user.getUsername();
+
         boolean usernameFilled = userUpdateDTO.getUsername() != null && !userUpdateDTO.getUsername().isBlank();
         if (usernameFilled && !userUpdateDTO.getUsername().equalsIgnoreCase(user.getUsername())
                 && userRepository.existsByUsernameIgnoreCase(userUpdateDTO.getUsername())) {
@@ -183,6 +186,8 @@ public class UserService {
         }
 
         userRepository.save(user);
+        userDetailsServiceImpl.evictUser(previousUsername);
+        userDetailsServiceImpl.evictUser(user.getUsername());
         log.info("=== УСПЕШНО: Пользователь обновлён ===");
 
         return userMapping.userToUserNoPasswordDto(user);
@@ -220,18 +225,12 @@ public class UserService {
         return userMapping.userToUserNoPasswordDto(user);
     }
 
-    // READ all with pagination
-    public Page<UserNoPasswordDto> getAllUsers(Pageable pageable) {
-        log.debug("Запрос всех пользователей с пагинацией");
-
-        Page<User> users = userRepository.findAll(pageable);
-        if (users.isEmpty()) {
-            log.warn("Пользователи не найдены");
-            throw new NoEntitiesFoundException("No users found");
-        }
+    // READ all: страница, срез или курсор (ListQuery)
+    public ListResultDto<UserNoPasswordDto> getAllUsers(ListQuery query) {
+        log.debug("Запрос всех пользователей");
 
-        log.debug("Найдено {} пользователей", users.getTotalElements());
-        return users.map(userMapping::userToUserNoPasswordDto);
+        return listPager.findAll(query, User.class, userRepository,
+                userRepository::findSliceBy, userMapping::userToUserNoPasswordDto, "No users found");
     }
 
     // DELETE
@@ -242,14 +241,16 @@ public class UserService {
 
         int id = Converter.convertIdStringToInt(stringId);
 
-        if (!userRepository.existsById(id)) {
-            log.error("Пользователь с ID {} не найден", id);
-            throw new EntityNotFoundException(
-                    String.format("User with id '%d' not found", id)
-            );
-        }
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> {
+                    log.error("Пользователь с ID {} не найден", id);
+                    return new EntityNotFoundException(
+                            String.format("User with id '%d' not found", id)
+                    );
+                });
 
-        userRepository.deleteById(id);
+        userRepository.delete(user);
+        userDetailsServiceImpl.evictUser(user.getUsername());
         log.info("=== УСПЕШНО: Пользователь удалён ===");
     }
 }
\ No newline at end of file
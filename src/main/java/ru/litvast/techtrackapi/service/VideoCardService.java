@@ -2,17 +2,20 @@ package ru.litvast.techtrackapi.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.litvast.techtrackapi.exception.EntityNotFoundException;
-import ru.litvast.techtrackapi.exception.NoEntitiesFoundException;
+import ru.litvast.techtrackapi.model.dto.ListResultDto;
 import ru.litvast.techtrackapi.model.dto.equipment.computer.VideoCardDto;
 import ru.litvast.techtrackapi.model.dto.mapping.equipment.computer.VideoCardMapping;
 import ru.litvast.techtrackapi.model.entity.equipment.computer.VideoCard;
 import ru.litvast.techtrackapi.repository.equipment.computer.VideoCardRepository;
 import ru.litvast.techtrackapi.util.Converter;
+import ru.litvast.techtrackapi.util.ListQuery;
+import ru.litvast.techtrackapi.util.UniqueViolations;
+
+import java.util.Optional;
 
 @Slf4j
 @Service
@@ -21,6 +24,7 @@ public class VideoCardService {
 
     private final VideoCardRepository videoCardRepository;
     private final VideoCardMapping videoCardMapping;
+    private final ListPager listPager;
 
     // CREATE
     @Transactional
@@ -33,10 +37,16 @@ public class VideoCardService {
             throw new IllegalArgumentException("To create a video card, you must specify a name, not an ID");
         }
 
-        validateAddVideoCard(videoCardDto);
-
         VideoCard videoCard = videoCardMapping.toEntity(videoCardDto);
-        videoCardRepository.save(videoCard);
+        try {
+            videoCardRepository.saveAndFlush(videoCard);
+        } catch (DataIntegrityViolationException e) {
+            if (!UniqueViolations.isViolated(e, UniqueViolations.VIDEO_CARD_NAME)) throw e;
+            log.warn("Видеокарта с названием '{}' уже существует", videoCardDto.getName());
+            throw new IllegalArgumentException(
+                    String.format("Video card '%s' is already taken", videoCardDto.getName())
+            );
+        }
 
         log.info("Видеокарта создана. ID: {}", videoCard.getId());
         log.info("=== УСПЕШНО: Видеокарта добавлена ===");
@@ -44,18 +54,12 @@ public class VideoCardService {
         return videoCardMapping.toDto(videoCard);
     }
 
-    // READ all with pagination
-    public Page<VideoCardDto> getAllVideoCards(Pageable pageable) {
-        log.debug("Запрос всех видеокарт с пагинацией");
+    // READ all: страница, срез или курсор (ListQuery)
+    public ListResultDto<VideoCardDto> getAllVideoCards(ListQuery query) {
+        log.debug("Запрос всех видеокарт");
 
-        Page<VideoCard> videoCards = videoCardRepository.findAll(pageable);
-        if (videoCards.isEmpty()) {
-            log.warn("Видеокарты не найдены");
-            throw new NoEntitiesFoundException("No video cards found");
-        }
-
-        log.debug("Найдено {} видеокарт", videoCards.getTotalElements());
-        return videoCards.map(videoCardMapping::toDto);
+        return listPager.findAll(query, VideoCard.class, videoCardRepository,
+                videoCardRepository::findSliceBy, videoCardMapping::toDto, "No video cards found");
     }
 
     // READ by id
@@ -95,6 +99,13 @@ public class VideoCardService {
         return videoCardMapping.toDto(videoCard);
     }
 
+    // FIND by name: отсутствие не ошибка (импорт создаёт недостающие комплектующие)
+    public Optional<VideoCardDto> findVideoCardByName(String name) {
+        log.debug("Поиск видеокарты по названию: {}", name);
+
+        return videoCardRepository.findByNameIgnoreCase(name).map(videoCardMapping::toDto);
+    }
+
     // UPDATE
     @Transactional
     public VideoCardDto updateVideoCard(Long id, VideoCardDto videoCardDto) {
@@ -111,13 +122,6 @@ public class VideoCardService {
 
         if (!existingVideoCard.getName().equalsIgnoreCase(videoCardDto.getName())) {
             log.info("Изменение названия: {} -> {}", existingVideoCard.getName(), videoCardDto.getName());
-
-            if (videoCardRepository.existsByNameIgnoreCase(videoCardDto.getName())) {
-                log.warn("Видеокарта с названием '{}' уже существует", videoCardDto.getName());
-                throw new IllegalArgumentException(
-                        String.format("Video card '%s' is already taken", videoCardDto.getName())
-                );
-            }
             existingVideoCard.setName(videoCardDto.getName());
         }
 
@@ -191,7 +195,16 @@ public class VideoCardService {
             existingVideoCard.setPcieVersion(videoCardDto.getPcieVersion());
         }
 
-        videoCardRepository.save(existingVideoCard);
+        try {
+            // Переименование в занятое название нарушит уникальный индекс при сбросе - здесь, а не при фиксации
+            videoCardRepository.saveAndFlush(existingVideoCard);
+        } catch (DataIntegrityViolationException e) {
+            if (!UniqueViolations.isViolated(e, UniqueViolations.VIDEO_CARD_NAME)) throw e;
+            log.warn("Видеокарта с названием '{}' уже существует", videoCardDto.getName());
+            throw new IllegalArgumentException(
+                    String.format("Video card '%s' is already taken", videoCardDto.getName())
+            );
+        }
         log.info("=== УСПЕШНО: Видеокарта обновлена ===");
 
         return videoCardMapping.toDto(existingVideoCard);
@@ -0,0 +1,107 @@
+package ru.litvast.techtrackapi.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// Согласует сверку агрегатов в памяти с транзакциями, которые их меняют.
+// Изменение регистрируется внутри транзакции (до фиксации в БД) и применяется после неё; пока транзакция
+// не завершилась, она "в пути". Сверка закрывает шлюз и ждёт, пока в пути никого не останется: в этот момент
+// зафиксированное в БД состояние в точности совпадает с применённым в памяти, и досчитывать поверх снимка нечего.
+// На горячем пути - только инкремент LongAdder и чтение volatile, без общей блокировки
+public class CommitGate {
+
+    private final LongAdder inFlight = new LongAdder();
+    private final Object monitor = new Object();
+    private volatile boolean closed;
+
+    // Действие выполняется после фиксации текущей транзакции (при откате - не выполняется);
+    // вне транзакции - сразу, но тоже через шлюз, чтобы не пересечься с подменой агрегатов
+    public void afterCommit(Runnable action) {
+        enter();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            try {
+                action.run();
+            } finally {
+                exit();
+            }
+            return;
+        }
+
+        try {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    exit();
+                }
+            });
+        } catch (RuntimeException e) {
+            exit();
+            throw e;
+        }
+    }
+
+    // Выполняет action, когда ни одно зарегистрированное изменение не находится в пути; новые изменения ждут.
+    // Транзакция в пути может ждать блокировку строки у транзакции, стоящей перед шлюзом, поэтому ожидание
+    // ограничено timeout: не дождались - шлюз открывается, action не выполняется, возвращается false
+    public boolean runExclusive(Duration timeout, Runnable action) {
+        synchronized (monitor) {
+            closed = true;
+        }
+        try {
+            long deadline = System.nanoTime() + timeout.toNanos();
+            while (inFlight.sum() != 0) {
+                if (System.nanoTime() - deadline >= 0) {
+                    return false;
+                }
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+            }
+            action.run();
+            return true;
+        } finally {
+            synchronized (monitor) {
+                closed = false;
+                monitor.notifyAll();
+            }
+        }
+    }
+
+    private void enter() {
+        while (true) {
+            inFlight.increment();
+            if (!closed) return;
+
+            inFlight.decrement();
+            awaitOpen();
+        }
+    }
+
+    private void exit() {
+        inFlight.decrement();
+    }
+
+    private void awaitOpen() {
+        boolean interrupted = false;
+        synchronized (monitor) {
+            while (closed) {
+                try {
+                    monitor.wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
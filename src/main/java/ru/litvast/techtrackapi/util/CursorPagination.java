@@ -0,0 +1,230 @@
+package ru.litvast.techtrackapi.util;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToOne;
+import org.springframework.core.ResolvableType;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.util.ReflectionUtils;
+import ru.litvast.techtrackapi.model.dto.CursorPageDto;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class CursorPagination {
+
+    private static final String ID = "id";
+    private static final String SORT = "~sort";
+    private static final String ENUM_PACKAGE = "ru.litvast.techtrackapi.";
+
+    // Результат проверки обязательности поля сортировки: "класс#свойство" -> NOT NULL
+    private static final Map<String, Boolean> NON_NULL_PROPERTIES = new ConcurrentHashMap<>();
+
+    // Страница по ключу (sort key, id): WHERE (key, id) > (:lastKey, :lastId) ORDER BY key, id LIMIT size + 1.
+    // fetch - связи, присоединяемые тем же запросом (как @EntityGraph у findSliceBy)
+    public static <T> Window<T> scroll(JpaSpecificationExecutor<T> repository, Specification<T> specification,
+                                       String cursor, Pageable pageable, String... fetch) {
+        Sort sort = withIdTieBreaker(pageable.getSort());
+        requireNonNullKeys(repository, sort);
+        ScrollPosition position = decode(cursor, sort);
+        int size = pageable.getPageSize();
+
+        return repository.findBy(specification, query -> query
+                .project(fetch)
+                .sortBy(sort)
+                .limit(size)
+                .scroll(position));
+    }
+
+    public static <T> Specification<T> hasId(String association, Long id) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get(association).get(ID), id);
+    }
+
+    public static <T> CursorPageDto<T> toDto(Window<T> window, Pageable pageable) {
+        String nextCursor = null;
+        if (window.hasNext() && !window.isEmpty()) {
+            nextCursor = encode((KeysetScrollPosition) window.positionAt(window.size() - 1),
+                    withIdTieBreaker(pageable.getSort()));
+        }
+        return new CursorPageDto<>(window.getContent(), window.size(), window.hasNext(), nextCursor);
+    }
+
+    private static Sort withIdTieBreaker(Sort sort) {
+        return sort.getOrderFor(ID) == null ? sort.and(Sort.by(ID)) : sort;
+    }
+
+    // Сравнение (key, id) > (:lastKey, :lastId) не находит строк с NULL в ключе: они молча выпадали бы из выдачи,
+    // поэтому в курсорном режиме сортировка допускается только по обязательным полям
+    private static void requireNonNullKeys(JpaSpecificationExecutor<?> repository, Sort sort) {
+        Class<?> domainType = ResolvableType.forClass(repository.getClass())
+                .as(JpaSpecificationExecutor.class)
+                .resolveGeneric(0);
+        if (domainType == null) return;
+
+        for (Sort.Order order : sort) {
+            boolean nonNull = NON_NULL_PROPERTIES.computeIfAbsent(domainType.getName() + "#" + order.getProperty(),
+                    key -> isNonNull(domainType, order.getProperty()));
+            if (!nonNull) {
+                throw new IllegalArgumentException(String.format(
+                        "Cursor pagination requires a non-null sort property, '%s' is optional or unknown", order.getProperty()));
+            }
+        }
+    }
+
+    private static boolean isNonNull(Class<?> type, String propertyPath) {
+        Class<?> current = type;
+        for (String property : propertyPath.split("\\.")) {
+            Field field = ReflectionUtils.findField(current, property);
+            if (field == null || !isNonNull(field)) return false;
+            current = field.getType();
+        }
+        return true;
+    }
+
+    private static boolean isNonNull(Field field) {
+        if (field.getType().isPrimitive() || field.isAnnotationPresent(Id.class)) return true;
+
+        Column column = field.getAnnotation(Column.class);
+        if (column != null && !column.nullable()) return true;
+
+        JoinColumn joinColumn = field.getAnnotation(JoinColumn.class);
+        if (joinColumn != null && !joinColumn.nullable()) return true;
+
+        ManyToOne manyToOne = field.getAnnotation(ManyToOne.class);
+        if (manyToOne != null && !manyToOne.optional()) return true;
+
+        OneToOne oneToOne = field.getAnnotation(OneToOne.class);
+        return oneToOne != null && !oneToOne.optional();
+    }
+
+    // Курсор - Base64 от "~sort=сортировка&свойство=тип:значение&...", тип нужен для корректного сравнения в запросе.
+    // Сортировка в курсоре не даёт продолжить выдачу с ключами, снятыми при другом порядке
+    private static String encode(KeysetScrollPosition position, Sort sort) {
+        StringJoiner joiner = new StringJoiner("&");
+        joiner.add(SORT + "=" + urlEncode(sortKey(sort)));
+        for (Map.Entry<String, Object> key : position.getKeys().entrySet()) {
+            joiner.add(urlEncode(key.getKey()) + "=" + encodeValue(key.getValue()));
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(joiner.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static KeysetScrollPosition decode(String cursor, Sort sort) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+
+        String cursorSort = null;
+        Map<String, Object> keys = new LinkedHashMap<>();
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            for (String pair : decoded.split("&")) {
+                int separator = pair.indexOf('=');
+                String name = urlDecode(pair.substring(0, separator));
+                if (SORT.equals(name)) {
+                    cursorSort = urlDecode(pair.substring(separator + 1));
+                } else {
+                    keys.put(name, decodeValue(pair.substring(separator + 1)));
+                }
+            }
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+
+        if (!sortKey(sort).equals(cursorSort)) {
+            throw new IllegalArgumentException("Cursor was issued for a different sort order");
+        }
+
+        Set<String> properties = new HashSet<>();
+        sort.forEach(order -> properties.add(order.getProperty()));
+        if (!keys.keySet().equals(properties)) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return ScrollPosition.forward(keys);
+    }
+
+    private static String sortKey(Sort sort) {
+        StringJoiner joiner = new StringJoiner(",");
+        for (Sort.Order order : sort) {
+            joiner.add(order.getProperty() + ":" + order.getDirection() + (order.isIgnoreCase() ? ":i" : ""));
+        }
+        return joiner.toString();
+    }
+
+    private static String encodeValue(Object value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Cursor pagination does not support empty sort keys");
+        }
+        if (value instanceof Long) return "L:" + value;
+        if (value instanceof Integer) return "I:" + value;
+        if (value instanceof Boolean) return "B:" + value;
+        if (value instanceof Double) return "F:" + value;
+        if (value instanceof BigDecimal) return "N:" + value;
+        if (value instanceof LocalDateTime) return "T:" + value;
+        if (value instanceof LocalDate) return "D:" + value;
+        if (value instanceof Enum<?> enumValue) {
+            return "E:" + urlEncode(enumValue.getDeclaringClass().getName() + "#" + enumValue.name());
+        }
+        return "S:" + urlEncode(value.toString());
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object decodeValue(String value) {
+        String raw = value.substring(2);
+        return switch (value.charAt(0)) {
+            case 'L' -> Long.parseLong(raw);
+            case 'I' -> Integer.parseInt(raw);
+            case 'B' -> Boolean.parseBoolean(raw);
+            case 'F' -> Double.parseDouble(raw);
+            case 'N' -> new BigDecimal(raw);
+            case 'T' -> LocalDateTime.parse(raw);
+            case 'D' -> LocalDate.parse(raw);
+            case 'E' -> {
+                String[] parts = urlDecode(raw).split("#", 2);
+                if (!parts[0].startsWith(ENUM_PACKAGE)) {
+                    throw new IllegalArgumentException("Unsupported cursor value");
+                }
+                try {
+                    // Без инициализации: из курсора не должны выполняться статические блоки произвольных классов
+                    Class<?> type = Class.forName(parts[0], false, CursorPagination.class.getClassLoader());
+                    if (!type.isEnum()) {
+                        throw new IllegalArgumentException("Unsupported cursor value");
+                    }
+                    yield Enum.valueOf((Class<? extends Enum>) type, parts[1]);
+                } catch (ClassNotFoundException e) {
+                    throw new IllegalArgumentException("Unsupported cursor value");
+                }
+            }
+            case 'S' -> urlDecode(raw);
+            default -> throw new IllegalArgumentException("Unsupported cursor value");
+        };
+    }
+
+    private static String urlEncode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static String urlDecode(String value) {
+        return URLDecoder.decode(value, StandardCharsets.UTF_8);
+    }
+}
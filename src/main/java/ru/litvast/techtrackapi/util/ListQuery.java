@@ -0,0 +1,32 @@
+package ru.litvast.techtrackapi.util;
+
+import lombok.Value;
+import org.springframework.data.domain.Pageable;
+
+// Режим выдачи списка: курсор (after), срез без общего количества (withTotal=false) или страница с общим количеством.
+// Общее количество по умолчанию точное, из кеша (может отставать до 30 секунд) - только по запросу клиента (cachedTotal=true)
+@Value
+public class ListQuery {
+    String after;
+    Total total;
+    Pageable pageable;
+
+    public enum Total {
+        EXACT,
+        CACHED,
+        NONE
+    }
+
+    public static ListQuery of(String after, boolean withTotal, boolean cachedTotal, Pageable pageable) {
+        Total total = !withTotal ? Total.NONE : cachedTotal ? Total.CACHED : Total.EXACT;
+        return new ListQuery(after, total, pageable);
+    }
+
+    public static ListQuery page(Pageable pageable) {
+        return new ListQuery(null, Total.EXACT, pageable);
+    }
+
+    public ListQuery withPageable(Pageable pageable) {
+        return new ListQuery(after, total, pageable);
+    }
+}
@@ -0,0 +1,109 @@
+package ru.litvast.techtrackapi.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.util.StringUtils;
+import ru.litvast.techtrackapi.exception.EntityNotFoundException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+// Разрешение списка комплектующих сборки (RAM, накопители): элемент задаётся либо ID существующей записи,
+// либо названием. По названию берётся существующая запись без учёта регистра, недостающие создаются одной пачкой.
+// Всего не более трёх запросов на список: по ID, по названиям и пакетная вставка
+@Slf4j
+public class NamedComponents {
+
+    // label - название вида комплектующего для сообщений ("RAM", "storage device");
+    // constraintName - уникальный индекс по lower(name) из UniqueViolations
+    public static <E, D> List<D> resolve(List<D> dtoList, String label, String constraintName,
+                                         JpaRepository<E, Long> repository,
+                                         Function<Collection<String>, List<E>> lowerNameFinder,
+                                         Function<D, Long> idGetter, Function<D, String> nameGetter,
+                                         Function<List<D>, List<E>> toEntities, Function<E, D> toDto) {
+        Set<Long> ids = new HashSet<>();
+        Map<String, D> named = new LinkedHashMap<>();
+        for (D dto : dtoList) {
+            String name = nameGetter.apply(dto);
+            Long id = idGetter.apply(dto);
+            if (name != null) {
+                if (id != null) {
+                    log.error("Для комплектующего ({}) переданы и ID, и название. ID: {}", label, id);
+                    throw new IllegalArgumentException(String.format("To create a %s, you must specify a name, not an ID", label));
+                }
+                named.putIfAbsent(name.toLowerCase(), dto);
+            } else if (id != null) {
+                ids.add(id);
+            } else {
+                log.error("Для комплектующего ({}) не указаны ни ID, ни название", label);
+                throw new IllegalArgumentException(String.format("%s must have either an ID or a name", StringUtils.capitalize(label)));
+            }
+        }
+
+        Map<Long, D> byId = new HashMap<>();
+        if (!ids.isEmpty()) {
+            repository.findAllById(ids).forEach(entity -> {
+                D dto = toDto.apply(entity);
+                byId.put(idGetter.apply(dto), dto);
+            });
+
+            for (Long id : ids) {
+                if (!byId.containsKey(id)) {
+                    log.error("Комплектующее ({}) с ID {} не найдено", label, id);
+                    throw new EntityNotFoundException(
+                            String.format("%s with id '%d' not found", StringUtils.capitalize(label), id)
+                    );
+                }
+            }
+        }
+
+        Map<String, D> byName = new HashMap<>();
+        if (!named.isEmpty()) {
+            for (E entity : lowerNameFinder.apply(named.keySet())) {
+                D dto = toDto.apply(entity);
+                byName.put(nameGetter.apply(dto).toLowerCase(), dto);
+            }
+
+            List<D> missing = new ArrayList<>();
+            named.forEach((name, dto) -> {
+                if (!byName.containsKey(name)) missing.add(dto);
+            });
+
+            if (!missing.isEmpty()) {
+                List<E> saved;
+                try {
+                    // Немедленная запись: то же название, созданное параллельно, нарушит уникальный индекс здесь
+                    saved = repository.saveAll(toEntities.apply(missing));
+                    repository.flush();
+                } catch (DataIntegrityViolationException e) {
+                    if (!UniqueViolations.isViolated(e, constraintName)) throw e;
+                    log.warn("Комплектующее ({}) с одним из названий {} создано параллельным запросом", label, named.keySet());
+                    throw new IllegalArgumentException(
+                            String.format("%s with one of the names %s was created concurrently, retry the request",
+                                    StringUtils.capitalize(label), missing.stream().map(nameGetter).toList())
+                    );
+                }
+                saved.forEach(entity -> {
+                    D dto = toDto.apply(entity);
+                    byName.put(nameGetter.apply(dto).toLowerCase(), dto);
+                });
+                log.debug("Создано {} новых комплектующих ({})", saved.size(), label);
+            }
+        }
+
+        List<D> resolved = new ArrayList<>(dtoList.size());
+        for (D dto : dtoList) {
+            String name = nameGetter.apply(dto);
+            resolved.add(name != null ? byName.get(name.toLowerCase()) : byId.get(idGetter.apply(dto)));
+        }
+        return resolved;
+    }
+}
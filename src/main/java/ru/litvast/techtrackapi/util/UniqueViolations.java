@@ -0,0 +1,33 @@
+package ru.litvast.techtrackapi.util;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+public class UniqueViolations {
+
+    // Уникальные индексы по lower(name) из V6__lower_name_unique_indexes.sql
+    public static final String COMPANY_NAME = "ux_companies_name_lower";
+    public static final String EQUIPMENT_NAME = "ux_equipment_name_lower";
+    public static final String PROCESSOR_NAME = "ux_processors_name_lower";
+    public static final String RAM_NAME = "ux_ram_name_lower";
+    public static final String VIDEO_CARD_NAME = "ux_video_cards_name_lower";
+    public static final String STORAGE_DEVICE_NAME = "ux_storage_devices_name_lower";
+    public static final String POWER_SUPPLY_NAME = "ux_power_supplies_name_lower";
+    public static final String MOTHERBOARD_NAME = "ux_motherboards_name_lower";
+    public static final String CPU_SOCKET_NAME = "ux_cpu_sockets_name_lower";
+    public static final String CPU_ARCHITECTURE_NAME = "ux_cpu_architectures_name_lower";
+    public static final String FORM_FACTOR_CODE = "ux_motherboard_form_factors_code_lower";
+
+    // Первичный ключ таблицы открытых выдач из V3__active_assignment_guard.sql
+    public static final String ACTIVE_ASSIGNMENT = "assignment_history_active_pkey";
+
+    public static boolean isViolated(DataIntegrityViolationException e, String constraintName) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation
+                    && constraintName.equalsIgnoreCase(violation.getConstraintName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
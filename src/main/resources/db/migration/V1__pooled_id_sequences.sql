@@ -0,0 +1,40 @@
+-- Переход с IDENTITY на последовательности с pooled-оптимизатором (шаг 50).
+-- Для уже существующих таблиц последовательность сдвигается за текущий MAX(id):
+-- pooled-оптимизатор выдаёт диапазон (значение - 49 .. значение), поэтому следующее
+-- значение последовательности должно быть не меньше MAX(id) + 50.
+DO
+$$
+DECLARE
+    seq_table TEXT;
+    max_id    BIGINT;
+BEGIN
+    FOREACH seq_table IN ARRAY ARRAY [
+        'users',
+        'companies',
+        'buildings',
+        'building_floors',
+        'rooms',
+        'employees',
+        'room_equipment',
+        'assignment_history',
+        'equipment',
+        'cpu_sockets',
+        'cpu_architectures',
+        'motherboard_form_factors',
+        'processors',
+        'motherboards',
+        'ram',
+        'video_cards',
+        'power_supplies',
+        'storage_devices'
+        ]
+        LOOP
+            EXECUTE format('CREATE SEQUENCE IF NOT EXISTS %I START WITH 1 INCREMENT BY 50', seq_table || '_seq');
+
+            IF to_regclass(seq_table) IS NOT NULL THEN
+                EXECUTE format('SELECT COALESCE(MAX(id), 0) FROM %I', seq_table) INTO max_id;
+                PERFORM setval(seq_table || '_seq', max_id + 50, false);
+            END IF;
+        END LOOP;
+END
+$$;
@@ -0,0 +1,93 @@
+-- Помесячное секционирование assignment_history по assigned_at.
+-- Первичный ключ секционированной таблицы обязан включать ключ секционирования,
+-- поэтому он становится (id, assigned_at); для JPA идентификатором остаётся id.
+-- Секции создаются от месяца самой старой записи до трёх месяцев вперёд,
+-- дальше их ведёт AssignmentHistoryPartitionManager.
+DO
+$$
+DECLARE
+    month_start DATE;
+    last_month  DATE;
+BEGIN
+    IF to_regclass('assignment_history') IS NOT NULL
+        AND (SELECT relkind FROM pg_class WHERE oid = 'assignment_history'::regclass) = 'p' THEN
+        RETURN;
+    END IF;
+
+    -- Миграции выполняются после Hibernate DDL (SchemaMigrator): и на новой БД здесь обычная таблица с ключами.
+    -- Первичный ключ переименовывается вместе с таблицей, иначе его индекс займёт имя ключа новой таблицы
+    IF to_regclass('assignment_history') IS NOT NULL THEN
+        ALTER TABLE assignment_history RENAME TO assignment_history_unpartitioned;
+        IF to_regclass('assignment_history_pkey') IS NOT NULL THEN
+            ALTER TABLE assignment_history_unpartitioned
+                RENAME CONSTRAINT assignment_history_pkey TO assignment_history_unpartitioned_pkey;
+        END IF;
+        SELECT COALESCE(date_trunc('month', MIN(assigned_at)), date_trunc('month', now()))::DATE
+        INTO month_start
+        FROM assignment_history_unpartitioned;
+    ELSE
+        month_start := date_trunc('month', now())::DATE;
+    END IF;
+
+    CREATE TABLE assignment_history
+    (
+        id           BIGINT       NOT NULL,
+        equipment_id BIGINT       NOT NULL,
+        employee_id  BIGINT       NOT NULL,
+        assigned_at  TIMESTAMP(6) NOT NULL,
+        returned_at  TIMESTAMP(6),
+        condition    VARCHAR(255),
+        created_at   TIMESTAMP(6),
+        PRIMARY KEY (id, assigned_at)
+    ) PARTITION BY RANGE (assigned_at);
+
+    IF to_regclass('equipment') IS NOT NULL THEN
+        ALTER TABLE assignment_history
+            ADD CONSTRAINT fk_assignment_history_equipment FOREIGN KEY (equipment_id) REFERENCES equipment (id);
+    END IF;
+    IF to_regclass('employees') IS NOT NULL THEN
+        ALTER TABLE assignment_history
+            ADD CONSTRAINT fk_assignment_history_employee FOREIGN KEY (employee_id) REFERENCES employees (id);
+    END IF;
+
+    last_month := (date_trunc('month', now()) + INTERVAL '3 months')::DATE;
+    WHILE month_start <= last_month
+        LOOP
+            EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF assignment_history FOR VALUES FROM (%L) TO (%L)',
+                           'assignment_history_p' || to_char(month_start, 'YYYYMM'),
+                           month_start,
+                           (month_start + INTERVAL '1 month')::DATE);
+            month_start := (month_start + INTERVAL '1 month')::DATE;
+        END LOOP;
+
+    IF to_regclass('assignment_history_unpartitioned') IS NOT NULL THEN
+        INSERT INTO assignment_history (id, equipment_id, employee_id, assigned_at, returned_at, condition, created_at)
+        SELECT id, equipment_id, employee_id, assigned_at, returned_at, condition, created_at
+        FROM assignment_history_unpartitioned;
+        DROP TABLE assignment_history_unpartitioned;
+    END IF;
+END
+$$;
+
+-- Индексы создаются на родительской таблице и наследуются каждой секцией
+CREATE INDEX IF NOT EXISTS idx_assignment_history_employee ON assignment_history (employee_id, assigned_at);
+CREATE INDEX IF NOT EXISTS idx_assignment_history_equipment ON assignment_history (equipment_id, assigned_at);
+CREATE INDEX IF NOT EXISTS idx_assignment_history_assigned_at ON assignment_history (assigned_at);
+CREATE INDEX IF NOT EXISTS idx_assignment_history_active ON assignment_history (equipment_id) WHERE returned_at IS NULL;
+
+-- Холодный архив закрытых выдач старше горизонта хранения (techtrack.assignment-history.archive-after-months).
+-- Только вставка, без обновлений: fillfactor 100 и минимум индексов.
+CREATE TABLE IF NOT EXISTS assignment_history_archive
+(
+    id           BIGINT       NOT NULL PRIMARY KEY,
+    equipment_id BIGINT       NOT NULL,
+    employee_id  BIGINT       NOT NULL,
+    assigned_at  TIMESTAMP(6) NOT NULL,
+    returned_at  TIMESTAMP(6) NOT NULL,
+    condition    VARCHAR(255),
+    created_at   TIMESTAMP(6),
+    archived_at  TIMESTAMP(6) NOT NULL DEFAULT now()
+) WITH (fillfactor = 100);
+
+CREATE INDEX IF NOT EXISTS idx_assignment_history_archive_equipment ON assignment_history_archive (equipment_id);
+CREATE INDEX IF NOT EXISTS idx_assignment_history_archive_employee ON assignment_history_archive (employee_id);
@@ -0,0 +1,43 @@
+-- Не более одной открытой выдачи на единицу оборудования.
+-- Уникальный индекс секционированной таблицы обязан включать ключ секционирования (assigned_at),
+-- поэтому частичный UNIQUE (equipment_id) WHERE returned_at IS NULL на assignment_history невозможен.
+-- Вместо него открытые выдачи дублируются в assignment_history_active с первичным ключом по equipment_id,
+-- а таблица поддерживается триггером: вторая открытая выдача того же оборудования нарушит ключ.
+CREATE TABLE IF NOT EXISTS assignment_history_active
+(
+    equipment_id  BIGINT NOT NULL PRIMARY KEY,
+    assignment_id BIGINT NOT NULL
+);
+
+-- Существующие дубликаты не исправляются автоматически: в таблицу попадает самая поздняя открытая выдача
+INSERT INTO assignment_history_active (equipment_id, assignment_id)
+SELECT DISTINCT ON (equipment_id) equipment_id, id
+FROM assignment_history
+WHERE returned_at IS NULL
+ORDER BY equipment_id, assigned_at DESC, id DESC
+ON CONFLICT (equipment_id) DO NOTHING;
+
+CREATE OR REPLACE FUNCTION assignment_history_track_active() RETURNS TRIGGER AS
+$$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') AND OLD.returned_at IS NULL THEN
+        DELETE FROM assignment_history_active
+        WHERE equipment_id = OLD.equipment_id
+          AND assignment_id = OLD.id;
+    END IF;
+
+    IF TG_OP IN ('INSERT', 'UPDATE') AND NEW.returned_at IS NULL THEN
+        INSERT INTO assignment_history_active (equipment_id, assignment_id)
+        VALUES (NEW.equipment_id, NEW.id);
+    END IF;
+
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_assignment_history_active ON assignment_history;
+CREATE TRIGGER trg_assignment_history_active
+    AFTER INSERT OR UPDATE OF returned_at, equipment_id OR DELETE
+    ON assignment_history
+    FOR EACH ROW
+EXECUTE FUNCTION assignment_history_track_active();
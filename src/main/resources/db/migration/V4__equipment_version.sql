@@ -0,0 +1,14 @@
+-- Версия строки для оптимистической блокировки Equipment (@Version).
+-- Hibernate DDL (выполняется раньше миграций, см. SchemaMigrator) добавляет столбец без значения по умолчанию,
+-- поэтому существующим строкам 0 проставляется явно: NULL-версию Hibernate считает признаком новой сущности.
+DO
+$$
+BEGIN
+    IF to_regclass('equipment') IS NOT NULL THEN
+        ALTER TABLE equipment ADD COLUMN IF NOT EXISTS version BIGINT;
+        UPDATE equipment SET version = 0 WHERE version IS NULL;
+        ALTER TABLE equipment ALTER COLUMN version SET DEFAULT 0;
+        ALTER TABLE equipment ALTER COLUMN version SET NOT NULL;
+    END IF;
+END
+$$;
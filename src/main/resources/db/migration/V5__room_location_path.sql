@@ -0,0 +1,25 @@
+-- Материализованный путь иерархии Company -> Building -> Floor -> Room:
+-- здание и компания комнаты хранятся в самой строке rooms, запросы "всё в здании/компании"
+-- обходятся одним индексным поиском вместо цепочки join через building_floors и buildings.
+DO
+$$
+BEGIN
+    IF to_regclass('rooms') IS NOT NULL THEN
+        ALTER TABLE rooms ADD COLUMN IF NOT EXISTS building_id BIGINT;
+        ALTER TABLE rooms ADD COLUMN IF NOT EXISTS company_id BIGINT;
+
+        UPDATE rooms r
+        SET building_id = f.building_id,
+            company_id  = b.company_id
+        FROM building_floors f
+                 JOIN buildings b ON b.id = f.building_id
+        WHERE f.id = r.building_floor_id;
+
+        ALTER TABLE rooms ALTER COLUMN building_id SET NOT NULL;
+        ALTER TABLE rooms ALTER COLUMN company_id SET NOT NULL;
+
+        CREATE INDEX IF NOT EXISTS idx_rooms_building_id ON rooms (building_id);
+        CREATE INDEX IF NOT EXISTS idx_rooms_company_id ON rooms (company_id);
+    END IF;
+END
+$$;
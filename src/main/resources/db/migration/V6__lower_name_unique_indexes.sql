@@ -0,0 +1,75 @@
+-- Регистронезависимая уникальность названий: уникальные индексы по lower(...) вместо
+-- existsByNameIgnoreCase перед записью. Дубликат отсекается самой записью, без лишнего SELECT и гонки:
+-- справочники (сокеты, архитектуры, форм-факторы) вставляются через INSERT ... ON CONFLICT,
+-- остальные сущности - saveAndFlush с переводом нарушения индекса в "already taken" (UniqueViolations).
+-- Обычные уникальные ограничения на тех же столбцах удаляются: lower(...) строже их.
+-- Миграция выполняется после Hibernate DDL (SchemaMigrator), таблицы уже есть и на новой БД.
+-- Готовый функциональный индекс пропускается без проверки дубликатов.
+DO
+$$
+DECLARE
+    target         RECORD;
+    index_name     TEXT;
+    has_duplicates BOOLEAN;
+    is_functional  BOOLEAN;
+    constraint_row RECORD;
+BEGIN
+    FOR target IN
+        SELECT *
+        FROM (VALUES ('companies', 'name'),
+                     ('equipment', 'name'),
+                     ('processors', 'name'),
+                     ('ram', 'name'),
+                     ('video_cards', 'name'),
+                     ('storage_devices', 'name'),
+                     ('power_supplies', 'name'),
+                     ('motherboards', 'name'),
+                     ('cpu_sockets', 'name'),
+                     ('cpu_architectures', 'name'),
+                     ('motherboard_form_factors', 'code')) AS t (table_name, column_name)
+        LOOP
+            IF to_regclass(target.table_name) IS NULL THEN
+                RAISE WARNING 'Таблица % не найдена: индекс по lower(%) не создан', target.table_name, target.column_name;
+                CONTINUE;
+            END IF;
+            index_name := format('ux_%s_%s_lower', target.table_name, target.column_name);
+
+            is_functional := NULL;
+            SELECT i.indexprs IS NOT NULL
+            INTO is_functional
+            FROM pg_index i
+            WHERE i.indexrelid = to_regclass(index_name);
+
+            IF is_functional IS NOT TRUE THEN
+                EXECUTE format('SELECT EXISTS (SELECT 1 FROM %I WHERE %I IS NOT NULL GROUP BY lower(%I) HAVING count(*) > 1)',
+                               target.table_name, target.column_name, target.column_name)
+                    INTO has_duplicates;
+                IF has_duplicates THEN
+                    RAISE WARNING 'Таблица % содержит значения %, различающиеся только регистром: индекс не создан',
+                        target.table_name, target.column_name;
+                    CONTINUE;
+                END IF;
+
+                -- Обычный индекс с тем же именем (создан Hibernate до этой правки) заменяется функциональным
+                IF is_functional IS FALSE THEN
+                    EXECUTE format('DROP INDEX %I', index_name);
+                END IF;
+
+                EXECUTE format('CREATE UNIQUE INDEX %I ON %I (lower(%I))',
+                               index_name, target.table_name, target.column_name);
+            END IF;
+
+            FOR constraint_row IN
+                SELECT c.conname
+                FROM pg_constraint c
+                         JOIN pg_attribute a ON a.attrelid = c.conrelid AND a.attnum = c.conkey[1]
+                WHERE c.conrelid = to_regclass(target.table_name)
+                  AND c.contype = 'u'
+                  AND array_length(c.conkey, 1) = 1
+                  AND a.attname = target.column_name
+                LOOP
+                    EXECUTE format('ALTER TABLE %I DROP CONSTRAINT %I', target.table_name, constraint_row.conname);
+                END LOOP;
+        END LOOP;
+END
+$$;
@@ -0,0 +1,124 @@
+package ru.litvast.techtrackapi.service;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.litvast.techtrackapi.model.dto.ActiveAssignmentDto;
+import ru.litvast.techtrackapi.model.dto.AssignmentHistoryDto;
+import ru.litvast.techtrackapi.model.dto.CreateAssignmentDto;
+import ru.litvast.techtrackapi.model.dto.ReturnEquipmentDto;
+import ru.litvast.techtrackapi.model.entity.AssignmentHistory;
+import ru.litvast.techtrackapi.model.entity.Employee;
+import ru.litvast.techtrackapi.model.entity.equipment.EquipmentStatus;
+import ru.litvast.techtrackapi.model.entity.equipment.Printer;
+import ru.litvast.techtrackapi.repository.AssignmentHistoryRepository;
+import ru.litvast.techtrackapi.repository.EmployeeRepository;
+import ru.litvast.techtrackapi.repository.equipment.PrinterRepository;
+import ru.litvast.techtrackapi.util.CursorPagination;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Нагрузочный сценарий на реальной БД: запускается задачей ./gradlew benchmark, из обычного test исключён
+@Tag("benchmark")
+@SpringBootTest
+public class AssignmentConcurrencyBenchmarkTests {
+
+    private static final int THREADS = 16;
+    private static final int EQUIPMENT_COUNT = 4;
+    private static final Duration DURATION = Duration.ofSeconds(10);
+
+    @Autowired
+    private AssignmentHistoryService assignmentHistoryService;
+
+    @Autowired
+    private AssignmentHistoryRepository assignmentHistoryRepository;
+
+    @Autowired
+    private PrinterRepository printerRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Test
+    void benchmarkAssignReturnUnderContention() throws Exception {
+        // Arrange
+        String runId = UUID.randomUUID().toString().substring(0, 8);
+        List<Long> equipmentIds = new ArrayList<>();
+        for (int i = 0; i < EQUIPMENT_COUNT; i++) {
+            Printer printer = new Printer();
+            printer.setName("benchmark-printer-" + runId + "-" + i);
+            printer.setManufacturer("Benchmark");
+            printer.setStatus(EquipmentStatus.IN_STOCK);
+            equipmentIds.add(printerRepository.save(printer).getId());
+        }
+
+        List<Long> employeeIds = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            Employee employee = new Employee();
+            employee.setFullName("Benchmark Employee " + runId + "-" + i);
+            employeeIds.add(employeeRepository.save(employee).getId());
+        }
+
+        LongAdder completed = new LongAdder();
+        LongAdder conflicts = new LongAdder();
+        LongAdder failures = new LongAdder();
+
+        try {
+            // Act: каждый поток выдаёт случайную единицу из 4 и сразу возвращает её
+            ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+            long deadline = System.nanoTime() + DURATION.toNanos();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                Long employeeId = employeeIds.get(t);
+                futures.add(executor.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        Long equipmentId = equipmentIds.get(ThreadLocalRandom.current().nextInt(EQUIPMENT_COUNT));
+                        try {
+                            AssignmentHistoryDto assigned = assignmentHistoryService.assignEquipment(
+                                    new CreateAssignmentDto(equipmentId, employeeId, null));
+                            assignmentHistoryService.returnEquipment(new ReturnEquipmentDto(assigned.getId(), "OK"));
+                            completed.increment();
+                        } catch (IllegalArgumentException e) {
+                            conflicts.increment();
+                        } catch (RuntimeException e) {
+                            failures.increment();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            executor.shutdown();
+
+            double seconds = DURATION.toMillis() / 1000.0;
+            System.out.printf("Потоков: %d, единиц оборудования: %d, длительность: %.0f с%n", THREADS, EQUIPMENT_COUNT, seconds);
+            System.out.printf("Выдача+возврат: %d (%.1f оп/с), конфликтов: %d, ошибок: %d%n",
+                    completed.sum(), completed.sum() / seconds, conflicts.sum(), failures.sum());
+
+            // Assert
+            Map<Long, Long> openByEquipment = new HashMap<>();
+            for (ActiveAssignmentDto active : assignmentHistoryRepository.findAllActive()) {
+                if (equipmentIds.contains(active.getEquipmentId())) {
+                    openByEquipment.merge(active.getEquipmentId(), 1L, Long::sum);
+                }
+            }
+            assertThat(openByEquipment).isEmpty();
+            assertThat(failures.sum()).isZero();
+            assertThat(completed.sum()).isPositive();
+        } finally {
+            for (Long equipmentId : equipmentIds) {
+                List<AssignmentHistory> histories = assignmentHistoryRepository.findAll(CursorPagination.hasId("equipment", equipmentId));
+                assignmentHistoryRepository.deleteAll(histories);
+            }
+            printerRepository.deleteAllById(equipmentIds);
+            employeeRepository.deleteAllById(employeeIds);
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package ru.litvast.techtrackapi.service;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.litvast.techtrackapi.model.dto.equipment.computer.*;
+import ru.litvast.techtrackapi.model.entity.equipment.computer.*;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+public class ComputerImportServiceTests {
+
+    @Autowired
+    private ComputerImportService computerImportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private ComputerService computerService;
+
+    @MockitoBean
+    private ProcessorService processorService;
+
+    @MockitoBean
+    private MotherboardService motherboardService;
+
+    @MockitoBean
+    private VideoCardService videoCardService;
+
+    @MockitoBean
+    private PowerSupplyService powerSupplyService;
+
+    @MockitoBean
+    private RamService ramService;
+
+    @MockitoBean
+    private StorageDeviceService storageDeviceService;
+
+    @MockitoBean
+    private CpuSocketService cpuSocketService;
+
+    private final AtomicLong nextId = new AtomicLong(100);
+
+    @Test
+    void testImportReusesExistingComponentByName() throws IOException {
+        // Arrange: процессор уже есть в каталоге, раньше импорт падал на "already taken"
+        ProcessorDto existingProcessor = getComputer("Asus TF-03-AG").getProcessor();
+        existingProcessor.setId(10L);
+
+        when(processorService.findProcessorByName("Intel Core i7-13700K"))
+                .thenReturn(Optional.of(existingProcessor));
+        mockCreation();
+
+        // Act
+        String output = importComputers(getComputer("Asus TF-03-AG"));
+
+        // Assert
+        assertThat(output).contains("\"CREATED\"");
+
+        ArgumentCaptor<List<ComputerDto>> captor = ArgumentCaptor.captor();
+        verify(computerService).saveComputers(captor.capture());
+        assertThat(captor.getValue().getFirst().getProcessor().getId()).isEqualTo(10L);
+
+        verify(processorService, never()).addProcessor(any(ProcessorDto.class));
+        verify(motherboardService).addMotherboard(any(MotherboardDto.class));
+    }
+
+    @Test
+    void testImportCreatesSharedNewComponentsOnceInsideChunkTransaction() throws IOException {
+        // Arrange
+        mockCreation();
+        Set<Boolean> transactionActive = new HashSet<>();
+        when(processorService.addProcessor(any(ProcessorDto.class)))
+                .thenAnswer(invocation -> {
+                    transactionActive.add(TransactionSynchronizationManager.isActualTransactionActive());
+                    ProcessorDto processor = invocation.getArgument(0);
+                    processor.setId(nextId.incrementAndGet());
+                    return processor;
+                });
+
+        // Act
+        String output = importComputers(getComputer("Asus TF-03-AG"), getComputer("Asus TF-04-AG"));
+
+        // Assert
+        assertThat(output.lines().filter(line -> line.contains("\"CREATED\"")).count()).isEqualTo(2);
+        assertThat(transactionActive).containsExactly(true);
+
+        verify(processorService, times(1)).addProcessor(any(ProcessorDto.class));
+        verify(motherboardService, times(1)).addMotherboard(any(MotherboardDto.class));
+
+        // Два одинаковых модуля в сборке и две сборки - одна новая модель RAM
+        ArgumentCaptor<List<RamDto>> captor = ArgumentCaptor.captor();
+        verify(ramService, times(1)).addSomeRam(captor.capture());
+        assertThat(captor.getValue()).hasSize(1);
+    }
+
+    @Test
+    void testImportFailedChunkWriteIsRetriedLineByLine() throws IOException {
+        // Arrange: запись пакета падает из-за одной строки, остальные строки пакета должны записаться
+        mockCreation();
+        when(computerService.saveComputers(anyList()))
+                .thenAnswer(invocation -> {
+                    List<ComputerDto> computers = invocation.getArgument(0);
+                    if (computers.stream().anyMatch(computer -> computer.getName().equals("Asus TF-04-AG"))) {
+                        throw new IllegalArgumentException("Computer 'Asus TF-04-AG' cannot be saved");
+                    }
+                    return computers.stream().map(computer -> withId(computer, ComputerDto::setId)).toList();
+                });
+
+        // Act
+        List<String> lines = importComputers(getComputer("Asus TF-03-AG"), getComputer("Asus TF-04-AG")).lines().toList();
+
+        // Assert
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(0)).contains("\"CREATED\"");
+        assertThat(lines.get(1)).contains("Computer 'Asus TF-04-AG' cannot be saved");
+
+        // Пакет, затем каждая строка отдельно
+        verify(computerService, times(3)).saveComputers(anyList());
+    }
+
+    @Test
+    void testImportChecksTakenNamesOncePerChunk() throws IOException {
+        // Arrange
+        mockCreation();
+        when(computerService.findTakenComputerNames(anyCollection())).thenReturn(Set.of("asus tf-04-ag"));
+
+        // Act
+        List<String> lines = importComputers(getComputer("Asus TF-03-AG"), getComputer("Asus TF-04-AG")).lines().toList();
+
+        // Assert
+        assertThat(lines.get(0)).contains("\"CREATED\"");
+        assertThat(lines.get(1)).contains("Computer 'Asus TF-04-AG' is already taken");
+
+        verify(computerService, times(1)).findTakenComputerNames(anyCollection());
+    }
+
+    private String importComputers(ComputerDto... computers) throws IOException {
+        StringBuilder input = new StringBuilder();
+        for (ComputerDto computerDto : computers) {
+            input.append(objectMapper.writeValueAsString(computerDto)).append('\n');
+        }
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        computerImportService.importComputers(
+                new ByteArrayInputStream(input.toString().getBytes(StandardCharsets.UTF_8)), output);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    private void mockCreation() {
+        when(processorService.addProcessor(any(ProcessorDto.class)))
+                .thenAnswer(invocation -> withId(invocation.<ProcessorDto>getArgument(0), ProcessorDto::setId));
+        when(motherboardService.addMotherboard(any(MotherboardDto.class)))
+                .thenAnswer(invocation -> withId(invocation.<MotherboardDto>getArgument(0), MotherboardDto::setId));
+        when(videoCardService.addVideoCard(any(VideoCardDto.class)))
+                .thenAnswer(invocation -> withId(invocation.<VideoCardDto>getArgument(0), VideoCardDto::setId));
+        when(powerSupplyService.addPowerSupply(any(PowerSupplyDto.class)))
+                .thenAnswer(invocation -> withId(invocation.<PowerSupplyDto>getArgument(0), PowerSupplyDto::setId));
+        when(ramService.addSomeRam(anyList()))
+                .thenAnswer(invocation -> invocation.<List<RamDto>>getArgument(0).stream()
+                        .map(ram -> withId(ram, RamDto::setId)).toList());
+        when(storageDeviceService.addSomeStorageDevices(anyList()))
+                .thenAnswer(invocation -> invocation.<List<StorageDeviceDto>>getArgument(0).stream()
+                        .map(storage -> withId(storage, StorageDeviceDto::setId)).toList());
+        when(computerService.saveComputers(anyList()))
+                .thenAnswer(invocation -> invocation.<List<ComputerDto>>getArgument(0).stream()
+                        .map(computer -> withId(computer, ComputerDto::setId)).toList());
+    }
+
+    private <T> T withId(T dto, BiConsumer<T, Long> idSetter) {
+        idSetter.accept(dto, nextId.incrementAndGet());
+        return dto;
+    }
+
+    private static ComputerDto getComputer(String name) {
+        CpuSocketDto socket = new CpuSocketDto();
+        socket.setName("LGA1700");
+        socket.setManufacturer("Intel");
+
+        CpuArchitectureDto architecture = new CpuArchitectureDto();
+        architecture.setName("Raptor Lake");
+        architecture.setBitWidth(64);
+
+        ProcessorDto processor = new ProcessorDto();
+        processor.setName("Intel Core i7-13700K");
+        processor.setManufacturer("Intel");
+        processor.setSocket(socket);
+        processor.setArchitecture(architecture);
+        processor.setClockFrequencyGHz(3.4);
+        processor.setNumberOfCores(16);
+        processor.setNumberOfThreads(24);
+        processor.setTdpWatts(125);
+
+        MotherboardFormFactorDto formFactor = new MotherboardFormFactorDto();
+        formFactor.setCode("ATX");
+        formFactor.setName("ATX");
+
+        MotherboardDto motherboard = new MotherboardDto();
+        motherboard.setName("ASUS ROG Strix Z790-E");
+        motherboard.setManufacturer("ASUS");
+        motherboard.setSocket(socket);
+        motherboard.setFormFactor(formFactor);
+        motherboard.setChipset("Z790");
+
+        RamDto ram1 = new RamDto();
+        ram1.setName("Kingston Fury 32GB DDR5");
+        ram1.setType(RamType.DDR5);
+        ram1.setFormFactor(RamFormFactor.DIMM);
+        ram1.setCapacityMb(32768);
+        ram1.setFrequencyMHz(6000);
+        ram1.setEcc(false);
+
+        RamDto ram2 = new RamDto();
+        ram2.setName("Kingston Fury 32GB DDR5");
+        ram2.setType(RamType.DDR5);
+        ram2.setFormFactor(RamFormFactor.DIMM);
+        ram2.setCapacityMb(32768);
+        ram2.setFrequencyMHz(6000);
+        ram2.setEcc(false);
+
+        VideoCardDto videoCard = new VideoCardDto();
+        videoCard.setName("NVIDIA RTX 4090");
+        videoCard.setManufacturer("NVIDIA");
+        videoCard.setTdpWatts(450);
+
+        StorageDeviceDto storage = new StorageDeviceDto();
+        storage.setName("Samsung 990 Pro 2TB");
+        storage.setFormFactor("2280");
+        storage.setConnectionInterface("PCIe");
+        storage.setPortType("M.2");
+        storage.setCapacityGb(2048);
+
+        PowerSupplyDto powerSupply = new PowerSupplyDto();
+        powerSupply.setName("Corsair RM1000e");
+        powerSupply.setManufacturer("Corsair");
+        powerSupply.setPowerWatts(1000);
+        powerSupply.setEfficiency(PsuEfficiency.GOLD);
+        powerSupply.setFormFactor(PsuFormFactor.ATX);
+        powerSupply.setModular(PsuModular.FULL);
+
+        ComputerDto computerDto = new ComputerDto(processor, motherboard, Arrays.asList(ram1, ram2), videoCard, List.of(storage), powerSupply);
+        computerDto.setName(name);
+
+        return computerDto;
+    }
+}
@@ -11,12 +11,14 @@ import ru.litvast.techtrackapi.model.dto.equipment.computer.*;
 import ru.litvast.techtrackapi.model.dto.mapping.equipment.computer.ComputerMapping;
 import ru.litvast.techtrackapi.model.entity.equipment.computer.*;
 import ru.litvast.techtrackapi.repository.equipment.computer.ComputerRepository;
+import ru.litvast.techtrackapi.util.UniqueViolations;
 
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
+import static ru.litvast.techtrackapi.util.UniqueViolationFixtures.uniqueViolation;
 
 @SpringBootTest
 public class ComputerServiceTests {
@@ -95,17 +97,29 @@ public class ComputerServiceTests {
     @Test
     void testAddDuplicateComputer() {
         // Arrange
-        String computerName = "Офисный компьютер HP";
-
-        ComputerDto computerDto = new ComputerDto();
-        computerDto.setName(computerName);
+        ComputerDto computerDto = getComputer();
 
-        when(computerRepository.existsByNameIgnoreCase(computerName))
-                .thenReturn(true);
+        when(cpuSocketService.getOrCreateCpuSocket(computerDto.getProcessor().getSocket()))
+                .thenReturn(computerDto.getProcessor().getSocket());
+        when(processorService.addProcessor(computerDto.getProcessor()))
+                .thenReturn(computerDto.getProcessor());
+        when(motherboardService.addMotherboard(computerDto.getMotherboard()))
+                .thenReturn(computerDto.getMotherboard());
+        when(videoCardService.addVideoCard(computerDto.getVideoCard()))
+                .thenReturn(computerDto.getVideoCard());
+        when(powerSupplyService.addPowerSupply(computerDto.getPowerSupply()))
+                .thenReturn(computerDto.getPowerSupply());
+        when(ramService.resolveRams(computerDto.getRams()))
+                .thenReturn(computerDto.getRams());
+        when(storageDeviceService.resolveStorageDevices(computerDto.getStorageDevices()))
+                .thenReturn(computerDto.getStorageDevices());
+        when(computerRepository.saveAndFlush(any(Computer.class)))
+                .thenThrow(uniqueViolation(UniqueViolations.EQUIPMENT_NAME));
 
         // Act && Assert
-        assertThrows(IllegalArgumentException.class, () ->
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
                 computerService.addComputer(computerDto));
+        assertThat(exception.getMessage()).contains("already taken");
     }
 
     @Test
@@ -113,10 +127,7 @@ public class ComputerServiceTests {
         // Arrange
         ComputerDto computerDto = getComputer();
 
-        when(computerRepository.existsByNameIgnoreCase(computerDto.getName()))
-                .thenReturn(false);
-
-        when(cpuSocketService.addCpuSocket(computerDto.getProcessor().getSocket()))
+        when(cpuSocketService.getOrCreateCpuSocket(computerDto.getProcessor().getSocket()))
                 .thenReturn(computerDto.getProcessor().getSocket());
 
         when(processorService.addProcessor(computerDto.getProcessor()))
@@ -131,15 +142,13 @@ public class ComputerServiceTests {
         when(powerSupplyService.addPowerSupply(computerDto.getPowerSupply()))
                 .thenReturn(computerDto.getPowerSupply());
 
-        when(ramService.getRamById(computerDto.getRams().get(1).getId()))
-                .thenReturn(computerDto.getRams().get(1));
-        when(ramService.addRam(computerDto.getRams().getFirst()))
-                .thenReturn(computerDto.getRams().getFirst());
+        when(ramService.resolveRams(computerDto.getRams()))
+                .thenReturn(computerDto.getRams());
 
-        when(storageDeviceService.addStorageDevice(computerDto.getStorageDevices().getFirst()))
-                .thenReturn(computerDto.getStorageDevices().getFirst());
+        when(storageDeviceService.resolveStorageDevices(computerDto.getStorageDevices()))
+                .thenReturn(computerDto.getStorageDevices());
 
-        when(computerRepository.save(computerMapping.toEntity(computerDto)))
+        when(computerRepository.saveAndFlush(any(Computer.class)))
                 .thenReturn(computerMapping.toEntity(computerDto));
 
         // Act
@@ -151,14 +160,16 @@ public class ComputerServiceTests {
         assertThat(actualComputer.getRams().size()).isEqualTo(computerDto.getRams().size());
 
         // Проверяем, что все нужные методы были вызваны
-        verify(computerRepository).existsByNameIgnoreCase(computerDto.getName());
+        verify(computerRepository, never()).existsByNameIgnoreCase(any());
         verify(processorService).addProcessor(any(ProcessorDto.class));
         verify(motherboardService).addMotherboard(any(MotherboardDto.class));
         verify(videoCardService).addVideoCard(any(VideoCardDto.class));
         verify(powerSupplyService).addPowerSupply(any(PowerSupplyDto.class));
-        verify(ramService, times(1)).addRam(any(RamDto.class));
-        verify(storageDeviceService).addStorageDevice(any(StorageDeviceDto.class));
-        verify(computerRepository).save(any(Computer.class));
+        verify(ramService, times(1)).resolveRams(anyList());
+        verify(ramService, never()).getRamById(any());
+        verify(storageDeviceService, times(1)).resolveStorageDevices(anyList());
+        verify(storageDeviceService, never()).getStorageDeviceById(any());
+        verify(computerRepository).saveAndFlush(any(Computer.class));
     }
 
     @Test
@@ -166,7 +177,7 @@ public class ComputerServiceTests {
         // Arrange
         Computer computer = computerMapping.toEntity(getComputer());
 
-        when(computerRepository.findById(1L))
+        when(computerRepository.findWithComponentsById(1L))
                 .thenReturn(Optional.of(computer));
 
         // Act
@@ -178,13 +189,13 @@ public class ComputerServiceTests {
         assertThat(actualComputer.getName())
                 .isEqualTo(computer.getName());
 
-        verify(computerRepository, times(1)).findById(1L);
+        verify(computerRepository, times(1)).findWithComponentsById(1L);
     }
 
     @Test
     void testGetNotExistComputerById() {
         // Arrange
-        when(computerRepository.findById(1L)).thenReturn(Optional.empty());
+        when(computerRepository.findWithComponentsById(1L)).thenReturn(Optional.empty());
 
         // Act && Assert
         assertThrows(EntityNotFoundException.class,() ->
@@ -230,10 +241,8 @@ public class ComputerServiceTests {
         updatedComputer.setName("Игровой Asus");
         updatedComputer.setId(1L);
 
-        when(computerRepository.findById(updatedComputer.getId()))
+        when(computerRepository.findWithComponentsById(updatedComputer.getId()))
                 .thenReturn(Optional.of(existingComputer));
-        when(computerRepository.existsByNameIgnoreCase(updatedComputer.getName()))
-                .thenReturn(false);
 
         when(processorService.addProcessor(updatedComputer.getProcessor()))
                 .thenReturn(updatedComputer.getProcessor());
@@ -244,20 +253,12 @@ public class ComputerServiceTests {
         when(videoCardService.addVideoCard(updatedComputer.getVideoCard()))
                 .thenReturn(updatedComputer.getVideoCard());
 
-        when(ramService.addRam(updatedComputer.getRams().getFirst()))
-                .thenReturn(updatedComputer.getRams().getFirst());
-        when(ramService.getRamById(updatedComputer.getRams().get(1).getId()))
-                .thenReturn(updatedComputer.getRams().get(1));
-        when(ramService.addRam(updatedComputer.getRams().get(2)))
-                .thenReturn(updatedComputer.getRams().get(2));
+        when(ramService.resolveRams(updatedComputer.getRams()))
+                .thenReturn(updatedComputer.getRams());
 
-        when(storageDeviceService.addStorageDevice(updatedComputer.getStorageDevices().getFirst()))
-                .thenReturn(updatedComputer.getStorageDevices().getFirst());
+        when(storageDeviceService.resolveStorageDevices(updatedComputer.getStorageDevices()))
+                .thenReturn(updatedComputer.getStorageDevices());
 
-        when(computerRepository.save(computerMapping.toEntity(any(ComputerDto.class))))
-                .thenAnswer(invocation -> {
-                    return invocation.getArgument(0);
-                });
         // Act
         ComputerDto actualComputer = computerService.updateComputer(updatedComputer);
 
@@ -292,15 +293,77 @@ public class ComputerServiceTests {
         assertThat(actualComputer.getRams().size())
                 .isEqualTo(3);
 
+        // Изменения записаны в загруженную сущность, а не в новую
+        assertThat(existingComputer.getName()).isEqualTo("Игровой Asus");
+        assertThat(existingComputer.getProcessor().getName()).isEqualTo("i7-13850HX");
+        assertThat(existingComputer.getMotherboard().getName()).isEqualTo("MSI MEG Z790 ACE");
+        assertThat(existingComputer.getVideoCard().getName()).isEqualTo("NVIDIA RTX 4080 Super");
+        assertThat(existingComputer.getRams()).hasSize(3);
+
         // Проверяем, что все нужные методы были вызваны
-        verify(computerRepository).existsByNameIgnoreCase(updatedComputer.getName());
+        verify(computerRepository).flush();
+        verify(computerRepository, never()).save(any(Computer.class));
         verify(processorService).addProcessor(any(ProcessorDto.class));
         verify(motherboardService).addMotherboard(any(MotherboardDto.class));
         verify(videoCardService).addVideoCard(any(VideoCardDto.class));
-        verify(ramService, times(2)).addRam(any(RamDto.class));
+        verify(ramService, times(1)).resolveRams(anyList());
         verify(powerSupplyService, times(0)).addPowerSupply(any(PowerSupplyDto.class));
     }
 
+    @Test
+    void testUpdateComputerChangesLoadedEntity() {
+        // Arrange: у загруженного компьютера есть version, новая сущность с тем же ID ушла бы в persist
+        Computer existingComputer = computerMapping.toEntity(getComputer());
+        existingComputer.setId(1L);
+        existingComputer.setVersion(3L);
+
+        ComputerUpdateDto updatedComputer = new ComputerUpdateDto();
+        updatedComputer.setId(1L);
+        updatedComputer.setName("Игровой Asus");
+        updatedComputer.setManufacturer("ASUS");
+
+        when(computerRepository.findWithComponentsById(1L))
+                .thenReturn(Optional.of(existingComputer));
+
+        // Act
+        ComputerDto actualComputer = computerService.updateComputer(updatedComputer);
+
+        // Assert
+        assertThat(actualComputer.getName()).isEqualTo("Игровой Asus");
+        assertThat(existingComputer.getName()).isEqualTo("Игровой Asus");
+        assertThat(existingComputer.getManufacturer()).isEqualTo("ASUS");
+        assertThat(existingComputer.getVersion()).isEqualTo(3L);
+        assertThat(existingComputer.getProcessor().getName())
+                .isEqualTo(getComputer().getProcessor().getName());
+        assertThat(existingComputer.getRams()).hasSize(2);
+
+        verify(computerRepository, never()).save(any(Computer.class));
+        verify(computerRepository, never()).saveAndFlush(any(Computer.class));
+        verify(processorService, never()).addProcessor(any(ProcessorDto.class));
+    }
+
+    @Test
+    void testUpdateComputerWithDuplicateName() {
+        // Arrange
+        Computer existingComputer = computerMapping.toEntity(getComputer());
+        existingComputer.setId(1L);
+
+        ComputerUpdateDto updatedComputer = new ComputerUpdateDto();
+        updatedComputer.setId(1L);
+        updatedComputer.setName("Игровой Asus");
+
+        when(computerRepository.findWithComponentsById(1L))
+                .thenReturn(Optional.of(existingComputer));
+        doThrow(uniqueViolation(UniqueViolations.EQUIPMENT_NAME)).when(computerRepository).flush();
+
+        // Act & Assert
+        assertThatThrownBy(() -> computerService.updateComputer(updatedComputer))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("already taken");
+
+        verify(computerRepository, never()).existsByNameIgnoreCase(any());
+    }
+
     ComputerDto getComputer() {
         CpuSocketDto socket = new CpuSocketDto();
         socket.setName("LGA1700");
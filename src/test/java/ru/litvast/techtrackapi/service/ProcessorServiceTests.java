@@ -5,17 +5,21 @@ import jakarta.validation.Validator;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import ru.litvast.techtrackapi.exception.EntityNotFoundException;
 import ru.litvast.techtrackapi.exception.NoEntitiesFoundException;
+import ru.litvast.techtrackapi.model.dto.ListResultDto;
+import ru.litvast.techtrackapi.model.dto.PageDto;
 import ru.litvast.techtrackapi.model.dto.equipment.computer.*;
 import ru.litvast.techtrackapi.model.dto.mapping.equipment.computer.ProcessorMapping;
 import ru.litvast.techtrackapi.model.entity.equipment.computer.Processor;
 import ru.litvast.techtrackapi.repository.equipment.computer.ProcessorRepository;
+import ru.litvast.techtrackapi.util.ListQuery;
+import ru.litvast.techtrackapi.util.UniqueViolations;
 
 import java.util.List;
 import java.util.Optional;
@@ -25,6 +29,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
+import static ru.litvast.techtrackapi.util.UniqueViolationFixtures.uniqueViolation;
 
 @SpringBootTest
 public class ProcessorServiceTests {
@@ -98,15 +103,19 @@ public class ProcessorServiceTests {
         ProcessorDto processorDto = getProcessor();
         processorDto.setName(processorName);
 
-        when(processorRepository.existsByNameIgnoreCase(processorName))
-                .thenReturn(true);
+        when(cpuSocketService.getOrCreateCpuSocket(processorDto.getSocket()))
+                .thenReturn(processorDto.getSocket());
+        when(cpuArchitectureService.getOrCreateCpuArchitecture(processorDto.getArchitecture()))
+                .thenReturn(processorDto.getArchitecture());
+        when(processorRepository.saveAndFlush(any(Processor.class)))
+                .thenThrow(uniqueViolation(UniqueViolations.PROCESSOR_NAME));
 
         // Act && Assert
         assertThatThrownBy(() -> processorService.addProcessor(processorDto))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("already taken");
 
-        verify(processorRepository, never()).save(any());
+        verify(processorRepository, never()).existsByNameIgnoreCase(any());
     }
 
     @Test
@@ -114,13 +123,11 @@ public class ProcessorServiceTests {
         // Arrange
         ProcessorDto processorDto = getProcessor();
 
-        when(processorRepository.existsByNameIgnoreCase(processorDto.getName()))
-                .thenReturn(false);
-        when(cpuSocketService.addCpuSocket(processorDto.getSocket()))
+        when(cpuSocketService.getOrCreateCpuSocket(processorDto.getSocket()))
                 .thenReturn(processorDto.getSocket());
-        when(cpuArchitectureService.addCpuArchitecture(processorDto.getArchitecture()))
+        when(cpuArchitectureService.getOrCreateCpuArchitecture(processorDto.getArchitecture()))
                 .thenReturn(processorDto.getArchitecture());
-        when(processorRepository.save(any(Processor.class)))
+        when(processorRepository.saveAndFlush(any(Processor.class)))
                 .thenReturn(processorMapping.toEntity(processorDto));
 
         // Act
@@ -132,10 +139,9 @@ public class ProcessorServiceTests {
         assertThat(actualProcessor.getSocket().getName()).isEqualTo(processorDto.getSocket().getName());
         assertThat(actualProcessor.getNumberOfCores()).isEqualTo(processorDto.getNumberOfCores());
 
-        verify(processorRepository).existsByNameIgnoreCase(processorDto.getName());
-        verify(cpuSocketService).addCpuSocket(any(CpuSocketDto.class));
-        verify(cpuArchitectureService).addCpuArchitecture(any(CpuArchitectureDto.class));
-        verify(processorRepository).save(any(Processor.class));
+        verify(cpuSocketService).getOrCreateCpuSocket(any(CpuSocketDto.class));
+        verify(cpuArchitectureService).getOrCreateCpuArchitecture(any(CpuArchitectureDto.class));
+        verify(processorRepository).saveAndFlush(any(Processor.class));
     }
 
     @Test
@@ -145,13 +151,11 @@ public class ProcessorServiceTests {
         processorDto.getSocket().setId(1L);
         processorDto.getArchitecture().setId(1L);
 
-        when(processorRepository.existsByNameIgnoreCase(processorDto.getName()))
-                .thenReturn(false);
         when(cpuSocketService.getCpuSocketById(1L))
                 .thenReturn(processorDto.getSocket());
         when(cpuArchitectureService.getCpuArchitectureById(1L))
                 .thenReturn(processorDto.getArchitecture());
-        when(processorRepository.save(any(Processor.class)))
+        when(processorRepository.saveAndFlush(any(Processor.class)))
                 .thenReturn(processorMapping.toEntity(processorDto));
 
         // Act
@@ -160,8 +164,8 @@ public class ProcessorServiceTests {
         // Assert
         assertThat(actualProcessor).isNotNull();
 
-        verify(cpuSocketService, never()).addCpuSocket(any());
-        verify(cpuArchitectureService, never()).addCpuArchitecture(any());
+        verify(cpuSocketService, never()).getOrCreateCpuSocket(any());
+        verify(cpuArchitectureService, never()).getOrCreateCpuArchitecture(any());
         verify(cpuSocketService).getCpuSocketById(1L);
         verify(cpuArchitectureService).getCpuArchitectureById(1L);
     }
@@ -248,31 +252,32 @@ public class ProcessorServiceTests {
         Processor processor2 = processorMapping.toEntity(getProcessor());
         processor2.setName("AMD Ryzen 9 7950X");
 
-        Page<Processor> processorPage = new PageImpl<>(List.of(processor1, processor2), pageable, 2);
+        Slice<Processor> processorSlice = new SliceImpl<>(List.of(processor1, processor2), pageable, false);
 
-        when(processorRepository.findAll(pageable)).thenReturn(processorPage);
+        when(processorRepository.findSliceBy(pageable)).thenReturn(processorSlice);
 
         // Act
-        Page<ProcessorDto> result = processorService.getAllProcessors(pageable);
+        ListResultDto<ProcessorDto> result = processorService.getAllProcessors(ListQuery.page(pageable));
 
         // Assert
-        assertThat(result).isNotNull();
-        assertThat(result.getTotalElements()).isEqualTo(2);
-        assertThat(result.getContent()).hasSize(2);
+        assertThat(result).isInstanceOfSatisfying(PageDto.class, page -> {
+            assertThat(page.getTotalElements()).isEqualTo(2);
+            assertThat(page.getContent()).hasSize(2);
+        });
 
-        verify(processorRepository).findAll(pageable);
+        verify(processorRepository).findSliceBy(pageable);
     }
 
     @Test
     void testGetAllProcessorsEmpty() {
         // Arrange
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Processor> emptyPage = new PageImpl<>(List.of(), pageable, 0);
+        Slice<Processor> emptySlice = new SliceImpl<>(List.of(), pageable, false);
 
-        when(processorRepository.findAll(pageable)).thenReturn(emptyPage);
+        when(processorRepository.findSliceBy(pageable)).thenReturn(emptySlice);
 
         // Act && Assert
-        assertThatThrownBy(() -> processorService.getAllProcessors(pageable))
+        assertThatThrownBy(() -> processorService.getAllProcessors(ListQuery.page(pageable)))
                 .isInstanceOf(NoEntitiesFoundException.class)
                 .hasMessageContaining("No processors found");
     }
@@ -291,13 +296,11 @@ public class ProcessorServiceTests {
         updatedProcessor.setTdpWatts(125);
 
         when(processorRepository.findById(1L)).thenReturn(Optional.of(existingProcessor));
-        when(processorRepository.existsByNameIgnoreCase(updatedProcessor.getName()))
-                .thenReturn(false);
-        when(cpuSocketService.addCpuSocket(updatedProcessor.getSocket()))
+        when(cpuSocketService.getOrCreateCpuSocket(updatedProcessor.getSocket()))
                 .thenReturn(updatedProcessor.getSocket());
-        when(cpuArchitectureService.addCpuArchitecture(updatedProcessor.getArchitecture()))
+        when(cpuArchitectureService.getOrCreateCpuArchitecture(updatedProcessor.getArchitecture()))
                 .thenReturn(updatedProcessor.getArchitecture());
-        when(processorRepository.save(any(Processor.class)))
+        when(processorRepository.saveAndFlush(any(Processor.class)))
                 .thenAnswer(invocation -> invocation.getArgument(0));
 
         // Act
@@ -339,15 +342,15 @@ public class ProcessorServiceTests {
         updatedProcessor.setName("AMD Ryzen 9 7950X"); // имя, которое уже существует
 
         when(processorRepository.findById(1L)).thenReturn(Optional.of(existingProcessor));
-        when(processorRepository.existsByNameIgnoreCase("AMD Ryzen 9 7950X"))
-                .thenReturn(true);
+        when(processorRepository.saveAndFlush(any(Processor.class)))
+                .thenThrow(uniqueViolation(UniqueViolations.PROCESSOR_NAME));
 
         // Act && Assert
         assertThatThrownBy(() -> processorService.updateProcessor(1L, updatedProcessor))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("already taken");
 
-        verify(processorRepository, never()).save(any());
+        verify(processorRepository, never()).existsByNameIgnoreCase(any());
     }
 
     @Test
@@ -362,7 +365,7 @@ public class ProcessorServiceTests {
         updatedProcessor.setLithographyNm(7); // обновляем только техпроцесс
 
         when(processorRepository.findById(1L)).thenReturn(Optional.of(existingProcessor));
-        when(processorRepository.save(any(Processor.class)))
+        when(processorRepository.saveAndFlush(any(Processor.class)))
                 .thenAnswer(invocation -> invocation.getArgument(0));
 
         // Act
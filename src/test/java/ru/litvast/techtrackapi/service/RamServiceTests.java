@@ -5,19 +5,23 @@ import jakarta.validation.Validator;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import ru.litvast.techtrackapi.exception.EntityNotFoundException;
 import ru.litvast.techtrackapi.exception.NoEntitiesFoundException;
+import ru.litvast.techtrackapi.model.dto.ListResultDto;
+import ru.litvast.techtrackapi.model.dto.PageDto;
 import ru.litvast.techtrackapi.model.dto.equipment.computer.RamDto;
 import ru.litvast.techtrackapi.model.dto.mapping.equipment.computer.RamMapping;
 import ru.litvast.techtrackapi.model.entity.equipment.computer.Ram;
 import ru.litvast.techtrackapi.model.entity.equipment.computer.RamFormFactor;
 import ru.litvast.techtrackapi.model.entity.equipment.computer.RamType;
 import ru.litvast.techtrackapi.repository.equipment.computer.RamRepository;
+import ru.litvast.techtrackapi.util.ListQuery;
+import ru.litvast.techtrackapi.util.UniqueViolations;
 
 import java.util.Arrays;
 import java.util.List;
@@ -28,6 +32,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
+import static ru.litvast.techtrackapi.util.UniqueViolationFixtures.uniqueViolation;
 
 @SpringBootTest
 public class RamServiceTests {
@@ -105,15 +110,15 @@ public class RamServiceTests {
         // Arrange
         RamDto ramDto = getRam();
 
-        when(ramRepository.existsByNameIgnoreCase(ramDto.getName()))
-                .thenReturn(true);
+        when(ramRepository.saveAndFlush(any(Ram.class)))
+                .thenThrow(uniqueViolation(UniqueViolations.RAM_NAME));
 
         // Act & Assert
         assertThatThrownBy(() -> ramService.addRam(ramDto))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("already taken");
 
-        verify(ramRepository, never()).save(any());
+        verify(ramRepository, never()).existsByNameIgnoreCase(any());
     }
 
     @Test
@@ -121,9 +126,7 @@ public class RamServiceTests {
         // Arrange
         RamDto ramDto = getRam();
 
-        when(ramRepository.existsByNameIgnoreCase(ramDto.getName()))
-                .thenReturn(false);
-        when(ramRepository.save(any(Ram.class)))
+        when(ramRepository.saveAndFlush(any(Ram.class)))
                 .thenReturn(ramMapping.toEntity(ramDto));
 
         // Act
@@ -135,8 +138,8 @@ public class RamServiceTests {
         assertThat(actualRam.getType()).isEqualTo(ramDto.getType());
         assertThat(actualRam.getCapacityMb()).isEqualTo(ramDto.getCapacityMb());
 
-        verify(ramRepository).existsByNameIgnoreCase(ramDto.getName());
-        verify(ramRepository).save(any(Ram.class));
+        verify(ramRepository, never()).existsByNameIgnoreCase(any());
+        verify(ramRepository).saveAndFlush(any(Ram.class));
     }
 
     @Test
@@ -148,9 +151,7 @@ public class RamServiceTests {
         ramDto.setXmpSupport(null);
         ramDto.setExpoSupport(null);
 
-        when(ramRepository.existsByNameIgnoreCase(ramDto.getName()))
-                .thenReturn(false);
-        when(ramRepository.save(any(Ram.class)))
+        when(ramRepository.saveAndFlush(any(Ram.class)))
                 .thenReturn(ramMapping.toEntity(ramDto));
 
         // Act
@@ -161,7 +162,7 @@ public class RamServiceTests {
         assertThat(actualRam.getTimings()).isNull();
         assertThat(actualRam.getVoltage()).isNull();
 
-        verify(ramRepository).save(any(Ram.class));
+        verify(ramRepository).saveAndFlush(any(Ram.class));
     }
 
     @Test
@@ -227,6 +228,132 @@ public class RamServiceTests {
         verify(ramRepository).saveAll(anyList());
     }
 
+    @Test
+    void testResolveRamsWithOneQueryPerKind() {
+        // Arrange
+        RamDto newRam1 = getRam();
+        newRam1.setName("Kingston Fury 32GB DDR5");
+
+        RamDto newRam2 = getRam();
+        newRam2.setName("kingston fury 32gb ddr5");
+
+        RamDto existingRamRef = new RamDto();
+        existingRamRef.setId(5L);
+
+        Ram existingRam = ramMapping.toEntity(getRam());
+        existingRam.setId(5L);
+        existingRam.setName("Corsair Vengeance 16GB DDR5");
+
+        when(ramRepository.findAllById(anyCollection()))
+                .thenReturn(List.of(existingRam));
+        when(ramRepository.findAllByLowerNameIn(anyCollection()))
+                .thenReturn(List.of());
+        when(ramRepository.saveAll(anyList()))
+                .thenAnswer(invocation -> {
+                    List<Ram> rams = invocation.getArgument(0);
+                    rams.getFirst().setId(10L);
+                    return rams;
+                });
+
+        // Act
+        List<RamDto> actualRams = ramService.resolveRams(Arrays.asList(newRam1, existingRamRef, newRam2));
+
+        // Assert
+        assertThat(actualRams).hasSize(3);
+        assertThat(actualRams.get(0).getId()).isEqualTo(10L);
+        assertThat(actualRams.get(1).getId()).isEqualTo(5L);
+        assertThat(actualRams.get(2).getId()).isEqualTo(10L);
+
+        verify(ramRepository, times(1)).findAllById(anyCollection());
+        verify(ramRepository, times(1)).findAllByLowerNameIn(anyCollection());
+        verify(ramRepository, times(1)).saveAll(anyList());
+        verify(ramRepository, never()).findById(any());
+        verify(ramRepository, never()).save(any());
+    }
+
+    @Test
+    void testResolveRamsWithMissingId() {
+        // Arrange
+        RamDto ramRef = new RamDto();
+        ramRef.setId(999L);
+
+        when(ramRepository.findAllById(anyCollection()))
+                .thenReturn(List.of());
+
+        // Act & Assert
+        assertThatThrownBy(() -> ramService.resolveRams(List.of(ramRef)))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessageContaining("not found");
+
+        verify(ramRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void testResolveRamsReusesExistingName() {
+        // Arrange
+        RamDto ramDto = getRam();
+        ramDto.setName(ramDto.getName().toUpperCase());
+
+        Ram existingRam = ramMapping.toEntity(getRam());
+        existingRam.setId(7L);
+
+        when(ramRepository.findAllByLowerNameIn(anyCollection()))
+                .thenReturn(List.of(existingRam));
+
+        // Act
+        List<RamDto> actualRams = ramService.resolveRams(List.of(ramDto));
+
+        // Assert
+        assertThat(actualRams).hasSize(1);
+        assertThat(actualRams.getFirst().getId()).isEqualTo(7L);
+
+        verify(ramRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void testResolveRamsWithConcurrentlyCreatedName() {
+        // Arrange
+        RamDto ramDto = getRam();
+
+        when(ramRepository.findAllByLowerNameIn(anyCollection()))
+                .thenReturn(List.of());
+        when(ramRepository.saveAll(anyList()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        doThrow(uniqueViolation(UniqueViolations.RAM_NAME)).when(ramRepository).flush();
+
+        // Act & Assert
+        assertThatThrownBy(() -> ramService.resolveRams(List.of(ramDto)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("created concurrently");
+    }
+
+    @Test
+    void testResolveRamsWithIdAndName() {
+        // Arrange
+        RamDto ramDto = getRam();
+        ramDto.setId(5L);
+
+        // Act & Assert
+        assertThatThrownBy(() -> ramService.resolveRams(List.of(ramDto)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("must specify a name, not an ID");
+
+        verify(ramRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void testResolveRamsWithoutIdAndName() {
+        // Arrange
+        RamDto ramDto = new RamDto();
+
+        // Act & Assert
+        assertThatThrownBy(() -> ramService.resolveRams(List.of(ramDto)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("either an ID or a name");
+
+        verify(ramRepository, never()).findAllById(any());
+    }
+
     @Test
     void testGetRamByIdSuccess() {
         // Arrange
@@ -295,31 +422,32 @@ public class RamServiceTests {
         ram2.setName("Corsair Vengeance 16GB DDR5");
         ram2.setCapacityMb(16384);
 
-        Page<Ram> ramPage = new PageImpl<>(List.of(ram1, ram2), pageable, 2);
+        Slice<Ram> ramSlice = new SliceImpl<>(List.of(ram1, ram2), pageable, false);
 
-        when(ramRepository.findAll(pageable)).thenReturn(ramPage);
+        when(ramRepository.findSliceBy(pageable)).thenReturn(ramSlice);
 
         // Act
-        Page<RamDto> result = ramService.getAllRams(pageable);
+        ListResultDto<RamDto> result = ramService.getAllRams(ListQuery.page(pageable));
 
         // Assert
-        assertThat(result).isNotNull();
-        assertThat(result.getTotalElements()).isEqualTo(2);
-        assertThat(result.getContent()).hasSize(2);
+        assertThat(result).isInstanceOfSatisfying(PageDto.class, page -> {
+            assertThat(page.getTotalElements()).isEqualTo(2);
+            assertThat(page.getContent()).hasSize(2);
+        });
 
-        verify(ramRepository).findAll(pageable);
+        verify(ramRepository).findSliceBy(pageable);
     }
 
     @Test
     void testGetAllRamsEmpty() {
         // Arrange
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Ram> emptyPage = new PageImpl<>(List.of(), pageable, 0);
+        Slice<Ram> emptySlice = new SliceImpl<>(List.of(), pageable, false);
 
-        when(ramRepository.findAll(pageable)).thenReturn(emptyPage);
+        when(ramRepository.findSliceBy(pageable)).thenReturn(emptySlice);
 
         // Act & Assert
-        assertThatThrownBy(() -> ramService.getAllRams(pageable))
+        assertThatThrownBy(() -> ramService.getAllRams(ListQuery.page(pageable)))
                 .isInstanceOf(NoEntitiesFoundException.class)
                 .hasMessageContaining("No RAMs found");
     }
@@ -337,9 +465,7 @@ public class RamServiceTests {
         updatedRam.setVoltage(1.4);
 
         when(ramRepository.findById(1L)).thenReturn(Optional.of(existingRam));
-        when(ramRepository.existsByNameIgnoreCase(updatedRam.getName()))
-                .thenReturn(false);
-        when(ramRepository.save(any(Ram.class)))
+        when(ramRepository.saveAndFlush(any(Ram.class)))
                 .thenAnswer(invocation -> invocation.getArgument(0));
 
         // Act
@@ -354,7 +480,7 @@ public class RamServiceTests {
         assertThat(actualRam.getCapacityMb()).isEqualTo(32768);
 
         verify(ramRepository).findById(1L);
-        verify(ramRepository).save(any(Ram.class));
+        verify(ramRepository).saveAndFlush(any(Ram.class));
     }
 
     @Test
@@ -380,15 +506,15 @@ public class RamServiceTests {
         updatedRam.setName("Corsair Vengeance 16GB DDR5");
 
         when(ramRepository.findById(1L)).thenReturn(Optional.of(existingRam));
-        when(ramRepository.existsByNameIgnoreCase("Corsair Vengeance 16GB DDR5"))
-                .thenReturn(true);
+        when(ramRepository.saveAndFlush(any(Ram.class)))
+                .thenThrow(uniqueViolation(UniqueViolations.RAM_NAME));
 
         // Act & Assert
         assertThatThrownBy(() -> ramService.updateRam(1L, updatedRam))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("already taken");
 
-        verify(ramRepository, never()).save(any());
+        verify(ramRepository, never()).existsByNameIgnoreCase(any());
     }
 
     @Test
@@ -402,7 +528,7 @@ public class RamServiceTests {
         updatedRam.setVoltage(1.45);
 
         when(ramRepository.findById(1L)).thenReturn(Optional.of(existingRam));
-        when(ramRepository.save(any(Ram.class)))
+        when(ramRepository.saveAndFlush(any(Ram.class)))
                 .thenAnswer(invocation -> {
                     Ram savedRam = invocation.getArgument(0);
                     return savedRam;
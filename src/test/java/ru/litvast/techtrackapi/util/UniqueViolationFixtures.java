@@ -0,0 +1,16 @@
+package ru.litvast.techtrackapi.util;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+
+// Исключение в том виде, в каком его отдаёт Spring при нарушении уникального индекса PostgreSQL (SQLState 23505)
+public class UniqueViolationFixtures {
+
+    public static DataIntegrityViolationException uniqueViolation(String constraintName) {
+        return new DataIntegrityViolationException("duplicate key value violates unique constraint",
+                new ConstraintViolationException("duplicate key value violates unique constraint",
+                        new SQLException("duplicate key value violates unique constraint", "23505"), constraintName));
+    }
+}